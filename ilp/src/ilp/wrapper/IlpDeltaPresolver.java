@@ -0,0 +1,614 @@
+package ilp.wrapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Presolve of the new rows and columns of an {@link IndexedIlpDelta} before they
+ * are uploaded to a solver. All variables are binary. The presolve only reasons
+ * about the rows added by the delta, i.e., variables that already exist in the
+ * solver are treated as free binary variables and are never fixed. It applies
+ * the following reductions:
+ *
+ * <ul>
+ * <li>Bound propagation: A new variable is fixed to 0 (1) if setting it to 1
+ * (0) violates a row for all values of the other variables of the row, e.g., a
+ * server candidate whose CPU demand exceeds the residual CPU of the server.
+ * This also fixes the variables of all singleton rows.</li>
+ * <li>Redundant rows: A row that is satisfied for all values of its (remaining)
+ * variables is dropped, e.g., empty rows or link rows whose bandwidth can never
+ * be exceeded.</li>
+ * <li>Dominated columns: A new variable k is fixed to 0 if there is a cheaper
+ * (or equally cheap) new variable j that can replace it in every solution, i.e.,
+ * both have the same equals rows (one of which forbids both to be 1), the same
+ * SOS1 constraints, equivalent private rows (e.g., the rows that couple a link
+ * variable with its source and target node variables) and j uses at most the
+ * resources of k in all other rows.</li>
+ * </ul>
+ *
+ * Each reduction keeps at least one optimal solution (or the infeasibility) of
+ * the model. The reductions assume that the rows of the delta are complete,
+ * i.e., that they do not get any new terms or right sides after the delta was
+ * applied, and that fixed variables are not unfixed afterwards.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+class IlpDeltaPresolver {
+
+	/**
+	 * Absolute tolerance for all comparisons with right sides.
+	 */
+	private static final double TOL = 1e-9;
+
+	/**
+	 * Maximum number of dominating candidates a column is compared with.
+	 */
+	private static final int MAX_DOMINANCE_CHECKS = 64;
+
+	/**
+	 * Handle of the first new variable and number of new variables.
+	 */
+	private final int varBase;
+	private final int n;
+
+	/**
+	 * Objective weights of the new variables.
+	 */
+	private final double[] costs;
+
+	/**
+	 * New rows in the CSR format (columns are variable handles).
+	 */
+	private final int m;
+	private final boolean[] equals;
+	private final int[] rowStart;
+	private final int[] cols;
+	private final double[] vals;
+
+	/**
+	 * Right sides of the new rows minus the contribution of all fixed variables.
+	 */
+	private final double[] right;
+
+	/**
+	 * Minimal and maximal activity of the free terms of each row.
+	 */
+	private final double[] minAct;
+	private final double[] maxAct;
+
+	/**
+	 * Number of free terms of each row and the maximum absolute coefficient of
+	 * all terms of each row (an upper bound for the free ones).
+	 */
+	private final int[] freeTerms;
+	private final double[] maxAbs;
+
+	/**
+	 * True if a row was dropped.
+	 */
+	private final boolean[] rowRemoved;
+
+	/**
+	 * Terms of each new variable in the new rows (transposed CSR, the entries are
+	 * indices into the row arrays).
+	 */
+	private final int[] colStart;
+	private final int[] colTerms;
+
+	/**
+	 * True if a new variable may be fixed.
+	 */
+	private final boolean[] eligible;
+
+	/**
+	 * Fixed value of each new variable or -1 if it is free.
+	 */
+	private final byte[] fixed;
+
+	/**
+	 * Sorted SOS1 groups of each new variable.
+	 */
+	private final int[][] sos;
+
+	/**
+	 * Row of each term.
+	 */
+	private final int[] termRow;
+
+	/**
+	 * Number of active terms with a positive coefficient of each row (only used by
+	 * the dominance reduction).
+	 */
+	private int[] positiveTerms;
+
+	/**
+	 * Statistics of the reductions.
+	 */
+	private int fixedByBounds = 0;
+	private int fixedByDominance = 0;
+	private int removedRows = 0;
+
+	/**
+	 * Creates a new presolver.
+	 *
+	 * @param varBase  Handle of the first new variable.
+	 * @param costs    Objective weights of the new variables (length = number of
+	 *                 new variables).
+	 * @param equals   Sense of each new row.
+	 * @param right    Right side of each new row.
+	 * @param rowStart Start of each new row in the term arrays (length = number of
+	 *                 new rows + 1).
+	 * @param cols     Variable handle of each term.
+	 * @param vals     Coefficient of each term.
+	 * @param eligible True for each new variable that may be fixed.
+	 * @param sos      Sorted SOS1 groups of each new variable.
+	 */
+	IlpDeltaPresolver(final int varBase, final double[] costs, final boolean[] equals, final double[] right,
+			final int[] rowStart, final int[] cols, final double[] vals, final boolean[] eligible, final int[][] sos) {
+		this.varBase = varBase;
+		this.n = costs.length;
+		this.costs = costs;
+		this.m = right.length;
+		this.equals = equals;
+		this.right = right.clone();
+		this.rowStart = rowStart;
+		this.cols = cols;
+		this.vals = vals;
+		this.eligible = eligible;
+		this.sos = sos;
+		minAct = new double[m];
+		maxAct = new double[m];
+		freeTerms = new int[m];
+		maxAbs = new double[m];
+		rowRemoved = new boolean[m];
+		fixed = new byte[n];
+		Arrays.fill(fixed, (byte) -1);
+
+		final int nz = rowStart[m];
+		termRow = new int[nz];
+		colStart = new int[n + 1];
+		for (int r = 0; r < m; r++) {
+			for (int t = rowStart[r]; t < rowStart[r + 1]; t++) {
+				termRow[t] = r;
+				minAct[r] += Math.min(0, vals[t]);
+				maxAct[r] += Math.max(0, vals[t]);
+				maxAbs[r] = Math.max(maxAbs[r], Math.abs(vals[t]));
+				freeTerms[r]++;
+				final int j = cols[t] - varBase;
+				if (j >= 0) {
+					colStart[j + 1]++;
+				}
+			}
+		}
+		for (int j = 0; j < n; j++) {
+			colStart[j + 1] += colStart[j];
+		}
+		colTerms = new int[colStart[n]];
+		final int[] next = Arrays.copyOf(colStart, n);
+		for (int t = 0; t < nz; t++) {
+			final int j = cols[t] - varBase;
+			if (j >= 0) {
+				colTerms[next[j]++] = t;
+			}
+		}
+	}
+
+	/**
+	 * Runs all reductions.
+	 */
+	void presolve() {
+		final int[] queue = new int[m];
+		final boolean[] queued = new boolean[m];
+		int size = 0;
+		for (int r = 0; r < m; r++) {
+			queue[size++] = r;
+			queued[r] = true;
+		}
+		size = propagate(queue, queued, size);
+		fixDominatedColumns();
+
+		// Dominated columns may make further rows redundant
+		for (int r = 0; r < m; r++) {
+			if (!rowRemoved[r] && !queued[r]) {
+				queue[size++] = r;
+				queued[r] = true;
+			}
+		}
+		propagate(queue, queued, size);
+	}
+
+	/**
+	 * Propagates the bounds of all queued rows until no more variables get fixed.
+	 *
+	 * @param queue  Stack of rows to propagate.
+	 * @param queued True for each row on the stack.
+	 * @param size   Number of rows on the stack.
+	 * @return Number of rows on the stack afterwards (always 0).
+	 */
+	private int propagate(final int[] queue, final boolean[] queued, int size) {
+		while (size > 0) {
+			final int r = queue[--size];
+			queued[r] = false;
+			if (rowRemoved[r]) {
+				continue;
+			}
+
+			// Terms that must be 0 (1) because the row is violated otherwise
+			if (minAct[r] + maxAbs[r] > right[r] + TOL
+					|| equals[r] && maxAct[r] - maxAbs[r] < right[r] - TOL) {
+				for (int t = rowStart[r]; t < rowStart[r + 1]; t++) {
+					final int j = cols[t] - varBase;
+					if (j < 0 || fixed[j] != -1 || !eligible[j]) {
+						continue;
+					}
+					final double a = vals[t];
+					int value = -1;
+					if (a > 0 && minAct[r] + a > right[r] + TOL || a < 0 && equals[r] && maxAct[r] + a < right[r] - TOL) {
+						value = 0;
+					} else if (a < 0 && minAct[r] - a > right[r] + TOL
+							|| a > 0 && equals[r] && maxAct[r] - a < right[r] - TOL) {
+						value = 1;
+					}
+					if (value != -1) {
+						fixedByBounds++;
+						size = fix(j, value, queue, queued, size);
+					}
+				}
+			}
+
+			// Rows that are satisfied by all values of their free terms
+			if (equals[r] ? freeTerms[r] == 0 && Math.abs(right[r]) <= TOL : maxAct[r] <= right[r] + TOL) {
+				rowRemoved[r] = true;
+				removedRows++;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Fixes a new variable and updates the activities of all its rows.
+	 *
+	 * @param j      Index of the new variable.
+	 * @param value  Value to fix the variable to.
+	 * @param queue  Stack of rows to propagate.
+	 * @param queued True for each row on the stack.
+	 * @param size   Number of rows on the stack.
+	 * @return Number of rows on the stack afterwards.
+	 */
+	private int fix(final int j, final int value, final int[] queue, final boolean[] queued, int size) {
+		fixed[j] = (byte) value;
+		for (int i = colStart[j]; i < colStart[j + 1]; i++) {
+			final int t = colTerms[i];
+			final int r = termRow[t];
+			minAct[r] -= Math.min(0, vals[t]);
+			maxAct[r] -= Math.max(0, vals[t]);
+			right[r] -= vals[t] * value;
+			freeTerms[r]--;
+			if (!queued[r] && !rowRemoved[r]) {
+				queue[size++] = r;
+				queued[r] = true;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Returns true if the given term is active, i.e., its row was not dropped, its
+	 * variable is free and its coefficient is not zero.
+	 *
+	 * @param t Index of the term.
+	 * @return True if the given term is active.
+	 */
+	private boolean isActive(final int t) {
+		final int j = cols[t] - varBase;
+		return !rowRemoved[termRow[t]] && vals[t] != 0 && (j < 0 || fixed[j] == -1);
+	}
+
+	/**
+	 * Returns true if the given row is private to a new variable with a positive
+	 * coefficient in it, i.e., it is a less or equals row in which the variable is
+	 * the only term with a positive coefficient.
+	 *
+	 * @param r Index of the row.
+	 * @return True if the given row is private to the new variable.
+	 */
+	private boolean isPrivate(final int r) {
+		return !equals[r] && positiveTerms[r] == 1;
+	}
+
+	/**
+	 * Returns true if the private rows r (of variable j) and s (of variable k) are
+	 * equal apart from their private variables.
+	 *
+	 * @param r Index of the first row.
+	 * @param j Index of the private variable of the first row.
+	 * @param s Index of the second row.
+	 * @param k Index of the private variable of the second row.
+	 * @return True if both rows are equivalent.
+	 */
+	private boolean isEquivalent(final int r, final int j, final int s, final int k) {
+		if (Math.abs(right[r] - right[s]) > TOL) {
+			return false;
+		}
+		final Map<Integer, Double> terms = new HashMap<>();
+		for (int t = rowStart[r]; t < rowStart[r + 1]; t++) {
+			if (isActive(t) && cols[t] != varBase + j) {
+				terms.merge(cols[t], vals[t], Double::sum);
+			}
+		}
+		for (int t = rowStart[s]; t < rowStart[s + 1]; t++) {
+			if (isActive(t) && cols[t] != varBase + k) {
+				terms.merge(cols[t], -vals[t], Double::sum);
+			}
+		}
+		return terms.values().stream().allMatch(v -> Math.abs(v) <= TOL);
+	}
+
+	/**
+	 * Signature of a free column that is used to find dominated columns.
+	 */
+	private class Signature {
+		final int j;
+
+		/**
+		 * Active terms in equals rows, private rows and all other rows (pairs of row
+		 * and coefficient, sorted by the row).
+		 */
+		final int[] eqRows;
+		final double[] eqVals;
+		final int[] privRows;
+		final double[] privVals;
+		final int[] leRows;
+		final double[] leVals;
+
+		/**
+		 * True if the column can not be 1 together with another column of the same
+		 * equals row.
+		 */
+		final boolean exclusive;
+
+		final long key;
+
+		Signature(final int j, final int[] rows, final double[] coefs, final int size) {
+			this.j = j;
+			int eq = 0;
+			int priv = 0;
+			final boolean[] isPriv = new boolean[size];
+			for (int i = 0; i < size; i++) {
+				if (equals[rows[i]]) {
+					eq++;
+				} else if (coefs[i] > 0 && isPrivate(rows[i])) {
+					isPriv[i] = true;
+					priv++;
+				}
+			}
+			eqRows = new int[eq];
+			eqVals = new double[eq];
+			privRows = new int[priv];
+			privVals = new double[priv];
+			leRows = new int[size - eq - priv];
+			leVals = new double[size - eq - priv];
+			int e = 0;
+			int p = 0;
+			int l = 0;
+			boolean excl = false;
+			long h = Arrays.hashCode(sos[j]);
+			for (int i = 0; i < size; i++) {
+				final int r = rows[i];
+				if (equals[r]) {
+					eqRows[e] = r;
+					eqVals[e++] = coefs[i];
+					h = h * 31 + r;
+					h = h * 31 + Double.hashCode(coefs[i]);
+					excl |= coefs[i] > 0 && minAct[r] >= 0 && 2 * coefs[i] > right[r] + TOL;
+				} else if (isPriv[i]) {
+					privRows[p] = r;
+					privVals[p++] = coefs[i];
+					h = h * 31 + Double.hashCode(coefs[i]);
+				} else {
+					leRows[l] = r;
+					leVals[l++] = coefs[i];
+				}
+			}
+			exclusive = excl;
+			key = h;
+		}
+
+		/**
+		 * Returns true if this column may replace the given column in every solution.
+		 * The caller has to ensure that this column is not more expensive.
+		 *
+		 * @param o Signature of the other column.
+		 * @return True if this column dominates the other one.
+		 */
+		boolean dominates(final Signature o) {
+			if (!exclusive || !Arrays.equals(eqRows, o.eqRows) || !Arrays.equals(eqVals, o.eqVals)
+					|| !Arrays.equals(sos[j], sos[o.j]) || privRows.length != o.privRows.length) {
+				return false;
+			}
+
+			// Private rows must be pairwise equivalent (both lists are sorted by row)
+			final boolean[] used = new boolean[o.privRows.length];
+			for (int p = 0; p < privRows.length; p++) {
+				boolean found = false;
+				for (int q = 0; q < o.privRows.length && !found; q++) {
+					if (!used[q] && privVals[p] == o.privVals[q]
+							&& isEquivalent(privRows[p], j, o.privRows[q], o.j)) {
+						used[q] = true;
+						found = true;
+					}
+				}
+				if (!found) {
+					return false;
+				}
+			}
+
+			// This column must not use more of any other row (a missing term is 0)
+			int a = 0;
+			int b = 0;
+			while (a < leRows.length || b < o.leRows.length) {
+				if (b == o.leRows.length || a < leRows.length && leRows[a] < o.leRows[b]) {
+					if (leVals[a++] > 0) {
+						return false;
+					}
+				} else if (a == leRows.length || o.leRows[b] < leRows[a]) {
+					if (o.leVals[b++] < 0) {
+						return false;
+					}
+				} else if (leVals[a++] > o.leVals[b++]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Fixes all free new variables to 0 that are dominated by another free new
+	 * variable.
+	 */
+	private void fixDominatedColumns() {
+		final Map<Long, List<Signature>> groups = new HashMap<>();
+		final Integer[] order = new Integer[n];
+		int count = 0;
+		for (int j = 0; j < n; j++) {
+			if (fixed[j] == -1 && eligible[j]) {
+				order[count++] = j;
+			}
+		}
+		// Cheaper columns (and lower handles for equal costs) are kept first
+		Arrays.sort(order, 0, count, (x, y) -> {
+			final int c = Double.compare(costs[x], costs[y]);
+			return c != 0 ? c : Integer.compare(x, y);
+		});
+
+		positiveTerms = new int[m];
+		for (int t = 0; t < rowStart[m]; t++) {
+			if (vals[t] > 0 && isActive(t)) {
+				positiveTerms[termRow[t]]++;
+			}
+		}
+
+		int[] rows = new int[8];
+		double[] coefs = new double[8];
+		for (int i = 0; i < count; i++) {
+			final int k = order[i];
+
+			// Active terms of the column sorted by their row (duplicate rows are skipped)
+			int size = 0;
+			boolean duplicate = false;
+			for (int c = colStart[k]; c < colStart[k + 1]; c++) {
+				final int t = colTerms[c];
+				if (!isActive(t)) {
+					continue;
+				}
+				if (size == rows.length) {
+					rows = Arrays.copyOf(rows, size * 2);
+					coefs = Arrays.copyOf(coefs, size * 2);
+				}
+				rows[size] = termRow[t];
+				coefs[size++] = vals[t];
+			}
+			sortByRow(rows, coefs, size);
+			for (int c = 1; c < size; c++) {
+				duplicate |= rows[c] == rows[c - 1];
+			}
+			if (duplicate) {
+				continue;
+			}
+
+			final Signature sig = new Signature(k, rows, coefs, size);
+			final List<Signature> kept = groups.computeIfAbsent(sig.key, x -> new ArrayList<>());
+			boolean dominated = false;
+			for (int c = 0; c < kept.size() && c < MAX_DOMINANCE_CHECKS && !dominated; c++) {
+				dominated = kept.get(c).dominates(sig);
+			}
+			if (dominated) {
+				fixedByDominance++;
+				fixed[k] = 0;
+				for (int c = colStart[k]; c < colStart[k + 1]; c++) {
+					final int t = colTerms[c];
+					final int r = termRow[t];
+					if (vals[t] > 0 && !rowRemoved[r]) {
+						positiveTerms[r]--;
+					}
+					minAct[r] -= Math.min(0, vals[t]);
+					maxAct[r] -= Math.max(0, vals[t]);
+					freeTerms[r]--;
+				}
+			} else {
+				kept.add(sig);
+			}
+		}
+	}
+
+	/**
+	 * Sorts the given pairs of rows and coefficients by the rows (insertion sort,
+	 * columns only have a few terms).
+	 *
+	 * @param rows  Rows.
+	 * @param coefs Coefficients.
+	 * @param size  Number of pairs.
+	 */
+	private static void sortByRow(final int[] rows, final double[] coefs, final int size) {
+		for (int i = 1; i < size; i++) {
+			final int r = rows[i];
+			final double c = coefs[i];
+			int k = i - 1;
+			while (k >= 0 && rows[k] > r) {
+				rows[k + 1] = rows[k];
+				coefs[k + 1] = coefs[k];
+				k--;
+			}
+			rows[k + 1] = r;
+			coefs[k + 1] = c;
+		}
+	}
+
+	/**
+	 * Returns the fixed value of a new variable.
+	 *
+	 * @param j Index of the new variable.
+	 * @return Fixed value of the variable or -1 if it is free.
+	 */
+	int getFixed(final int j) {
+		return fixed[j];
+	}
+
+	/**
+	 * Returns true if a new row was dropped.
+	 *
+	 * @param r Index of the new row.
+	 * @return True if the row was dropped.
+	 */
+	boolean isRemoved(final int r) {
+		return rowRemoved[r];
+	}
+
+	/**
+	 * Returns the right side of a new row minus the contribution of all fixed
+	 * variables.
+	 *
+	 * @param r Index of the new row.
+	 * @return Reduced right side of the row.
+	 */
+	double getRight(final int r) {
+		return right[r];
+	}
+
+	int getFixedByBounds() {
+		return fixedByBounds;
+	}
+
+	int getFixedByDominance() {
+		return fixedByDominance;
+	}
+
+	int getRemovedRows() {
+		return removedRows;
+	}
+
+}
@@ -0,0 +1,152 @@
+package ilp.wrapper;
+
+import java.util.Arrays;
+
+/**
+ * Scaling factors of the constraints (rows) of one {@link IncrementalIlpSolver}
+ * that were scaled by an {@link IndexedIlpDelta} (see
+ * {@link ilp.wrapper.config.IlpSolverConfig#ENABLE_ROW_SCALING}). All
+ * coefficients of a row with integral coefficients are divided by their
+ * greatest common divisor. The right side of a less or equals row is divided
+ * and rounded down, which keeps all integral solutions, because the left side
+ * of the row can only take multiples of the divisor. The right side of an
+ * equals row is only scaled if it is divisible, too.
+ *
+ * The factors are required to translate later changes of a scaled row (new
+ * terms, new right side) to the scaled row of the solver. Therefore, one
+ * object must be used for all deltas of a solver.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IlpRowScaling {
+
+	/**
+	 * Largest integer that can be represented exactly as a double value.
+	 */
+	private static final double MAX_EXACT = 1L << 53;
+
+	/**
+	 * Scaling factor (divisor) of each constraint handle (0 if unscaled).
+	 */
+	private long[] factors = new long[16];
+
+	/**
+	 * Sense of each scaled constraint.
+	 */
+	private boolean[] equals = new boolean[16];
+
+	/**
+	 * Returns the scaling factor (divisor) of a given constraint.
+	 *
+	 * @param constraint Constraint handle.
+	 * @return Scaling factor of the constraint or 1 if it was not scaled.
+	 */
+	public long getFactor(final int constraint) {
+		return constraint < factors.length && factors[constraint] > 0 ? factors[constraint] : 1;
+	}
+
+	/**
+	 * Scales a new constraint if all its coefficients (and for an equals
+	 * constraint its right side) are integral and have a common divisor greater
+	 * than one. The coefficients are scaled in place.
+	 *
+	 * @param constraint Constraint handle.
+	 * @param equals     True for an equals constraint, false for a less or equals
+	 *                   one.
+	 * @param right      Right side of the constraint.
+	 * @param weights    Coefficients of the terms of all new constraints.
+	 * @param from       Index of the first term of the constraint (inclusive).
+	 * @param to         Index of the last term of the constraint (exclusive).
+	 * @return Scaled right side of the constraint.
+	 */
+	double scale(final int constraint, final boolean equals, final double right, final double[] weights,
+			final int from, final int to) {
+		long gcd = 0;
+		for (int i = from; i < to && gcd != 1; i++) {
+			if (!isIntegral(weights[i])) {
+				return right;
+			}
+			gcd = gcd(gcd, (long) Math.abs(weights[i]));
+		}
+		if (gcd <= 1 || !isIntegral(right) || equals && (long) right % gcd != 0) {
+			return right;
+		}
+
+		for (int i = from; i < to; i++) {
+			weights[i] /= gcd;
+		}
+		if (constraint >= factors.length) {
+			final int size = Math.max(factors.length * 2, constraint + 1);
+			factors = Arrays.copyOf(factors, size);
+			this.equals = Arrays.copyOf(this.equals, size);
+		}
+		factors[constraint] = gcd;
+		this.equals[constraint] = equals;
+		return scaleRight(constraint, right);
+	}
+
+	/**
+	 * Scales a coefficient of a new term of an existing constraint.
+	 *
+	 * @param constraint Constraint handle.
+	 * @param weight     Coefficient of the term.
+	 * @return Scaled coefficient of the term.
+	 * @throws IlpSolverException If the coefficient is not a multiple of the
+	 *                            scaling factor of the constraint.
+	 */
+	double scaleWeight(final int constraint, final double weight) throws IlpSolverException {
+		final long factor = getFactor(constraint);
+		if (factor == 1) {
+			return weight;
+		}
+		if (!isIntegral(weight) || (long) weight % factor != 0) {
+			throw new IlpSolverException("Weight " + weight + " of the constraint with the handle=" + constraint
+					+ " is not a multiple of its scaling factor " + factor + ".");
+		}
+		return weight / factor;
+	}
+
+	/**
+	 * Scales the right side of an existing constraint.
+	 *
+	 * @param constraint Constraint handle.
+	 * @param right      Right side of the constraint.
+	 * @return Scaled right side of the constraint.
+	 */
+	double scaleRight(final int constraint, final double right) {
+		final long factor = getFactor(constraint);
+		if (factor == 1) {
+			return right;
+		}
+		// A fractional right side of an equals constraint keeps it infeasible
+		return equals[constraint] ? right / factor : Math.floorDiv((long) Math.floor(right), factor);
+	}
+
+	/**
+	 * Returns true if the given value is an integer that can be represented
+	 * exactly.
+	 *
+	 * @param value Value to check.
+	 * @return True if the value is an exact integer.
+	 */
+	private static boolean isIntegral(final double value) {
+		return Math.abs(value) <= MAX_EXACT && value == Math.rint(value);
+	}
+
+	/**
+	 * Returns the greatest common divisor of two non-negative numbers.
+	 *
+	 * @param a First number.
+	 * @param b Second number.
+	 * @return Greatest common divisor (0 if both numbers are 0).
+	 */
+	private static long gcd(long a, long b) {
+		while (b != 0) {
+			final long t = a % b;
+			a = b;
+			b = t;
+		}
+		return a;
+	}
+
+}
@@ -1,9 +1,14 @@
 package ilp.wrapper;
 
-import java.util.LinkedList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -40,19 +45,26 @@ public interface IncrementalIlpSolver {
 	public static class Constraint {
 		private final String name;
 		private double right;
-		private final List<String> varnames;
-		private final List<Double> weights;
+		private String[] varnames;
+		private double[] weights;
+		private int size;
 
 		public Constraint(final String name, final int right) {
 			this.name = name;
 			this.right = right;
-			varnames = new LinkedList<>();
-			weights = new LinkedList<>();
+			varnames = new String[4];
+			weights = new double[4];
+			size = 0;
 		}
 
 		public Constraint addVar(final String varname, final double weight) {
-			varnames.add(varname);
-			weights.add(weight);
+			if (size == varnames.length) {
+				varnames = Arrays.copyOf(varnames, size * 2);
+				weights = Arrays.copyOf(weights, size * 2);
+			}
+			varnames[size] = varname;
+			weights[size] = weight;
+			size++;
 			return this;
 		}
 
@@ -71,12 +83,29 @@ public interface IncrementalIlpSolver {
 			return right;
 		}
 
-		public List<String> getVarnames() {
-			return varnames;
+		/**
+		 * Returns the number of terms of this constraint.
+		 *
+		 * @return Number of terms.
+		 */
+		public int size() {
+			return size;
+		}
+
+		public String getVarname(final int index) {
+			return varnames[index];
+		}
+
+		public double getWeight(final int index) {
+			return weights[index];
 		}
 
-		public List<Double> getWeights() {
-			return weights;
+		public String[] getVarnames() {
+			return Arrays.copyOf(varnames, size);
+		}
+
+		public double[] getWeights() {
+			return Arrays.copyOf(weights, size);
 		}
 
 		public void setRight(final double newRight) {
@@ -85,8 +114,8 @@ public interface IncrementalIlpSolver {
 
 		@Override
 		public String toString() {
-			return "Constraint [name=" + name + ", right=" + right + ", varnames=" + varnames + ", weights=" + weights
-					+ "]";
+			return "Constraint [name=" + name + ", right=" + right + ", varnames=" + Arrays.toString(getVarnames())
+					+ ", weights=" + Arrays.toString(getWeights()) + "]";
 		}
 
 	}
@@ -221,6 +250,41 @@ public interface IncrementalIlpSolver {
 
 	void setSeed(final int seed);
 
+	/**
+	 * Sets the high-level solution strategy of the MIP solver (Gurobi MIPFocus,
+	 * CPLEX MIP emphasis): 0 = balanced, 1 = feasibility, 2 = optimality, 3 = best
+	 * bound. Solvers without such a parameter ignore it.
+	 *
+	 * @param focus MIP focus to set.
+	 */
+	void setMipFocus(final int focus);
+
+	/**
+	 * Sets the number of threads of the solver. A value of 0 lets the solver
+	 * decide. Solvers without such a parameter ignore it.
+	 *
+	 * @param threads Number of threads to use.
+	 */
+	void setThreads(final int threads);
+
+	/**
+	 * Sets the global cut generation level of the MIP solver (Gurobi Cuts, all cut
+	 * types of CPLEX): -1 = automatic, 0 = off, 1 = conservative, 2 = aggressive,
+	 * 3 = very aggressive. Solvers without such a parameter ignore it.
+	 *
+	 * @param level Cut generation level to set.
+	 */
+	void setCuts(final int level);
+
+	/**
+	 * Sets the share of the solution time that the MIP solver spends in primal
+	 * heuristics (Gurobi Heuristics; CPLEX heuristic effort relative to the Gurobi
+	 * default of 0.05). Solvers without such a parameter ignore it.
+	 *
+	 * @param share Share of the solution time between 0 and 1.
+	 */
+	void setHeuristics(final double share);
+
 	void setTimeout(final int parameterValue);
 
 	void setVariableBounds(final Map<String, int[]> changeVariableBounds) throws IlpSolverException;
@@ -233,4 +297,317 @@ public interface IncrementalIlpSolver {
 
 	Statistics solve() throws IlpSolverException;
 
+	/*
+	 * Handle based methods. Variables and constraints are identified by dense
+	 * integer handles that are assigned in creation order (starting at 0) and that
+	 * are never reused. The name based methods above allocate handles, too.
+	 */
+
+	/**
+	 * Adds a new (unnamed) binary variable.
+	 *
+	 * @param solutionWeight Objective coefficient of the variable.
+	 * @return Handle of the new variable.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	int addVariable(final double solutionWeight) throws IlpSolverException;
+
+	/**
+	 * Adds a new (unnamed) equals constraint.
+	 *
+	 * @param right   Value of the right side.
+	 * @param weights Coefficients of the variables.
+	 * @param vars    Variable handles.
+	 * @return Handle of the new constraint.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	int addEqualsConstraint(final double right, final double[] weights, final int[] vars) throws IlpSolverException;
+
+	/**
+	 * Adds a new (unnamed) less or equals constraint.
+	 *
+	 * @param right   Value of the right side.
+	 * @param weights Coefficients of the variables.
+	 * @param vars    Variable handles.
+	 * @return Handle of the new constraint.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	int addLessOrEqualsConstraint(final double right, final double[] weights, final int[] vars)
+			throws IlpSolverException;
+
+	/**
+	 * Adds an SOS1 constraint over the given variables.
+	 *
+	 * @param vars Variable handles.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	void addSosConstraint(final int[] vars) throws IlpSolverException;
+
+	/**
+	 * Adds all rows of the given sparse builder as new constraints. The rows get
+	 * consecutive handles in the order of the builder, i.e., row r gets the
+	 * returned handle + r. Implementations should upload all rows at once.
+	 *
+	 * @param rows Sparse builder that contains all new rows.
+	 * @return Handle of the first new constraint.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	int addConstraints(final SparseConstraintBuilder rows) throws IlpSolverException;
+
+	void changeVariableBounds(final int var, final int lower, final int upper) throws IlpSolverException;
+
+	void changeVariableWeight(final int var, final double solutionWeight) throws IlpSolverException;
+
+	/**
+	 * Returns the number of variable handles that were assigned so far (including
+	 * the ones of removed variables). The next variable will get this value as
+	 * handle.
+	 *
+	 * @return Number of assigned variable handles.
+	 */
+	int getVariableHandleCount();
+
+	/**
+	 * Returns the number of constraint handles that were assigned so far (including
+	 * the ones of removed constraints). The next constraint will get this value as
+	 * handle.
+	 *
+	 * @return Number of assigned constraint handles.
+	 */
+	int getConstraintHandleCount();
+
+	/**
+	 * Writes the solution of all variables into the given array that is indexed by
+	 * the variable handles. Removed variables are written as false.
+	 *
+	 * @param selected Array with a length of at least
+	 *                 {@link #getVariableHandleCount()}.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	void getMappings(final boolean[] selected) throws IlpSolverException;
+
+	/**
+	 * Returns the handles of all selected variables in ascending order. In contrast
+	 * to {@link #getMappings(boolean[])}, the caller only has to process the
+	 * selected variables, which are usually a small fraction of all variables.
+	 *
+	 * @return Handles of all selected variables in ascending order.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	int[] getSelectedVariables() throws IlpSolverException;
+
+	/**
+	 * Returns true if the last solve found at least one (integer feasible)
+	 * solution, i.e., its mappings can be read. This may also be the case if the
+	 * solve was stopped early (see {@link SolverStatus#TIME_OUT} and
+	 * {@link SolverStatus#INTERRUPTED}).
+	 *
+	 * @return True if there is a solution.
+	 */
+	boolean hasSolution();
+
+	boolean isSelected(final int var) throws IlpSolverException;
+
+	void removeConstraint(final int constraint) throws IlpSolverException;
+
+	void removeVariable(final int var) throws IlpSolverException;
+
+	/**
+	 * Removes all given constraints with a single operation (if supported by the
+	 * underlying solver).
+	 *
+	 * @param constraints Handles of the constraints to remove.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	void removeConstraints(final int[] constraints) throws IlpSolverException;
+
+	/**
+	 * Removes all given variables (and all of their terms) with a single operation
+	 * (if supported by the underlying solver).
+	 *
+	 * @param vars Handles of the variables to remove.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	void removeVariables(final int[] vars) throws IlpSolverException;
+
+	void setConstraintRight(final int constraint, final double newRight) throws IlpSolverException;
+
+	void setVariableWeightForConstraint(final int constraint, final double weight, final int var)
+			throws IlpSolverException;
+
+	/**
+	 * Sets a (debug) name for a variable that was created via its handle. Named
+	 * variables may also be accessed by the name based methods afterwards.
+	 *
+	 * @param var  Variable handle.
+	 * @param name Name of the variable.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	void setVariableName(final int var, final String name) throws IlpSolverException;
+
+	/**
+	 * Sets a (debug) name for a constraint that was created via its handle. Named
+	 * constraints may also be accessed by the name based methods afterwards.
+	 *
+	 * @param constraint Constraint handle.
+	 * @param name       Name of the constraint.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	void setConstraintName(final int constraint, final String name) throws IlpSolverException;
+
+	/**
+	 * Sets a (partial) start solution that is passed to the solver as a hint for
+	 * the next call of {@link #solve()} (MIP start). Variables that are not part of
+	 * the given arrays are left to the solver. A start solution that turns out to
+	 * be infeasible is ignored (or repaired) by the solver.
+	 *
+	 * @param vars   Variable handles.
+	 * @param values Start values of the variables.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	void setStartSolution(final int[] vars, final double[] values) throws IlpSolverException;
+
+	/**
+	 * Solves the LP relaxation of the current model, i.e., all variables are
+	 * continuous between their bounds and all SOS constraints are ignored. The
+	 * model itself is not changed, but the solution of the last call of
+	 * {@link #solve()} may get lost.
+	 *
+	 * @return Solution of the LP relaxation.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	Relaxation solveRelaxation() throws IlpSolverException;
+
+	/**
+	 * Adds a listener that gets notified about each improving incumbent of all
+	 * following solves.
+	 *
+	 * @param listener Incumbent listener to add.
+	 */
+	void addIncumbentListener(final IncumbentListener listener);
+
+	/**
+	 * Removes a previously added incumbent listener.
+	 *
+	 * @param listener Incumbent listener to remove.
+	 */
+	void removeIncumbentListener(final IncumbentListener listener);
+
+	/**
+	 * Requests the (cooperative) cancellation of the running solve. The solve
+	 * returns as soon as possible with the status {@link SolverStatus#INTERRUPTED}
+	 * and keeps the best incumbent found so far, i.e., its mappings can be read
+	 * afterwards if there is one. If no solve is running, the next solve stops
+	 * immediately. This method may be called from any thread.
+	 */
+	void cancel();
+
+	/**
+	 * Discards a cancellation request (see {@link #cancel()}) that did not reach
+	 * the solve it was meant for, e.g., because the solve finished right before
+	 * the request. Otherwise, the request would stop the next solve immediately.
+	 * This method must not be called while a solve is running.
+	 */
+	void resetCancel();
+
+	/**
+	 * Solves the problem asynchronously in a new (daemon) thread. Cancelling the
+	 * returned future also cancels the solve via {@link #cancel()}. To keep the
+	 * result of a cancelled solve, call {@link #cancel()} directly and wait for
+	 * the future afterwards. The model must not be modified until the future is
+	 * done.
+	 *
+	 * @return Future that completes with the statistics of the solve.
+	 */
+	default CompletableFuture<Statistics> solveAsync() {
+		final CompletableFuture<Statistics> future = new CompletableFuture<>();
+		future.whenComplete((stats, ex) -> {
+			if (future.isCancelled()) {
+				cancel();
+			}
+		});
+		Thread.ofPlatform().daemon().name("ilp-solve").start(() -> {
+			try {
+				future.complete(solve());
+			} catch (final Throwable ex) {
+				future.completeExceptionally(ex);
+			}
+		});
+		return future;
+	}
+
+	/**
+	 * Solves the problem with anytime stopping rules. The solve is cancelled (see
+	 * {@link #cancel()}) when the given deadline is reached or as soon as an
+	 * incumbent is found whose gap (see {@link Incumbent#getGap()}) is at most the
+	 * given one and that selects none of the given variables. In both cases, the
+	 * best incumbent found so far is kept (see {@link #hasSolution()}).
+	 *
+	 * @param deadline Deadline regarding {@link System#nanoTime()}.
+	 * @param gap      Maximum gap of an acceptable incumbent (negative values
+	 *                 disable this rule).
+	 * @param avoided  Handles of all variables an acceptable incumbent must not
+	 *                 select, e.g., the rejection variables.
+	 * @return Statistics of the solve.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	default Statistics solveAnytime(final long deadline, final double gap, final int[] avoided)
+			throws IlpSolverException {
+		final IncumbentListener rule = incumbent -> {
+			if (gap < 0 || incumbent.getGap() > gap) {
+				return;
+			}
+			for (final int var : avoided) {
+				if (incumbent.isSelected(var)) {
+					return;
+				}
+			}
+			cancel();
+		};
+		addIncumbentListener(rule);
+		try {
+			final CompletableFuture<Statistics> future = solveAsync();
+			try {
+				return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			} catch (final TimeoutException e) {
+				return cancelAndJoin(future);
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return cancelAndJoin(future);
+			} catch (final ExecutionException e) {
+				if (e.getCause() instanceof IlpSolverException) {
+					throw (IlpSolverException) e.getCause();
+				}
+				throw new IlpSolverException(e.getCause());
+			}
+		} finally {
+			removeIncumbentListener(rule);
+		}
+	}
+
+	/**
+	 * Cancels the solve of the given future if it is still running and waits for
+	 * its result. A cancellation request that arrives after the end of the solve
+	 * is discarded (see {@link #resetCancel()}).
+	 *
+	 * @param future Future of a solve of this solver (see {@link #solveAsync()}).
+	 * @return Statistics of the solve.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	private Statistics cancelAndJoin(final CompletableFuture<Statistics> future) throws IlpSolverException {
+		if (!future.isDone()) {
+			cancel();
+		}
+		try {
+			return future.join();
+		} catch (final CompletionException e) {
+			if (e.getCause() instanceof IlpSolverException) {
+				throw (IlpSolverException) e.getCause();
+			}
+			throw new IlpSolverException(e.getCause());
+		} finally {
+			resetCancel();
+		}
+	}
+
 }
@@ -0,0 +1,125 @@
+package ilp.wrapper;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Improving (integer feasible) solution that was found by an ILP solver while
+ * solving. Incumbents are published to all {@link IncumbentListener}s of a
+ * solver.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class Incumbent {
+
+	/**
+	 * Objective value of the incumbent.
+	 */
+	private final double objective;
+
+	/**
+	 * Best known (lower) bound of the objective value.
+	 */
+	private final double bound;
+
+	/**
+	 * Time since the start of the solve in nanoseconds.
+	 */
+	private final long elapsed;
+
+	/**
+	 * Solution of the incumbent by variable handle (may be null).
+	 */
+	private final IntPredicate selection;
+
+	/**
+	 * Creates a new incumbent object with given parameters.
+	 *
+	 * @param objective Objective value of the incumbent.
+	 * @param bound     Best known bound of the objective value.
+	 * @param elapsed   Time since the start of the solve in nanoseconds.
+	 */
+	public Incumbent(final double objective, final double bound, final long elapsed) {
+		this(objective, bound, elapsed, null);
+	}
+
+	/**
+	 * Creates a new incumbent object with given parameters.
+	 *
+	 * @param objective Objective value of the incumbent.
+	 * @param bound     Best known bound of the objective value.
+	 * @param elapsed   Time since the start of the solve in nanoseconds.
+	 * @param selection Solution of the incumbent by variable handle (may be null).
+	 */
+	public Incumbent(final double objective, final double bound, final long elapsed,
+			final IntPredicate selection) {
+		this.objective = objective;
+		this.bound = bound;
+		this.elapsed = elapsed;
+		this.selection = selection;
+	}
+
+	/**
+	 * Returns the objective value of the incumbent.
+	 *
+	 * @return Objective value of the incumbent.
+	 */
+	public double getObjective() {
+		return objective;
+	}
+
+	/**
+	 * Returns the best known bound of the objective value.
+	 *
+	 * @return Best known bound of the objective value.
+	 */
+	public double getBound() {
+		return bound;
+	}
+
+	/**
+	 * Returns the relative gap between the objective value and the bound. The
+	 * definition is the same as Gurobi's MIPGap: |objective - bound| /
+	 * |objective|.
+	 *
+	 * @return Relative gap between the objective value and the bound.
+	 */
+	public double getGap() {
+		if (objective == bound) {
+			return 0;
+		}
+		return Math.abs(objective - bound) / Math.max(Math.abs(objective), 1e-10);
+	}
+
+	/**
+	 * Returns the time since the start of the solve in nanoseconds.
+	 *
+	 * @return Time since the start of the solve in nanoseconds.
+	 */
+	public long getElapsed() {
+		return elapsed;
+	}
+
+	/**
+	 * Returns true if the incumbent selects the given variable. The solution is
+	 * read from the solver library, so this method may only be called within
+	 * {@link IncumbentListener#incumbentFound(Incumbent)}.
+	 *
+	 * @param var Variable handle.
+	 * @return True if the variable is selected by the incumbent.
+	 * @throws IlpSolverException If the solver does not provide the solution of
+	 *                            its incumbents.
+	 */
+	public boolean isSelected(final int var) throws IlpSolverException {
+		if (selection == null) {
+			throw new IlpSolverException("The solution of the incumbent is not available.");
+		}
+		return selection.test(var);
+	}
+
+	@Override
+	public String toString() {
+		return "Incumbent [objective=" + objective + ", bound=" + bound + ", gap=" + getGap() + ", elapsed="
+				+ elapsed + "]";
+	}
+
+}
@@ -0,0 +1,20 @@
+package ilp.wrapper;
+
+/**
+ * Listener that gets notified about each improving incumbent an ILP solver
+ * finds while solving. Listeners are called from the solving thread (or a
+ * thread of the solver library) and should therefore return quickly.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+@FunctionalInterface
+public interface IncumbentListener {
+
+	/**
+	 * Gets called for each improving incumbent.
+	 *
+	 * @param incumbent Improving incumbent.
+	 */
+	void incumbentFound(final Incumbent incumbent);
+
+}
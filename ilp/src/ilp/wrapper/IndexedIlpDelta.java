@@ -0,0 +1,689 @@
+package ilp.wrapper;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import ilp.wrapper.config.IlpSolverConfig;
+
+/**
+ * Data object that holds new, changed or removed variables and constraints of
+ * an {@link IncrementalIlpSolver} identified by integer handles instead of
+ * names. In contrast to the {@link IlpDelta}, all data is stored in primitive
+ * arrays and no string keys have to be built or hashed.
+ *
+ * The delta is bound to the handle counters of the solver it was created for:
+ * The first variable added to the delta gets the handle
+ * {@link IncrementalIlpSolver#getVariableHandleCount()} of the solver, the next
+ * one this value plus one, and so on (constraints analogously). Therefore,
+ * handles returned by this delta can be used to refer to the new elements
+ * before and after the delta was applied. The solver must not be modified
+ * between the creation of the delta and its application.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IndexedIlpDelta {
+
+	/**
+	 * Initial capacity of all internal arrays.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * Handle of the first variable and constraint added by this delta.
+	 */
+	private final int varBase;
+	private final int constrBase;
+
+	/*
+	 * Added variables and constraints.
+	 */
+	private final DoubleList addVariableWeights = new DoubleList();
+	private final DoubleList addConstraintRights = new DoubleList();
+	private boolean[] addConstraintEquals = new boolean[INITIAL_CAPACITY];
+
+	/*
+	 * Terms (constraint, variable, weight) of new and existing constraints.
+	 */
+	private final IntList termConstraints = new IntList();
+	private final IntList termVariables = new IntList();
+	private final DoubleList termWeights = new DoubleList();
+
+	/*
+	 * Added SOS1 constraints as (group, variable) pairs.
+	 */
+	private int sosCount = 0;
+	private final IntList sosGroups = new IntList();
+	private final IntList sosVariables = new IntList();
+
+	/*
+	 * Changed variable and constraint parameters.
+	 */
+	private final IntList changeWeightVariables = new IntList();
+	private final DoubleList changeWeightValues = new DoubleList();
+	private final IntList changeBoundVariables = new IntList();
+	private final IntList changeBoundLower = new IntList();
+	private final IntList changeBoundUpper = new IntList();
+	private final IntList changeRightConstraints = new IntList();
+	private final DoubleList changeRightValues = new DoubleList();
+
+	/*
+	 * Removed variables and constraints.
+	 */
+	private final IntList removeVariables = new IntList();
+	private final IntList removeConstraints = new IntList();
+
+	/**
+	 * New variables that must not be fixed by the presolve.
+	 */
+	private final IntList presolveExcluded = new IntList();
+
+	/**
+	 * New constraints that must not be dropped by the presolve.
+	 */
+	private final IntList presolveKept = new IntList();
+
+	/*
+	 * Debug names of variables and constraints.
+	 */
+	private final Map<Integer, String> variableNames = new HashMap<>();
+	private final Map<Integer, String> constraintNames = new HashMap<>();
+
+	/**
+	 * Fixed value of each new variable after the presolve of the last application
+	 * (-1 if the variable is free) or null if the delta was not presolved.
+	 */
+	private byte[] presolveFixed = null;
+
+	/**
+	 * True for each new constraint that was dropped by the presolve of the last
+	 * application or null if the delta was not presolved.
+	 */
+	private boolean[] presolveDropped = null;
+
+	/**
+	 * Scaling factors of all constraints of the solver (may be null).
+	 */
+	private final IlpRowScaling scaling;
+
+	/**
+	 * Creates a new delta for the given solver.
+	 *
+	 * @param solver Incremental ILP solver the delta will be applied to.
+	 */
+	public IndexedIlpDelta(final IncrementalIlpSolver solver) {
+		this(solver, null);
+	}
+
+	/**
+	 * Creates a new delta for the given solver that scales its new constraints if
+	 * {@link IlpSolverConfig#ENABLE_ROW_SCALING} is enabled.
+	 *
+	 * @param solver  Incremental ILP solver the delta will be applied to.
+	 * @param scaling Scaling factors of all constraints of the solver, which must
+	 *                be shared by all deltas of the solver (may be null to disable
+	 *                the scaling).
+	 */
+	public IndexedIlpDelta(final IncrementalIlpSolver solver, final IlpRowScaling scaling) {
+		this.varBase = solver.getVariableHandleCount();
+		this.constrBase = solver.getConstraintHandleCount();
+		this.scaling = scaling;
+	}
+
+	/**
+	 * Adds a variable with a given solution weight.
+	 *
+	 * @param solutionWeight Weight of the variable in solution.
+	 * @return Handle of the new variable.
+	 */
+	public int addVariable(final double solutionWeight) {
+		addVariableWeights.add(solutionWeight);
+		return varBase + addVariableWeights.size - 1;
+	}
+
+	/**
+	 * Adds a simple equals constraint.
+	 *
+	 * @param right Value of the right side.
+	 * @return Handle of the new constraint.
+	 */
+	public int addEqualsConstraint(final double right) {
+		return addConstraint(right, true);
+	}
+
+	/**
+	 * Adds a simple less or equals constraint.
+	 *
+	 * @param right Value of the right side.
+	 * @return Handle of the new constraint.
+	 */
+	public int addLessOrEqualsConstraint(final double right) {
+		return addConstraint(right, false);
+	}
+
+	/**
+	 * Adds a less or equals constraint.
+	 *
+	 * @param right   Value of the right side.
+	 * @param weights Array of integers defining the weights for each variable.
+	 * @param vars    Array of variable handles.
+	 * @return Handle of the new constraint.
+	 */
+	public int addLessOrEqualsConstraint(final double right, final int[] weights, final int[] vars) {
+		final int constraint = addConstraint(right, false);
+		for (int i = 0; i < vars.length; i++) {
+			setVariableWeightForConstraint(constraint, weights[i], vars[i]);
+		}
+		return constraint;
+	}
+
+	/**
+	 * Adds a new constraint.
+	 *
+	 * @param right  Value of the right side.
+	 * @param equals True for an equals constraint, false for a less or equals one.
+	 * @return Handle of the new constraint.
+	 */
+	private int addConstraint(final double right, final boolean equals) {
+		final int index = addConstraintRights.size;
+		addConstraintRights.add(right);
+		if (index == addConstraintEquals.length) {
+			addConstraintEquals = Arrays.copyOf(addConstraintEquals, index * 2);
+		}
+		addConstraintEquals[index] = equals;
+		return constrBase + index;
+	}
+
+	/**
+	 * Adds a new (empty) SOS1 constraint. Variables can be added to it via
+	 * {@link #addToSosConstraint(int, int)}.
+	 *
+	 * @return Index of the new SOS1 constraint within this delta.
+	 */
+	public int addSosConstraint() {
+		return sosCount++;
+	}
+
+	/**
+	 * Adds a variable to an SOS1 constraint of this delta.
+	 *
+	 * @param sos Index of the SOS1 constraint.
+	 * @param var Variable handle.
+	 */
+	public void addToSosConstraint(final int sos, final int var) {
+		sosGroups.add(sos);
+		sosVariables.add(var);
+	}
+
+	/**
+	 * Changes variable bounds.
+	 *
+	 * @param var   Variable handle.
+	 * @param lower Lower bound.
+	 * @param upper Upper bound.
+	 */
+	public void changeVariableBounds(final int var, final int lower, final int upper) {
+		changeBoundVariables.add(var);
+		changeBoundLower.add(lower);
+		changeBoundUpper.add(upper);
+	}
+
+	/**
+	 * Changes variable weight.
+	 *
+	 * @param var            Variable handle.
+	 * @param solutionWeight New solution weight.
+	 */
+	public void changeVariableWeight(final int var, final double solutionWeight) {
+		if (var >= varBase) {
+			addVariableWeights.values[var - varBase] = solutionWeight;
+		} else {
+			changeWeightVariables.add(var);
+			changeWeightValues.add(solutionWeight);
+		}
+	}
+
+	/**
+	 * Removes a given constraint.
+	 *
+	 * @param constraint Constraint handle.
+	 */
+	public void removeConstraint(final int constraint) {
+		removeConstraints.add(constraint);
+	}
+
+	/**
+	 * Removes a given variable.
+	 *
+	 * @param var Variable handle.
+	 */
+	public void removeVariable(final int var) {
+		removeVariables.add(var);
+	}
+
+	/**
+	 * Excludes a new variable from the presolve of
+	 * {@link #apply(IncrementalIlpSolver)}, i.e., it will never be fixed. This is
+	 * necessary if the variable gets terms in constraints that are added to the
+	 * solver afterwards (e.g., lazily generated constraints), because the presolve
+	 * only considers the constraints of this delta.
+	 *
+	 * @param var Variable handle.
+	 */
+	public void excludeFromPresolve(final int var) {
+		presolveExcluded.add(var);
+	}
+
+	/**
+	 * Keeps a new constraint in the solver even if the presolve of
+	 * {@link #apply(IncrementalIlpSolver)} finds it redundant. This is necessary if
+	 * later deltas add terms to the constraint (e.g., an empty capacity
+	 * constraint), because the handle of a dropped constraint does not refer to a
+	 * constraint of the solver.
+	 *
+	 * @param constraint Constraint handle.
+	 */
+	public void keepConstraint(final int constraint) {
+		presolveKept.add(constraint);
+	}
+
+	/**
+	 * Sets the right side of a given constraint to a given value.
+	 *
+	 * @param constraint Constraint handle.
+	 * @param newRight   New value of the right side.
+	 */
+	public void setConstraintRight(final int constraint, final double newRight) {
+		if (constraint >= constrBase) {
+			addConstraintRights.values[constraint - constrBase] = newRight;
+		} else {
+			changeRightConstraints.add(constraint);
+			changeRightValues.add(newRight);
+		}
+	}
+
+	/**
+	 * Sets the weight for a given constraint's variable to a given value. For new
+	 * constraints, the term is appended to the constraint.
+	 *
+	 * @param constraint Constraint handle.
+	 * @param weight     Value of the variable's weight.
+	 * @param var        Variable handle.
+	 */
+	public void setVariableWeightForConstraint(final int constraint, final double weight, final int var) {
+		termConstraints.add(constraint);
+		termVariables.add(var);
+		termWeights.add(weight);
+	}
+
+	/**
+	 * Sets a debug name for a variable. Names are only kept and passed to the
+	 * solver if {@link IlpSolverConfig#ILP_DEBUG_NAMES} is enabled.
+	 *
+	 * @param var  Variable handle.
+	 * @param name Name of the variable.
+	 */
+	public void setVariableName(final int var, final String name) {
+		if (IlpSolverConfig.ILP_DEBUG_NAMES) {
+			variableNames.put(var, name);
+		}
+	}
+
+	/**
+	 * Sets a debug name for a constraint. Names are only kept and passed to the
+	 * solver if {@link IlpSolverConfig#ILP_DEBUG_NAMES} is enabled.
+	 *
+	 * @param constraint Constraint handle.
+	 * @param name       Name of the constraint.
+	 */
+	public void setConstraintName(final int constraint, final String name) {
+		if (IlpSolverConfig.ILP_DEBUG_NAMES) {
+			constraintNames.put(constraint, name);
+		}
+	}
+
+	/**
+	 * Returns the handle of the first variable added by this delta.
+	 *
+	 * @return Handle of the first variable added by this delta.
+	 */
+	public int getFirstVariable() {
+		return varBase;
+	}
+
+	/**
+	 * Returns the (current) solution weight of a variable added by this delta.
+	 *
+	 * @param var Handle of a variable added by this delta.
+	 * @return Weight of the variable in solution.
+	 */
+	public double getVariableWeight(final int var) {
+		if (var < varBase || var >= varBase + addVariableWeights.size) {
+			throw new IlpSolverException("Variable with the handle=" + var + " was not added by this delta.");
+		}
+		return addVariableWeights.values[var - varBase];
+	}
+
+	/**
+	 * Returns true if the given variable was added by this delta and fixed to 0 by
+	 * the presolve of {@link #apply(IncrementalIlpSolver)}, i.e., it can not be
+	 * part of any solution found by the solver.
+	 *
+	 * @param var Variable handle.
+	 * @return True if the variable was eliminated by the presolve.
+	 */
+	public boolean isEliminated(final int var) {
+		return presolveFixed != null && var >= varBase && var < varBase + presolveFixed.length
+				&& presolveFixed[var - varBase] == 0;
+	}
+
+	/**
+	 * Returns true if the given constraint was added by this delta and dropped by
+	 * the presolve of {@link #apply(IncrementalIlpSolver)}, i.e., its handle does
+	 * not refer to a constraint of the solver and must not be removed.
+	 *
+	 * @param constraint Constraint handle.
+	 * @return True if the constraint was dropped by the presolve.
+	 */
+	public boolean isDropped(final int constraint) {
+		return presolveDropped != null && constraint >= constrBase && constraint < constrBase + presolveDropped.length
+				&& presolveDropped[constraint - constrBase];
+	}
+
+	/**
+	 * Returns the number of variables added by this delta.
+	 *
+	 * @return Number of variables added by this delta.
+	 */
+	public int getAddedVariableCount() {
+		return addVariableWeights.size;
+	}
+
+	/**
+	 * Returns the number of constraints added by this delta.
+	 *
+	 * @return Number of constraints added by this delta.
+	 */
+	public int getAddedConstraintCount() {
+		return addConstraintRights.size;
+	}
+
+	/**
+	 * Applies all added, changed and removed variables and constraints to the
+	 * given incremental ILP solver. If {@link IlpSolverConfig#ENABLE_DELTA_PRESOLVE}
+	 * is enabled, the new variables and constraints are reduced before the upload
+	 * (see {@link IlpDeltaPresolver}): Fixed variables are added without any terms
+	 * and with fixed bounds, dropped constraints only get a handle. If
+	 * {@link IlpSolverConfig#ENABLE_ROW_SCALING} is enabled and the delta has an
+	 * {@link IlpRowScaling}, the new constraints are scaled beforehand, and all
+	 * changes of existing constraints are scaled regarding their factors.
+	 *
+	 * @param solver Incremental ILP solver to apply the delta to.
+	 * @throws IlpSolverException Throws an IlpSolverException if there is a
+	 *                            problem with the solver or if the solver was
+	 *                            modified after the creation of this delta.
+	 */
+	public void apply(final IncrementalIlpSolver solver) throws IlpSolverException {
+		if (solver.getVariableHandleCount() != varBase || solver.getConstraintHandleCount() != constrBase) {
+			throw new IlpSolverException("Solver was modified after the creation of the delta.");
+		}
+		presolveFixed = null;
+		presolveDropped = null;
+
+		for (int i = 0; i < addVariableWeights.size; i++) {
+			solver.addVariable(addVariableWeights.values[i]);
+		}
+
+		// Bucket all terms of new constraints by their constraint (counting sort) and
+		// upload all new constraints at once
+		final int constrCount = addConstraintRights.size;
+		final int[] start = new int[constrCount + 1];
+		for (int i = 0; i < termConstraints.size; i++) {
+			final int c = termConstraints.values[i];
+			if (c >= constrBase) {
+				start[c - constrBase + 1]++;
+			}
+		}
+		for (int c = 0; c < constrCount; c++) {
+			start[c + 1] += start[c];
+		}
+		final int[] vars = new int[start[constrCount]];
+		final double[] weights = new double[start[constrCount]];
+		final int[] next = Arrays.copyOf(start, constrCount);
+		for (int i = 0; i < termConstraints.size; i++) {
+			final int c = termConstraints.values[i];
+			if (c >= constrBase) {
+				final int pos = next[c - constrBase]++;
+				vars[pos] = termVariables.values[i];
+				weights[pos] = termWeights.values[i];
+			}
+		}
+		final double[] rights = Arrays.copyOf(addConstraintRights.values, constrCount);
+		final boolean scale = IlpSolverConfig.ENABLE_ROW_SCALING && scaling != null;
+		if (scale) {
+			for (int c = 0; c < constrCount; c++) {
+				rights[c] = scaling.scale(constrBase + c, addConstraintEquals[c], rights[c], weights, start[c],
+						start[c + 1]);
+			}
+		}
+		final IlpDeltaPresolver presolver = IlpSolverConfig.ENABLE_DELTA_PRESOLVE
+				? presolve(start, vars, weights, rights)
+				: null;
+		if (presolver != null) {
+			presolveDropped = new boolean[constrCount];
+			for (int c = 0; c < constrCount; c++) {
+				presolveDropped[c] = presolver.isRemoved(c);
+			}
+			for (int i = 0; i < presolveKept.size; i++) {
+				if (presolveKept.values[i] >= constrBase) {
+					presolveDropped[presolveKept.values[i] - constrBase] = false;
+				}
+			}
+		}
+		final SparseConstraintBuilder rows = new SparseConstraintBuilder(constrCount, start[constrCount]);
+		for (int c = 0; c < constrCount; c++) {
+			if (presolver == null) {
+				rows.addRow(addConstraintEquals[c], rights[c], null);
+				rows.addTerms(vars, weights, start[c], start[c + 1] - start[c]);
+			} else if (presolveDropped[c]) {
+				rows.addRemovedRow();
+			} else {
+				rows.addRow(addConstraintEquals[c], presolver.getRight(c), null);
+				for (int i = start[c]; i < start[c + 1]; i++) {
+					if (!isFixed(vars[i])) {
+						rows.addTerm(vars[i], weights[i]);
+					}
+				}
+			}
+		}
+		if (presolver != null) {
+			for (int i = 0; i < presolveFixed.length; i++) {
+				if (presolveFixed[i] != -1) {
+					solver.changeVariableBounds(varBase + i, presolveFixed[i], presolveFixed[i]);
+				}
+			}
+		}
+		solver.addConstraints(rows);
+
+		// Terms of already existing constraints
+		for (int i = 0; i < termConstraints.size; i++) {
+			final int c = termConstraints.values[i];
+			if (c < constrBase) {
+				solver.setVariableWeightForConstraint(c,
+						scale ? scaling.scaleWeight(c, termWeights.values[i]) : termWeights.values[i],
+						termVariables.values[i]);
+			}
+		}
+
+		if (sosCount > 0) {
+			final int[] sosSizes = new int[sosCount];
+			for (int i = 0; i < sosGroups.size; i++) {
+				if (!isEliminated(sosVariables.values[i])) {
+					sosSizes[sosGroups.values[i]]++;
+				}
+			}
+			final int[][] sos = new int[sosCount][];
+			for (int s = 0; s < sosCount; s++) {
+				sos[s] = new int[sosSizes[s]];
+				sosSizes[s] = 0;
+			}
+			for (int i = 0; i < sosGroups.size; i++) {
+				if (!isEliminated(sosVariables.values[i])) {
+					final int s = sosGroups.values[i];
+					sos[s][sosSizes[s]++] = sosVariables.values[i];
+				}
+			}
+			for (final int[] sosVars : sos) {
+				if (sosVars.length > 0) {
+					solver.addSosConstraint(sosVars);
+				}
+			}
+		}
+
+		for (int i = 0; i < changeWeightVariables.size; i++) {
+			solver.changeVariableWeight(changeWeightVariables.values[i], changeWeightValues.values[i]);
+		}
+		for (int i = 0; i < changeBoundVariables.size; i++) {
+			solver.changeVariableBounds(changeBoundVariables.values[i], changeBoundLower.values[i],
+					changeBoundUpper.values[i]);
+		}
+		for (int i = 0; i < changeRightConstraints.size; i++) {
+			final int c = changeRightConstraints.values[i];
+			solver.setConstraintRight(c, scale ? scaling.scaleRight(c, changeRightValues.values[i])
+					: changeRightValues.values[i]);
+		}
+
+		if (removeVariables.size > 0) {
+			solver.removeVariables(Arrays.copyOf(removeVariables.values, removeVariables.size));
+		}
+		if (removeConstraints.size > 0) {
+			solver.removeConstraints(Arrays.copyOf(removeConstraints.values, removeConstraints.size));
+		}
+
+		for (final Entry<Integer, String> entry : variableNames.entrySet()) {
+			solver.setVariableName(entry.getKey(), entry.getValue());
+		}
+		for (final Entry<Integer, String> entry : constraintNames.entrySet()) {
+			final int c = entry.getKey() - constrBase;
+			if (presolver == null || c < 0 || !presolveDropped[c]) {
+				solver.setConstraintName(entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Returns true if the given variable is a new variable that was fixed by the
+	 * presolve.
+	 *
+	 * @param var Variable handle.
+	 * @return True if the variable was fixed by the presolve.
+	 */
+	private boolean isFixed(final int var) {
+		return presolveFixed != null && var >= varBase && presolveFixed[var - varBase] != -1;
+	}
+
+	/**
+	 * Presolves the new variables and constraints.
+	 *
+	 * @param start   Start of the terms of each new constraint.
+	 * @param vars    Variable handles of the terms of all new constraints.
+	 * @param weights Coefficients of the terms of all new constraints.
+	 * @param rights  Right sides of all new constraints.
+	 * @return Presolver that holds the reductions.
+	 */
+	private IlpDeltaPresolver presolve(final int[] start, final int[] vars, final double[] weights,
+			final double[] rights) {
+		final int n = addVariableWeights.size;
+
+		// Variables with terms in existing constraints or with changed bounds are
+		// never fixed, because the presolve does not know the constraints of the
+		// solver
+		final boolean[] eligible = new boolean[n];
+		Arrays.fill(eligible, true);
+		for (int i = 0; i < termConstraints.size; i++) {
+			if (termConstraints.values[i] < constrBase && termVariables.values[i] >= varBase) {
+				eligible[termVariables.values[i] - varBase] = false;
+			}
+		}
+		for (int i = 0; i < changeBoundVariables.size; i++) {
+			if (changeBoundVariables.values[i] >= varBase) {
+				eligible[changeBoundVariables.values[i] - varBase] = false;
+			}
+		}
+		for (int i = 0; i < removeVariables.size; i++) {
+			if (removeVariables.values[i] >= varBase) {
+				eligible[removeVariables.values[i] - varBase] = false;
+			}
+		}
+		for (int i = 0; i < presolveExcluded.size; i++) {
+			if (presolveExcluded.values[i] >= varBase) {
+				eligible[presolveExcluded.values[i] - varBase] = false;
+			}
+		}
+
+		// Sorted SOS1 groups of each new variable
+		final int[] sosCounts = new int[n];
+		for (int i = 0; i < sosGroups.size; i++) {
+			if (sosVariables.values[i] >= varBase) {
+				sosCounts[sosVariables.values[i] - varBase]++;
+			}
+		}
+		final int[][] sos = new int[n][];
+		for (int j = 0; j < n; j++) {
+			sos[j] = new int[sosCounts[j]];
+			sosCounts[j] = 0;
+		}
+		for (int i = 0; i < sosGroups.size; i++) {
+			final int j = sosVariables.values[i] - varBase;
+			if (j >= 0) {
+				sos[j][sosCounts[j]++] = sosGroups.values[i];
+			}
+		}
+		for (final int[] groups : sos) {
+			Arrays.sort(groups);
+		}
+
+		final IlpDeltaPresolver presolver = new IlpDeltaPresolver(varBase,
+				Arrays.copyOf(addVariableWeights.values, n),
+				Arrays.copyOf(addConstraintEquals, addConstraintRights.size), rights, start, vars, weights, eligible,
+				sos);
+		presolver.presolve();
+		presolveFixed = new byte[n];
+		for (int j = 0; j < n; j++) {
+			presolveFixed[j] = (byte) presolver.getFixed(j);
+		}
+		return presolver;
+	}
+
+	/**
+	 * Simple growable list of primitive integers.
+	 */
+	private static class IntList {
+		int[] values = new int[INITIAL_CAPACITY];
+		int size = 0;
+
+		void add(final int value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+	}
+
+	/**
+	 * Simple growable list of primitive doubles.
+	 */
+	private static class DoubleList {
+		double[] values = new double[INITIAL_CAPACITY];
+		int size = 0;
+
+		void add(final double value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+	}
+
+}
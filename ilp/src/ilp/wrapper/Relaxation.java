@@ -0,0 +1,107 @@
+package ilp.wrapper;
+
+/**
+ * Solution of the linear programming (LP) relaxation of an ILP model, i.e., all
+ * binary variables are replaced by continuous ones between 0 and 1 and all SOS
+ * constraints are dropped.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class Relaxation extends Statistics {
+
+	/**
+	 * Objective value of the relaxation.
+	 */
+	private final double objective;
+
+	/**
+	 * Values of all variables indexed by their handles.
+	 */
+	private final double[] values;
+
+	/**
+	 * Objective coefficients of all variables indexed by their handles.
+	 */
+	private final double[] costs;
+
+	/**
+	 * Creates a new relaxation object with given parameters.
+	 *
+	 * @param status    Solver status.
+	 * @param duration  Runtime in nanoseconds.
+	 * @param objective Objective value of the relaxation.
+	 * @param values    Values of all variables indexed by their handles (removed
+	 *                  variables are 0).
+	 * @param costs     Objective coefficients of all variables indexed by their
+	 *                  handles (removed variables are 0).
+	 */
+	public Relaxation(final SolverStatus status, final long duration, final double objective, final double[] values,
+			final double[] costs) {
+		super(status, duration);
+		this.objective = objective;
+		this.values = values;
+		this.costs = costs;
+	}
+
+	/**
+	 * Returns the objective value of the relaxation. This is a lower bound of the
+	 * objective value of the ILP model.
+	 *
+	 * @return Objective value of the relaxation or NaN if it is not feasible.
+	 */
+	public double getObjective() {
+		return objective;
+	}
+
+	/**
+	 * Returns the value of a variable.
+	 *
+	 * @param var Variable handle.
+	 * @return Value of the variable between 0 and 1.
+	 */
+	public double getValue(final int var) {
+		return var < values.length ? values[var] : 0;
+	}
+
+	/**
+	 * Returns the objective coefficient of a variable.
+	 *
+	 * @param var Variable handle.
+	 * @return Objective coefficient of the variable.
+	 */
+	public double getCost(final int var) {
+		return var < costs.length ? costs[var] : 0;
+	}
+
+	/**
+	 * Returns the objective value of a given integer solution regarding the
+	 * objective coefficients of this relaxation.
+	 *
+	 * @param selected Handles of all selected variables.
+	 * @return Objective value of the solution.
+	 */
+	public double getObjective(final int[] selected) {
+		double sum = 0;
+		for (final int var : selected) {
+			sum += getCost(var);
+		}
+		return sum;
+	}
+
+	/**
+	 * Returns the integrality gap of a given integer solution, i.e., the relative
+	 * distance between its objective value and the one of the relaxation. The
+	 * definition is the same as the one of {@link Incumbent#getGap()}.
+	 *
+	 * @param selected Handles of all selected variables.
+	 * @return Integrality gap of the solution.
+	 */
+	public double getIntegralityGap(final int[] selected) {
+		final double rounded = getObjective(selected);
+		if (rounded == objective) {
+			return 0;
+		}
+		return Math.abs(rounded - objective) / Math.max(Math.abs(rounded), 1e-10);
+	}
+
+}
@@ -6,5 +6,5 @@ package ilp.wrapper;
  * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
  */
 public enum SolverStatus {
-	UNBOUNDED, INF_OR_UNBD, INFEASIBLE, OPTIMAL, TIME_OUT;
+	UNBOUNDED, INF_OR_UNBD, INFEASIBLE, OPTIMAL, TIME_OUT, INTERRUPTED, ITERATION_LIMIT;
 }
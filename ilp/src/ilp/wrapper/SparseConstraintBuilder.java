@@ -0,0 +1,293 @@
+package ilp.wrapper;
+
+import java.util.Arrays;
+
+/**
+ * Builder for a block of linear constraints in the compressed sparse row (CSR)
+ * format. All rows and their terms are stored in primitive growable arrays:
+ * The terms of row r are located at the indices {@code getRowStart()[r]}
+ * (inclusive) to {@code getRowStart()[r + 1]} (exclusive) of the column and
+ * value arrays. Columns are variable handles of the solver the constraints will
+ * be added to.
+ *
+ * Terms are always appended to the last row added, i.e., all rows have to be
+ * built one after another. A builder can be passed to
+ * {@link IncrementalIlpSolver#addConstraints(SparseConstraintBuilder)} to add
+ * all rows with one (bulk) call.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class SparseConstraintBuilder {
+
+	/**
+	 * Number of rows.
+	 */
+	private int rows = 0;
+
+	/**
+	 * Number of terms (non-zero coefficients) of all rows.
+	 */
+	private int nonZeros = 0;
+
+	/**
+	 * Start index of each row within the column and value arrays. The entry after
+	 * the last row always holds the number of terms.
+	 */
+	private int[] rowStart;
+
+	/**
+	 * Right side, sense and (optional) name of each row.
+	 */
+	private double[] rights;
+	private boolean[] equals;
+	private String[] names;
+	private boolean[] removed;
+
+	/**
+	 * Column (variable handle) and value of each term.
+	 */
+	private int[] columns;
+	private double[] values;
+
+	/**
+	 * Creates a new builder with a small initial capacity.
+	 */
+	public SparseConstraintBuilder() {
+		this(16, 64);
+	}
+
+	/**
+	 * Creates a new builder with preallocated buffers.
+	 *
+	 * @param rowCapacity     Expected number of rows.
+	 * @param nonZeroCapacity Expected number of terms of all rows.
+	 */
+	public SparseConstraintBuilder(final int rowCapacity, final int nonZeroCapacity) {
+		final int r = Math.max(1, rowCapacity);
+		final int nz = Math.max(1, nonZeroCapacity);
+		rowStart = new int[r + 1];
+		rights = new double[r];
+		equals = new boolean[r];
+		columns = new int[nz];
+		values = new double[nz];
+	}
+
+	/**
+	 * Adds a new equals row.
+	 *
+	 * @param right Value of the right side.
+	 * @return Index of the new row within this builder.
+	 */
+	public int addEqualsRow(final double right) {
+		return addRow(true, right, null);
+	}
+
+	/**
+	 * Adds a new less or equals row.
+	 *
+	 * @param right Value of the right side.
+	 * @return Index of the new row within this builder.
+	 */
+	public int addLessOrEqualsRow(final double right) {
+		return addRow(false, right, null);
+	}
+
+	/**
+	 * Adds a new row.
+	 *
+	 * @param equals True for an equals row, false for a less or equals one.
+	 * @param right  Value of the right side.
+	 * @param name   Name of the row (may be null).
+	 * @return Index of the new row within this builder.
+	 */
+	public int addRow(final boolean equals, final double right, final String name) {
+		if (rows == rights.length) {
+			final int capacity = rows * 2;
+			rowStart = Arrays.copyOf(rowStart, capacity + 1);
+			rights = Arrays.copyOf(rights, capacity);
+			this.equals = Arrays.copyOf(this.equals, capacity);
+			if (names != null) {
+				names = Arrays.copyOf(names, capacity);
+			}
+			if (removed != null) {
+				removed = Arrays.copyOf(removed, capacity);
+			}
+		}
+		rights[rows] = right;
+		this.equals[rows] = equals;
+		if (name != null) {
+			if (names == null) {
+				names = new String[rights.length];
+			}
+			names[rows] = name;
+		}
+		rows++;
+		rowStart[rows] = nonZeros;
+		return rows - 1;
+	}
+
+	/**
+	 * Adds a placeholder row that only reserves a constraint handle, e.g., for a
+	 * row that was found to be redundant by a presolve. Solvers treat the handle
+	 * like the one of a removed constraint. Placeholder rows must not get any
+	 * terms.
+	 *
+	 * @return Index of the new row within this builder.
+	 */
+	public int addRemovedRow() {
+		final int row = addRow(false, 0, null);
+		if (removed == null) {
+			removed = new boolean[rights.length];
+		}
+		removed[row] = true;
+		return row;
+	}
+
+	/**
+	 * Appends a term to the last row.
+	 *
+	 * @param column Variable handle.
+	 * @param value  Coefficient of the variable.
+	 */
+	public void addTerm(final int column, final double value) {
+		checkLastRow();
+		ensureNonZeroCapacity(nonZeros + 1);
+		columns[nonZeros] = column;
+		values[nonZeros] = value;
+		nonZeros++;
+		rowStart[rows] = nonZeros;
+	}
+
+	/**
+	 * Appends a range of terms to the last row.
+	 *
+	 * @param columns Array of variable handles.
+	 * @param values  Array of coefficients.
+	 * @param offset  Index of the first term to append.
+	 * @param length  Number of terms to append.
+	 */
+	public void addTerms(final int[] columns, final double[] values, final int offset, final int length) {
+		checkLastRow();
+		ensureNonZeroCapacity(nonZeros + length);
+		System.arraycopy(columns, offset, this.columns, nonZeros, length);
+		System.arraycopy(values, offset, this.values, nonZeros, length);
+		nonZeros += length;
+		rowStart[rows] = nonZeros;
+	}
+
+	/**
+	 * Throws an exception if there is no last row that may get terms.
+	 */
+	private void checkLastRow() {
+		if (rows == 0) {
+			throw new IllegalStateException("A row has to be added before its terms.");
+		} else if (isRemoved(rows - 1)) {
+			throw new IllegalStateException("A placeholder row must not get any terms.");
+		}
+	}
+
+	/**
+	 * Grows the column and value arrays if necessary.
+	 *
+	 * @param capacity Needed capacity.
+	 */
+	private void ensureNonZeroCapacity(final int capacity) {
+		if (capacity > columns.length) {
+			final int newCapacity = Math.max(capacity, columns.length * 2);
+			columns = Arrays.copyOf(columns, newCapacity);
+			values = Arrays.copyOf(values, newCapacity);
+		}
+	}
+
+	/**
+	 * Removes all rows and terms but keeps the allocated buffers.
+	 */
+	public void clear() {
+		rows = 0;
+		nonZeros = 0;
+		rowStart[0] = 0;
+		if (names != null) {
+			Arrays.fill(names, null);
+		}
+		if (removed != null) {
+			Arrays.fill(removed, false);
+		}
+	}
+
+	public int getRowCount() {
+		return rows;
+	}
+
+	public int getNonZeroCount() {
+		return nonZeros;
+	}
+
+	/**
+	 * Returns the internal row start array. Only the first
+	 * {@link #getRowCount()} + 1 entries are valid.
+	 *
+	 * @return Internal row start array.
+	 */
+	public int[] getRowStart() {
+		return rowStart;
+	}
+
+	/**
+	 * Returns the internal column array. Only the first {@link #getNonZeroCount()}
+	 * entries are valid.
+	 *
+	 * @return Internal column array.
+	 */
+	public int[] getColumns() {
+		return columns;
+	}
+
+	/**
+	 * Returns the internal value array. Only the first {@link #getNonZeroCount()}
+	 * entries are valid.
+	 *
+	 * @return Internal value array.
+	 */
+	public double[] getValues() {
+		return values;
+	}
+
+	public double getRight(final int row) {
+		return rights[row];
+	}
+
+	public boolean isEquals(final int row) {
+		return equals[row];
+	}
+
+	/**
+	 * Returns the name of a row.
+	 *
+	 * @param row Index of the row.
+	 * @return Name of the row or null if it has no name.
+	 */
+	public String getName(final int row) {
+		return names == null ? null : names[row];
+	}
+
+	/**
+	 * Returns true if the given row is a placeholder row (see
+	 * {@link #addRemovedRow()}).
+	 *
+	 * @param row Index of the row.
+	 * @return True if the given row is a placeholder row.
+	 */
+	public boolean isRemoved(final int row) {
+		return removed != null && removed[row];
+	}
+
+	/**
+	 * Returns true if at least one row has a name.
+	 *
+	 * @return True if at least one row has a name.
+	 */
+	public boolean hasNames() {
+		return names != null;
+	}
+
+}
@@ -1,7 +1,10 @@
 package ilp.wrapper;
 
 /**
- * Statistics class for the ILP solver implementations.
+ * Statistics class for the ILP solver implementations. Besides the status and
+ * the runtime, a statistics object may carry details about the solved model and
+ * the search, which are created by a {@link Builder}. Details that a solver
+ * implementation does not know are -1 (or NaN for the gap).
  *
  * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
  */
@@ -17,6 +20,40 @@ public class Statistics {
 	 */
 	private final long duration;
 
+	/**
+	 * Size of the model: rows, columns, non-zero coefficients and SOS constraints.
+	 */
+	private final int rows;
+	private final int columns;
+	private final long nonzeros;
+	private final int sosCount;
+
+	/**
+	 * Number of rows and columns removed by the presolve.
+	 */
+	private final int presolveRemovedRows;
+	private final int presolveRemovedColumns;
+
+	/**
+	 * Runtime in nanoseconds until the root relaxation was solved.
+	 */
+	private final long rootTime;
+
+	/**
+	 * Number of explored branch-and-bound nodes.
+	 */
+	private final long nodeCount;
+
+	/**
+	 * Final relative gap between the incumbent and the bound.
+	 */
+	private final double gap;
+
+	/**
+	 * Number of improving incumbents found during the solve.
+	 */
+	private final int incumbentCount;
+
 	/**
 	 * Creates a new statistics object with given parameters.
 	 *
@@ -24,8 +61,27 @@ public class Statistics {
 	 * @param duration Runtime in nanoseconds.
 	 */
 	public Statistics(final SolverStatus status, final long duration) {
-		this.status = status;
-		this.duration = duration;
+		this(new Builder(status, duration));
+	}
+
+	/**
+	 * Creates a new statistics object from a given builder.
+	 *
+	 * @param builder Builder to take all values from.
+	 */
+	private Statistics(final Builder builder) {
+		this.status = builder.status;
+		this.duration = builder.duration;
+		this.rows = builder.rows;
+		this.columns = builder.columns;
+		this.nonzeros = builder.nonzeros;
+		this.sosCount = builder.sosCount;
+		this.presolveRemovedRows = builder.presolveRemovedRows;
+		this.presolveRemovedColumns = builder.presolveRemovedColumns;
+		this.rootTime = builder.rootTime;
+		this.nodeCount = builder.nodeCount;
+		this.gap = builder.gap;
+		this.incumbentCount = builder.incumbentCount;
 	}
 
 	/**
@@ -46,6 +102,96 @@ public class Statistics {
 		return duration;
 	}
 
+	/**
+	 * Returns the number of rows (constraints) of the solved model.
+	 *
+	 * @return Number of rows or -1 if unknown.
+	 */
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	 * Returns the number of columns (variables) of the solved model.
+	 *
+	 * @return Number of columns or -1 if unknown.
+	 */
+	public int getColumns() {
+		return columns;
+	}
+
+	/**
+	 * Returns the number of non-zero coefficients of the solved model.
+	 *
+	 * @return Number of non-zero coefficients or -1 if unknown.
+	 */
+	public long getNonzeros() {
+		return nonzeros;
+	}
+
+	/**
+	 * Returns the number of SOS constraints of the solved model.
+	 *
+	 * @return Number of SOS constraints or -1 if unknown.
+	 */
+	public int getSosCount() {
+		return sosCount;
+	}
+
+	/**
+	 * Returns the number of rows removed by the presolve.
+	 *
+	 * @return Number of removed rows or -1 if unknown.
+	 */
+	public int getPresolveRemovedRows() {
+		return presolveRemovedRows;
+	}
+
+	/**
+	 * Returns the number of columns removed by the presolve.
+	 *
+	 * @return Number of removed columns or -1 if unknown.
+	 */
+	public int getPresolveRemovedColumns() {
+		return presolveRemovedColumns;
+	}
+
+	/**
+	 * Returns the runtime until the root relaxation was solved in nanoseconds.
+	 *
+	 * @return Root relaxation time in nanoseconds or -1 if unknown.
+	 */
+	public long getRootTime() {
+		return rootTime;
+	}
+
+	/**
+	 * Returns the number of explored branch-and-bound nodes.
+	 *
+	 * @return Number of nodes or -1 if unknown.
+	 */
+	public long getNodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * Returns the final relative gap between the incumbent and the bound.
+	 *
+	 * @return Final gap or NaN if unknown (e.g., without incumbent).
+	 */
+	public double getGap() {
+		return gap;
+	}
+
+	/**
+	 * Returns the number of improving incumbents found during the solve.
+	 *
+	 * @return Number of incumbents or -1 if unknown.
+	 */
+	public int getIncumbentCount() {
+		return incumbentCount;
+	}
+
 	/**
 	 * Returns true if the statistics object was feasible.
 	 *
@@ -58,4 +204,140 @@ public class Statistics {
 		return true;
 	}
 
+	/**
+	 * Builder for statistics objects with details about the solved model and the
+	 * search. All details that are not set remain unknown.
+	 */
+	public static class Builder {
+
+		private final SolverStatus status;
+		private final long duration;
+		private int rows = -1;
+		private int columns = -1;
+		private long nonzeros = -1;
+		private int sosCount = -1;
+		private int presolveRemovedRows = -1;
+		private int presolveRemovedColumns = -1;
+		private long rootTime = -1;
+		private long nodeCount = -1;
+		private double gap = Double.NaN;
+		private int incumbentCount = -1;
+
+		/**
+		 * Creates a new builder with given parameters.
+		 *
+		 * @param status   Solver status.
+		 * @param duration Runtime in nanoseconds.
+		 */
+		public Builder(final SolverStatus status, final long duration) {
+			this.status = status;
+			this.duration = duration;
+		}
+
+		/**
+		 * Creates a new builder that takes the status and all details from a given
+		 * statistics object, but a new runtime.
+		 *
+		 * @param other    Statistics object to take the status and details from.
+		 * @param duration Runtime in nanoseconds.
+		 */
+		public Builder(final Statistics other, final long duration) {
+			this(other.status, duration);
+			this.rows = other.rows;
+			this.columns = other.columns;
+			this.nonzeros = other.nonzeros;
+			this.sosCount = other.sosCount;
+			this.presolveRemovedRows = other.presolveRemovedRows;
+			this.presolveRemovedColumns = other.presolveRemovedColumns;
+			this.rootTime = other.rootTime;
+			this.nodeCount = other.nodeCount;
+			this.gap = other.gap;
+			this.incumbentCount = other.incumbentCount;
+		}
+
+		/**
+		 * Sets the size of the solved model.
+		 *
+		 * @param rows     Number of rows.
+		 * @param columns  Number of columns.
+		 * @param nonzeros Number of non-zero coefficients.
+		 * @param sosCount Number of SOS constraints.
+		 * @return This builder.
+		 */
+		public Builder modelSize(final int rows, final int columns, final long nonzeros, final int sosCount) {
+			this.rows = rows;
+			this.columns = columns;
+			this.nonzeros = nonzeros;
+			this.sosCount = sosCount;
+			return this;
+		}
+
+		/**
+		 * Sets the reductions of the presolve.
+		 *
+		 * @param removedRows    Number of removed rows.
+		 * @param removedColumns Number of removed columns.
+		 * @return This builder.
+		 */
+		public Builder presolve(final int removedRows, final int removedColumns) {
+			this.presolveRemovedRows = removedRows;
+			this.presolveRemovedColumns = removedColumns;
+			return this;
+		}
+
+		/**
+		 * Sets the runtime until the root relaxation was solved.
+		 *
+		 * @param rootTime Root relaxation time in nanoseconds.
+		 * @return This builder.
+		 */
+		public Builder rootTime(final long rootTime) {
+			this.rootTime = rootTime;
+			return this;
+		}
+
+		/**
+		 * Sets the number of explored branch-and-bound nodes.
+		 *
+		 * @param nodeCount Number of nodes.
+		 * @return This builder.
+		 */
+		public Builder nodeCount(final long nodeCount) {
+			this.nodeCount = nodeCount;
+			return this;
+		}
+
+		/**
+		 * Sets the final relative gap.
+		 *
+		 * @param gap Final gap.
+		 * @return This builder.
+		 */
+		public Builder gap(final double gap) {
+			this.gap = gap;
+			return this;
+		}
+
+		/**
+		 * Sets the number of improving incumbents.
+		 *
+		 * @param incumbentCount Number of incumbents.
+		 * @return This builder.
+		 */
+		public Builder incumbentCount(final int incumbentCount) {
+			this.incumbentCount = incumbentCount;
+			return this;
+		}
+
+		/**
+		 * Creates the statistics object.
+		 *
+		 * @return New statistics object.
+		 */
+		public Statistics build() {
+			return new Statistics(this);
+		}
+
+	}
+
 }
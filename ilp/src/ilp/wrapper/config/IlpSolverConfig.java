@@ -1,8 +1,22 @@
 package ilp.wrapper.config;
 
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import ilp.wrapper.IlpSolverException;
 import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.impl.DecomposingIlpSolver;
 import ilp.wrapper.impl.IncrementalCplexSolver;
 import ilp.wrapper.impl.IncrementalGurobiSolver;
+import ilp.wrapper.impl.IncrementalJavaSolver;
+import ilp.wrapper.impl.InstrumentedIlpSolver;
+import ilp.wrapper.impl.PortfolioIlpSolver;
+import ilp.wrapper.impl.RecordingIlpSolver;
 
 /**
  * General configuration class for all ILP solvers.
@@ -42,6 +56,21 @@ public class IlpSolverConfig {
 	 */
 	public static boolean ENABLE_PRESOLVE = true;
 
+	/**
+	 * If true, the handle based ILP generation reduces all new variables and
+	 * constraints before they are passed to the solver (see
+	 * {@link ilp.wrapper.IndexedIlpDelta#apply(IncrementalIlpSolver)}).
+	 */
+	public static boolean ENABLE_DELTA_PRESOLVE = true;
+
+	/**
+	 * If true, the handle based ILP generation divides each new constraint with
+	 * integral coefficients by their greatest common divisor (see
+	 * {@link ilp.wrapper.IlpRowScaling}). This keeps the coefficients of resource
+	 * constraints with large units (e.g., bytes) small.
+	 */
+	public static boolean ENABLE_ROW_SCALING = false;
+
 	/**
 	 * Optimality tolerance for the ILP implementation part of the PM algorithm.
 	 * This value is the default value of the Gurobi solver (1e-6) taken from
@@ -59,6 +88,137 @@ public class IlpSolverConfig {
 	 */
 	public static boolean OBJ_LOG = false;
 
+	/**
+	 * If true, the handle based ILP generation passes human readable names of all
+	 * variables and constraints to the solver. This is only useful for debugging
+	 * (e.g., to inspect saved models) and costs a lot of string operations.
+	 */
+	public static boolean ILP_DEBUG_NAMES = false;
+
+	/**
+	 * If true, the environments of disposed Gurobi and CPLEX solvers are kept alive
+	 * and reused by the next solvers (see
+	 * {@link ilp.wrapper.impl.SolverEnvironmentPool}).
+	 */
+	public static boolean POOL_ENVIRONMENTS = true;
+
+	/**
+	 * Sink for the log output of all ILP solvers (one line per call). If null, the
+	 * solvers write their output to the console (and Gurobi additionally to its log
+	 * file). The output must be enabled via {@link #ENABLE_ILP_OUTPUT}.
+	 */
+	public static Consumer<String> LOG_SINK = null;
+
+	/**
+	 * Solver backends of the portfolio solver (see {@link Solver#PORTFOLIO}). Each
+	 * entry is one member that solves the same model in its own thread. Member i
+	 * uses the random seed {@link #RANDOM_SEED} + i.
+	 */
+	public static Solver[] PORTFOLIO_SOLVERS = { Solver.GUROBI, Solver.GUROBI, Solver.GUROBI, Solver.GUROBI };
+
+	/**
+	 * MIP focus of each portfolio member (see
+	 * {@link IncrementalIlpSolver#setMipFocus(int)}). Members without an entry use
+	 * the default focus (0).
+	 */
+	public static int[] PORTFOLIO_MIP_FOCUS = { 0, 1, 2, 3 };
+
+	/**
+	 * Solver backend of the blocks of the Lagrangian decomposition (see
+	 * {@link ilp.wrapper.impl.LagrangianIlpSolver}).
+	 */
+	public static Solver LAGRANGIAN_SOLVER = Solver.GUROBI;
+
+	/**
+	 * Number of threads that solve the blocks of the Lagrangian decomposition in
+	 * parallel.
+	 */
+	public static int LAGRANGIAN_THREADS = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Maximum number of subgradient iterations of the Lagrangian decomposition.
+	 */
+	public static int LAGRANGIAN_ITERATIONS = 50;
+
+	/**
+	 * If true, all PM- and ILP-based VNE algorithms split their models into
+	 * independent components at solve time and solve each component on its own
+	 * (see {@link ilp.wrapper.impl.DecomposingIlpSolver}).
+	 */
+	public static boolean DECOMPOSE = false;
+
+	/**
+	 * Number of threads that solve the independent components of a decomposed
+	 * model in parallel.
+	 */
+	public static int DECOMPOSITION_THREADS = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Number of threads of all ILP solvers (see
+	 * {@link IncrementalIlpSolver#setThreads(int)}). 0 keeps the solver default.
+	 */
+	public static int THREADS = 0;
+
+	/**
+	 * MIP focus of all ILP solvers (see
+	 * {@link IncrementalIlpSolver#setMipFocus(int)}). 0 keeps the solver default.
+	 */
+	public static int MIP_FOCUS = 0;
+
+	/**
+	 * Cut generation level of all ILP solvers (see
+	 * {@link IncrementalIlpSolver#setCuts(int)}). -1 keeps the solver default.
+	 */
+	public static int CUTS = -1;
+
+	/**
+	 * Share of the solution time that all ILP solvers spend in primal heuristics
+	 * (see {@link IncrementalIlpSolver#setHeuristics(double)}). A negative value
+	 * keeps the solver default.
+	 */
+	public static double HEURISTICS = -1;
+
+	/**
+	 * Name of the system property that may hold the path of a parameter profile
+	 * (see {@link #loadProfile(String)}), which is loaded at startup.
+	 */
+	public static final String PROFILE_PROPERTY = "iflye.ilp.profile";
+
+	/**
+	 * Keys of a parameter profile.
+	 */
+	public static final String PROFILE_THREADS = "threads";
+	public static final String PROFILE_MIP_FOCUS = "mipFocus";
+	public static final String PROFILE_CUTS = "cuts";
+	public static final String PROFILE_HEURISTICS = "heuristics";
+
+	/**
+	 * Directory to record the calls of all ILP solvers to (see
+	 * {@link ilp.wrapper.impl.RecordingIlpSolver}). Each solver writes its own log
+	 * file that can be replayed via {@link ilp.wrapper.impl.IlpReplay}. If null,
+	 * nothing will be recorded.
+	 */
+	public static String RECORD_DIRECTORY = null;
+
+	/**
+	 * If true, all solvers returned by {@link #getIlpSolver()} measure the wall
+	 * time and the number of their calls (see
+	 * {@link ilp.wrapper.impl.InstrumentedIlpSolver}).
+	 */
+	public static boolean INSTRUMENT = true;
+
+	/**
+	 * Number of recorded solvers so far (used for the names of the log files).
+	 */
+	private static final AtomicInteger recordings = new AtomicInteger();
+
+	static {
+		final String profile = System.getProperty(PROFILE_PROPERTY);
+		if (profile != null) {
+			loadProfile(profile);
+		}
+	}
+
 	/**
 	 * Returns a new instance of the configured solver. This method is used by all
 	 * PM- and ILP-based VNE algorithms.
@@ -66,15 +226,97 @@ public class IlpSolverConfig {
 	 * @return New instance of the configured solver.
 	 */
 	public static IncrementalIlpSolver getIlpSolver() {
-		switch (IlpSolverConfig.solver) {
+		final IncrementalIlpSolver solver = DECOMPOSE ? new DecomposingIlpSolver(IlpSolverConfig.solver,
+				IlpSolverConfig.TIME_OUT, IlpSolverConfig.RANDOM_SEED)
+				: getIlpSolver(IlpSolverConfig.solver, IlpSolverConfig.RANDOM_SEED);
+		if (RECORD_DIRECTORY == null) {
+			return INSTRUMENT ? new InstrumentedIlpSolver(solver) : solver;
+		}
+		final String file = Paths.get(RECORD_DIRECTORY, "ilp-" + ProcessHandle.current().pid() + "-"
+				+ recordings.incrementAndGet() + ".ilprec").toString();
+		final IncrementalIlpSolver recorder = new RecordingIlpSolver(solver, file);
+		return INSTRUMENT ? new InstrumentedIlpSolver(recorder) : recorder;
+	}
+
+	/**
+	 * Returns a new instance of the given solver type with the configured time
+	 * limit and the given random seed.
+	 *
+	 * @param solver     Solver type to instantiate.
+	 * @param randomSeed Random seed to set for the solver.
+	 * @return New instance of the given solver type.
+	 */
+	public static IncrementalIlpSolver getIlpSolver(final Solver solver, final int randomSeed) {
+		switch (solver) {
 		case GUROBI:
-			return new IncrementalGurobiSolver(IlpSolverConfig.TIME_OUT, IlpSolverConfig.RANDOM_SEED);
+			return applyParameters(new IncrementalGurobiSolver(IlpSolverConfig.TIME_OUT, randomSeed));
 		case CPLEX:
-			return new IncrementalCplexSolver(IlpSolverConfig.TIME_OUT, IlpSolverConfig.RANDOM_SEED);
+			return applyParameters(new IncrementalCplexSolver(IlpSolverConfig.TIME_OUT, randomSeed));
+		case JAVA:
+			return applyParameters(new IncrementalJavaSolver(IlpSolverConfig.TIME_OUT, randomSeed));
+		case PORTFOLIO:
+			// All members are already configured (with their own MIP focus)
+			return new PortfolioIlpSolver(IlpSolverConfig.PORTFOLIO_SOLVERS, IlpSolverConfig.PORTFOLIO_MIP_FOCUS,
+					randomSeed);
 		}
 		throw new UnsupportedOperationException("Solver type not implemented.");
 	}
 
+	/**
+	 * Sets all configured solver parameters (threads, MIP focus, cuts and
+	 * heuristics) that differ from the solver defaults on the given solver.
+	 *
+	 * @param solver Solver to configure.
+	 * @return The given solver.
+	 */
+	public static IncrementalIlpSolver applyParameters(final IncrementalIlpSolver solver) {
+		if (THREADS != 0) {
+			solver.setThreads(THREADS);
+		}
+		if (MIP_FOCUS != 0) {
+			solver.setMipFocus(MIP_FOCUS);
+		}
+		if (CUTS != -1) {
+			solver.setCuts(CUTS);
+		}
+		if (HEURISTICS >= 0) {
+			solver.setHeuristics(HEURISTICS);
+		}
+		return solver;
+	}
+
+	/**
+	 * Loads a parameter profile (e.g., written by
+	 * {@link ilp.wrapper.impl.IlpTuner}) and overwrites the configured solver
+	 * parameters. The profile is a properties file with the optional keys
+	 * {@value #PROFILE_THREADS}, {@value #PROFILE_MIP_FOCUS}, {@value #PROFILE_CUTS}
+	 * and {@value #PROFILE_HEURISTICS}.
+	 *
+	 * @param path Path of the profile to load.
+	 * @throws IlpSolverException If the profile can not be read or contains an
+	 *                            invalid value.
+	 */
+	public static void loadProfile(final String path) throws IlpSolverException {
+		final Properties profile = new Properties();
+		try (final Reader in = new FileReader(path)) {
+			profile.load(in);
+			if (profile.containsKey(PROFILE_THREADS)) {
+				THREADS = Integer.parseInt(profile.getProperty(PROFILE_THREADS).trim());
+			}
+			if (profile.containsKey(PROFILE_MIP_FOCUS)) {
+				MIP_FOCUS = Integer.parseInt(profile.getProperty(PROFILE_MIP_FOCUS).trim());
+			}
+			if (profile.containsKey(PROFILE_CUTS)) {
+				CUTS = Integer.parseInt(profile.getProperty(PROFILE_CUTS).trim());
+			}
+			if (profile.containsKey(PROFILE_HEURISTICS)) {
+				HEURISTICS = Double.parseDouble(profile.getProperty(PROFILE_HEURISTICS).trim());
+			}
+		} catch (final IOException | NumberFormatException e) {
+			throw new IlpSolverException("Could not load the ILP parameter profile " + path + ".", e);
+		}
+	}
+
 	/**
 	 * Transforms the input value of the former objective function according to the
 	 * settings for the ILP solver.
@@ -0,0 +1,789 @@
+package ilp.wrapper.impl;
+
+import java.util.Arrays;
+
+/**
+ * Revised simplex for bounded variables. This class solves the LP relaxations
+ * within the branch-and-bound of the {@link IncrementalJavaSolver}. All
+ * structural variables must have finite bounds. Every row gets a logical
+ * variable (a slack variable for less or equals rows, a variable fixed to zero
+ * for equals rows), and the constraint matrix is stored column-wise and sparse.
+ * Only the inverse of the basis is kept dense.
+ *
+ * Since all structural variables are bounded, the basis of all logical
+ * variables is dual feasible if each structural variable is placed at the bound
+ * that matches the sign of its cost. The LP is therefore solved by a dual
+ * simplex that needs no first phase. Changing bounds keeps a basis dual
+ * feasible, i.e., the optimal basis of a branch-and-bound node is a warm start
+ * for all of its children (see {@link #setBounds(double[], double[])} and
+ * {@link #loadBasis(Basis)}). A primal simplex removes dual infeasibilities
+ * that are left due to numerical errors. Pricing of the primal simplex follows
+ * Dantzig's rule, the dual simplex uses the Harris ratio test. Both fall back
+ * to Bland's rule after a number of degenerate pivots to avoid cycling.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+class BoundedSimplex {
+
+	/**
+	 * Result status of a simplex run.
+	 */
+	enum Status {
+		OPTIMAL, INFEASIBLE, UNBOUNDED, ITERATION_LIMIT
+	}
+
+	/**
+	 * Basis of a simplex run, i.e., the basic variable of each row and the bound
+	 * of each non-basic variable.
+	 */
+	static class Basis {
+		private final int[] head;
+		private final boolean[] atUpper;
+
+		private Basis(final int[] head, final boolean[] atUpper) {
+			this.head = head;
+			this.atUpper = atUpper;
+		}
+	}
+
+	/**
+	 * Feasibility and pivot tolerance.
+	 */
+	private static final double EPS = 1e-9;
+
+	/**
+	 * Tolerance for a basic variable to violate one of its bounds.
+	 */
+	private static final double FEAS_TOL = 1e-7;
+
+	/**
+	 * Smallest pivot that is accepted when the basis is inverted.
+	 */
+	private static final double SINGULAR_TOL = 1e-11;
+
+	/**
+	 * Number of consecutive degenerate pivots after which Bland's rule is used.
+	 */
+	private static final int DEGENERATE_LIMIT = 50;
+
+	/**
+	 * Number of pivots after which the basis is inverted again to remove
+	 * numerical errors of the updates.
+	 */
+	private static final int REFACTOR_INTERVAL = 100;
+
+	/**
+	 * Number of rows.
+	 */
+	private final int m;
+
+	/**
+	 * Number of structural variables.
+	 */
+	private final int n;
+
+	/**
+	 * Total number of variables (structural and logical).
+	 */
+	private final int total;
+
+	/**
+	 * Structural columns in a compressed sparse form.
+	 */
+	private final int[] colStart;
+	private final int[] colRow;
+	private final double[] colVal;
+
+	/**
+	 * Right side of each row.
+	 */
+	private final double[] right;
+
+	/**
+	 * Inverse of the basis. Row i belongs to the basic variable of row i.
+	 */
+	private final double[][] binv;
+
+	/**
+	 * Basic variable of each row.
+	 */
+	private final int[] head;
+
+	/**
+	 * Values of the basic variables.
+	 */
+	private final double[] beta;
+
+	/**
+	 * Reduced costs of all variables.
+	 */
+	private final double[] reduced;
+
+	/**
+	 * Bounds, costs and states of all variables.
+	 */
+	private final double[] lower;
+	private final double[] upper;
+	private final double[] cost;
+	private final boolean[] atUpper;
+	private final boolean[] basic;
+
+	/**
+	 * Work arrays for a column and a row of B^-1 * A.
+	 */
+	private final double[] alphaCol;
+	private final double[] alphaRow;
+
+	/**
+	 * Optimality tolerance for the reduced costs.
+	 */
+	private final double optTol;
+
+	/**
+	 * Number of pivots since the last inversion of the basis.
+	 */
+	private int pivots = 0;
+
+	/**
+	 * Creates a new simplex instance with the basis of all logical variables.
+	 * Rows are given in a sparse form.
+	 *
+	 * @param n       Number of structural variables.
+	 * @param cost    Objective coefficients of the structural variables.
+	 * @param lower   Lower bounds of the structural variables.
+	 * @param upper   Upper bounds of the structural variables.
+	 * @param rowCols Columns of each row.
+	 * @param rowVals Coefficients of each row.
+	 * @param rowLen  Number of terms of each row.
+	 * @param equals  True for every equals row, false for less or equals rows.
+	 * @param right   Right side of each row.
+	 * @param optTol  Optimality tolerance for the reduced costs.
+	 */
+	BoundedSimplex(final int n, final double[] cost, final double[] lower, final double[] upper,
+			final int[][] rowCols, final double[][] rowVals, final int[] rowLen, final boolean[] equals,
+			final double[] right, final double optTol) {
+		this.m = right.length;
+		this.n = n;
+		this.total = n + m;
+		this.optTol = optTol;
+		this.right = right.clone();
+
+		// Transpose the rows into columns (duplicate terms are added up by the
+		// products with the columns)
+		colStart = new int[n + 1];
+		for (int i = 0; i < m; i++) {
+			for (int k = 0; k < rowLen[i]; k++) {
+				colStart[rowCols[i][k] + 1]++;
+			}
+		}
+		for (int j = 0; j < n; j++) {
+			colStart[j + 1] += colStart[j];
+		}
+		colRow = new int[colStart[n]];
+		colVal = new double[colStart[n]];
+		final int[] fill = Arrays.copyOf(colStart, n);
+		for (int i = 0; i < m; i++) {
+			for (int k = 0; k < rowLen[i]; k++) {
+				final int pos = fill[rowCols[i][k]]++;
+				colRow[pos] = i;
+				colVal[pos] = rowVals[i][k];
+			}
+		}
+
+		this.lower = new double[total];
+		this.upper = new double[total];
+		this.cost = new double[total];
+		System.arraycopy(lower, 0, this.lower, 0, n);
+		System.arraycopy(upper, 0, this.upper, 0, n);
+		System.arraycopy(cost, 0, this.cost, 0, n);
+		for (int i = 0; i < m; i++) {
+			this.upper[n + i] = equals[i] ? 0 : Double.POSITIVE_INFINITY;
+		}
+
+		binv = new double[m][m];
+		head = new int[m];
+		beta = new double[m];
+		reduced = new double[total];
+		atUpper = new boolean[total];
+		basic = new boolean[total];
+		alphaCol = new double[m];
+		alphaRow = new double[total];
+		setLogicalBasis();
+		computeDuals(true);
+		computePrimals();
+	}
+
+	/**
+	 * Replaces the bounds of all structural variables. The current basis is kept
+	 * and stays dual feasible, i.e., the next {@link #solve(int)} starts from it.
+	 *
+	 * @param lower Lower bounds of the structural variables.
+	 * @param upper Upper bounds of the structural variables.
+	 */
+	void setBounds(final double[] lower, final double[] upper) {
+		System.arraycopy(lower, 0, this.lower, 0, n);
+		System.arraycopy(upper, 0, this.upper, 0, n);
+		computePrimals();
+	}
+
+	/**
+	 * Returns a copy of the current basis.
+	 *
+	 * @return Copy of the current basis.
+	 */
+	Basis getBasis() {
+		return new Basis(head.clone(), atUpper.clone());
+	}
+
+	/**
+	 * Loads a basis that was returned by {@link #getBasis()} of this instance. The
+	 * basis of all logical variables is used if the given basis is singular.
+	 *
+	 * @param basis Basis to load.
+	 */
+	void loadBasis(final Basis basis) {
+		System.arraycopy(basis.head, 0, head, 0, m);
+		System.arraycopy(basis.atUpper, 0, atUpper, 0, total);
+		Arrays.fill(basic, false);
+		for (int i = 0; i < m; i++) {
+			basic[head[i]] = true;
+		}
+		if (!invert()) {
+			setLogicalBasis();
+		}
+		computeDuals(true);
+		computePrimals();
+	}
+
+	/**
+	 * Solves the LP starting from the current basis.
+	 *
+	 * @param maxIterations Maximum number of pivots.
+	 * @return Status of the simplex run.
+	 */
+	Status solve(final int maxIterations) {
+		final int[] iterations = new int[1];
+		while (true) {
+			final Status status = dual(maxIterations, iterations);
+			if (status != Status.OPTIMAL) {
+				return status;
+			}
+
+			// Check the result with freshly computed values
+			computePrimals();
+			if (getMaxInfeasibility() > FEAS_TOL) {
+				continue;
+			}
+			final int dualInfeasible = computeDuals(true);
+			if (dualInfeasible < 0) {
+				// Bound flips changed the values of the basic variables
+				computePrimals();
+				continue;
+			}
+			return dualInfeasible == 0 ? Status.OPTIMAL : primal(maxIterations, iterations);
+		}
+	}
+
+	/**
+	 * Runs dual simplex iterations until the basis is primal feasible, the LP is
+	 * proven infeasible or the iteration limit is reached. The basis must be dual
+	 * feasible.
+	 *
+	 * @param maxIterations Maximum number of pivots.
+	 * @param iterations    Counter of the pivots done so far.
+	 * @return Status of the run.
+	 */
+	private Status dual(final int maxIterations, final int[] iterations) {
+		int degenerate = 0;
+		while (true) {
+			if (iterations[0]++ >= maxIterations) {
+				return Status.ITERATION_LIMIT;
+			}
+
+			// Leaving variable: the basic variable with the largest bound violation
+			final boolean bland = degenerate >= DEGENERATE_LIMIT;
+			int r = -1;
+			double worst = FEAS_TOL;
+			for (int i = 0; i < m; i++) {
+				final double violation = Math.max(lower[head[i]] - beta[i], beta[i] - upper[head[i]]);
+				if (violation > worst && (!bland || r == -1 || head[i] < head[r])) {
+					r = i;
+					worst = bland ? FEAS_TOL : violation;
+				}
+			}
+			if (r == -1) {
+				return Status.OPTIMAL;
+			}
+			final int leaving = head[r];
+			final boolean toLower = beta[r] < lower[leaving];
+
+			// Harris ratio test: the first pass computes the largest dual step within
+			// the tolerance, the second pass takes the largest pivot within this step
+			computeRow(r);
+			double maxStep = Double.POSITIVE_INFINITY;
+			for (int j = 0; j < total; j++) {
+				final double a = getEligiblePivot(j, toLower);
+				if (a != 0) {
+					maxStep = Math.min(maxStep, (Math.abs(reduced[j]) + optTol) / a);
+				}
+			}
+			if (maxStep == Double.POSITIVE_INFINITY) {
+				return Status.INFEASIBLE;
+			}
+			int entering = -1;
+			double pivotSize = 0;
+			double step = 0;
+			for (int j = 0; j < total; j++) {
+				final double a = getEligiblePivot(j, toLower);
+				if (a == 0) {
+					continue;
+				}
+				final double ratio = Math.abs(reduced[j]) / a;
+				if (bland) {
+					if (entering == -1 || ratio < step - EPS) {
+						entering = j;
+						step = ratio;
+					}
+				} else if (ratio <= maxStep && a > pivotSize) {
+					entering = j;
+					pivotSize = a;
+					step = ratio;
+				}
+			}
+			degenerate = step <= EPS ? degenerate + 1 : 0;
+
+			// Update values, reduced costs and basis
+			computeColumn(entering);
+			final double pivot = alphaCol[r];
+			final double delta = (beta[r] - (toLower ? lower[leaving] : upper[leaving])) / pivot;
+			final double enteringValue = getValue(entering) + delta;
+			for (int i = 0; i < m; i++) {
+				beta[i] -= alphaCol[i] * delta;
+			}
+			final double theta = reduced[entering] / alphaRow[entering];
+			for (int j = 0; j < total; j++) {
+				if (!basic[j]) {
+					reduced[j] -= theta * alphaRow[j];
+				}
+			}
+			reduced[leaving] = -theta;
+			reduced[entering] = 0;
+			atUpper[leaving] = !toLower;
+			pivot(r, entering, enteringValue);
+		}
+	}
+
+	/**
+	 * Returns the absolute value of the pivot element of a variable in the
+	 * current row of B^-1 * A if the variable may enter the basis in a dual
+	 * simplex iteration, or zero otherwise.
+	 *
+	 * @param j       Variable.
+	 * @param toLower True if the leaving variable leaves at its lower bound.
+	 * @return Absolute value of the pivot element or zero.
+	 */
+	private double getEligiblePivot(final int j, final boolean toLower) {
+		if (basic[j] || upper[j] - lower[j] <= EPS) {
+			return 0;
+		}
+		final double a = alphaRow[j];
+		// The entering variable must move the leaving one towards its violated bound
+		final boolean increases = atUpper[j] ? a > EPS : a < -EPS;
+		final boolean decreases = atUpper[j] ? a < -EPS : a > EPS;
+		return (toLower ? increases : decreases) ? Math.abs(a) : 0;
+	}
+
+	/**
+	 * Runs primal simplex iterations until optimality, unboundedness or the
+	 * iteration limit. The basis must be primal feasible.
+	 *
+	 * @param maxIterations Maximum number of pivots.
+	 * @param iterations    Counter of the pivots done so far.
+	 * @return Status of the run.
+	 */
+	private Status primal(final int maxIterations, final int[] iterations) {
+		int degenerate = 0;
+		while (true) {
+			if (iterations[0]++ >= maxIterations) {
+				return Status.ITERATION_LIMIT;
+			}
+
+			// Pricing
+			final boolean bland = degenerate >= DEGENERATE_LIMIT;
+			int entering = -1;
+			double best = 0;
+			for (int j = 0; j < total; j++) {
+				if (basic[j] || upper[j] - lower[j] <= EPS) {
+					continue;
+				}
+				final double d = reduced[j];
+				final double improvement = atUpper[j] ? d : -d;
+				if (improvement > optTol && improvement > best) {
+					entering = j;
+					best = improvement;
+					if (bland) {
+						break;
+					}
+				}
+			}
+			if (entering == -1) {
+				return Status.OPTIMAL;
+			}
+
+			// Ratio test
+			computeColumn(entering);
+			final double dir = atUpper[entering] ? -1 : 1;
+			double step = upper[entering] - lower[entering];
+			int r = -1;
+			boolean leavingToUpper = false;
+			double pivotSize = 0;
+			for (int i = 0; i < m; i++) {
+				final double alpha = dir * alphaCol[i];
+				final int b = head[i];
+				double limit;
+				if (alpha > EPS) {
+					limit = (beta[i] - lower[b]) / alpha;
+				} else if (alpha < -EPS && upper[b] != Double.POSITIVE_INFINITY) {
+					limit = (upper[b] - beta[i]) / -alpha;
+				} else {
+					continue;
+				}
+				limit = Math.max(limit, 0);
+				if (limit < step - EPS || (limit <= step + EPS && Math.abs(alpha) > pivotSize)) {
+					step = limit;
+					r = i;
+					leavingToUpper = alpha < 0;
+					pivotSize = Math.abs(alpha);
+				}
+			}
+			if (step == Double.POSITIVE_INFINITY) {
+				return Status.UNBOUNDED;
+			}
+			degenerate = step <= EPS ? degenerate + 1 : 0;
+
+			// Update values of the basic variables
+			if (step > 0) {
+				for (int i = 0; i < m; i++) {
+					beta[i] -= dir * alphaCol[i] * step;
+				}
+			}
+
+			if (r == -1) {
+				// Bound flip of the entering variable
+				atUpper[entering] = !atUpper[entering];
+			} else {
+				final double value = getValue(entering) + dir * step;
+				final int leaving = head[r];
+				computeRow(r);
+				final double theta = reduced[entering] / alphaRow[entering];
+				for (int j = 0; j < total; j++) {
+					if (!basic[j]) {
+						reduced[j] -= theta * alphaRow[j];
+					}
+				}
+				reduced[leaving] = -theta;
+				reduced[entering] = 0;
+				atUpper[leaving] = leavingToUpper;
+				pivot(r, entering, value);
+			}
+		}
+	}
+
+	/**
+	 * Replaces the basic variable of a row and updates the inverse of the basis
+	 * with the current column of the entering variable. The basis is inverted
+	 * again after a number of updates, which also recomputes all values and
+	 * reduced costs.
+	 *
+	 * @param r        Pivot row.
+	 * @param entering Entering variable.
+	 * @param value    New value of the entering variable.
+	 */
+	private void pivot(final int r, final int entering, final double value) {
+		basic[head[r]] = false;
+		head[r] = entering;
+		basic[entering] = true;
+		atUpper[entering] = false;
+		beta[r] = value;
+
+		final double[] pivotRow = binv[r];
+		final double inv = 1 / alphaCol[r];
+		for (int k = 0; k < m; k++) {
+			pivotRow[k] *= inv;
+		}
+		for (int i = 0; i < m; i++) {
+			final double factor = alphaCol[i];
+			if (i == r || factor == 0) {
+				continue;
+			}
+			final double[] row = binv[i];
+			for (int k = 0; k < m; k++) {
+				row[k] -= factor * pivotRow[k];
+			}
+		}
+
+		if (++pivots >= REFACTOR_INTERVAL && invert()) {
+			// No bound flips, they would break the primal feasibility of the primal
+			// simplex
+			computePrimals();
+			computeDuals(false);
+		}
+	}
+
+	/**
+	 * Inverts the current basis by a Gauss-Jordan elimination with partial
+	 * pivoting.
+	 *
+	 * @return False if the basis is (numerically) singular. The inverse is
+	 *         unchanged in this case.
+	 */
+	private boolean invert() {
+		final double[][] b = new double[m][m];
+		final double[][] inv = new double[m][m];
+		for (int i = 0; i < m; i++) {
+			final int j = head[i];
+			if (j >= n) {
+				b[j - n][i] = 1;
+			} else {
+				for (int k = colStart[j]; k < colStart[j + 1]; k++) {
+					b[colRow[k]][i] += colVal[k];
+				}
+			}
+			inv[i][i] = 1;
+		}
+		for (int c = 0; c < m; c++) {
+			int p = c;
+			for (int i = c + 1; i < m; i++) {
+				if (Math.abs(b[i][c]) > Math.abs(b[p][c])) {
+					p = i;
+				}
+			}
+			if (Math.abs(b[p][c]) < SINGULAR_TOL) {
+				return false;
+			}
+			final double[] swapB = b[p];
+			b[p] = b[c];
+			b[c] = swapB;
+			final double[] swapInv = inv[p];
+			inv[p] = inv[c];
+			inv[c] = swapInv;
+
+			final double scale = 1 / b[c][c];
+			for (int k = 0; k < m; k++) {
+				b[c][k] *= scale;
+				inv[c][k] *= scale;
+			}
+			for (int i = 0; i < m; i++) {
+				final double factor = b[i][c];
+				if (i == c || factor == 0) {
+					continue;
+				}
+				for (int k = 0; k < m; k++) {
+					b[i][k] -= factor * b[c][k];
+					inv[i][k] -= factor * inv[c][k];
+				}
+			}
+		}
+		for (int i = 0; i < m; i++) {
+			System.arraycopy(inv[i], 0, binv[i], 0, m);
+		}
+		pivots = 0;
+		return true;
+	}
+
+	/**
+	 * Replaces the current basis by the basis of all logical variables.
+	 */
+	private void setLogicalBasis() {
+		Arrays.fill(basic, false);
+		for (int i = 0; i < m; i++) {
+			head[i] = n + i;
+			basic[n + i] = true;
+			Arrays.fill(binv[i], 0);
+			binv[i][i] = 1;
+		}
+		pivots = 0;
+	}
+
+	/**
+	 * Computes the column of a variable in B^-1 * A.
+	 *
+	 * @param j Variable.
+	 */
+	private void computeColumn(final int j) {
+		if (j >= n) {
+			for (int i = 0; i < m; i++) {
+				alphaCol[i] = binv[i][j - n];
+			}
+			return;
+		}
+		Arrays.fill(alphaCol, 0);
+		for (int k = colStart[j]; k < colStart[j + 1]; k++) {
+			final int row = colRow[k];
+			final double val = colVal[k];
+			for (int i = 0; i < m; i++) {
+				alphaCol[i] += binv[i][row] * val;
+			}
+		}
+	}
+
+	/**
+	 * Computes a row of B^-1 * A for all non-basic variables.
+	 *
+	 * @param r Row.
+	 */
+	private void computeRow(final int r) {
+		final double[] rho = binv[r];
+		for (int j = 0; j < n; j++) {
+			double a = 0;
+			if (!basic[j]) {
+				for (int k = colStart[j]; k < colStart[j + 1]; k++) {
+					a += rho[colRow[k]] * colVal[k];
+				}
+			}
+			alphaRow[j] = a;
+		}
+		for (int i = 0; i < m; i++) {
+			alphaRow[n + i] = basic[n + i] ? 0 : rho[i];
+		}
+	}
+
+	/**
+	 * Computes the values of all basic variables from the bounds of the non-basic
+	 * ones.
+	 */
+	private void computePrimals() {
+		final double[] rhs = right.clone();
+		for (int j = 0; j < total; j++) {
+			if (basic[j]) {
+				continue;
+			}
+			final double value = getValue(j);
+			if (value == 0) {
+				continue;
+			}
+			if (j >= n) {
+				rhs[j - n] -= value;
+			} else {
+				for (int k = colStart[j]; k < colStart[j + 1]; k++) {
+					rhs[colRow[k]] -= colVal[k] * value;
+				}
+			}
+		}
+		for (int i = 0; i < m; i++) {
+			double value = 0;
+			final double[] row = binv[i];
+			for (int k = 0; k < m; k++) {
+				value += row[k] * rhs[k];
+			}
+			beta[i] = value;
+		}
+	}
+
+	/**
+	 * Computes the reduced costs of all variables. If enabled, a bounded non-basic
+	 * variable whose reduced cost has the wrong sign is moved to its other bound,
+	 * which changes the values of the basic variables.
+	 *
+	 * @param flip True if variables may be moved to their other bounds.
+	 * @return Negative if a variable was moved to its other bound, otherwise the
+	 *         number of (unbounded) variables with a reduced cost of the wrong
+	 *         sign.
+	 */
+	private int computeDuals(final boolean flip) {
+		final double[] y = new double[m];
+		for (int i = 0; i < m; i++) {
+			final double cb = cost[head[i]];
+			if (cb == 0) {
+				continue;
+			}
+			final double[] row = binv[i];
+			for (int k = 0; k < m; k++) {
+				y[k] += cb * row[k];
+			}
+		}
+
+		boolean flipped = false;
+		int infeasible = 0;
+		for (int j = 0; j < total; j++) {
+			if (basic[j]) {
+				reduced[j] = 0;
+				continue;
+			}
+			double d = cost[j];
+			if (j >= n) {
+				d -= y[j - n];
+			} else {
+				for (int k = colStart[j]; k < colStart[j + 1]; k++) {
+					d -= y[colRow[k]] * colVal[k];
+				}
+			}
+			reduced[j] = d;
+			if (atUpper[j] ? d > optTol : d < -optTol) {
+				if (upper[j] == Double.POSITIVE_INFINITY) {
+					infeasible++;
+				} else if (flip && upper[j] - lower[j] > EPS) {
+					atUpper[j] = !atUpper[j];
+					flipped = true;
+				}
+			}
+		}
+		return flipped ? -1 : infeasible;
+	}
+
+	/**
+	 * Returns the largest bound violation of all basic variables.
+	 *
+	 * @return Largest bound violation of all basic variables.
+	 */
+	private double getMaxInfeasibility() {
+		double worst = 0;
+		for (int i = 0; i < m; i++) {
+			worst = Math.max(worst, Math.max(lower[head[i]] - beta[i], beta[i] - upper[head[i]]));
+		}
+		return worst;
+	}
+
+	/**
+	 * Returns the value of a non-basic variable.
+	 *
+	 * @param j Non-basic variable.
+	 * @return Value of the variable.
+	 */
+	private double getValue(final int j) {
+		return atUpper[j] ? upper[j] : lower[j];
+	}
+
+	/**
+	 * Returns the values of all structural variables.
+	 *
+	 * @return Values of all structural variables.
+	 */
+	double[] getSolution() {
+		final double[] x = new double[n];
+		for (int j = 0; j < n; j++) {
+			x[j] = getValue(j);
+		}
+		for (int i = 0; i < m; i++) {
+			if (head[i] < n) {
+				x[head[i]] = Math.min(upper[head[i]], Math.max(lower[head[i]], beta[i]));
+			}
+		}
+		return x;
+	}
+
+	/**
+	 * Returns the objective value of the current solution.
+	 *
+	 * @return Objective value of the current solution.
+	 */
+	double getObjectiveValue() {
+		final double[] x = getSolution();
+		double value = 0;
+		for (int j = 0; j < n; j++) {
+			value += cost[j] * x[j];
+		}
+		return value;
+	}
+
+}
@@ -0,0 +1,526 @@
+package ilp.wrapper.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import ilp.wrapper.IlpSolverException;
+import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.IncumbentListener;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.Statistics;
+import ilp.wrapper.config.IlpSolverConfig;
+import ilp.wrapper.config.Solver;
+
+/**
+ * Implementation of the {@link IncrementalIlpSolver} interface that splits the
+ * model into independent components before solving it. The components are the
+ * connected components of the row-column incidence graph of the model, i.e.,
+ * two variables belong to the same component if they share a constraint or a
+ * SOS1 constraint. For example, virtual networks whose candidate substrate
+ * elements never overlap do not share any capacity constraint.
+ *
+ * The model is built incrementally in memory (like the
+ * {@link IncrementalJavaSolver}), hence all handles stay valid across solves.
+ * On every solve, each component that consists of a single unconstrained
+ * variable is solved directly. All other components are solved by their own
+ * solver instances of the given backend type on a thread pool of
+ * {@link IlpSolverConfig#DECOMPOSITION_THREADS} threads. The solutions of all
+ * components are merged, so that all getters (e.g.,
+ * {@link #getMappings(boolean[])}) return the solution of the whole model.
+ *
+ * A start solution (see {@link #setStartSolution(int[], double[])}) is split
+ * into the start solutions of all components. As soon as every component has
+ * an incumbent, each new incumbent of a component is combined with the best
+ * incumbents of all other components and published to the incumbent listeners
+ * of this solver.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class DecomposingIlpSolver extends IncrementalJavaSolver {
+
+	/**
+	 * Independent component of the model.
+	 */
+	private static final class Component {
+		/**
+		 * Handles of all variables of this component.
+		 */
+		final int[] vars;
+
+		/**
+		 * Handles of all constraints of this component.
+		 */
+		final List<Integer> rows = new ArrayList<>();
+
+		/**
+		 * SOS1 constraints of this component (variable handles).
+		 */
+		final List<int[]> sos = new ArrayList<>();
+
+		/**
+		 * Selection of the solve indexed by the variable positions.
+		 */
+		final boolean[] x;
+
+		/**
+		 * Objective value of the solve.
+		 */
+		double objective;
+
+		/**
+		 * Statistics of the solve or null if the component was solved directly.
+		 */
+		Statistics stats;
+
+		/**
+		 * True if the solve found a solution.
+		 */
+		boolean solved;
+
+		/**
+		 * Best incumbent of the running solve indexed by the variable positions or
+		 * null if there is none (yet).
+		 */
+		boolean[] incumbent;
+
+		/**
+		 * Objective value of the best incumbent.
+		 */
+		double incumbentObjective;
+
+		/**
+		 * Best known bound of the objective value of the component.
+		 */
+		double incumbentBound;
+
+		Component(final int size) {
+			vars = new int[size];
+			x = new boolean[size];
+		}
+	}
+
+	/**
+	 * Solver backend of all components.
+	 */
+	private final Solver backend;
+
+	/**
+	 * Time limit in seconds.
+	 */
+	private int timelimit;
+
+	/**
+	 * Random seed for the solvers of all components.
+	 */
+	private int seed;
+
+	/**
+	 * True if the current solve should stop as soon as possible.
+	 */
+	private volatile boolean cancelRequested = false;
+
+	/**
+	 * Solvers of all components that are currently solved.
+	 */
+	private final List<IncrementalIlpSolver> running = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Number of components of the last solve.
+	 */
+	private int components = 0;
+
+	/**
+	 * Start values for the next solve indexed by the variable handles (NaN if a
+	 * variable has no start value) or null if there is no start solution.
+	 */
+	private double[] startValues = null;
+
+	/**
+	 * Incumbent listeners of the whole model and cancellation state.
+	 */
+	private final SolverCallbacks callbacks = new SolverCallbacks();
+
+	/**
+	 * Constructor that initializes a new decomposing solver object for a given
+	 * solver backend, time limit and random seed.
+	 *
+	 * @param backend    Solver backend of all components.
+	 * @param timelimit  Time limit to set for the solver.
+	 * @param randomSeed Random seed to set for the solver.
+	 */
+	public DecomposingIlpSolver(final Solver backend, final int timelimit, final int randomSeed) {
+		super(timelimit, randomSeed);
+		this.backend = backend;
+		this.timelimit = timelimit;
+		this.seed = randomSeed;
+	}
+
+	/**
+	 * Returns the number of independent components of the last solve.
+	 *
+	 * @return Number of independent components of the last solve.
+	 */
+	public int getComponentCount() {
+		return components;
+	}
+
+	@Override
+	public void setSeed(final int seed) {
+		super.setSeed(seed);
+		this.seed = seed;
+	}
+
+	@Override
+	public void setTimeout(final int parameterValue) {
+		super.setTimeout(parameterValue);
+		timelimit = parameterValue;
+	}
+
+	@Override
+	public void setStartSolution(final int[] vars, final double[] values) throws IlpSolverException {
+		final InMemoryIlpModel model = getModel();
+		final double[] start = new double[model.getVariableHandleCount()];
+		Arrays.fill(start, Double.NaN);
+		for (int i = 0; i < vars.length; i++) {
+			if (vars[i] < 0 || vars[i] >= start.length || model.isVariableRemoved(vars[i])) {
+				throw new IlpSolverException("Variable with the handle=" + vars[i] + " does not exist.");
+			}
+			start[vars[i]] = values[i];
+		}
+		startValues = start;
+	}
+
+	@Override
+	public void addIncumbentListener(final IncumbentListener listener) {
+		callbacks.addListener(listener);
+	}
+
+	@Override
+	public void removeIncumbentListener(final IncumbentListener listener) {
+		callbacks.removeListener(listener);
+	}
+
+	@Override
+	public void cancel() {
+		cancelRequested = true;
+		for (final IncrementalIlpSolver solver : running) {
+			solver.cancel();
+		}
+		callbacks.requestCancel();
+	}
+
+	@Override
+	public void resetCancel() {
+		cancelRequested = false;
+		callbacks.resetCancel();
+	}
+
+	@Override
+	public Statistics solve() throws IlpSolverException {
+		final long start = System.nanoTime();
+		final InMemoryIlpModel model = getModel();
+		cancelRequested = false;
+
+		final List<Component> parts = decompose(model);
+		components = parts.size();
+		final double[] startSolution = startValues;
+		startValues = null;
+		callbacks.solveStarted();
+		final List<Component> pending = new ArrayList<>();
+		for (final Component c : parts) {
+			if (c.rows.isEmpty() && c.sos.isEmpty()) {
+				final int j = c.vars[0];
+				c.x[0] = model.getLower(j) >= 1 || (model.getUpper(j) >= 1 && model.getObjective(j) < 0);
+				c.objective = c.x[0] ? model.getObjective(j) : 0;
+				c.solved = true;
+				c.incumbent = c.x;
+				c.incumbentObjective = c.objective;
+				c.incumbentBound = c.objective;
+			} else {
+				pending.add(c);
+			}
+		}
+
+		if (!pending.isEmpty()) {
+			final ExecutorService pool = Executors
+					.newFixedThreadPool(Math.max(1, Math.min(IlpSolverConfig.DECOMPOSITION_THREADS, pending.size())));
+			try {
+				final List<Future<?>> futures = new ArrayList<>();
+				for (final Component c : pending) {
+					futures.add(pool.submit(() -> solveComponent(c, model, startSolution, parts)));
+				}
+				for (final Future<?> future : futures) {
+					future.get();
+				}
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IlpSolverException(e);
+			} catch (final ExecutionException e) {
+				if (e.getCause() instanceof IlpSolverException) {
+					throw (IlpSolverException) e.getCause();
+				}
+				throw new IlpSolverException(e.getCause());
+			} finally {
+				pool.shutdownNow();
+			}
+		}
+
+		// Merge the solutions and statuses of all components
+		final boolean[] solution = new boolean[model.getVariableHandleCount()];
+		double objective = 0;
+		boolean solved = true;
+		SolverStatus status = SolverStatus.OPTIMAL;
+		long nodes = 0;
+		for (final Component c : parts) {
+			if (c.stats != null) {
+				status = merge(status, c.stats.getStatus());
+				nodes = nodes >= 0 && c.stats.getNodeCount() >= 0 ? nodes + c.stats.getNodeCount() : -1;
+			}
+			solved &= c.solved;
+			objective += c.objective;
+			for (int i = 0; i < c.vars.length; i++) {
+				solution[c.vars[i]] = c.x[i];
+			}
+		}
+		if (cancelRequested && !isInfeasible(status)) {
+			status = SolverStatus.INTERRUPTED;
+		}
+		callbacks.solveFinished();
+		setSolution(solved ? solution : null, objective);
+
+		if (IlpSolverConfig.ENABLE_ILP_OUTPUT) {
+			final String summary = "Decomposing ILP solver: " + parts.size() + " components, " + pending.size()
+					+ " solved by " + backend + ", status " + status + ", objective "
+					+ (solved ? objective : Double.NaN) + ".";
+			if (IlpSolverConfig.LOG_SINK != null) {
+				IlpSolverConfig.LOG_SINK.accept(summary);
+			} else {
+				logger.info(summary);
+			}
+		}
+
+		int nonzeros = 0;
+		for (int i = 0; i < model.getConstraintHandleCount(); i++) {
+			final InMemoryIlpModel.Row row = model.getRow(i);
+			if (!row.removed) {
+				nonzeros += row.size;
+			}
+		}
+		return new Statistics.Builder(status, System.nanoTime() - start) //
+				.modelSize(model.getConstraintCount(), model.getVariableCount(), nonzeros, model.getSos().size()) //
+				.nodeCount(nodes) //
+				.incumbentCount(callbacks.getIncumbentCount()) //
+				.build();
+	}
+
+	/**
+	 * Splits all active variables into independent components.
+	 *
+	 * @param model In-memory model to split.
+	 * @return List of all components.
+	 */
+	private List<Component> decompose(final InMemoryIlpModel model) {
+		final int handles = model.getVariableHandleCount();
+		final int[] component = model.getComponents(new BitSet());
+
+		final int[] size = new int[handles];
+		for (int j = 0; j < handles; j++) {
+			if (component[j] >= 0) {
+				size[component[j]]++;
+			}
+		}
+		final List<Component> parts = new ArrayList<>();
+		final int[] partOfRoot = new int[handles];
+		final int[] filled = new int[handles];
+		for (int j = 0; j < handles; j++) {
+			if (component[j] == j) {
+				partOfRoot[j] = parts.size();
+				parts.add(new Component(size[j]));
+			}
+		}
+		for (int j = 0; j < handles; j++) {
+			if (component[j] >= 0) {
+				parts.get(partOfRoot[component[j]]).vars[filled[component[j]]++] = j;
+			}
+		}
+
+		for (int i = 0; i < model.getConstraintHandleCount(); i++) {
+			final InMemoryIlpModel.Row row = model.getRow(i);
+			if (!row.removed && row.size > 0) {
+				parts.get(partOfRoot[component[row.cols[0]]]).rows.add(i);
+			}
+		}
+		for (final int[] set : model.getSos()) {
+			final int[] active = Arrays.stream(set).filter(j -> !model.isVariableRemoved(j)).toArray();
+			if (active.length > 1) {
+				parts.get(partOfRoot[component[active[0]]]).sos.add(active);
+			}
+		}
+		return parts;
+	}
+
+	/**
+	 * Builds the model of one component on a new solver instance of the backend
+	 * type, solves it and reads its solution. The start solution is restricted to
+	 * the variables of the component, and the incumbents of the component are
+	 * forwarded to the incumbent listeners of the whole model (see
+	 * {@link #publish(List)}). The solver is disposed afterwards.
+	 *
+	 * @param c     Component to solve.
+	 * @param model In-memory model.
+	 * @param start Start values indexed by the variable handles or null if there
+	 *              is no start solution.
+	 * @param parts All components of the model.
+	 * @throws IlpSolverException If the solver of the component throws an
+	 *                            exception.
+	 */
+	private void solveComponent(final Component c, final InMemoryIlpModel model, final double[] start,
+			final List<Component> parts) throws IlpSolverException {
+		if (cancelRequested) {
+			c.stats = new Statistics(SolverStatus.INTERRUPTED, 0);
+			return;
+		}
+		final IncrementalIlpSolver solver = IlpSolverConfig.getIlpSolver(backend, seed);
+		running.add(solver);
+		try {
+			solver.setTimeout(timelimit);
+			final int[] local = new int[c.vars.length];
+			final int[] localOf = new int[model.getVariableHandleCount()];
+			for (int i = 0; i < c.vars.length; i++) {
+				final int j = c.vars[i];
+				local[i] = solver.addVariable(model.getObjective(j));
+				localOf[j] = local[i];
+				if (model.getLower(j) != 0 || model.getUpper(j) != 1) {
+					solver.changeVariableBounds(local[i], (int) model.getLower(j), (int) model.getUpper(j));
+				}
+			}
+			for (final int i : c.rows) {
+				final InMemoryIlpModel.Row row = model.getRow(i);
+				final int[] vars = new int[row.size];
+				for (int k = 0; k < row.size; k++) {
+					vars[k] = localOf[row.cols[k]];
+				}
+				final double[] vals = Arrays.copyOf(row.vals, row.size);
+				if (row.sense == InMemoryIlpModel.EQUAL) {
+					solver.addEqualsConstraint(row.right, vals, vars);
+				} else {
+					solver.addLessOrEqualsConstraint(row.right, vals, vars);
+				}
+			}
+			for (final int[] set : c.sos) {
+				solver.addSosConstraint(Arrays.stream(set).map(j -> localOf[j]).toArray());
+			}
+			if (start != null) {
+				final int[] startVars = Arrays.stream(c.vars).filter(j -> j < start.length && !Double.isNaN(start[j]))
+						.toArray();
+				if (startVars.length > 0) {
+					solver.setStartSolution(Arrays.stream(startVars).map(j -> localOf[j]).toArray(),
+							Arrays.stream(startVars).mapToDouble(j -> start[j]).toArray());
+				}
+			}
+			if (callbacks.hasListeners()) {
+				solver.addIncumbentListener(incumbent -> {
+					final boolean[] x = new boolean[c.vars.length];
+					try {
+						for (int i = 0; i < x.length; i++) {
+							x[i] = incumbent.isSelected(local[i]);
+						}
+					} catch (final IlpSolverException e) {
+						// The backend does not provide the solutions of its incumbents
+						return;
+					}
+					synchronized (parts) {
+						c.incumbent = x;
+						c.incumbentObjective = incumbent.getObjective();
+						c.incumbentBound = incumbent.getBound();
+						publish(parts);
+					}
+				});
+			}
+			if (cancelRequested) {
+				solver.cancel();
+			}
+
+			c.stats = solver.solve();
+			if (!solver.hasSolution()) {
+				return;
+			}
+			final boolean[] selected = new boolean[solver.getVariableHandleCount()];
+			solver.getMappings(selected);
+			for (int i = 0; i < c.vars.length; i++) {
+				c.x[i] = selected[local[i]];
+				if (c.x[i]) {
+					c.objective += model.getObjective(c.vars[i]);
+				}
+			}
+			c.solved = true;
+		} finally {
+			running.remove(solver);
+			solver.dispose();
+		}
+	}
+
+	/**
+	 * Publishes the combination of the best incumbents of all components to the
+	 * incumbent listeners of the whole model if every component has an incumbent.
+	 * The caller must hold the lock of the given list.
+	 *
+	 * @param parts All components of the model.
+	 */
+	private void publish(final List<Component> parts) {
+		double objective = 0;
+		double bound = 0;
+		for (final Component c : parts) {
+			if (c.incumbent == null) {
+				return;
+			}
+			objective += c.incumbentObjective;
+			bound += c.incumbentBound;
+		}
+		final int[] partOf = new int[getModel().getVariableHandleCount()];
+		final int[] posOf = new int[partOf.length];
+		Arrays.fill(partOf, -1);
+		for (int p = 0; p < parts.size(); p++) {
+			final int[] vars = parts.get(p).vars;
+			for (int i = 0; i < vars.length; i++) {
+				partOf[vars[i]] = p;
+				posOf[vars[i]] = i;
+			}
+		}
+		callbacks.publish(objective, bound,
+				var -> var >= 0 && var < partOf.length && partOf[var] >= 0
+						&& parts.get(partOf[var]).incumbent[posOf[var]]);
+	}
+
+	/**
+	 * Merges the status of the whole model with the status of one component. An
+	 * infeasible (or unbounded) component makes the whole model infeasible,
+	 * otherwise the whole model is only optimal if all components are optimal.
+	 *
+	 * @param status    Status of the whole model so far.
+	 * @param component Status of the component.
+	 * @return Merged status.
+	 */
+	private static SolverStatus merge(final SolverStatus status, final SolverStatus component) {
+		if (isInfeasible(status)) {
+			return status;
+		}
+		if (isInfeasible(component) || status == SolverStatus.OPTIMAL) {
+			return component;
+		}
+		return status;
+	}
+
+	private static boolean isInfeasible(final SolverStatus status) {
+		return status == SolverStatus.INFEASIBLE || status == SolverStatus.INF_OR_UNBD
+				|| status == SolverStatus.UNBOUNDED;
+	}
+
+}
@@ -0,0 +1,691 @@
+package ilp.wrapper.impl;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import iflye.dependencies.logging.IflyeLogger;
+import ilp.wrapper.IlpSolverException;
+import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.IncrementalIlpSolver.Constraint;
+import ilp.wrapper.IncrementalIlpSolver.SosConstraint;
+import ilp.wrapper.IncrementalIlpSolver.Variable;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.SparseConstraintBuilder;
+import ilp.wrapper.Statistics;
+import ilp.wrapper.config.IlpSolverConfig;
+import ilp.wrapper.config.Solver;
+
+/**
+ * Replays a log of a {@link RecordingIlpSolver} into any solver backend and
+ * measures the time of each call. The measured times only contain the solver
+ * calls, not the decoding of the log.
+ *
+ * Usage: {@code IlpReplay <log file> [GUROBI|CPLEX|JAVA|PORTFOLIO]}. If no
+ * solver is given, the configured solver of {@link IlpSolverConfig} is used.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IlpReplay extends IflyeLogger {
+
+	/**
+	 * Human readable names of all operation codes (index = code).
+	 */
+	private static final String[] OP_NAMES = { "end", "addSosConstraint", "addSosConstraints", "addEqualsConstraint",
+			"addEqualsConstraint(terms)", "addEqualsConstraints", "addLessOrEqualsConstraint",
+			"addLessOrEqualsConstraint(terms)", "addLessOrEqualsConstraints", "addToVariableWeight", "addVariable",
+			"addVariables", "changeVariableBounds", "changeVariableWeight", "loadModel", "removeConstraint",
+			"removeConstraints", "removeVariable", "removeVariables", "setConstraintRight", "setConstraintRights",
+			"setSeed", "setMipFocus", "setTimeout", "setVariableBounds", "setVariableWeightForConstraint",
+			"setVariableWeights", "setVariableWeightsForConstraints", "solve", "addVariable(handle)",
+			"addEqualsConstraint(handle)", "addLessOrEqualsConstraint(handle)", "addSosConstraint(handle)",
+			"addConstraints(handle)", "changeVariableBounds(handle)", "changeVariableWeight(handle)",
+			"removeConstraint(handle)", "removeVariable(handle)", "setConstraintRight(handle)",
+			"setVariableWeightForConstraint(handle)", "setVariableName(handle)", "setConstraintName(handle)",
+			"setStartSolution(handle)", "removeConstraints(handle)", "removeVariables(handle)", "setThreads", "setCuts",
+			"setHeuristics", "solveRelaxation" };
+
+	/**
+	 * Timings of one solve and of all model changes since the previous solve.
+	 */
+	public static class SolveTiming {
+		private final int calls;
+		private final long updateDuration;
+		private final Statistics replayed;
+		private final SolverStatus recordedStatus;
+		private final long recordedDuration;
+
+		private SolveTiming(final int calls, final long updateDuration, final Statistics replayed,
+				final SolverStatus recordedStatus, final long recordedDuration) {
+			this.calls = calls;
+			this.updateDuration = updateDuration;
+			this.replayed = replayed;
+			this.recordedStatus = recordedStatus;
+			this.recordedDuration = recordedDuration;
+		}
+
+		/**
+		 * Returns the number of model changing calls since the previous solve.
+		 *
+		 * @return Number of model changing calls.
+		 */
+		public int getCalls() {
+			return calls;
+		}
+
+		/**
+		 * Returns the duration of all model changing calls since the previous solve in
+		 * nanoseconds.
+		 *
+		 * @return Duration of all model changes in nanoseconds.
+		 */
+		public long getUpdateDuration() {
+			return updateDuration;
+		}
+
+		public Statistics getReplayed() {
+			return replayed;
+		}
+
+		public SolverStatus getRecordedStatus() {
+			return recordedStatus;
+		}
+
+		public long getRecordedDuration() {
+			return recordedDuration;
+		}
+
+	}
+
+	/**
+	 * Input stream of the log.
+	 */
+	private DataInputStream in;
+
+	/**
+	 * All strings read so far (index = string index of the log).
+	 */
+	private final List<String> strings = new ArrayList<>();
+
+	/**
+	 * Number of calls and their total duration per operation code.
+	 */
+	private final int[] callCounts = new int[OP_NAMES.length];
+	private final long[] callDurations = new long[OP_NAMES.length];
+
+	/**
+	 * Number of model changing calls since the previous solve and their total
+	 * duration.
+	 */
+	private int segmentCalls = 0;
+	private long segmentDuration = 0;
+
+	/**
+	 * Timings of all replayed solves.
+	 */
+	private final List<SolveTiming> solves = new ArrayList<>();
+
+	/**
+	 * Main method to replay a log file.
+	 *
+	 * @param args Arguments to parse, i.e., args[0] must hold the log file and
+	 *             args[1] may hold the solver to use.
+	 */
+	public static void main(final String[] args) {
+		if (args == null || args.length < 1) {
+			throw new IllegalArgumentException("Please specify the log file to replay.");
+		}
+		final Solver solverType = args.length > 1 ? Solver.valueOf(args[1]) : IlpSolverConfig.solver;
+		final IncrementalIlpSolver solver = IlpSolverConfig.getIlpSolver(solverType, IlpSolverConfig.RANDOM_SEED);
+		final IlpReplay replay = new IlpReplay();
+		try {
+			replay.replay(args[0], solver);
+		} finally {
+			solver.dispose();
+		}
+		logger.info(replay.getReport());
+	}
+
+	/**
+	 * Replays the given log file into the given solver. The solver should be new,
+	 * because the log contains the handles of the recorded solver.
+	 *
+	 * @param file   Path of the log file to replay.
+	 * @param solver Solver to replay all calls into.
+	 * @throws IlpSolverException If the log can not be read or the solver
+	 *                            encounters a problem.
+	 */
+	public void replay(final String file, final IncrementalIlpSolver solver) throws IlpSolverException {
+		try (final DataInputStream input = new DataInputStream(
+				new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+			in = input;
+			if (in.readInt() != RecordingIlpSolver.MAGIC) {
+				throw new IlpSolverException("File " + file + " is not an ILP recording.");
+			}
+			if (in.readInt() != RecordingIlpSolver.VERSION) {
+				throw new IlpSolverException("Unsupported version of the ILP recording " + file + ".");
+			}
+
+			while (true) {
+				final byte op;
+				try {
+					op = in.readByte();
+				} catch (final EOFException e) {
+					// The recording was not closed, e.g., because the JVM was killed
+					break;
+				}
+				if (op == RecordingIlpSolver.OP_END) {
+					break;
+				}
+				final long duration = replay(op, solver);
+				callCounts[op]++;
+				callDurations[op] += duration;
+				if (op != RecordingIlpSolver.OP_SOLVE) {
+					segmentCalls++;
+					segmentDuration += duration;
+				}
+			}
+		} catch (final IOException e) {
+			throw new IlpSolverException(e);
+		} finally {
+			in = null;
+		}
+	}
+
+	/**
+	 * Returns the timings of all replayed solves.
+	 *
+	 * @return Timings of all replayed solves.
+	 */
+	public List<SolveTiming> getSolves() {
+		return solves;
+	}
+
+	/**
+	 * Returns a human readable report of all replayed calls and solves.
+	 *
+	 * @return Report of all replayed calls and solves.
+	 */
+	public String getReport() {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("Calls (count, total ms):").append(System.lineSeparator());
+		for (int op = 1; op < OP_NAMES.length; op++) {
+			if (callCounts[op] > 0) {
+				sb.append("  ").append(OP_NAMES[op]).append(": ").append(callCounts[op]).append(", ")
+						.append(callDurations[op] / 1_000_000.0).append(System.lineSeparator());
+			}
+		}
+		sb.append("Solves (calls, update ms, solve ms, status | recorded solve ms, status):")
+				.append(System.lineSeparator());
+		for (int i = 0; i < solves.size(); i++) {
+			final SolveTiming s = solves.get(i);
+			sb.append("  #").append(i + 1).append(": ").append(s.calls).append(", ")
+					.append(s.updateDuration / 1_000_000.0).append(", ")
+					.append(s.replayed.getDuration() / 1_000_000.0).append(", ").append(s.replayed.getStatus())
+					.append(" | ").append(s.recordedDuration / 1_000_000.0).append(", ").append(s.recordedStatus)
+					.append(System.lineSeparator());
+		}
+		return sb.toString();
+	}
+
+	/*
+	 * Low level reading of the log.
+	 */
+
+	private String readString() throws IOException {
+		final int index = in.readInt();
+		if (index == -1) {
+			return null;
+		} else if (index == strings.size()) {
+			strings.add(in.readUTF());
+		}
+		return strings.get(index);
+	}
+
+	private String[] readStringArray() throws IOException {
+		final String[] values = new String[in.readInt()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = readString();
+		}
+		return values;
+	}
+
+	private double[] readDoubles() throws IOException {
+		final double[] values = new double[in.readInt()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = in.readDouble();
+		}
+		return values;
+	}
+
+	private int[] readInts() throws IOException {
+		final int[] values = new int[in.readInt()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = in.readInt();
+		}
+		return values;
+	}
+
+	private Constraint[] readConstraints() throws IOException {
+		final Constraint[] constraints = new Constraint[in.readInt()];
+		for (int i = 0; i < constraints.length; i++) {
+			final Constraint c = new Constraint(readString(), 0);
+			c.setRight(in.readDouble());
+			final int size = in.readInt();
+			for (int j = 0; j < size; j++) {
+				c.addVar(readString(), in.readDouble());
+			}
+			constraints[i] = c;
+		}
+		return constraints;
+	}
+
+	private SosConstraint readSos() throws IOException {
+		final String name = readString();
+		final int size = in.readInt();
+		final List<Variable> vars = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			vars.add(new Variable(readString(), in.readDouble()));
+		}
+		return new SosConstraint(name, vars);
+	}
+
+	private Map<String, Double> readDoubleMap() throws IOException {
+		final int size = in.readInt();
+		final Map<String, Double> map = new LinkedHashMap<>();
+		for (int i = 0; i < size; i++) {
+			map.put(readString(), in.readDouble());
+		}
+		return map;
+	}
+
+	/**
+	 * Reads the arguments of one operation and replays it into the given solver.
+	 *
+	 * @param op     Operation code.
+	 * @param solver Solver to replay the operation into.
+	 * @return Duration of the solver call in nanoseconds.
+	 * @throws IOException If the log can not be read.
+	 */
+	private long replay(final byte op, final IncrementalIlpSolver solver) throws IOException {
+		final long start;
+		switch (op) {
+		case RecordingIlpSolver.OP_ADD_SOS: {
+			final SosConstraint c = readSos();
+			start = System.nanoTime();
+			solver.addSosConstraint(c);
+			break;
+		}
+		case RecordingIlpSolver.OP_ADD_SOS_ARRAY: {
+			final SosConstraint[] cs = new SosConstraint[in.readInt()];
+			for (int i = 0; i < cs.length; i++) {
+				cs[i] = readSos();
+			}
+			start = System.nanoTime();
+			solver.addSosConstraints(cs);
+			break;
+		}
+		case RecordingIlpSolver.OP_ADD_EQ: {
+			final String name = readString();
+			final double right = in.readDouble();
+			start = System.nanoTime();
+			solver.addEqualsConstraint(name, right);
+			break;
+		}
+		case RecordingIlpSolver.OP_ADD_EQ_TERMS: {
+			final String name = readString();
+			final double right = in.readDouble();
+			final double[] weights = readDoubles();
+			final String[] vars = readStringArray();
+			start = System.nanoTime();
+			solver.addEqualsConstraint(name, right, weights, vars);
+			break;
+		}
+		case RecordingIlpSolver.OP_ADD_EQ_ARRAY: {
+			final Constraint[] cs = readConstraints();
+			start = System.nanoTime();
+			solver.addEqualsConstraints(cs);
+			break;
+		}
+		case RecordingIlpSolver.OP_ADD_LE: {
+			final String name = readString();
+			final double right = in.readDouble();
+			start = System.nanoTime();
+			solver.addLessOrEqualsConstraint(name, right);
+			break;
+		}
+		case RecordingIlpSolver.OP_ADD_LE_TERMS: {
+			final String name = readString();
+			final double right = in.readDouble();
+			final double[] weights = readDoubles();
+			final String[] vars = readStringArray();
+			start = System.nanoTime();
+			solver.addLessOrEqualsConstraint(name, right, weights, vars);
+			break;
+		}
+		case RecordingIlpSolver.OP_ADD_LE_ARRAY: {
+			final Constraint[] cs = readConstraints();
+			start = System.nanoTime();
+			solver.addLessOrEqualsConstraints(cs);
+			break;
+		}
+		case RecordingIlpSolver.OP_ADD_TO_WEIGHT: {
+			final String name = readString();
+			final double change = in.readDouble();
+			start = System.nanoTime();
+			solver.addToVariableWeight(name, change);
+			break;
+		}
+		case RecordingIlpSolver.OP_ADD_VAR: {
+			final String name = readString();
+			final double weight = in.readDouble();
+			start = System.nanoTime();
+			solver.addVariable(name, weight);
+			break;
+		}
+		case RecordingIlpSolver.OP_ADD_VAR_ARRAY: {
+			final Variable[] vars = new Variable[in.readInt()];
+			for (int i = 0; i < vars.length; i++) {
+				vars[i] = new Variable(readString(), in.readDouble());
+			}
+			start = System.nanoTime();
+			solver.addVariables(vars);
+			break;
+		}
+		case RecordingIlpSolver.OP_CHANGE_BOUNDS: {
+			final String name = readString();
+			final int lower = in.readInt();
+			final int upper = in.readInt();
+			start = System.nanoTime();
+			solver.changeVariableBounds(name, lower, upper);
+			break;
+		}
+		case RecordingIlpSolver.OP_CHANGE_WEIGHT: {
+			final String name = readString();
+			final double weight = in.readDouble();
+			start = System.nanoTime();
+			solver.changeVariableWeight(name, weight);
+			break;
+		}
+		case RecordingIlpSolver.OP_LOAD_MODEL: {
+			final String path = readString();
+			start = System.nanoTime();
+			solver.loadModel(path);
+			break;
+		}
+		case RecordingIlpSolver.OP_REMOVE_CONSTRAINT: {
+			final String name = readString();
+			start = System.nanoTime();
+			solver.removeConstraint(name);
+			break;
+		}
+		case RecordingIlpSolver.OP_REMOVE_CONSTRAINTS: {
+			final List<String> names = List.of(readStringArray());
+			start = System.nanoTime();
+			solver.removeConstraints(names);
+			break;
+		}
+		case RecordingIlpSolver.OP_REMOVE_VAR: {
+			final String name = readString();
+			start = System.nanoTime();
+			solver.removeVariable(name);
+			break;
+		}
+		case RecordingIlpSolver.OP_REMOVE_VARS: {
+			final List<String> names = List.of(readStringArray());
+			start = System.nanoTime();
+			solver.removeVariables(names);
+			break;
+		}
+		case RecordingIlpSolver.OP_SET_RIGHT: {
+			final String name = readString();
+			final double right = in.readDouble();
+			start = System.nanoTime();
+			solver.setConstraintRight(name, right);
+			break;
+		}
+		case RecordingIlpSolver.OP_SET_RIGHTS: {
+			final Map<String, Double> rights = readDoubleMap();
+			start = System.nanoTime();
+			solver.setConstraintRights(rights);
+			break;
+		}
+		case RecordingIlpSolver.OP_SET_SEED: {
+			final int seed = in.readInt();
+			start = System.nanoTime();
+			solver.setSeed(seed);
+			break;
+		}
+		case RecordingIlpSolver.OP_SET_MIP_FOCUS: {
+			final int focus = in.readInt();
+			start = System.nanoTime();
+			solver.setMipFocus(focus);
+			break;
+		}
+		case RecordingIlpSolver.OP_SET_THREADS: {
+			final int threads = in.readInt();
+			start = System.nanoTime();
+			solver.setThreads(threads);
+			break;
+		}
+		case RecordingIlpSolver.OP_SET_CUTS: {
+			final int level = in.readInt();
+			start = System.nanoTime();
+			solver.setCuts(level);
+			break;
+		}
+		case RecordingIlpSolver.OP_SET_HEURISTICS: {
+			final double share = in.readDouble();
+			start = System.nanoTime();
+			solver.setHeuristics(share);
+			break;
+		}
+		case RecordingIlpSolver.OP_SET_TIMEOUT: {
+			final int timeout = in.readInt();
+			start = System.nanoTime();
+			solver.setTimeout(timeout);
+			break;
+		}
+		case RecordingIlpSolver.OP_SET_BOUNDS: {
+			final int size = in.readInt();
+			final Map<String, int[]> bounds = new LinkedHashMap<>();
+			for (int i = 0; i < size; i++) {
+				bounds.put(readString(), new int[] { in.readInt(), in.readInt() });
+			}
+			start = System.nanoTime();
+			solver.setVariableBounds(bounds);
+			break;
+		}
+		case RecordingIlpSolver.OP_SET_TERM: {
+			final String name = readString();
+			final double weight = in.readDouble();
+			final String var = readString();
+			start = System.nanoTime();
+			solver.setVariableWeightForConstraint(name, weight, var);
+			break;
+		}
+		case RecordingIlpSolver.OP_SET_WEIGHTS: {
+			final Map<String, Double> weights = readDoubleMap();
+			start = System.nanoTime();
+			solver.setVariableWeights(weights);
+			break;
+		}
+		case RecordingIlpSolver.OP_SET_TERMS: {
+			final int size = in.readInt();
+			final Map<String, Map<String, Double>> terms = new HashMap<>();
+			for (int i = 0; i < size; i++) {
+				final String name = readString();
+				terms.put(name, readDoubleMap());
+			}
+			start = System.nanoTime();
+			solver.setVariableWeightsForConstraints(terms);
+			break;
+		}
+		case RecordingIlpSolver.OP_SOLVE: {
+			final SolverStatus recordedStatus = SolverStatus.values()[in.readByte()];
+			final long recordedDuration = in.readLong();
+			start = System.nanoTime();
+			final Statistics stats = solver.solve();
+			final long duration = System.nanoTime() - start;
+			solves.add(new SolveTiming(segmentCalls, segmentDuration, stats, recordedStatus, recordedDuration));
+			segmentCalls = 0;
+			segmentDuration = 0;
+			return duration;
+		}
+		case RecordingIlpSolver.OP_SOLVE_RELAXATION: {
+			in.readByte();
+			in.readLong();
+			start = System.nanoTime();
+			solver.solveRelaxation();
+			break;
+		}
+		case RecordingIlpSolver.OP_H_ADD_VAR: {
+			final double weight = in.readDouble();
+			start = System.nanoTime();
+			solver.addVariable(weight);
+			break;
+		}
+		case RecordingIlpSolver.OP_H_ADD_EQ: {
+			final double right = in.readDouble();
+			final double[] weights = readDoubles();
+			final int[] vars = readInts();
+			start = System.nanoTime();
+			solver.addEqualsConstraint(right, weights, vars);
+			break;
+		}
+		case RecordingIlpSolver.OP_H_ADD_LE: {
+			final double right = in.readDouble();
+			final double[] weights = readDoubles();
+			final int[] vars = readInts();
+			start = System.nanoTime();
+			solver.addLessOrEqualsConstraint(right, weights, vars);
+			break;
+		}
+		case RecordingIlpSolver.OP_H_ADD_SOS: {
+			final int[] vars = readInts();
+			start = System.nanoTime();
+			solver.addSosConstraint(vars);
+			break;
+		}
+		case RecordingIlpSolver.OP_H_ADD_ROWS: {
+			final int rowCount = in.readInt();
+			final int nonZeros = in.readInt();
+			final boolean[] removed = new boolean[rowCount];
+			final boolean[] equals = new boolean[rowCount];
+			final double[] rights = new double[rowCount];
+			final String[] names = new String[rowCount];
+			final int[] ends = new int[rowCount];
+			for (int r = 0; r < rowCount; r++) {
+				removed[r] = in.readBoolean();
+				equals[r] = in.readBoolean();
+				rights[r] = in.readDouble();
+				names[r] = readString();
+				ends[r] = in.readInt();
+			}
+			final int[] columns = readInts();
+			final double[] values = readDoubles();
+			final SparseConstraintBuilder rows = new SparseConstraintBuilder(rowCount, nonZeros);
+			int offset = 0;
+			for (int r = 0; r < rowCount; r++) {
+				if (removed[r]) {
+					rows.addRemovedRow();
+				} else {
+					rows.addRow(equals[r], rights[r], names[r]);
+					rows.addTerms(columns, values, offset, ends[r] - offset);
+				}
+				offset = ends[r];
+			}
+			start = System.nanoTime();
+			solver.addConstraints(rows);
+			break;
+		}
+		case RecordingIlpSolver.OP_H_CHANGE_BOUNDS: {
+			final int var = in.readInt();
+			final int lower = in.readInt();
+			final int upper = in.readInt();
+			start = System.nanoTime();
+			solver.changeVariableBounds(var, lower, upper);
+			break;
+		}
+		case RecordingIlpSolver.OP_H_CHANGE_WEIGHT: {
+			final int var = in.readInt();
+			final double weight = in.readDouble();
+			start = System.nanoTime();
+			solver.changeVariableWeight(var, weight);
+			break;
+		}
+		case RecordingIlpSolver.OP_H_REMOVE_CONSTRAINT: {
+			final int constraint = in.readInt();
+			start = System.nanoTime();
+			solver.removeConstraint(constraint);
+			break;
+		}
+		case RecordingIlpSolver.OP_H_REMOVE_VAR: {
+			final int var = in.readInt();
+			start = System.nanoTime();
+			solver.removeVariable(var);
+			break;
+		}
+		case RecordingIlpSolver.OP_H_REMOVE_CONSTRAINTS: {
+			final int[] constraints = readInts();
+			start = System.nanoTime();
+			solver.removeConstraints(constraints);
+			break;
+		}
+		case RecordingIlpSolver.OP_H_REMOVE_VARS: {
+			final int[] vars = readInts();
+			start = System.nanoTime();
+			solver.removeVariables(vars);
+			break;
+		}
+		case RecordingIlpSolver.OP_H_SET_RIGHT: {
+			final int constraint = in.readInt();
+			final double right = in.readDouble();
+			start = System.nanoTime();
+			solver.setConstraintRight(constraint, right);
+			break;
+		}
+		case RecordingIlpSolver.OP_H_SET_TERM: {
+			final int constraint = in.readInt();
+			final double weight = in.readDouble();
+			final int var = in.readInt();
+			start = System.nanoTime();
+			solver.setVariableWeightForConstraint(constraint, weight, var);
+			break;
+		}
+		case RecordingIlpSolver.OP_H_SET_VAR_NAME: {
+			final int var = in.readInt();
+			final String name = readString();
+			start = System.nanoTime();
+			solver.setVariableName(var, name);
+			break;
+		}
+		case RecordingIlpSolver.OP_H_SET_CONSTRAINT_NAME: {
+			final int constraint = in.readInt();
+			final String name = readString();
+			start = System.nanoTime();
+			solver.setConstraintName(constraint, name);
+			break;
+		}
+		case RecordingIlpSolver.OP_H_SET_START: {
+			final int[] vars = readInts();
+			final double[] values = readDoubles();
+			start = System.nanoTime();
+			solver.setStartSolution(vars, values);
+			break;
+		}
+		default:
+			throw new IlpSolverException("Unknown operation " + op + " in ILP recording.");
+		}
+		return System.nanoTime() - start;
+	}
+
+}
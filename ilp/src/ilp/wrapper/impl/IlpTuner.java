@@ -0,0 +1,433 @@
+package ilp.wrapper.impl;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+
+import iflye.dependencies.logging.IflyeLogger;
+import ilp.wrapper.IlpSolverException;
+import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.config.IlpSolverConfig;
+import ilp.wrapper.config.Solver;
+
+/**
+ * Tunes the parameters of an ILP solver backend on a corpus of recorded models
+ * (see {@link RecordingIlpSolver}). Every combination of the given parameter
+ * values (threads, MIP focus, cuts and heuristics) is replayed on all
+ * recordings via {@link IlpReplay}. The settings are ranked by the number of
+ * unsolved solves (time out, interrupted or iteration limit), the mean and the
+ * tail (95th percentile) of all solve times. The best setting can be exported
+ * as a profile that is loaded via {@link IlpSolverConfig#loadProfile(String)}.
+ *
+ * Usage: {@code IlpTuner <recording or directory>... [-solver <type>] [-threads
+ * <list>] [-focus <list>] [-cuts <list>] [-heuristics <list>] [-repeats <n>]
+ * [-report <file>] [-profile <file>]}. All lists are comma separated. If no
+ * solver is given, the configured solver of {@link IlpSolverConfig} is used.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IlpTuner extends IflyeLogger {
+
+	/**
+	 * File extension of the recordings (see {@link IlpSolverConfig#RECORD_DIRECTORY}).
+	 */
+	private static final String RECORDING_EXTENSION = ".ilprec";
+
+	/**
+	 * One combination of solver parameters.
+	 */
+	public static class Setting {
+		private final int threads;
+		private final int mipFocus;
+		private final int cuts;
+		private final double heuristics;
+
+		public Setting(final int threads, final int mipFocus, final int cuts, final double heuristics) {
+			this.threads = threads;
+			this.mipFocus = mipFocus;
+			this.cuts = cuts;
+			this.heuristics = heuristics;
+		}
+
+		public int getThreads() {
+			return threads;
+		}
+
+		public int getMipFocus() {
+			return mipFocus;
+		}
+
+		public int getCuts() {
+			return cuts;
+		}
+
+		public double getHeuristics() {
+			return heuristics;
+		}
+
+		/**
+		 * Sets all parameters of this setting on the given solver.
+		 *
+		 * @param solver Solver to configure.
+		 */
+		public void apply(final IncrementalIlpSolver solver) {
+			solver.setThreads(threads);
+			solver.setMipFocus(mipFocus);
+			solver.setCuts(cuts);
+			solver.setHeuristics(heuristics);
+		}
+
+		/**
+		 * Returns this setting as a parameter profile.
+		 *
+		 * @return Parameter profile of this setting.
+		 */
+		public Properties toProfile() {
+			final Properties profile = new Properties();
+			profile.setProperty(IlpSolverConfig.PROFILE_THREADS, String.valueOf(threads));
+			profile.setProperty(IlpSolverConfig.PROFILE_MIP_FOCUS, String.valueOf(mipFocus));
+			profile.setProperty(IlpSolverConfig.PROFILE_CUTS, String.valueOf(cuts));
+			profile.setProperty(IlpSolverConfig.PROFILE_HEURISTICS, String.valueOf(heuristics));
+			return profile;
+		}
+
+		@Override
+		public String toString() {
+			return "threads=" + threads + ", mipFocus=" + mipFocus + ", cuts=" + cuts + ", heuristics=" + heuristics;
+		}
+	}
+
+	/**
+	 * Solve times of one setting on the whole corpus.
+	 */
+	public static class Result {
+		private final Setting setting;
+		private final long[] durations;
+		private final int unsolved;
+
+		private Result(final Setting setting, final long[] durations, final int unsolved) {
+			this.setting = setting;
+			this.durations = durations;
+			Arrays.sort(this.durations);
+			this.unsolved = unsolved;
+		}
+
+		public Setting getSetting() {
+			return setting;
+		}
+
+		/**
+		 * Returns the number of replayed solves.
+		 *
+		 * @return Number of replayed solves.
+		 */
+		public int getSolves() {
+			return durations.length;
+		}
+
+		/**
+		 * Returns the number of solves that hit the time limit or were interrupted.
+		 *
+		 * @return Number of unsolved solves.
+		 */
+		public int getUnsolved() {
+			return unsolved;
+		}
+
+		/**
+		 * Returns the mean solve time in milliseconds.
+		 *
+		 * @return Mean solve time in milliseconds.
+		 */
+		public double getMean() {
+			return durations.length == 0 ? 0 : Arrays.stream(durations).average().getAsDouble() / 1_000_000.0;
+		}
+
+		/**
+		 * Returns the given percentile (nearest rank) of all solve times in
+		 * milliseconds.
+		 *
+		 * @param q Percentile between 0 and 1.
+		 * @return Percentile of all solve times in milliseconds.
+		 */
+		public double getPercentile(final double q) {
+			if (durations.length == 0) {
+				return 0;
+			}
+			final int rank = Math.max(0, (int) Math.ceil(q * durations.length) - 1);
+			return durations[Math.min(rank, durations.length - 1)] / 1_000_000.0;
+		}
+	}
+
+	/**
+	 * Paths of all recordings of the corpus.
+	 */
+	private final List<String> recordings;
+
+	/**
+	 * Solver backend to tune.
+	 */
+	private final Solver solver;
+
+	/**
+	 * Parameter grid.
+	 */
+	private int[] threads = { 0 };
+	private int[] mipFocus = { 0, 1, 2, 3 };
+	private int[] cuts = { -1, 0, 2 };
+	private double[] heuristics = { 0.05, 0.2 };
+
+	/**
+	 * Number of replays of each recording per setting.
+	 */
+	private int repeats = 1;
+
+	/**
+	 * Main method to tune the solver parameters on a corpus of recordings.
+	 *
+	 * @param args Arguments to parse (see the class documentation).
+	 */
+	public static void main(final String[] args) {
+		final List<String> files = new ArrayList<>();
+		Solver solverType = IlpSolverConfig.solver;
+		String report = null;
+		String profile = null;
+		int[] threads = null;
+		int[] mipFocus = null;
+		int[] cuts = null;
+		double[] heuristics = null;
+		int repeats = 1;
+		for (int i = 0; i < args.length; i++) {
+			if (!args[i].startsWith("-")) {
+				files.add(args[i]);
+				continue;
+			}
+			if (i + 1 >= args.length) {
+				throw new IllegalArgumentException("Missing value of the option " + args[i] + ".");
+			}
+			final String value = args[++i];
+			switch (args[i - 1]) {
+			case "-solver":
+				solverType = Solver.valueOf(value);
+				break;
+			case "-threads":
+				threads = parseInts(value);
+				break;
+			case "-focus":
+				mipFocus = parseInts(value);
+				break;
+			case "-cuts":
+				cuts = parseInts(value);
+				break;
+			case "-heuristics":
+				heuristics = Arrays.stream(value.split(",")).map(String::trim).mapToDouble(Double::parseDouble)
+						.toArray();
+				break;
+			case "-repeats":
+				repeats = Integer.parseInt(value);
+				break;
+			case "-report":
+				report = value;
+				break;
+			case "-profile":
+				profile = value;
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown option " + args[i - 1] + ".");
+			}
+		}
+
+		final IlpTuner tuner = new IlpTuner(collectRecordings(files), solverType);
+		if (threads != null) {
+			tuner.setThreads(threads);
+		}
+		if (mipFocus != null) {
+			tuner.setMipFocus(mipFocus);
+		}
+		if (cuts != null) {
+			tuner.setCuts(cuts);
+		}
+		if (heuristics != null) {
+			tuner.setHeuristics(heuristics);
+		}
+		tuner.setRepeats(repeats);
+
+		final List<Result> results = tuner.tune();
+		final String text = getReport(results);
+		logger.info(text);
+		if (report != null) {
+			try (final Writer out = new FileWriter(report)) {
+				out.write(text);
+			} catch (final IOException e) {
+				throw new IlpSolverException(e);
+			}
+		}
+		if (profile != null && !results.isEmpty()) {
+			writeProfile(results.get(0).getSetting(), profile);
+		}
+	}
+
+	/**
+	 * Creates a new tuner for the given corpus and solver backend.
+	 *
+	 * @param recordings Paths of all recordings of the corpus.
+	 * @param solver     Solver backend to tune.
+	 */
+	public IlpTuner(final List<String> recordings, final Solver solver) {
+		if (recordings.isEmpty()) {
+			throw new IllegalArgumentException("The corpus does not contain any recording.");
+		}
+		this.recordings = recordings;
+		this.solver = solver;
+	}
+
+	public void setThreads(final int... threads) {
+		this.threads = threads;
+	}
+
+	public void setMipFocus(final int... mipFocus) {
+		this.mipFocus = mipFocus;
+	}
+
+	public void setCuts(final int... cuts) {
+		this.cuts = cuts;
+	}
+
+	public void setHeuristics(final double... heuristics) {
+		this.heuristics = heuristics;
+	}
+
+	public void setRepeats(final int repeats) {
+		this.repeats = repeats;
+	}
+
+	/**
+	 * Replays all recordings for every setting of the parameter grid.
+	 *
+	 * @return Results of all settings, best setting first.
+	 * @throws IlpSolverException If a recording can not be replayed.
+	 */
+	public List<Result> tune() throws IlpSolverException {
+		final List<Result> results = new ArrayList<>();
+		for (final int t : threads) {
+			for (final int f : mipFocus) {
+				for (final int c : cuts) {
+					for (final double h : heuristics) {
+						final Result result = evaluate(new Setting(t, f, c, h));
+						logger.info("=> Tuning " + result.getSetting() + ": mean " + result.getMean() + " ms, p95 "
+								+ result.getPercentile(0.95) + " ms, " + result.getUnsolved() + " unsolved");
+						results.add(result);
+					}
+				}
+			}
+		}
+		results.sort(Comparator.comparingInt(Result::getUnsolved).thenComparingDouble(Result::getMean)
+				.thenComparingDouble(r -> r.getPercentile(0.95)));
+		return results;
+	}
+
+	/**
+	 * Replays all recordings with the given setting.
+	 *
+	 * @param setting Setting to evaluate.
+	 * @return Solve times of the setting.
+	 * @throws IlpSolverException If a recording can not be replayed.
+	 */
+	private Result evaluate(final Setting setting) throws IlpSolverException {
+		final List<Long> durations = new ArrayList<>();
+		int unsolved = 0;
+		for (int r = 0; r < repeats; r++) {
+			for (final String recording : recordings) {
+				final IncrementalIlpSolver target = IlpSolverConfig.getIlpSolver(solver, IlpSolverConfig.RANDOM_SEED);
+				final IlpReplay replay = new IlpReplay();
+				try {
+					setting.apply(target);
+					replay.replay(recording, target);
+				} finally {
+					target.dispose();
+				}
+				for (final IlpReplay.SolveTiming timing : replay.getSolves()) {
+					durations.add(timing.getReplayed().getDuration());
+					final SolverStatus status = timing.getReplayed().getStatus();
+					if (status == SolverStatus.TIME_OUT || status == SolverStatus.INTERRUPTED
+							|| status == SolverStatus.ITERATION_LIMIT) {
+						unsolved++;
+					}
+				}
+			}
+		}
+		return new Result(setting, durations.stream().mapToLong(Long::longValue).toArray(), unsolved);
+	}
+
+	/**
+	 * Returns a human readable report of the given (ranked) results.
+	 *
+	 * @param results Results to report.
+	 * @return Report of all results.
+	 */
+	public static String getReport(final List<Result> results) {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("Settings (rank: setting | solves, unsolved, mean ms, p50 ms, p95 ms, max ms):")
+				.append(System.lineSeparator());
+		for (int i = 0; i < results.size(); i++) {
+			final Result r = results.get(i);
+			sb.append("  #").append(i + 1).append(": ").append(r.getSetting()).append(" | ").append(r.getSolves())
+					.append(", ").append(r.getUnsolved()).append(", ").append(r.getMean()).append(", ")
+					.append(r.getPercentile(0.5)).append(", ").append(r.getPercentile(0.95)).append(", ")
+					.append(r.getPercentile(1)).append(System.lineSeparator());
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Writes the given setting as a parameter profile.
+	 *
+	 * @param setting Setting to write.
+	 * @param path    Path of the profile to write.
+	 * @throws IlpSolverException If the profile can not be written.
+	 */
+	public static void writeProfile(final Setting setting, final String path) throws IlpSolverException {
+		try (final Writer out = new FileWriter(path)) {
+			setting.toProfile().store(out, "ILP parameter profile (" + setting + ")");
+		} catch (final IOException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	/**
+	 * Collects all recordings of the given files and directories.
+	 *
+	 * @param paths Recordings or directories that contain recordings.
+	 * @return Paths of all recordings.
+	 */
+	private static List<String> collectRecordings(final List<String> paths) {
+		final List<String> recordings = new ArrayList<>();
+		for (final String path : paths) {
+			final File file = new File(path);
+			if (file.isDirectory()) {
+				final File[] children = file.listFiles((dir, name) -> name.endsWith(RECORDING_EXTENSION));
+				if (children != null) {
+					Arrays.sort(children);
+					for (final File child : children) {
+						recordings.add(child.getPath());
+					}
+				}
+			} else {
+				recordings.add(path);
+			}
+		}
+		return recordings;
+	}
+
+	private static int[] parseInts(final String list) {
+		return Arrays.stream(list.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+	}
+
+}
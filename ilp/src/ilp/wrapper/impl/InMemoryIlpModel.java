@@ -0,0 +1,768 @@
+package ilp.wrapper.impl;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ilp.wrapper.IlpSolverException;
+import ilp.wrapper.SparseConstraintBuilder;
+
+/**
+ * In-memory representation of a binary ILP model that is used by the solver
+ * implementations that do not rely on a native solver library. Variables and
+ * constraints are addressed by dense integer handles that are never reused, i.e.,
+ * removed elements are only marked as removed.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class InMemoryIlpModel {
+
+	/**
+	 * Sense of an equals constraint.
+	 */
+	public static final char EQUAL = '=';
+
+	/**
+	 * Sense of a less or equals constraint.
+	 */
+	public static final char LESS_EQUAL = '<';
+
+	/**
+	 * Initial capacity of all growable arrays.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * Single constraint (row) of the model.
+	 */
+	static class Row {
+		String name;
+		final char sense;
+		double right;
+		int[] cols = new int[4];
+		double[] vals = new double[4];
+		int size = 0;
+		boolean removed = false;
+
+		Row(final String name, final char sense, final double right) {
+			this.name = name;
+			this.sense = sense;
+			this.right = right;
+		}
+
+		/**
+		 * Appends a new term to this row without checking for duplicates.
+		 *
+		 * @param col Column (variable handle).
+		 * @param val Coefficient.
+		 */
+		void append(final int col, final double val) {
+			if (size == cols.length) {
+				cols = Arrays.copyOf(cols, size * 2);
+				vals = Arrays.copyOf(vals, size * 2);
+			}
+			cols[size] = col;
+			vals[size] = val;
+			size++;
+		}
+
+		/**
+		 * Sets the coefficient of a given column. If the column is not part of this
+		 * row, a new term will be appended.
+		 *
+		 * @param col Column (variable handle).
+		 * @param val Coefficient.
+		 * @return True if a new term was appended.
+		 */
+		boolean set(final int col, final double val) {
+			for (int i = 0; i < size; i++) {
+				if (cols[i] == col) {
+					vals[i] = val;
+					return false;
+				}
+			}
+			append(col, val);
+			return true;
+		}
+
+		/**
+		 * Removes all terms of a given column from this row.
+		 *
+		 * @param col Column (variable handle) to remove.
+		 */
+		void strip(final int col) {
+			int j = 0;
+			for (int i = 0; i < size; i++) {
+				if (cols[i] != col) {
+					cols[j] = cols[i];
+					vals[j] = vals[i];
+					j++;
+				}
+			}
+			size = j;
+		}
+
+		/**
+		 * Removes all terms of removed columns from this row.
+		 *
+		 * @param removedCols Removed flag of each column.
+		 */
+		void stripRemoved(final boolean[] removedCols) {
+			int j = 0;
+			for (int i = 0; i < size; i++) {
+				if (!removedCols[cols[i]]) {
+					cols[j] = cols[i];
+					vals[j] = vals[i];
+					j++;
+				}
+			}
+			size = j;
+		}
+	}
+
+	/*
+	 * Variables (columns).
+	 */
+	private final List<String> varNames = new ArrayList<>();
+	private final Map<String, Integer> varIndex = new HashMap<>();
+	private double[] obj = new double[INITIAL_CAPACITY];
+	private double[] lower = new double[INITIAL_CAPACITY];
+	private double[] upper = new double[INITIAL_CAPACITY];
+	private boolean[] varRemoved = new boolean[INITIAL_CAPACITY];
+	private int activeVars = 0;
+
+	/**
+	 * Incidence index: Rows of the terms of each column (may contain removed rows
+	 * and duplicates) and the number of used entries. It is used to strip removed
+	 * columns without scanning all rows.
+	 */
+	private int[][] colRows = new int[INITIAL_CAPACITY][];
+	private int[] colRowCount = new int[INITIAL_CAPACITY];
+
+	/*
+	 * Constraints (rows).
+	 */
+	private final List<Row> rows = new ArrayList<>();
+	private final Map<String, Integer> rowIndex = new HashMap<>();
+	private int activeRows = 0;
+
+	/*
+	 * SOS1 constraints.
+	 */
+	private final List<int[]> sos = new ArrayList<>();
+
+	/**
+	 * Adds a new binary variable.
+	 *
+	 * @param name           Name of the variable (may be null).
+	 * @param solutionWeight Objective coefficient of the variable.
+	 * @return Handle of the new variable.
+	 */
+	public int addVariable(final String name, final double solutionWeight) {
+		if (name != null && varIndex.containsKey(name)) {
+			throw new IlpSolverException("Variable with the name=" + name + " already exists.");
+		}
+		final int handle = varNames.size();
+		if (handle == obj.length) {
+			final int capacity = handle * 2;
+			obj = Arrays.copyOf(obj, capacity);
+			lower = Arrays.copyOf(lower, capacity);
+			upper = Arrays.copyOf(upper, capacity);
+			varRemoved = Arrays.copyOf(varRemoved, capacity);
+			colRows = Arrays.copyOf(colRows, capacity);
+			colRowCount = Arrays.copyOf(colRowCount, capacity);
+		}
+		varNames.add(name);
+		if (name != null) {
+			varIndex.put(name, handle);
+		}
+		obj[handle] = solutionWeight;
+		lower[handle] = 0;
+		upper[handle] = 1;
+		varRemoved[handle] = false;
+		colRows[handle] = null;
+		colRowCount[handle] = 0;
+		activeVars++;
+		return handle;
+	}
+
+	/**
+	 * Adds a new constraint without any terms.
+	 *
+	 * @param name  Name of the constraint (may be null).
+	 * @param sense Sense of the constraint ({@link #EQUAL} or {@link #LESS_EQUAL}).
+	 * @param right Value of the right side.
+	 * @return Handle of the new constraint.
+	 */
+	public int addConstraint(final String name, final char sense, final double right) {
+		if (sense != EQUAL && sense != LESS_EQUAL) {
+			throw new IllegalArgumentException("Unknown constraint sense: " + sense);
+		}
+		final int handle = rows.size();
+		rows.add(new Row(name, sense, right));
+		if (name != null) {
+			rowIndex.put(name, handle);
+		}
+		activeRows++;
+		return handle;
+	}
+
+	/**
+	 * Adds a new constraint with the given terms.
+	 *
+	 * @param name    Name of the constraint.
+	 * @param sense   Sense of the constraint.
+	 * @param right   Value of the right side.
+	 * @param weights Coefficients.
+	 * @param vars    Variable names.
+	 * @return Handle of the new constraint.
+	 */
+	public int addConstraint(final String name, final char sense, final double right, final double[] weights,
+			final String[] vars) {
+		final int handle = addConstraint(name, sense, right);
+		final Row row = rows.get(handle);
+		for (int i = 0; i < vars.length; i++) {
+			append(handle, row, getVariableHandle(vars[i]), weights[i]);
+		}
+		return handle;
+	}
+
+	/**
+	 * Adds a new constraint with the given terms.
+	 *
+	 * @param sense   Sense of the constraint.
+	 * @param right   Value of the right side.
+	 * @param weights Coefficients.
+	 * @param vars    Variable handles.
+	 * @return Handle of the new constraint.
+	 */
+	public int addConstraint(final char sense, final double right, final double[] weights, final int[] vars) {
+		final int handle = addConstraint(null, sense, right);
+		final Row row = rows.get(handle);
+		for (int i = 0; i < vars.length; i++) {
+			checkVariable(vars[i]);
+			append(handle, row, vars[i], weights[i]);
+		}
+		return handle;
+	}
+
+	/**
+	 * Adds all rows of a sparse builder as new constraints.
+	 *
+	 * @param builder Sparse builder that contains the new rows.
+	 * @return Handle of the first new constraint.
+	 */
+	public int addConstraints(final SparseConstraintBuilder builder) {
+		final int first = rows.size();
+		final int[] rowStart = builder.getRowStart();
+		final int[] columns = builder.getColumns();
+		final double[] values = builder.getValues();
+		for (int r = 0; r < builder.getRowCount(); r++) {
+			if (builder.isRemoved(r)) {
+				// Placeholder rows only get a handle
+				removeConstraint(addConstraint(null, LESS_EQUAL, 0));
+				continue;
+			}
+			final int handle = addConstraint(builder.getName(r), builder.isEquals(r) ? EQUAL : LESS_EQUAL,
+					builder.getRight(r));
+			final Row row = rows.get(handle);
+			for (int i = rowStart[r]; i < rowStart[r + 1]; i++) {
+				checkVariable(columns[i]);
+				append(handle, row, columns[i], values[i]);
+			}
+		}
+		return first;
+	}
+
+	/**
+	 * Sets the name of a variable.
+	 *
+	 * @param col  Variable handle.
+	 * @param name New name of the variable.
+	 */
+	public void setVariableName(final int col, final String name) {
+		checkVariable(col);
+		final String old = varNames.get(col);
+		if (old != null) {
+			varIndex.remove(old, col);
+		}
+		varNames.set(col, name);
+		varIndex.put(name, col);
+	}
+
+	/**
+	 * Sets the name of a constraint.
+	 *
+	 * @param row  Constraint handle.
+	 * @param name New name of the constraint.
+	 */
+	public void setConstraintName(final int row, final String name) {
+		final Row r = rows.get(row);
+		if (r.name != null) {
+			rowIndex.remove(r.name, row);
+		}
+		r.name = name;
+		rowIndex.put(name, row);
+	}
+
+	/**
+	 * Appends a term to a row and registers the row in the incidence index of the
+	 * column.
+	 *
+	 * @param handle Constraint handle.
+	 * @param row    Constraint.
+	 * @param col    Variable handle.
+	 * @param weight Coefficient.
+	 */
+	private void append(final int handle, final Row row, final int col, final double weight) {
+		row.append(col, weight);
+		link(col, handle);
+	}
+
+	/**
+	 * Registers a row in the incidence index of a column.
+	 *
+	 * @param col Variable handle.
+	 * @param row Constraint handle.
+	 */
+	private void link(final int col, final int row) {
+		final int count = colRowCount[col];
+		int[] list = colRows[col];
+		if (list == null) {
+			list = colRows[col] = new int[2];
+		} else if (count > 0 && list[count - 1] == row) {
+			return;
+		} else if (count == list.length) {
+			list = colRows[col] = Arrays.copyOf(list, count * 2);
+		}
+		list[count] = row;
+		colRowCount[col] = count + 1;
+	}
+
+	/**
+	 * Throws an exception if the given variable handle is unknown or removed.
+	 *
+	 * @param col Variable handle.
+	 */
+	private void checkVariable(final int col) {
+		if (col < 0 || col >= varNames.size() || varRemoved[col]) {
+			throw new IlpSolverException("Variable with the handle=" + col + " does not exist.");
+		}
+	}
+
+	/**
+	 * Adds a new SOS1 constraint over the given variables.
+	 *
+	 * @param vars Variable handles.
+	 */
+	public void addSos(final int[] vars) {
+		sos.add(vars);
+	}
+
+	/**
+	 * Returns the handle of the variable with the given name or throws an
+	 * exception if there is no such variable.
+	 *
+	 * @param name Name of the variable.
+	 * @return Handle of the variable.
+	 */
+	public int getVariableHandle(final String name) {
+		final Integer handle = varIndex.get(name);
+		if (handle == null) {
+			throw new IlpSolverException("Variable with the name=" + name + " does not exist.");
+		}
+		return handle;
+	}
+
+	/**
+	 * Returns the handle of the constraint with the given name or throws an
+	 * exception if there is no such constraint.
+	 *
+	 * @param name Name of the constraint.
+	 * @return Handle of the constraint.
+	 */
+	public int getConstraintHandle(final String name) {
+		final Integer handle = rowIndex.get(name);
+		if (handle == null) {
+			throw new IlpSolverException("Constraint with the name=" + name + " does not exist.");
+		}
+		return handle;
+	}
+
+	/**
+	 * Returns true if there is an active variable with the given name.
+	 *
+	 * @param name Name of the variable.
+	 * @return True if there is an active variable with the given name.
+	 */
+	public boolean hasVariable(final String name) {
+		return varIndex.containsKey(name);
+	}
+
+	/**
+	 * Sets the coefficient of a variable in a constraint.
+	 *
+	 * @param row    Constraint handle.
+	 * @param col    Variable handle.
+	 * @param weight New coefficient.
+	 */
+	public void setCoefficient(final int row, final int col, final double weight) {
+		if (rows.get(row).set(col, weight)) {
+			link(col, row);
+		}
+	}
+
+	/**
+	 * Appends a term to a constraint without checking for duplicates.
+	 *
+	 * @param row    Constraint handle.
+	 * @param col    Variable handle.
+	 * @param weight Coefficient.
+	 */
+	public void appendCoefficient(final int row, final int col, final double weight) {
+		append(row, rows.get(row), col, weight);
+	}
+
+	/**
+	 * Sets the right side of a constraint.
+	 *
+	 * @param row   Constraint handle.
+	 * @param right New value of the right side.
+	 */
+	public void setRight(final int row, final double right) {
+		rows.get(row).right = right;
+	}
+
+	/**
+	 * Sets the objective coefficient of a variable.
+	 *
+	 * @param col    Variable handle.
+	 * @param weight New objective coefficient.
+	 */
+	public void setObjective(final int col, final double weight) {
+		obj[col] = weight;
+	}
+
+	/**
+	 * Sets the bounds of a variable.
+	 *
+	 * @param col   Variable handle.
+	 * @param lower Lower bound.
+	 * @param upper Upper bound.
+	 */
+	public void setBounds(final int col, final double lower, final double upper) {
+		this.lower[col] = lower;
+		this.upper[col] = upper;
+	}
+
+	/**
+	 * Removes a variable and all of its terms.
+	 *
+	 * @param col Variable handle.
+	 */
+	public void removeVariable(final int col) {
+		if (varRemoved[col]) {
+			return;
+		}
+		varRemoved[col] = true;
+		if (varNames.get(col) != null) {
+			varIndex.remove(varNames.get(col), col);
+		}
+		activeVars--;
+		for (int i = 0; i < colRowCount[col]; i++) {
+			final Row row = rows.get(colRows[col][i]);
+			if (!row.removed) {
+				row.strip(col);
+			}
+		}
+		colRows[col] = null;
+		colRowCount[col] = 0;
+	}
+
+	/**
+	 * Removes all given variables and all of their terms. Each affected row is
+	 * compacted only once.
+	 *
+	 * @param cols Variable handles.
+	 */
+	public void removeVariables(final int[] cols) {
+		final boolean[] affected = new boolean[rows.size()];
+		final int[] affectedRows = new int[rows.size()];
+		int count = 0;
+		for (final int col : cols) {
+			if (varRemoved[col]) {
+				continue;
+			}
+			varRemoved[col] = true;
+			if (varNames.get(col) != null) {
+				varIndex.remove(varNames.get(col), col);
+			}
+			activeVars--;
+			for (int i = 0; i < colRowCount[col]; i++) {
+				final int row = colRows[col][i];
+				if (!affected[row] && !rows.get(row).removed) {
+					affected[row] = true;
+					affectedRows[count++] = row;
+				}
+			}
+			colRows[col] = null;
+			colRowCount[col] = 0;
+		}
+		for (int i = 0; i < count; i++) {
+			rows.get(affectedRows[i]).stripRemoved(varRemoved);
+		}
+	}
+
+	/**
+	 * Removes a constraint.
+	 *
+	 * @param row Constraint handle.
+	 */
+	public void removeConstraint(final int row) {
+		final Row r = rows.get(row);
+		if (r.removed) {
+			return;
+		}
+		r.removed = true;
+		if (r.name != null) {
+			rowIndex.remove(r.name, row);
+		}
+		activeRows--;
+	}
+
+	/**
+	 * Removes all variables, constraints and SOS1 constraints.
+	 */
+	public void clear() {
+		varNames.clear();
+		varIndex.clear();
+		rows.clear();
+		rowIndex.clear();
+		sos.clear();
+		activeVars = 0;
+		activeRows = 0;
+	}
+
+	/*
+	 * Getters.
+	 */
+
+	public int getVariableCount() {
+		return activeVars;
+	}
+
+	public int getConstraintCount() {
+		return activeRows;
+	}
+
+	/**
+	 * Returns the number of variable handles that were ever created, including
+	 * removed ones.
+	 *
+	 * @return Number of variable handles.
+	 */
+	public int getVariableHandleCount() {
+		return varNames.size();
+	}
+
+	/**
+	 * Returns the number of constraint handles that were ever created, including
+	 * removed ones.
+	 *
+	 * @return Number of constraint handles.
+	 */
+	public int getConstraintHandleCount() {
+		return rows.size();
+	}
+
+	public boolean isVariableRemoved(final int col) {
+		return varRemoved[col];
+	}
+
+	/**
+	 * Returns the name of a variable or null if the variable is unnamed.
+	 *
+	 * @param col Variable handle.
+	 * @return Name of the variable or null.
+	 */
+	public String getVariableName(final int col) {
+		return varNames.get(col);
+	}
+
+	public double getObjective(final int col) {
+		return obj[col];
+	}
+
+	public double getLower(final int col) {
+		return lower[col];
+	}
+
+	public double getUpper(final int col) {
+		return upper[col];
+	}
+
+	Row getRow(final int row) {
+		return rows.get(row);
+	}
+
+	List<int[]> getSos() {
+		return sos;
+	}
+
+	/**
+	 * Computes the connected components of the row-column incidence graph of all
+	 * active variables, i.e., two variables belong to the same component if they
+	 * share a (not ignored) constraint or a SOS1 constraint.
+	 *
+	 * @param ignored Handles of all constraints that do not connect their
+	 *                variables.
+	 * @return Smallest variable handle of the component of each variable handle
+	 *         or -1 for removed variables.
+	 */
+	int[] getComponents(final BitSet ignored) {
+		final int handles = getVariableHandleCount();
+		final int[] parent = new int[handles];
+		for (int j = 0; j < handles; j++) {
+			parent[j] = j;
+		}
+		for (int i = 0; i < rows.size(); i++) {
+			final Row row = rows.get(i);
+			if (row.removed || ignored.get(i)) {
+				continue;
+			}
+			for (int k = 1; k < row.size; k++) {
+				union(parent, row.cols[0], row.cols[k]);
+			}
+		}
+		for (final int[] set : sos) {
+			int first = -1;
+			for (final int j : set) {
+				if (varRemoved[j]) {
+					continue;
+				}
+				if (first == -1) {
+					first = j;
+				} else {
+					union(parent, first, j);
+				}
+			}
+		}
+		for (int j = 0; j < handles; j++) {
+			parent[j] = varRemoved[j] ? -1 : find(parent, j);
+		}
+		return parent;
+	}
+
+	private static int find(final int[] parent, int j) {
+		while (parent[j] != j) {
+			parent[j] = parent[parent[j]];
+			j = parent[j];
+		}
+		return j;
+	}
+
+	private static void union(final int[] parent, final int a, final int b) {
+		final int ra = find(parent, a);
+		final int rb = find(parent, b);
+		if (ra != rb) {
+			parent[Math.max(ra, rb)] = Math.min(ra, rb);
+		}
+	}
+
+	/**
+	 * Writes the model in the (CPLEX) LP file format.
+	 *
+	 * @param out Writer to write the model to.
+	 * @throws IOException If the writer encounters a problem.
+	 */
+	public void writeLp(final Writer out) throws IOException {
+		out.write("Minimize\n obj:");
+		for (int j = 0; j < varNames.size(); j++) {
+			if (!varRemoved[j]) {
+				out.write(" " + signed(obj[j]) + " " + lpName(j));
+			}
+		}
+		out.write("\nSubject To\n");
+		for (int r = 0; r < rows.size(); r++) {
+			final Row row = rows.get(r);
+			if (row.removed) {
+				continue;
+			}
+			out.write(" " + (row.name != null ? row.name : "c" + r) + ":");
+			if (row.size == 0) {
+				out.write(" 0 " + (activeVars > 0 ? lpName(firstActiveVariable()) : "x0"));
+			}
+			for (int i = 0; i < row.size; i++) {
+				out.write(" " + signed(row.vals[i]) + " " + lpName(row.cols[i]));
+			}
+			out.write((row.sense == EQUAL ? " = " : " <= ") + row.right + "\n");
+		}
+		out.write("Bounds\n");
+		for (int j = 0; j < varNames.size(); j++) {
+			if (!varRemoved[j] && (lower[j] != 0 || upper[j] != 1)) {
+				out.write(" " + lower[j] + " <= " + lpName(j) + " <= " + upper[j] + "\n");
+			}
+		}
+		if (!sos.isEmpty()) {
+			out.write("SOS\n");
+			int i = 0;
+			for (final int[] set : sos) {
+				out.write(" s" + i++ + ": S1::");
+				int weight = 1;
+				for (final int col : set) {
+					if (!varRemoved[col]) {
+						out.write(" " + lpName(col) + ":" + weight++);
+					}
+				}
+				out.write("\n");
+			}
+		}
+		out.write("Binaries\n");
+		for (int j = 0; j < varNames.size(); j++) {
+			if (!varRemoved[j]) {
+				out.write(" " + lpName(j) + "\n");
+			}
+		}
+		out.write("End\n");
+	}
+
+	/**
+	 * Returns the name of a variable for the LP file format. Unnamed variables get
+	 * a name derived from their handle.
+	 *
+	 * @param col Variable handle.
+	 * @return Name of the variable.
+	 */
+	private String lpName(final int col) {
+		return varNames.get(col) != null ? varNames.get(col) : "x" + col;
+	}
+
+	/**
+	 * Returns the handle of the first variable that was not removed.
+	 *
+	 * @return Handle of the first variable that was not removed.
+	 */
+	private int firstActiveVariable() {
+		int j = 0;
+		while (varRemoved[j]) {
+			j++;
+		}
+		return j;
+	}
+
+	/**
+	 * Formats a given value with an explicit sign.
+	 *
+	 * @param value Value to format.
+	 * @return Formatted value.
+	 */
+	private static String signed(final double value) {
+		return value < 0 ? "- " + (-value) : "+ " + value;
+	}
+
+}
@@ -1,6 +1,8 @@
 package ilp.wrapper.impl;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -9,16 +11,22 @@ import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 import iflye.dependencies.logging.IflyeLogger;
+import ilog.concert.IloAddable;
+import ilog.concert.IloConversion;
 import ilog.concert.IloException;
 import ilog.concert.IloIntVar;
 import ilog.concert.IloLinearNumExpr;
 import ilog.concert.IloNumVar;
+import ilog.concert.IloNumVarType;
 import ilog.concert.IloObjective;
 import ilog.concert.IloRange;
 import ilog.cplex.IloCplex;
 import ilp.wrapper.IlpSolverException;
 import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.IncumbentListener;
+import ilp.wrapper.Relaxation;
 import ilp.wrapper.SolverStatus;
+import ilp.wrapper.SparseConstraintBuilder;
 import ilp.wrapper.Statistics;
 import ilp.wrapper.config.IlpSolverConfig;
 
@@ -49,24 +57,56 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 	private IloObjective obj;
 
 	/**
-	 * Mappings of strings (variable names) to CPLEX variables.
+	 * All CPLEX variables indexed by their handles. Removed variables are null.
 	 */
-	private final Map<String, IloIntVar> variables = new HashMap<>();
+	private final List<IloIntVar> vars = new ArrayList<>();
 
 	/**
-	 * Mappings of strings (constraint names) to CPLEXC ranges.
+	 * All CPLEX ranges indexed by their handles. Removed constraints are null.
 	 */
-	private final Map<String, IloRange> constraints = new HashMap<>();
+	private final List<IloRange> ranges = new ArrayList<>();
 
 	/**
-	 * Mappings of strings (objective coefficients) to doubles.
+	 * Mappings of strings (variable names) to variable handles.
 	 */
-	private final Map<String, Double> objectiveCoefficients = new HashMap<>();
+	private final Map<String, Integer> variables = new HashMap<>();
+
+	/**
+	 * Mappings of strings (constraint names) to constraint handles.
+	 */
+	private final Map<String, Integer> constraints = new HashMap<>();
+
+	/**
+	 * Objective coefficients indexed by the variable handles.
+	 */
+	private final List<Double> objectiveCoefficients = new ArrayList<>();
+
+	/**
+	 * Number of removed variables and constraints.
+	 */
+	private int removedVars = 0;
+	private int removedConstrs = 0;
 
 	/**
 	 * Variable for the final objective value.
 	 */
-	private double objectiveValue = -1;
+	private double objectiveValue = Double.NaN;
+
+	/**
+	 * True if this solver was disposed, i.e., its CPLEX object was returned to the
+	 * pool.
+	 */
+	private boolean disposed = false;
+
+	/**
+	 * Incumbent listeners and cancellation state.
+	 */
+	private final SolverCallbacks callbacks = new SolverCallbacks();
+
+	/**
+	 * Aborter that is used to cancel a running solve.
+	 */
+	private IloCplex.Aborter aborter;
 
 	/**
 	 * Creates a new object of this incremental CPLEX solver with the given
@@ -77,35 +117,130 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 	 */
 	public IncrementalCplexSolver(final int timelimit, final int randomSeed) {
 		try {
-			cplex = new IloCplex();
+			// The CPLEX object may be reused, but all of its parameters were reset to their
+			// defaults on release (see SolverEnvironmentPool#releaseCplex(IloCplex))
+			cplex = SolverEnvironmentPool.acquireCplex();
 			cplex.setParam(IloCplex.Param.TimeLimit, timelimit);
 			cplex.setParam(IloCplex.Param.RandomSeed, randomSeed);
 			cplex.setParam(IloCplex.Param.Preprocessing.Presolve, IlpSolverConfig.ENABLE_PRESOLVE);
 
 			if (!IlpSolverConfig.ENABLE_ILP_OUTPUT) {
 				cplex.setOut(null);
+			} else if (IlpSolverConfig.LOG_SINK != null) {
+				cplex.setOut(new LogSinkOutputStream(IlpSolverConfig.LOG_SINK));
+			} else {
+				cplex.setOut(System.out);
 			}
 
 			obj = cplex.addMinimize(cplex.linearNumExpr());
+
+			// Publish new incumbents and abort if the cancellation was requested
+			aborter = cplex.use(new IloCplex.Aborter());
+			cplex.use(context -> {
+				if (callbacks.isCancelRequested()) {
+					context.abort();
+				} else if (context.getIntInfo(IloCplex.Callback.Context.Info.Feasible) > 0) {
+					callbacks.publish(context.getDoubleInfo(IloCplex.Callback.Context.Info.BestSolution),
+							context.getDoubleInfo(IloCplex.Callback.Context.Info.BestBound), var -> {
+								try {
+									return context.getIncumbent(getVariable(var)) > 0.5;
+								} catch (final IloException e) {
+									throw new IlpSolverException(e);
+								}
+							});
+				}
+			}, IloCplex.Callback.Context.Id.GlobalProgress);
 		} catch (final IloException e) {
 			throw new RuntimeException(e);
 		}
 
 	}
 
+	/**
+	 * Returns the handle of a variable for a given name.
+	 *
+	 * @param name Name to get the handle for.
+	 * @return Handle of the variable.
+	 */
+	private int getHandle(final String name) {
+		final Integer handle = variables.get(name);
+		if (handle == null) {
+			throw new IlpSolverException("Variable with the name=" + name + " does not exist.");
+		}
+		return handle;
+	}
+
+	/**
+	 * Returns the CPLEX variable for a given name.
+	 *
+	 * @param name Name to get the variable for.
+	 * @return CPLEX variable for name.
+	 */
+	private IloIntVar getVariable(final String name) {
+		return vars.get(getHandle(name));
+	}
+
+	/**
+	 * Returns the CPLEX variable for a given handle.
+	 *
+	 * @param var Handle to get the variable for.
+	 * @return CPLEX variable for the handle.
+	 */
+	private IloIntVar getVariable(final int var) {
+		final IloIntVar cplexVar = var >= 0 && var < vars.size() ? vars.get(var) : null;
+		if (cplexVar == null) {
+			throw new IlpSolverException("Variable with the handle=" + var + " does not exist.");
+		}
+		return cplexVar;
+	}
+
+	/**
+	 * Returns the CPLEX range for a given name.
+	 *
+	 * @param name Name to get the range for.
+	 * @return CPLEX range for name.
+	 */
+	private IloRange getConstraint(final String name) {
+		final Integer handle = constraints.get(name);
+		if (handle == null) {
+			throw new IlpSolverException("Constraint with the name=" + name + " does not exist.");
+		}
+		return ranges.get(handle);
+	}
+
+	/**
+	 * Returns the CPLEX range for a given handle.
+	 *
+	 * @param constraint Handle to get the range for.
+	 * @return CPLEX range for the handle.
+	 */
+	private IloRange getConstraint(final int constraint) {
+		final IloRange range = constraint >= 0 && constraint < ranges.size() ? ranges.get(constraint) : null;
+		if (range == null) {
+			throw new IlpSolverException("Constraint with the handle=" + constraint + " does not exist.");
+		}
+		return range;
+	}
+
+	/**
+	 * Registers a new CPLEX range and returns its handle.
+	 *
+	 * @param name  Name of the range (may be null).
+	 * @param range CPLEX range to register.
+	 * @return Handle of the new range.
+	 */
+	private int putConstraint(final String name, final IloRange range) {
+		final int handle = ranges.size();
+		ranges.add(range);
+		if (name != null) {
+			constraints.put(name, handle);
+		}
+		return handle;
+	}
+
 	@Override
 	public void addSosConstraint(final SosConstraint constraint) {
-		// SOS1 constraints with equal weights are not supported by CPLEX.
-		//
-		// "Members of an SOS should be given unique weights that in turn define the
-		// order of the variables in the set. (These unique weights are also called
-		// reference row values.) Each of those ways of declaring SOS members allows you
-		// to specify weights."
-		//
-		// Source: https://www.ibm.com/docs/en/icos/22.1.2?topic=sos-declaring-members
-		//
-		logger.warning("=> WARNING: SOS1 constraints are currently not supported by the CPLEX implementation!");
-		return;
+		addSos1(constraint.getVars().stream().mapToInt(v -> getHandle(v.getName())).toArray());
 	}
 
 	@Override
@@ -119,7 +254,7 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 	public void addEqualsConstraint(final String name, final double right) throws IlpSolverException {
 		try {
 			final IloLinearNumExpr linearNumExpr = cplex.linearNumExpr();
-			constraints.put(name, cplex.addEq(right, linearNumExpr, name));
+			putConstraint(name, cplex.addEq(right, linearNumExpr, name));
 		} catch (final IloException e) {
 			throw new IlpSolverException(e);
 		}
@@ -131,9 +266,9 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 		try {
 			final IloLinearNumExpr linearNumExpr = cplex.linearNumExpr();
 			for (int i = 0; i < weights.length; i++) {
-				linearNumExpr.addTerm(variables.get(vars[i]), weights[i]);
+				linearNumExpr.addTerm(getVariable(vars[i]), weights[i]);
 			}
-			constraints.put(name, cplex.addEq(right, linearNumExpr, name));
+			putConstraint(name, cplex.addEq(right, linearNumExpr, name));
 		} catch (final IloException e) {
 			throw new IlpSolverException(e);
 		}
@@ -141,18 +276,14 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 
 	@Override
 	public void addEqualsConstraints(final Constraint[] constraints) throws IlpSolverException {
-		for (final Constraint constraint : constraints) {
-			addEqualsConstraint(constraint.getName(), constraint.getRight(),
-					constraint.getWeights().stream().mapToDouble(w -> w).toArray(),
-					constraint.getVarnames().toArray(new String[constraint.getVarnames().size()]));
-		}
+		addConstraints(constraints, true);
 	}
 
 	@Override
 	public void addLessOrEqualsConstraint(final String name, final double right) throws IlpSolverException {
 		try {
 			final IloLinearNumExpr linearNumExpr = cplex.linearNumExpr();
-			constraints.put(name, cplex.addGe(right, linearNumExpr, name));
+			putConstraint(name, cplex.addGe(right, linearNumExpr, name));
 		} catch (final IloException e) {
 			throw new IlpSolverException(e);
 		}
@@ -164,9 +295,9 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 		try {
 			final IloLinearNumExpr linearNumExpr = cplex.linearNumExpr();
 			for (int i = 0; i < weights.length; i++) {
-				linearNumExpr.addTerm(variables.get(vars[i]), weights[i]);
+				linearNumExpr.addTerm(getVariable(vars[i]), weights[i]);
 			}
-			constraints.put(name, cplex.addGe(right, linearNumExpr, name));
+			putConstraint(name, cplex.addGe(right, linearNumExpr, name));
 		} catch (final IloException e) {
 			throw new IlpSolverException(e);
 		}
@@ -174,19 +305,71 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 
 	@Override
 	public void addLessOrEqualsConstraints(final Constraint[] constraints) throws IlpSolverException {
-		for (final Constraint constraint : constraints) {
-			addLessOrEqualsConstraint(constraint.getName(), constraint.getRight(),
-					constraint.getWeights().stream().mapToDouble(i -> i).toArray(),
-					constraint.getVarnames().toArray(new String[constraint.getVarnames().size()]));
+		addConstraints(constraints, false);
+	}
+
+	/**
+	 * Adds predefined constraints to the solver with one bulk call.
+	 *
+	 * @param constraints Array of predefined constraints.
+	 * @param equals      True for equals constraints, false for less or equals
+	 *                    constraints.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	private void addConstraints(final Constraint[] constraints, final boolean equals) throws IlpSolverException {
+		int nonZeros = 0;
+		for (final Constraint c : constraints) {
+			nonZeros += c.size();
 		}
+
+		// All terms are collected in two preallocated buffers
+		final IloNumVar[] cplexVars = new IloNumVar[nonZeros];
+		final double[] weights = new double[nonZeros];
+		final IloRange[] newRanges = new IloRange[constraints.length];
+		try {
+			int offset = 0;
+			for (int j = 0; j < constraints.length; j++) {
+				final Constraint c = constraints[j];
+				for (int i = 0; i < c.size(); i++) {
+					cplexVars[offset + i] = getVariable(c.getVarname(i));
+					weights[offset + i] = c.getWeight(i);
+				}
+				newRanges[j] = createRange(equals, c.getRight(),
+						cplex.scalProd(weights, cplexVars, offset, c.size()), c.getName());
+				offset += c.size();
+			}
+			cplex.add(newRanges);
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+		for (int j = 0; j < constraints.length; j++) {
+			putConstraint(constraints[j].getName(), newRanges[j]);
+		}
+	}
+
+	/**
+	 * Creates (but does not add) a new CPLEX range. Less or equals constraints are
+	 * modeled as {@code right >= expr} like in all other methods of this class.
+	 *
+	 * @param equals True for an equals range, false for a less or equals range.
+	 * @param right  Value of the right side.
+	 * @param expr   Linear expression.
+	 * @param name   Name of the range (may be null).
+	 * @return New CPLEX range.
+	 * @throws IloException If CPLEX encounters a problem.
+	 */
+	private IloRange createRange(final boolean equals, final double right, final IloLinearNumExpr expr,
+			final String name) throws IloException {
+		return equals ? cplex.eq(right, expr, name) : cplex.ge(right, expr, name);
 	}
 
 	@Override
 	public void addToVariableWeight(final String name, final double change) throws IlpSolverException {
 		try {
-			final double newCoef = objectiveCoefficients.get(name) + change;
-			cplex.setLinearCoef(obj, newCoef, variables.get(name));
-			objectiveCoefficients.put(name, newCoef);
+			final int handle = getHandle(name);
+			final double newCoef = objectiveCoefficients.get(handle) + change;
+			cplex.setLinearCoef(obj, newCoef, vars.get(handle));
+			objectiveCoefficients.set(handle, newCoef);
 		} catch (final IloException e) {
 			throw new IlpSolverException(e);
 		}
@@ -196,11 +379,12 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 	public void addVariable(final String name, final double solutionWeight) throws IlpSolverException {
 		try {
 			final IloIntVar boolVar = cplex.boolVar(name);
-			variables.put(name, boolVar);
+			variables.put(name, vars.size());
+			vars.add(boolVar);
 			final IloLinearNumExpr linearNumExpr = cplex.linearNumExpr();
 			linearNumExpr.addTerm(boolVar, solutionWeight);
 			cplex.addToExpr(obj, linearNumExpr);
-			objectiveCoefficients.put(name, solutionWeight);
+			objectiveCoefficients.add(solutionWeight);
 		} catch (final IloException e) {
 			throw new IlpSolverException(e);
 		}
@@ -214,9 +398,10 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 			final IloLinearNumExpr linearNumExpr = cplex.linearNumExpr();
 			for (int i = 0; i < addVars.length; i++) {
 				final IloIntVar var = addVars[i];
-				this.variables.put(var.getName(), var);
+				this.variables.put(var.getName(), vars.size());
+				vars.add(var);
 				linearNumExpr.addTerm(var, variables[i].getWeight());
-				objectiveCoefficients.put(var.getName(), variables[i].getWeight());
+				objectiveCoefficients.add(variables[i].getWeight());
 			}
 			cplex.addToExpr(obj, linearNumExpr);
 		} catch (final IloException e) {
@@ -227,8 +412,8 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 	@Override
 	public void changeVariableBounds(final String name, final int lower, final int upper) throws IlpSolverException {
 		try {
-			variables.get(name).setLB(lower);
-			variables.get(name).setUB(upper);
+			getVariable(name).setLB(lower);
+			getVariable(name).setUB(upper);
 		} catch (final IloException e) {
 			throw new IlpSolverException(e);
 		}
@@ -237,8 +422,9 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 	@Override
 	public void changeVariableWeight(final String name, final double solutionWeight) throws IlpSolverException {
 		try {
-			cplex.setLinearCoef(obj, solutionWeight, variables.get(name));
-			objectiveCoefficients.put(name, solutionWeight);
+			final int handle = getHandle(name);
+			cplex.setLinearCoef(obj, solutionWeight, vars.get(handle));
+			objectiveCoefficients.set(handle, solutionWeight);
 		} catch (final IloException e) {
 			throw new IlpSolverException(e);
 		}
@@ -246,8 +432,12 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 
 	@Override
 	public void dispose() throws IlpSolverException {
+		if (disposed) {
+			return;
+		}
+		disposed = true;
 		try {
-			cplex.clearModel();
+			SolverEnvironmentPool.releaseCplex(cplex);
 		} catch (final IloException e) {
 			throw new IlpSolverException(e);
 		}
@@ -255,18 +445,15 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 
 	@Override
 	public int getConstraintCount() {
-		return constraints.size();
+		return ranges.size() - removedConstrs;
 	}
 
 	@Override
 	public Map<String, Boolean> getMappings() throws IlpSolverException {
-		return variables.values().stream().collect(Collectors.toMap(IloNumVar::getName, v -> {
-			try {
-				return cplex.getValue(v) > 0.5;
-			} catch (final IloException e) {
-				throw new IlpSolverException(e);
-			}
-		}));
+		// Fetch all values with one call instead of one call per variable
+		final boolean[] selected = new boolean[vars.size()];
+		getMappings(selected);
+		return variables.entrySet().stream().collect(Collectors.toMap(Entry::getKey, e -> selected[e.getValue()]));
 	}
 
 	@Override
@@ -276,7 +463,7 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 
 	@Override
 	public int getVariableCount() {
-		return variables.size();
+		return vars.size() - removedVars;
 	}
 
 	@Override
@@ -287,7 +474,7 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 	@Override
 	public boolean isSelected(final String name) throws IlpSolverException {
 		try {
-			return cplex.getValue(variables.get(name)) > 0.5;
+			return cplex.getValue(getVariable(name)) > 0.5;
 		} catch (final IloException e) {
 			throw new IlpSolverException(e);
 		}
@@ -306,7 +493,8 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 	@Override
 	public void removeConstraint(final String name) throws IlpSolverException {
 		try {
-			cplex.remove(constraints.remove(name));
+			cplex.remove(ranges.set(constraints.remove(name), null));
+			removedConstrs++;
 		} catch (final IloException e) {
 			throw new IlpSolverException(e);
 		}
@@ -315,7 +503,9 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 	@Override
 	public void removeConstraints(final List<String> removeConstraints) {
 		try {
-			cplex.remove(removeConstraints.stream().map(constraints::remove).toArray(IloNumVar[]::new));
+			cplex.remove(removeConstraints.stream().map(c -> ranges.set(constraints.remove(c), null))
+					.toArray(IloAddable[]::new));
+			removedConstrs += removeConstraints.size();
 		} catch (final IloException e) {
 			throw new IlpSolverException(e);
 		}
@@ -324,8 +514,8 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 	@Override
 	public void removeVariable(final String name) throws IlpSolverException {
 		try {
-			cplex.delete(variables.remove(name));
-			objectiveCoefficients.remove(name);
+			cplex.delete(vars.set(variables.remove(name), null));
+			removedVars++;
 		} catch (final IloException e) {
 			throw new IlpSolverException(e);
 		}
@@ -334,8 +524,9 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 	@Override
 	public void removeVariables(final List<String> removeVariables) throws IlpSolverException {
 		try {
-			cplex.delete(removeVariables.stream().map(variables::remove).toArray(IloNumVar[]::new));
-			removeVariables.forEach(objectiveCoefficients::remove);
+			cplex.delete(removeVariables.stream().map(v -> vars.set(variables.remove(v), null))
+					.toArray(IloNumVar[]::new));
+			removedVars += removeVariables.size();
 		} catch (final IloException e) {
 			throw new IlpSolverException(e);
 		}
@@ -353,7 +544,7 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 	@Override
 	public void setConstraintRight(final String name, final double newRight) throws IlpSolverException {
 		try {
-			constraints.get(name).setBounds(Double.NEGATIVE_INFINITY, newRight);
+			getConstraint(name).setBounds(Double.NEGATIVE_INFINITY, newRight);
 		} catch (final IloException e) {
 			throw new IlpSolverException(e);
 		}
@@ -375,6 +566,56 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 		}
 	}
 
+	@Override
+	public void setMipFocus(final int focus) {
+		try {
+			cplex.setParam(IloCplex.Param.Emphasis.MIP, focus);
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public void setThreads(final int threads) {
+		try {
+			cplex.setParam(IloCplex.Param.Threads, threads);
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public void setCuts(final int level) {
+		// CPLEX: -1 = off, 0 = automatic and each cut type has its own maximum level
+		final int value = level == -1 ? 0 : level == 0 ? -1 : level;
+		try {
+			cplex.setParam(IloCplex.Param.MIP.Cuts.Cliques, Math.min(value, 3));
+			cplex.setParam(IloCplex.Param.MIP.Cuts.Covers, Math.min(value, 3));
+			cplex.setParam(IloCplex.Param.MIP.Cuts.Disjunctive, Math.min(value, 3));
+			cplex.setParam(IloCplex.Param.MIP.Cuts.FlowCovers, Math.min(value, 2));
+			cplex.setParam(IloCplex.Param.MIP.Cuts.Gomory, Math.min(value, 2));
+			cplex.setParam(IloCplex.Param.MIP.Cuts.GUBCovers, Math.min(value, 2));
+			cplex.setParam(IloCplex.Param.MIP.Cuts.Implied, Math.min(value, 2));
+			cplex.setParam(IloCplex.Param.MIP.Cuts.LiftProj, Math.min(value, 3));
+			cplex.setParam(IloCplex.Param.MIP.Cuts.LocalImplied, Math.min(value, 3));
+			cplex.setParam(IloCplex.Param.MIP.Cuts.MCFCut, Math.min(value, 2));
+			cplex.setParam(IloCplex.Param.MIP.Cuts.MIRCut, Math.min(value, 2));
+			cplex.setParam(IloCplex.Param.MIP.Cuts.PathCut, Math.min(value, 2));
+			cplex.setParam(IloCplex.Param.MIP.Cuts.ZeroHalfCut, Math.min(value, 2));
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public void setHeuristics(final double share) {
+		try {
+			cplex.setParam(IloCplex.Param.MIP.Strategy.HeuristicEffort, share / 0.05);
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
 	@Override
 	public void setTimeout(final int parameterValue) {
 		try {
@@ -395,7 +636,7 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 	public void setVariableWeightForConstraint(final String name, final double weight, final String var)
 			throws IlpSolverException {
 		try {
-			cplex.setLinearCoef(constraints.get(name), weight, variables.get(var));
+			cplex.setLinearCoef(getConstraint(name), weight, getVariable(var));
 		} catch (final IloException e) {
 			throw new IlpSolverException(e);
 		}
@@ -425,10 +666,10 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 		final IloIntVar[] vars = new IloIntVar[changeVariableWeights.size()];
 		int i = 0;
 		for (final Entry<String, Double> entry : changeVariableWeights.entrySet()) {
-			vars[i] = variables.get(entry.getKey());
+			vars[i] = getVariable(entry.getKey());
 			weights[i] = entry.getValue();
 			if (objective) {
-				objectiveCoefficients.put(entry.getKey(), entry.getValue());
+				objectiveCoefficients.set(getHandle(entry.getKey()), entry.getValue());
 			}
 			i++;
 		}
@@ -439,30 +680,400 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 	public void setVariableWeightsForConstraints(
 			final Map<String, Map<String, Double>> changeConstraitVariableWeights) {
 		for (final Entry<String, Map<String, Double>> entry : changeConstraitVariableWeights.entrySet()) {
-			final IloRange expr = constraints.get(entry.getKey());
+			final IloRange expr = getConstraint(entry.getKey());
 			setVariableWeightsForConstraint(entry.getValue(), (w, v) -> {
 				try {
 					cplex.setLinearCoefs(expr, w, v);
 				} catch (final IloException e) {
 					throw new IlpSolverException(e);
 				}
-			}, true);
+			}, false);
+		}
+	}
+
+	@Override
+	public int addVariable(final double solutionWeight) throws IlpSolverException {
+		try {
+			final IloIntVar boolVar = cplex.boolVar();
+			cplex.setLinearCoef(obj, solutionWeight, boolVar);
+			vars.add(boolVar);
+			objectiveCoefficients.add(solutionWeight);
+			return vars.size() - 1;
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public int addEqualsConstraint(final double right, final double[] weights, final int[] vars)
+			throws IlpSolverException {
+		try {
+			return putConstraint(null, cplex.addEq(right, linearExpression(weights, vars)));
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public int addLessOrEqualsConstraint(final double right, final double[] weights, final int[] vars)
+			throws IlpSolverException {
+		try {
+			return putConstraint(null, cplex.addGe(right, linearExpression(weights, vars)));
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	/**
+	 * Creates a linear expression for the given weights and variable handles.
+	 *
+	 * @param weights Variable weights.
+	 * @param vars    Variable handles.
+	 * @return Linear expression.
+	 * @throws IloException If CPLEX encounters a problem.
+	 */
+	private IloLinearNumExpr linearExpression(final double[] weights, final int[] vars) throws IloException {
+		final IloNumVar[] cplexVars = new IloNumVar[vars.length];
+		for (int i = 0; i < vars.length; i++) {
+			cplexVars[i] = getVariable(vars[i]);
+		}
+		return cplex.scalProd(weights, cplexVars);
+	}
+
+	@Override
+	public int addConstraints(final SparseConstraintBuilder rows) throws IlpSolverException {
+		final int count = rows.getRowCount();
+		final int first = ranges.size();
+		if (count == 0) {
+			return first;
+		}
+
+		final int[] rowStart = rows.getRowStart();
+		final int[] columns = rows.getColumns();
+		final int nonZeros = rows.getNonZeroCount();
+
+		// One variable buffer aligned with the value array of the builder is shared
+		// by the expressions of all rows
+		final IloNumVar[] cplexVars = new IloNumVar[nonZeros];
+		for (int i = 0; i < nonZeros; i++) {
+			cplexVars[i] = getVariable(columns[i]);
+		}
+		// Placeholder rows only get a handle (like a removed constraint)
+		final IloRange[] newRanges = new IloRange[count];
+		final List<IloRange> kept = new ArrayList<>(count);
+		try {
+			for (int r = 0; r < count; r++) {
+				if (rows.isRemoved(r)) {
+					continue;
+				}
+				newRanges[r] = createRange(rows.isEquals(r), rows.getRight(r),
+						cplex.scalProd(rows.getValues(), cplexVars, rowStart[r], rowStart[r + 1] - rowStart[r]),
+						rows.getName(r));
+				kept.add(newRanges[r]);
+			}
+			cplex.add(kept.toArray(new IloRange[kept.size()]));
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+		for (int r = 0; r < count; r++) {
+			putConstraint(rows.getName(r), newRanges[r]);
+			if (newRanges[r] == null) {
+				removedConstrs++;
+			}
+		}
+		return first;
+	}
+
+	@Override
+	public void addSosConstraint(final int[] vars) throws IlpSolverException {
+		addSos1(vars);
+	}
+
+	/**
+	 * Adds a SOS1 constraint for the given variable handles. In contrast to
+	 * Gurobi, CPLEX needs distinct weights that define the order of the members:
+	 *
+	 * "Members of an SOS should be given unique weights that in turn define the
+	 * order of the variables in the set. (These unique weights are also called
+	 * reference row values.)"
+	 *
+	 * Source: https://www.ibm.com/docs/en/icos/22.1.2?topic=sos-declaring-members
+	 *
+	 * Therefore, the members are ordered by their objective coefficients (and by
+	 * their handles for equal coefficients) and weighted by their rank, i.e., the
+	 * branching splits the set into cheap and expensive members.
+	 *
+	 * @param handles Variable handles of all members.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	private void addSos1(final int[] handles) throws IlpSolverException {
+		if (handles.length < 2) {
+			return;
+		}
+		final int[] ordered = Arrays.stream(handles).boxed()
+				.sorted(Comparator.<Integer>comparingDouble(objectiveCoefficients::get)
+						.thenComparing(Comparator.naturalOrder()))
+				.mapToInt(Integer::intValue).toArray();
+		final IloNumVar[] cplexVars = new IloNumVar[ordered.length];
+		final double[] weights = new double[ordered.length];
+		for (int i = 0; i < ordered.length; i++) {
+			cplexVars[i] = getVariable(ordered[i]);
+			weights[i] = i + 1;
+		}
+		try {
+			cplex.addSOS1(cplexVars, weights);
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public void changeVariableBounds(final int var, final int lower, final int upper) throws IlpSolverException {
+		try {
+			getVariable(var).setLB(lower);
+			getVariable(var).setUB(upper);
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public void changeVariableWeight(final int var, final double solutionWeight) throws IlpSolverException {
+		try {
+			cplex.setLinearCoef(obj, solutionWeight, getVariable(var));
+			objectiveCoefficients.set(var, solutionWeight);
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public int getVariableHandleCount() {
+		return vars.size();
+	}
+
+	@Override
+	public int getConstraintHandleCount() {
+		return ranges.size();
+	}
+
+	@Override
+	public void getMappings(final boolean[] selected) throws IlpSolverException {
+		final int[] handles = new int[vars.size() - removedVars];
+		final IloNumVar[] cplexVars = new IloNumVar[handles.length];
+		int n = 0;
+		for (int i = 0; i < vars.size(); i++) {
+			selected[i] = false;
+			if (vars.get(i) != null) {
+				handles[n] = i;
+				cplexVars[n++] = vars.get(i);
+			}
+		}
+		try {
+			final double[] x = cplex.getValues(cplexVars);
+			for (int i = 0; i < n; i++) {
+				selected[handles[i]] = x[i] > 0.5;
+			}
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public int[] getSelectedVariables() throws IlpSolverException {
+		final int[] handles = new int[vars.size() - removedVars];
+		final IloNumVar[] cplexVars = new IloNumVar[handles.length];
+		int n = 0;
+		for (int i = 0; i < vars.size(); i++) {
+			if (vars.get(i) != null) {
+				handles[n] = i;
+				cplexVars[n++] = vars.get(i);
+			}
+		}
+		try {
+			// All values are fetched with one call and compacted in place
+			final double[] x = cplex.getValues(cplexVars);
+			int count = 0;
+			for (int i = 0; i < n; i++) {
+				if (x[i] > 0.5) {
+					handles[count++] = handles[i];
+				}
+			}
+			return Arrays.copyOf(handles, count);
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public boolean hasSolution() {
+		return !Double.isNaN(objectiveValue);
+	}
+
+	@Override
+	public boolean isSelected(final int var) throws IlpSolverException {
+		try {
+			return cplex.getValue(getVariable(var)) > 0.5;
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public void removeConstraint(final int constraint) throws IlpSolverException {
+		try {
+			cplex.remove(getConstraint(constraint));
+			ranges.set(constraint, null);
+			removedConstrs++;
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public void removeVariable(final int var) throws IlpSolverException {
+		try {
+			cplex.delete(getVariable(var));
+			vars.set(var, null);
+			removedVars++;
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public void removeConstraints(final int[] constraints) throws IlpSolverException {
+		final IloRange[] removeRanges = new IloRange[constraints.length];
+		for (int i = 0; i < constraints.length; i++) {
+			removeRanges[i] = getConstraint(constraints[i]);
+		}
+		try {
+			cplex.remove(removeRanges);
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+		for (final int constraint : constraints) {
+			ranges.set(constraint, null);
+		}
+		removedConstrs += constraints.length;
+	}
+
+	@Override
+	public void removeVariables(final int[] vars) throws IlpSolverException {
+		final IloNumVar[] removeVars = new IloNumVar[vars.length];
+		for (int i = 0; i < vars.length; i++) {
+			removeVars[i] = getVariable(vars[i]);
+		}
+		try {
+			cplex.delete(removeVars);
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+		for (final int var : vars) {
+			this.vars.set(var, null);
+		}
+		removedVars += vars.length;
+	}
+
+	@Override
+	public void setConstraintRight(final int constraint, final double newRight) throws IlpSolverException {
+		try {
+			getConstraint(constraint).setBounds(Double.NEGATIVE_INFINITY, newRight);
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public void setVariableWeightForConstraint(final int constraint, final double weight, final int var)
+			throws IlpSolverException {
+		try {
+			cplex.setLinearCoef(getConstraint(constraint), weight, getVariable(var));
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
 		}
 	}
 
+	@Override
+	public void setVariableName(final int var, final String name) throws IlpSolverException {
+		getVariable(var).setName(name);
+		variables.put(name, var);
+	}
+
+	@Override
+	public void setConstraintName(final int constraint, final String name) throws IlpSolverException {
+		getConstraint(constraint).setName(name);
+		constraints.put(name, constraint);
+	}
+
+	@Override
+	public void setStartSolution(final int[] vars, final double[] values) throws IlpSolverException {
+		final IloNumVar[] cplexVars = new IloNumVar[vars.length];
+		for (int i = 0; i < vars.length; i++) {
+			cplexVars[i] = getVariable(vars[i]);
+		}
+		try {
+			// Only the latest start solution should be used
+			if (cplex.getNMIPStarts() > 0) {
+				cplex.deleteMIPStarts(0, cplex.getNMIPStarts());
+			}
+			// CPLEX completes (or repairs) partial start solutions by itself
+			cplex.addMIPStart(cplexVars, values, IloCplex.MIPStartEffort.Auto);
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public void addIncumbentListener(final IncumbentListener listener) {
+		callbacks.addListener(listener);
+	}
+
+	@Override
+	public void removeIncumbentListener(final IncumbentListener listener) {
+		callbacks.removeListener(listener);
+	}
+
+	@Override
+	public void cancel() {
+		callbacks.requestCancel();
+		aborter.abort();
+	}
+
+	@Override
+	public void resetCancel() {
+		callbacks.resetCancel();
+		aborter.clear();
+	}
+
 	@Override
 	public Statistics solve() throws IlpSolverException {
 		try {
 			final long start = System.nanoTime();
-			final boolean solve = cplex.solve();
+			final boolean cancelled;
+			final boolean solve;
+			callbacks.solveStarted();
+			if (callbacks.isCancelRequested()) {
+				aborter.abort();
+			}
+			try {
+				solve = cplex.solve();
+			} finally {
+				cancelled = callbacks.isCancelRequested();
+				callbacks.solveFinished();
+				aborter.clear();
+			}
 			if (solve) {
 				objectiveValue = cplex.getObjValue();
 			} else {
-				objectiveValue = -1;
+				objectiveValue = Double.NaN;
 			}
 
 			SolverStatus status;
-			if (cplex.getStatus() == IloCplex.Status.Unbounded) {
+			if (cancelled && cplex.getStatus() != IloCplex.Status.Optimal
+					&& cplex.getStatus() != IloCplex.Status.Infeasible) {
+				status = SolverStatus.INTERRUPTED;
+			} else if (cplex.getStatus() == IloCplex.Status.Unbounded) {
 				status = SolverStatus.UNBOUNDED;
 			} else if (cplex.getStatus() == IloCplex.Status.InfeasibleOrUnbounded) {
 				status = SolverStatus.INF_OR_UNBD;
@@ -475,7 +1086,74 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 			} else {
 				throw new RuntimeException("Unknown solver status.");
 			}
-			return new Statistics(status, System.nanoTime() - start);
+			// CPLEX does not expose the presolve reductions and the root time via its API
+			final Statistics.Builder stats = new Statistics.Builder(status, System.nanoTime() - start)
+					.modelSize(cplex.getNrows(), cplex.getNcols(), cplex.getNNZs(), cplex.getNSOSs())
+					.incumbentCount(callbacks.getIncumbentCount());
+			if (cplex.isMIP()) {
+				stats.nodeCount(cplex.getNnodes64());
+				if (solve) {
+					stats.gap(cplex.getMIPRelativeGap());
+				}
+			}
+			return stats.build();
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public Relaxation solveRelaxation() throws IlpSolverException {
+		final int[] handles = new int[vars.size() - removedVars];
+		final IloNumVar[] cplexVars = new IloNumVar[handles.length];
+		final double[] values = new double[vars.size()];
+		final double[] costs = new double[vars.size()];
+		int n = 0;
+		for (int i = 0; i < vars.size(); i++) {
+			if (vars.get(i) != null) {
+				handles[n] = i;
+				cplexVars[n++] = vars.get(i);
+				costs[i] = objectiveCoefficients.get(i);
+			}
+		}
+		try {
+			final long start = System.nanoTime();
+			// The conversion turns all binary variables into continuous ones until it gets
+			// removed again
+			final IloConversion conversion = n > 0 ? cplex.conversion(cplexVars, IloNumVarType.Float) : null;
+			if (conversion != null) {
+				cplex.add(conversion);
+			}
+			final boolean solve;
+			try {
+				solve = cplex.solve();
+				if (solve && n > 0) {
+					final double[] x = cplex.getValues(cplexVars);
+					for (int i = 0; i < n; i++) {
+						values[handles[i]] = x[i];
+					}
+				}
+			} finally {
+				if (conversion != null) {
+					cplex.remove(conversion);
+				}
+			}
+			final double objective = solve ? cplex.getObjValue() : Double.NaN;
+			objectiveValue = Double.NaN;
+
+			SolverStatus status;
+			if (cplex.getStatus() == IloCplex.Status.Unbounded) {
+				status = SolverStatus.UNBOUNDED;
+			} else if (cplex.getStatus() == IloCplex.Status.InfeasibleOrUnbounded) {
+				status = SolverStatus.INF_OR_UNBD;
+			} else if (cplex.getStatus() == IloCplex.Status.Infeasible) {
+				status = SolverStatus.INFEASIBLE;
+			} else if (cplex.getStatus() == IloCplex.Status.Optimal) {
+				status = SolverStatus.OPTIMAL;
+			} else {
+				status = SolverStatus.TIME_OUT;
+			}
+			return new Relaxation(status, System.nanoTime() - start, objective, values, costs);
 		} catch (final IloException e) {
 			throw new IlpSolverException(e);
 		}
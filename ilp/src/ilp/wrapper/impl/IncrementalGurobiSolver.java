@@ -1,13 +1,13 @@
 package ilp.wrapper.impl;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import com.gurobi.gurobi.GRB;
@@ -15,6 +15,7 @@ import com.gurobi.gurobi.GRB.DoubleAttr;
 import com.gurobi.gurobi.GRB.DoubleParam;
 import com.gurobi.gurobi.GRB.IntParam;
 import com.gurobi.gurobi.GRB.StringAttr;
+import com.gurobi.gurobi.GRBCallback;
 import com.gurobi.gurobi.GRBConstr;
 import com.gurobi.gurobi.GRBEnv;
 import com.gurobi.gurobi.GRBException;
@@ -25,7 +26,10 @@ import com.gurobi.gurobi.GRBVar;
 import iflye.dependencies.logging.IflyeLogger;
 import ilp.wrapper.IlpSolverException;
 import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.IncumbentListener;
+import ilp.wrapper.Relaxation;
 import ilp.wrapper.SolverStatus;
+import ilp.wrapper.SparseConstraintBuilder;
 import ilp.wrapper.Statistics;
 import ilp.wrapper.config.IlpSolverConfig;
 
@@ -56,24 +60,116 @@ public class IncrementalGurobiSolver extends IflyeLogger implements IncrementalI
 	private GRBModel model;
 
 	/**
-	 * All variables.
+	 * All variables indexed by their handles. Removed variables are null.
 	 */
-	private final Map<String, GRBVar> variables = new HashMap<>();
+	private final List<GRBVar> vars = new ArrayList<>();
 
 	/**
-	 * All constraints.
+	 * All constraints indexed by their handles. Removed constraints are null.
 	 */
-	private final Map<String, GRBConstr> constraints = new HashMap<>();
+	private final List<GRBConstr> constrs = new ArrayList<>();
 
 	/**
-	 * Mapping from variable to constraints.
+	 * Mapping from variable name to handle.
 	 */
-	private final Map<GRBVar, Set<GRBConstr>> varConstraints = new HashMap<>();
+	private final Map<String, Integer> variables = new HashMap<>();
 
 	/**
-	 * Mapping from constraint to variables.
+	 * Mapping from constraint name to handle.
 	 */
-	private final Map<GRBConstr, Set<GRBVar>> constraintVars = new HashMap<>();
+	private final Map<String, Integer> constraints = new HashMap<>();
+
+	/**
+	 * Number of removed variables and constraints.
+	 */
+	private int removedVars = 0;
+	private int removedConstrs = 0;
+
+	/**
+	 * True if this solver was disposed, i.e., its environment was returned to the
+	 * pool.
+	 */
+	private boolean disposed = false;
+
+	/**
+	 * Incumbent listeners and cancellation state.
+	 */
+	private final SolverCallbacks callbacks = new SolverCallbacks();
+
+	/**
+	 * Gurobi callback of the model.
+	 */
+	private final SolverCallback solverCallback;
+
+	/**
+	 * Gurobi callback that passes all log messages to the log sink (if there is
+	 * one), publishes new incumbents, collects the presolve reductions and the root
+	 * relaxation time, and aborts the optimization if its cancellation was
+	 * requested.
+	 */
+	private class SolverCallback extends GRBCallback {
+
+		/**
+		 * Log sink to pass all messages to (may be null).
+		 */
+		private final Consumer<String> sink;
+
+		/**
+		 * Rows and columns removed by the presolve of the current solve.
+		 */
+		private int removedRows;
+		private int removedColumns;
+
+		/**
+		 * Runtime in seconds until the root node was reached (negative if it was not
+		 * reached in the current solve).
+		 */
+		private double rootTime;
+
+		private SolverCallback(final Consumer<String> sink) {
+			this.sink = sink;
+		}
+
+		/**
+		 * Must be called at the start of each solve.
+		 */
+		private void reset() {
+			removedRows = 0;
+			removedColumns = 0;
+			rootTime = -1;
+		}
+
+		@Override
+		protected void callback() {
+			try {
+				if (callbacks.isCancelRequested()) {
+					abort();
+				}
+				if (where == GRB.CB_MESSAGE && sink != null) {
+					final String message = getStringInfo(GRB.CB_MSG_STRING);
+					sink.accept(message.endsWith("\n") ? message.substring(0, message.length() - 1) : message);
+				} else if (where == GRB.CB_PRESOLVE) {
+					removedRows = getIntInfo(GRB.CB_PRE_ROWDEL);
+					removedColumns = getIntInfo(GRB.CB_PRE_COLDEL);
+				} else if (where == GRB.CB_MIPNODE) {
+					if (rootTime < 0 && getDoubleInfo(GRB.CB_MIPNODE_NODCNT) == 0) {
+						rootTime = getDoubleInfo(GRB.CB_RUNTIME);
+					}
+				} else if (where == GRB.CB_MIPSOL) {
+					callbacks.publish(getDoubleInfo(GRB.CB_MIPSOL_OBJ), getDoubleInfo(GRB.CB_MIPSOL_OBJBND), var -> {
+						try {
+							return getSolution(getVariable(var)) > 0.5;
+						} catch (final GRBException e) {
+							throw new IlpSolverException(e);
+						}
+					});
+				}
+			} catch (final GRBException e) {
+				throw new IlpSolverException(e);
+			}
+		}
+
+	}
 
 	/**
 	 * Constructor that initializes a new Gurobi solver object for a given time
@@ -84,16 +180,19 @@ public class IncrementalGurobiSolver extends IflyeLogger implements IncrementalI
 	 */
 	public IncrementalGurobiSolver(final int timelimit, final int randomSeed) {
 		try {
-			env = new GRBEnv("Gurobi_ILP.log");
-			env.set(DoubleParam.TimeLimit, timelimit);
-			env.set(IntParam.Seed, randomSeed);
-			env.set(IntParam.Presolve, IlpSolverConfig.ENABLE_PRESOLVE ? 1 : 0);
-			if (!IlpSolverConfig.ENABLE_ILP_OUTPUT) {
-				env.set(IntParam.OutputFlag, 0);
-			}
+			// The environment may be reused, therefore all parameters are set on the model
+			env = SolverEnvironmentPool.acquireGurobiEnv();
 			model = new GRBModel(env);
 			model.set(DoubleParam.TimeLimit, timelimit);
 			model.set(IntParam.Seed, randomSeed);
+			model.set(IntParam.Presolve, IlpSolverConfig.ENABLE_PRESOLVE ? 1 : 0);
+			model.set(IntParam.OutputFlag, IlpSolverConfig.ENABLE_ILP_OUTPUT ? 1 : 0);
+			final boolean logToSink = IlpSolverConfig.ENABLE_ILP_OUTPUT && IlpSolverConfig.LOG_SINK != null;
+			if (logToSink) {
+				model.set(IntParam.LogToConsole, 0);
+			}
+			solverCallback = new SolverCallback(logToSink ? IlpSolverConfig.LOG_SINK : null);
+			model.setCallback(solverCallback);
 		} catch (final GRBException e) {
 			e.printStackTrace();
 			throw new IlpSolverException(e);
@@ -114,14 +213,11 @@ public class IncrementalGurobiSolver extends IflyeLogger implements IncrementalI
 			final char chr) throws IlpSolverException {
 		try {
 			final GRBLinExpr grbLinExpr = new GRBLinExpr();
-			final GRBVar[] grbVars = Arrays.stream(vars).map(variables::get).toArray(s -> new GRBVar[s]);
+			final GRBVar[] grbVars = Arrays.stream(vars).map(this::getVariable).toArray(s -> new GRBVar[s]);
 			grbLinExpr.addTerms(weights, grbVars);
 			final GRBConstr addConstr = model.addConstr(grbLinExpr, chr, right, name);
-			for (final GRBVar grbVar : grbVars) {
-				varConstraints.computeIfAbsent(grbVar, k -> new HashSet<>()).add(addConstr);
-				constraintVars.computeIfAbsent(addConstr, k -> new HashSet<>()).add(grbVar);
-			}
-			constraints.put(name, addConstr);
+			constraints.put(name, constrs.size());
+			constrs.add(addConstr);
 		} catch (final GRBException e) {
 			throw new IlpSolverException(e);
 		}
@@ -135,38 +231,39 @@ public class IncrementalGurobiSolver extends IflyeLogger implements IncrementalI
 	 * @throws IlpSolverException If the solver encounters a problem.
 	 */
 	private void addConstraints(final Constraint[] constrs, final char chr) throws IlpSolverException {
+		int nonZeros = 0;
+		for (final Constraint c : constrs) {
+			nonZeros += c.size();
+		}
+
+		// All terms are collected in two preallocated buffers
+		final GRBVar[] grbVars = new GRBVar[nonZeros];
+		final double[] weights = new double[nonZeros];
 		final GRBLinExpr[] grbLinExprs = new GRBLinExpr[constrs.length];
+		final char[] senses = new char[constrs.length];
+		final double[] rhs = new double[constrs.length];
+		final String[] names = new String[constrs.length];
+		Arrays.fill(senses, chr);
 		try {
+			int offset = 0;
 			for (int j = 0; j < constrs.length; j++) {
 				final Constraint c = constrs[j];
+				for (int i = 0; i < c.size(); i++) {
+					grbVars[offset + i] = getVariable(c.getVarname(i));
+					weights[offset + i] = c.getWeight(i);
+				}
 				final GRBLinExpr expr = new GRBLinExpr();
-				expr.addTerms(c.getWeights().stream().mapToDouble(i -> i).toArray(),
-						c.getVarnames().stream().map(variables::get).toArray(GRBVar[]::new));
-
+				expr.addTerms(weights, grbVars, offset, c.size());
 				grbLinExprs[j] = expr;
+				rhs[j] = c.getRight();
+				names[j] = c.getName();
+				offset += c.size();
 			}
-			final char[] senses = new char[constrs.length];
-			Arrays.fill(senses, chr);
-			final double[] rhs = Arrays.stream(constrs).mapToDouble(Constraint::getRight).toArray();
-			final String[] names = Arrays.stream(constrs).map(Constraint::getName).toArray(String[]::new);
 
 			final GRBConstr[] addConstrs = model.addConstrs(grbLinExprs, senses, rhs, names);
-			for (int i = 0; i < addConstrs.length; i++) {
-				final GRBConstr constr = addConstrs[i];
-				constraints.put(constrs[i].getName(), constr);
-				for (final String var : constrs[i].getVarnames()) {
-					final GRBVar key = getVariable(var);
-					if (!varConstraints.containsKey(key)) {
-						varConstraints.putIfAbsent(key, new HashSet<>());
-					}
-					varConstraints.get(key).add(constr);
-					if (!constraintVars.containsKey(constr)) {
-						constraintVars.putIfAbsent(constr, new HashSet<>());
-					}
-					constraintVars.get(constr).add(key);
-					// varConstraints.computeIfAbsent(variables.get(var),
-					// v -> varConstraints.computeIfAbsent(v, k -> new HashSet<>())).add(constr);
-				}
+			for (int j = 0; j < addConstrs.length; j++) {
+				constraints.put(names[j], this.constrs.size());
+				this.constrs.add(addConstrs[j]);
 			}
 		} catch (final GRBException | NullPointerException e) {
 			throw new IlpSolverException(e);
@@ -181,12 +278,54 @@ public class IncrementalGurobiSolver extends IflyeLogger implements IncrementalI
 	 */
 	private GRBVar getVariable(final String name) {
 		if (variables.containsKey(name)) {
-			return variables.get(name);
+			return vars.get(variables.get(name));
 		} else {
 			throw new IlpSolverException("Variable with the name=" + name + " does not exist.");
 		}
 	}
 
+	/**
+	 * Returns the Gurobi variable for a given handle.
+	 *
+	 * @param var Handle to get the variable for.
+	 * @return Gurobi variable for the handle.
+	 */
+	private GRBVar getVariable(final int var) {
+		final GRBVar grbVar = var >= 0 && var < vars.size() ? vars.get(var) : null;
+		if (grbVar == null) {
+			throw new IlpSolverException("Variable with the handle=" + var + " does not exist.");
+		}
+		return grbVar;
+	}
+
+	/**
+	 * Returns the Gurobi constraint for a given name.
+	 *
+	 * @param name Name to get the constraint for.
+	 * @return Gurobi constraint for name.
+	 */
+	private GRBConstr getConstraint(final String name) {
+		if (constraints.containsKey(name)) {
+			return constrs.get(constraints.get(name));
+		} else {
+			throw new IlpSolverException("Constraint with the name=" + name + " does not exist.");
+		}
+	}
+
+	/**
+	 * Returns the Gurobi constraint for a given handle.
+	 *
+	 * @param constraint Handle to get the constraint for.
+	 * @return Gurobi constraint for the handle.
+	 */
+	private GRBConstr getConstraint(final int constraint) {
+		final GRBConstr grbConstr = constraint >= 0 && constraint < constrs.size() ? constrs.get(constraint) : null;
+		if (grbConstr == null) {
+			throw new IlpSolverException("Constraint with the handle=" + constraint + " does not exist.");
+		}
+		return grbConstr;
+	}
+
 	@Override
 	public void addSosConstraint(final SosConstraint constraint) {
 		// All weights has to be 1
@@ -261,7 +400,8 @@ public class IncrementalGurobiSolver extends IflyeLogger implements IncrementalI
 		try {
 			final GRBVar addVar = model.addVar(0.0, 1.0, 0.0, GRB.BINARY, name);
 			addVar.set(DoubleAttr.Obj, solutionWeight);
-			variables.put(name, addVar);
+			variables.put(name, vars.size());
+			vars.add(addVar);
 		} catch (final GRBException e) {
 			throw new IlpSolverException(e);
 		}
@@ -280,7 +420,8 @@ public class IncrementalGurobiSolver extends IflyeLogger implements IncrementalI
 					Arrays.stream(variables).mapToDouble(Variable::getWeight).toArray(), types,
 					Arrays.stream(variables).map(Variable::getName).toArray(String[]::new));
 			for (int i = 0; i < addVars.length; i++) {
-				this.variables.put(variables[i].getName(), addVars[i]);
+				this.variables.put(variables[i].getName(), vars.size());
+				vars.add(addVars[i]);
 			}
 		} catch (final GRBException e) {
 			throw new IlpSolverException(e);
@@ -308,9 +449,13 @@ public class IncrementalGurobiSolver extends IflyeLogger implements IncrementalI
 
 	@Override
 	public void dispose() throws IlpSolverException {
+		if (disposed) {
+			return;
+		}
+		disposed = true;
 		model.dispose();
 		try {
-			env.dispose();
+			SolverEnvironmentPool.releaseGurobiEnv(env);
 		} catch (final GRBException e) {
 			throw new IlpSolverException(e);
 		}
@@ -318,24 +463,15 @@ public class IncrementalGurobiSolver extends IflyeLogger implements IncrementalI
 
 	@Override
 	public int getConstraintCount() {
-		return constraints.size();
+		return constrs.size() - removedConstrs;
 	}
 
 	@Override
 	public Map<String, Boolean> getMappings() throws IlpSolverException {
-		return variables.values().stream().collect(Collectors.toMap(v -> {
-			try {
-				return v.get(StringAttr.VarName);
-			} catch (final GRBException e) {
-				throw new IlpSolverException(e);
-			}
-		}, v -> {
-			try {
-				return v.get(DoubleAttr.X) > 0.5;
-			} catch (final GRBException e) {
-				throw new IlpSolverException(e);
-			}
-		}));
+		// Fetch all values with one call instead of one call per variable
+		final boolean[] selected = new boolean[vars.size()];
+		getMappings(selected);
+		return variables.entrySet().stream().collect(Collectors.toMap(Entry::getKey, e -> selected[e.getValue()]));
 	}
 
 	@Override
@@ -349,7 +485,7 @@ public class IncrementalGurobiSolver extends IflyeLogger implements IncrementalI
 
 	@Override
 	public int getVariableCount() {
-		return variables.size();
+		return vars.size() - removedVars;
 	}
 
 	@Override
@@ -379,15 +515,10 @@ public class IncrementalGurobiSolver extends IflyeLogger implements IncrementalI
 	@Override
 	public void removeConstraint(final String name) throws IlpSolverException {
 		try {
-			final GRBConstr removeConstr = constraints.remove(name);
+			final int handle = constraints.remove(name);
+			final GRBConstr removeConstr = constrs.set(handle, null);
 			model.remove(removeConstr);
-			if (constraintVars.containsKey(removeConstr)) {
-				final Set<GRBVar> vars = constraintVars.remove(removeConstr);
-				for (final GRBVar grbVar : vars) {
-					varConstraints.get(grbVar).remove(removeConstr);
-				}
-			}
-			// varConstraints.values().forEach(l -> l.remove(remove));
+			removedConstrs++;
 		} catch (final Exception e) {
 			throw new IlpSolverException("Gurobi constraint for " + name + " does not exist. \n" + e);
 		}
@@ -400,23 +531,14 @@ public class IncrementalGurobiSolver extends IflyeLogger implements IncrementalI
 
 	@Override
 	public void removeVariable(final String name) throws IlpSolverException {
-		final GRBVar grbVar = variables.remove(name);
-		if (grbVar == null) {
+		final Integer handle = variables.remove(name);
+		if (handle == null || vars.get(handle) == null) {
 			throw new IllegalArgumentException("Gurobi Var to " + name + " does not exist.");
 		}
-		final Set<GRBConstr> constraints = varConstraints.remove(grbVar);
-		if (constraints != null && !constraints.isEmpty()) {
-			for (final GRBConstr grbConstr : constraints) {
-				try {
-					model.chgCoeff(grbConstr, grbVar, 0);
-					constraintVars.get(grbConstr).remove(grbVar);
-				} catch (final GRBException e) {
-					throw new IlpSolverException(e);
-				}
-			}
-		}
-		variables.remove(name);
+		final GRBVar grbVar = vars.set(handle, null);
+		removedVars++;
 		try {
+			// Gurobi removes all coefficients of the variable, too
 			model.remove(grbVar);
 		} catch (final GRBException e) {
 			throw new IlpSolverException(e);
@@ -442,7 +564,7 @@ public class IncrementalGurobiSolver extends IflyeLogger implements IncrementalI
 	@Override
 	public void setConstraintRight(final String name, final double newRight) throws IlpSolverException {
 		try {
-			model.set(DoubleAttr.RHS, new GRBConstr[] { constraints.get(name) }, new double[] { newRight });
+			model.set(DoubleAttr.RHS, new GRBConstr[] { getConstraint(name) }, new double[] { newRight });
 		} catch (final GRBException e) {
 			throw new IlpSolverException(e);
 		}
@@ -454,7 +576,7 @@ public class IncrementalGurobiSolver extends IflyeLogger implements IncrementalI
 		final GRBConstr[] constrs = new GRBConstr[changeConstraintRight.size()];
 		int i = 0;
 		for (final Entry<String, Double> entry : changeConstraintRight.entrySet()) {
-			constrs[i] = constraints.get(entry.getKey());
+			constrs[i] = getConstraint(entry.getKey());
 			weights[i] = entry.getValue();
 			i++;
 		}
@@ -474,10 +596,45 @@ public class IncrementalGurobiSolver extends IflyeLogger implements IncrementalI
 		}
 	}
 
+	@Override
+	public void setMipFocus(final int focus) {
+		try {
+			model.set(IntParam.MIPFocus, focus);
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public void setThreads(final int threads) {
+		try {
+			model.set(IntParam.Threads, threads);
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public void setCuts(final int level) {
+		try {
+			model.set(IntParam.Cuts, level);
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public void setHeuristics(final double share) {
+		try {
+			model.set(DoubleParam.Heuristics, share);
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
 	@Override
 	public void setTimeout(final int parameterValue) {
 		try {
-			env.set(DoubleParam.TimeLimit, parameterValue);
 			model.set(DoubleParam.TimeLimit, parameterValue);
 		} catch (final GRBException e) {
 			throw new IlpSolverException(e);
@@ -495,7 +652,7 @@ public class IncrementalGurobiSolver extends IflyeLogger implements IncrementalI
 	public void setVariableWeightForConstraint(final String name, final double weight, final String var)
 			throws IlpSolverException {
 		try {
-			model.chgCoeff(constraints.get(name), getVariable(var), weight);
+			model.chgCoeff(getConstraint(name), getVariable(var), weight);
 		} catch (final GRBException e) {
 			throw new IlpSolverException(e);
 		}
@@ -516,8 +673,8 @@ public class IncrementalGurobiSolver extends IflyeLogger implements IncrementalI
 		final List<Double> weights = new LinkedList<>();
 		for (final Entry<String, Map<String, Double>> entry : changeConstraitVariableWeights.entrySet()) {
 			for (final Entry<String, Double> entry2 : entry.getValue().entrySet()) {
-				constrs.add(constraints.get(entry.getKey()));
-				vars.add(variables.get(entry2.getKey()));
+				constrs.add(getConstraint(entry.getKey()));
+				vars.add(getVariable(entry2.getKey()));
 				weights.add(entry2.getValue());
 			}
 		}
@@ -530,34 +687,457 @@ public class IncrementalGurobiSolver extends IflyeLogger implements IncrementalI
 		}
 	}
 
+	@Override
+	public int addVariable(final double solutionWeight) throws IlpSolverException {
+		try {
+			vars.add(model.addVar(0.0, 1.0, solutionWeight, GRB.BINARY, null));
+			return vars.size() - 1;
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public int addEqualsConstraint(final double right, final double[] weights, final int[] vars)
+			throws IlpSolverException {
+		return addConstraint(right, weights, vars, GRB.EQUAL);
+	}
+
+	@Override
+	public int addLessOrEqualsConstraint(final double right, final double[] weights, final int[] vars)
+			throws IlpSolverException {
+		return addConstraint(right, weights, vars, GRB.LESS_EQUAL);
+	}
+
+	/**
+	 * Adds an unnamed constraint to the solver.
+	 *
+	 * @param right   Value of the right side.
+	 * @param weights Variable weights.
+	 * @param vars    Variable handles.
+	 * @param chr     Sense.
+	 * @return Handle of the new constraint.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	private int addConstraint(final double right, final double[] weights, final int[] vars, final char chr)
+			throws IlpSolverException {
+		try {
+			final GRBVar[] grbVars = new GRBVar[vars.length];
+			for (int i = 0; i < vars.length; i++) {
+				grbVars[i] = getVariable(vars[i]);
+			}
+			final GRBLinExpr grbLinExpr = new GRBLinExpr();
+			grbLinExpr.addTerms(weights, grbVars);
+			constrs.add(model.addConstr(grbLinExpr, chr, right, null));
+			return constrs.size() - 1;
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public void addSosConstraint(final int[] vars) throws IlpSolverException {
+		final GRBVar[] grbVars = new GRBVar[vars.length];
+		final double[] weights = new double[vars.length];
+		for (int i = 0; i < vars.length; i++) {
+			grbVars[i] = getVariable(vars[i]);
+			weights[i] = 1;
+		}
+		try {
+			model.addSOS(grbVars, weights, GRB.SOS_TYPE1);
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public int addConstraints(final SparseConstraintBuilder rows) throws IlpSolverException {
+		final int count = rows.getRowCount();
+		final int first = constrs.size();
+		if (count == 0) {
+			return first;
+		}
+
+		final int[] rowStart = rows.getRowStart();
+		final int[] columns = rows.getColumns();
+		final int nonZeros = rows.getNonZeroCount();
+
+		// Gurobi's Java API has no CSR call, but the terms of all rows can share
+		// one variable buffer that is aligned with the value array of the builder
+		final GRBVar[] grbVars = new GRBVar[nonZeros];
+		for (int i = 0; i < nonZeros; i++) {
+			grbVars[i] = getVariable(columns[i]);
+		}
+		// Placeholder rows only get a handle (like a removed constraint)
+		int kept = 0;
+		for (int r = 0; r < count; r++) {
+			if (!rows.isRemoved(r)) {
+				kept++;
+			}
+		}
+		final GRBLinExpr[] grbLinExprs = new GRBLinExpr[kept];
+		final char[] senses = new char[kept];
+		final double[] rhs = new double[kept];
+		final String[] names = rows.hasNames() ? new String[kept] : null;
+		try {
+			int k = 0;
+			for (int r = 0; r < count; r++) {
+				if (rows.isRemoved(r)) {
+					continue;
+				}
+				final GRBLinExpr expr = new GRBLinExpr();
+				expr.addTerms(rows.getValues(), grbVars, rowStart[r], rowStart[r + 1] - rowStart[r]);
+				grbLinExprs[k] = expr;
+				senses[k] = rows.isEquals(r) ? GRB.EQUAL : GRB.LESS_EQUAL;
+				rhs[k] = rows.getRight(r);
+				if (names != null) {
+					names[k] = rows.getName(r);
+				}
+				k++;
+			}
+
+			final GRBConstr[] added = model.addConstrs(grbLinExprs, senses, rhs, names);
+			k = 0;
+			for (int r = 0; r < count; r++) {
+				if (rows.isRemoved(r)) {
+					constrs.add(null);
+					removedConstrs++;
+					continue;
+				}
+				constrs.add(added[k]);
+				if (names != null && names[k] != null) {
+					constraints.put(names[k], first + r);
+				}
+				k++;
+			}
+			return first;
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public void changeVariableBounds(final int var, final int lower, final int upper) throws IlpSolverException {
+		try {
+			getVariable(var).set(DoubleAttr.LB, lower);
+			getVariable(var).set(DoubleAttr.UB, upper);
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public void changeVariableWeight(final int var, final double solutionWeight) throws IlpSolverException {
+		try {
+			getVariable(var).set(DoubleAttr.Obj, solutionWeight);
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public int getVariableHandleCount() {
+		return vars.size();
+	}
+
+	@Override
+	public int getConstraintHandleCount() {
+		return constrs.size();
+	}
+
+	@Override
+	public void getMappings(final boolean[] selected) throws IlpSolverException {
+		final int[] handles = new int[vars.size() - removedVars];
+		final GRBVar[] grbVars = new GRBVar[handles.length];
+		int n = 0;
+		for (int i = 0; i < vars.size(); i++) {
+			selected[i] = false;
+			if (vars.get(i) != null) {
+				handles[n] = i;
+				grbVars[n++] = vars.get(i);
+			}
+		}
+		try {
+			final double[] x = model.get(DoubleAttr.X, grbVars);
+			for (int i = 0; i < n; i++) {
+				selected[handles[i]] = x[i] > 0.5;
+			}
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public int[] getSelectedVariables() throws IlpSolverException {
+		final int[] handles = new int[vars.size() - removedVars];
+		final GRBVar[] grbVars = new GRBVar[handles.length];
+		int n = 0;
+		for (int i = 0; i < vars.size(); i++) {
+			if (vars.get(i) != null) {
+				handles[n] = i;
+				grbVars[n++] = vars.get(i);
+			}
+		}
+		try {
+			// All values are fetched with one call and compacted in place
+			final double[] x = model.get(DoubleAttr.X, grbVars);
+			int count = 0;
+			for (int i = 0; i < n; i++) {
+				if (x[i] > 0.5) {
+					handles[count++] = handles[i];
+				}
+			}
+			return Arrays.copyOf(handles, count);
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public boolean hasSolution() {
+		try {
+			return model.get(GRB.IntAttr.SolCount) > 0;
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public boolean isSelected(final int var) throws IlpSolverException {
+		try {
+			return getVariable(var).get(DoubleAttr.X) > 0.5;
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public void removeConstraint(final int constraint) throws IlpSolverException {
+		try {
+			final GRBConstr removeConstr = getConstraint(constraint);
+			constrs.set(constraint, null);
+			model.remove(removeConstr);
+			removedConstrs++;
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public void removeVariable(final int var) throws IlpSolverException {
+		final GRBVar grbVar = getVariable(var);
+		vars.set(var, null);
+		removedVars++;
+		try {
+			// Gurobi removes all coefficients of the variable, too
+			model.remove(grbVar);
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public void removeConstraints(final int[] constraints) throws IlpSolverException {
+		// Removals are queued by Gurobi and processed with the next model update
+		for (final int constraint : constraints) {
+			removeConstraint(constraint);
+		}
+	}
+
+	@Override
+	public void removeVariables(final int[] vars) throws IlpSolverException {
+		// Removals are queued by Gurobi and processed with the next model update
+		for (final int var : vars) {
+			removeVariable(var);
+		}
+	}
+
+	@Override
+	public void setConstraintRight(final int constraint, final double newRight) throws IlpSolverException {
+		try {
+			getConstraint(constraint).set(DoubleAttr.RHS, newRight);
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public void setVariableWeightForConstraint(final int constraint, final double weight, final int var)
+			throws IlpSolverException {
+		try {
+			model.chgCoeff(getConstraint(constraint), getVariable(var), weight);
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public void setVariableName(final int var, final String name) throws IlpSolverException {
+		try {
+			getVariable(var).set(StringAttr.VarName, name);
+			variables.put(name, var);
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public void setConstraintName(final int constraint, final String name) throws IlpSolverException {
+		try {
+			getConstraint(constraint).set(StringAttr.ConstrName, name);
+			constraints.put(name, constraint);
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public void setStartSolution(final int[] vars, final double[] values) throws IlpSolverException {
+		final GRBVar[] grbVars = new GRBVar[vars.length];
+		for (int i = 0; i < vars.length; i++) {
+			grbVars[i] = getVariable(vars[i]);
+		}
+		try {
+			// Variables without a start value keep GRB.UNDEFINED, i.e., Gurobi tries to
+			// complete the partial start solution
+			model.set(DoubleAttr.Start, grbVars, values);
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public void addIncumbentListener(final IncumbentListener listener) {
+		callbacks.addListener(listener);
+	}
+
+	@Override
+	public void removeIncumbentListener(final IncumbentListener listener) {
+		callbacks.removeListener(listener);
+	}
+
+	@Override
+	public void cancel() {
+		callbacks.requestCancel();
+		model.terminate();
+	}
+
+	@Override
+	public void resetCancel() {
+		callbacks.resetCancel();
+	}
+
 	@Override
 	public Statistics solve() throws IlpSolverException {
 		try {
 			model.update();
 			model.set(DoubleParam.OptimalityTol, IlpSolverConfig.OPT_TOL);
 			final long start = System.nanoTime();
-			model.optimize();
-			SolverStatus status;
-			if (model.get(GRB.IntAttr.Status) == GRB.UNBOUNDED) {
-				status = SolverStatus.UNBOUNDED;
-			} else if (model.get(GRB.IntAttr.Status) == GRB.INF_OR_UNBD) {
-				status = SolverStatus.INF_OR_UNBD;
-			} else if (model.get(GRB.IntAttr.Status) == GRB.INFEASIBLE) {
-				status = SolverStatus.INFEASIBLE;
-			} else if (model.get(GRB.IntAttr.Status) == GRB.OPTIMAL) {
-				status = SolverStatus.OPTIMAL;
-			} else if (model.get(GRB.IntAttr.Status) == GRB.TIME_LIMIT) {
-				logger.warning("Warning: time limit (" + model.get(GRB.DoubleParam.TimeLimit) + "s) reached! "
-						+ model.get(GRB.IntAttr.SolCount) + " solutions were found so far.");
-				status = SolverStatus.TIME_OUT;
-			} else {
-				throw new RuntimeException("Unknown solver status.");
+			callbacks.solveStarted();
+			solverCallback.reset();
+			try {
+				model.optimize();
+			} finally {
+				callbacks.solveFinished();
+			}
+			final Statistics.Builder stats = new Statistics.Builder(getStatus(model), System.nanoTime() - start)
+					.modelSize(model.get(GRB.IntAttr.NumConstrs), model.get(GRB.IntAttr.NumVars),
+							(long) model.get(DoubleAttr.DNumNZs), model.get(GRB.IntAttr.NumSOS))
+					.presolve(solverCallback.removedRows, solverCallback.removedColumns)
+					.incumbentCount(callbacks.getIncumbentCount());
+			if (solverCallback.rootTime >= 0) {
+				stats.rootTime((long) (solverCallback.rootTime * 1_000_000_000L));
+			}
+			if (model.get(GRB.IntAttr.IsMIP) == 1) {
+				stats.nodeCount((long) model.get(DoubleAttr.NodeCount));
+				if (model.get(GRB.IntAttr.SolCount) > 0) {
+					stats.gap(model.get(DoubleAttr.MIPGap));
+				}
 			}
+			return stats.build();
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
 
-			return new Statistics(status, System.nanoTime() - start);
+	@Override
+	public Relaxation solveRelaxation() throws IlpSolverException {
+		try {
+			model.update();
+			final long start = System.nanoTime();
+			final GRBModel relaxed = model.relax();
+			try {
+				relaxed.set(DoubleParam.OptimalityTol, IlpSolverConfig.OPT_TOL);
+				relaxed.optimize();
+				final SolverStatus status = getStatus(relaxed);
+				final double[] values = new double[vars.size()];
+				final double[] costs = new double[vars.size()];
+				double objective = Double.NaN;
+
+				final int[] handles = new int[vars.size() - removedVars];
+				final GRBVar[] grbVars = new GRBVar[handles.length];
+				int n = 0;
+				for (int i = 0; i < vars.size(); i++) {
+					if (vars.get(i) != null) {
+						handles[n] = i;
+						grbVars[n++] = vars.get(i);
+					}
+				}
+				if (n > 0) {
+					final double[] obj = model.get(DoubleAttr.Obj, grbVars);
+					for (int i = 0; i < n; i++) {
+						costs[handles[i]] = obj[i];
+					}
+				}
+				if (relaxed.get(GRB.IntAttr.SolCount) > 0) {
+					objective = relaxed.get(DoubleAttr.ObjVal);
+					if (n > 0) {
+						// The relaxed copy contains the variables in the same order as the model
+						final GRBVar[] relaxedVars = relaxed.getVars();
+						final GRBVar[] copies = new GRBVar[n];
+						for (int i = 0; i < n; i++) {
+							copies[i] = relaxedVars[grbVars[i].index()];
+						}
+						final double[] x = relaxed.get(DoubleAttr.X, copies);
+						for (int i = 0; i < n; i++) {
+							values[handles[i]] = x[i];
+						}
+					}
+				}
+				return new Relaxation(status, System.nanoTime() - start, objective, values, costs);
+			} finally {
+				relaxed.dispose();
+			}
 		} catch (final GRBException e) {
 			throw new IlpSolverException(e);
 		}
 	}
 
+	/**
+	 * Returns the status of a given (optimized) Gurobi model.
+	 *
+	 * @param m Gurobi model.
+	 * @return Status of the model.
+	 * @throws GRBException If the status can not be read.
+	 */
+	private SolverStatus getStatus(final GRBModel m) throws GRBException {
+		if (m.get(GRB.IntAttr.Status) == GRB.UNBOUNDED) {
+			return SolverStatus.UNBOUNDED;
+		} else if (m.get(GRB.IntAttr.Status) == GRB.INF_OR_UNBD) {
+			return SolverStatus.INF_OR_UNBD;
+		} else if (m.get(GRB.IntAttr.Status) == GRB.INFEASIBLE) {
+			return SolverStatus.INFEASIBLE;
+		} else if (m.get(GRB.IntAttr.Status) == GRB.OPTIMAL) {
+			return SolverStatus.OPTIMAL;
+		} else if (m.get(GRB.IntAttr.Status) == GRB.TIME_LIMIT) {
+			logger.warning("Warning: time limit (" + m.get(GRB.DoubleParam.TimeLimit) + "s) reached! "
+					+ m.get(GRB.IntAttr.SolCount) + " solutions were found so far.");
+			return SolverStatus.TIME_OUT;
+		} else if (m.get(GRB.IntAttr.Status) == GRB.INTERRUPTED) {
+			return SolverStatus.INTERRUPTED;
+		} else {
+			throw new RuntimeException("Unknown solver status.");
+		}
+	}
+
 }
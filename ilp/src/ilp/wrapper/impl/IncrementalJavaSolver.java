@@ -0,0 +1,982 @@
+package ilp.wrapper.impl;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import iflye.dependencies.logging.IflyeLogger;
+import ilp.wrapper.IlpSolverException;
+import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.IncumbentListener;
+import ilp.wrapper.Relaxation;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.SparseConstraintBuilder;
+import ilp.wrapper.Statistics;
+import ilp.wrapper.config.IlpSolverConfig;
+
+/**
+ * Implementation of the {@link IncrementalIlpSolver} interface that does not
+ * rely on any native solver library. The model is held in memory and solved by
+ * a depth-first binary branch-and-bound over the LP relaxation (see
+ * {@link BoundedSimplex}). Each node starts the dual simplex from the optimal
+ * basis of its parent. Violated SOS1 constraints are branched on first by
+ * splitting the set into two halves, all other nodes branch on the most
+ * fractional variable.
+ *
+ * This solver is intended for small and medium sized models, e.g., for
+ * substrate networks that can be embedded without a license of a commercial
+ * solver.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IncrementalJavaSolver extends IflyeLogger implements IncrementalIlpSolver {
+
+	/**
+	 * Relative MIP gap at which a node will be pruned. This value is the default
+	 * value of the Gurobi solver (1e-4).
+	 */
+	private static final double MIP_GAP = 1e-4;
+
+	/**
+	 * Absolute MIP gap at which a node will be pruned. This value is the default
+	 * value of the Gurobi solver (1e-10).
+	 */
+	private static final double MIP_GAP_ABS = 1e-10;
+
+	/**
+	 * Tolerance for a value to be considered integral.
+	 */
+	private static final double INT_TOL = 1e-6;
+
+	/**
+	 * In-memory model.
+	 */
+	private final InMemoryIlpModel model = new InMemoryIlpModel();
+
+	/**
+	 * Time limit in seconds.
+	 */
+	private int timelimit;
+
+	/**
+	 * Random seed. It determines the variable at which the search for the most
+	 * fractional variable starts, i.e., how ties between equally fractional
+	 * variables are broken. The search is deterministic for a given seed.
+	 */
+	private int seed;
+
+	/**
+	 * Selected variables of the last solution indexed by their handles or null if
+	 * there is no solution.
+	 */
+	private boolean[] solution = null;
+
+	/**
+	 * Objective value of the last solution.
+	 */
+	private double objectiveValue = Double.NaN;
+
+	/**
+	 * Start values for the next solve indexed by the variable handles (NaN if a
+	 * variable has no start value) or null if there is no start solution.
+	 */
+	private double[] startValues = null;
+
+	/**
+	 * Incumbent listeners and cancellation state.
+	 */
+	private final SolverCallbacks callbacks = new SolverCallbacks();
+
+	/**
+	 * Constructor that initializes a new Java solver object for a given time limit
+	 * and random seed.
+	 *
+	 * @param timelimit  Time limit to set for the solver.
+	 * @param randomSeed Random seed to set for the solver.
+	 */
+	public IncrementalJavaSolver(final int timelimit, final int randomSeed) {
+		this.timelimit = timelimit;
+		this.seed = randomSeed;
+	}
+
+	@Override
+	public void addSosConstraint(final SosConstraint constraint) {
+		final int[] vars = new int[constraint.getVars().size()];
+		for (int i = 0; i < vars.length; i++) {
+			vars[i] = model.getVariableHandle(constraint.getVars().get(i).getName());
+		}
+		model.addSos(vars);
+	}
+
+	@Override
+	public void addSosConstraints(final SosConstraint[] constraints) {
+		for (final SosConstraint c : constraints) {
+			addSosConstraint(c);
+		}
+	}
+
+	@Override
+	public void addEqualsConstraint(final String name, final double right) throws IlpSolverException {
+		model.addConstraint(name, InMemoryIlpModel.EQUAL, right);
+	}
+
+	@Override
+	public void addEqualsConstraint(final String name, final double right, final double[] weights, final String[] vars)
+			throws IlpSolverException {
+		model.addConstraint(name, InMemoryIlpModel.EQUAL, right, weights, vars);
+	}
+
+	@Override
+	public void addEqualsConstraints(final Constraint[] constraints) throws IlpSolverException {
+		addConstraints(constraints, InMemoryIlpModel.EQUAL);
+	}
+
+	@Override
+	public void addLessOrEqualsConstraint(final String name, final double right) throws IlpSolverException {
+		model.addConstraint(name, InMemoryIlpModel.LESS_EQUAL, right);
+	}
+
+	@Override
+	public void addLessOrEqualsConstraint(final String name, final double right, final double[] weights,
+			final String[] vars) throws IlpSolverException {
+		model.addConstraint(name, InMemoryIlpModel.LESS_EQUAL, right, weights, vars);
+	}
+
+	@Override
+	public void addLessOrEqualsConstraints(final Constraint[] constraints) throws IlpSolverException {
+		addConstraints(constraints, InMemoryIlpModel.LESS_EQUAL);
+	}
+
+	/**
+	 * Adds predefined constraints to the model.
+	 *
+	 * @param constrs Array of predefined constraints.
+	 * @param sense   Sense of all constraints.
+	 * @throws IlpSolverException If a variable does not exist.
+	 */
+	private void addConstraints(final Constraint[] constrs, final char sense) throws IlpSolverException {
+		for (final Constraint c : constrs) {
+			final int row = model.addConstraint(c.getName(), sense, c.getRight());
+			for (int i = 0; i < c.size(); i++) {
+				model.appendCoefficient(row, model.getVariableHandle(c.getVarname(i)), c.getWeight(i));
+			}
+		}
+	}
+
+	@Override
+	public void addToVariableWeight(final String name, final double change) throws IlpSolverException {
+		final int col = model.getVariableHandle(name);
+		model.setObjective(col, model.getObjective(col) + change);
+	}
+
+	@Override
+	public void addVariable(final String name, final double solutionWeight) throws IlpSolverException {
+		model.addVariable(name, solutionWeight);
+	}
+
+	@Override
+	public void addVariables(final Variable[] variables) throws IlpSolverException {
+		for (final Variable v : variables) {
+			model.addVariable(v.getName(), v.getWeight());
+		}
+	}
+
+	@Override
+	public void changeVariableBounds(final String name, final int lower, final int upper) throws IlpSolverException {
+		model.setBounds(model.getVariableHandle(name), lower, upper);
+	}
+
+	@Override
+	public void changeVariableWeight(final String name, final double solutionWeight) throws IlpSolverException {
+		model.setObjective(model.getVariableHandle(name), solutionWeight);
+	}
+
+	@Override
+	public void dispose() throws IlpSolverException {
+		model.clear();
+		solution = null;
+		startValues = null;
+	}
+
+	@Override
+	public int getConstraintCount() {
+		return model.getConstraintCount();
+	}
+
+	@Override
+	public Map<String, Boolean> getMappings() throws IlpSolverException {
+		checkSolution();
+		final Map<String, Boolean> mappings = new HashMap<>();
+		for (int j = 0; j < model.getVariableHandleCount(); j++) {
+			if (!model.isVariableRemoved(j) && model.getVariableName(j) != null) {
+				mappings.put(model.getVariableName(j), j < solution.length && solution[j]);
+			}
+		}
+		return mappings;
+	}
+
+	@Override
+	public double getObjectiveValue() throws IlpSolverException {
+		checkSolution();
+		return objectiveValue;
+	}
+
+	@Override
+	public int getVariableCount() {
+		return model.getVariableCount();
+	}
+
+	@Override
+	public boolean hasVariable(final String name) throws IlpSolverException {
+		return model.hasVariable(name);
+	}
+
+	@Override
+	public boolean isSelected(final String name) throws IlpSolverException {
+		checkSolution();
+		final int col = model.getVariableHandle(name);
+		return col < solution.length && solution[col];
+	}
+
+	/**
+	 * Throws an exception if there is no solution available.
+	 *
+	 * @throws IlpSolverException If there is no solution available.
+	 */
+	private void checkSolution() throws IlpSolverException {
+		if (solution == null) {
+			throw new IlpSolverException("No solution available.");
+		}
+	}
+
+	/**
+	 * Returns the in-memory model of this solver. This is used by subclasses that
+	 * implement their own solving strategy.
+	 *
+	 * @return In-memory model of this solver.
+	 */
+	protected InMemoryIlpModel getModel() {
+		return model;
+	}
+
+	/**
+	 * Sets the solution that will be returned by all getters (e.g.,
+	 * {@link #getSelectedVariables()}) until the next solve. This is used by
+	 * subclasses that implement their own solving strategy.
+	 *
+	 * @param selected       Selected variables indexed by their handles or null if
+	 *                       there is no solution.
+	 * @param objectiveValue Objective value of the solution.
+	 */
+	protected void setSolution(final boolean[] selected, final double objectiveValue) {
+		this.solution = selected;
+		this.objectiveValue = selected != null ? objectiveValue : Double.NaN;
+	}
+
+	@Override
+	public void loadModel(final String path) throws IlpSolverException {
+		throw new IlpSolverException("Loading models is not supported by the Java solver.");
+	}
+
+	@Override
+	public void removeConstraint(final String name) throws IlpSolverException {
+		model.removeConstraint(model.getConstraintHandle(name));
+	}
+
+	@Override
+	public void removeConstraints(final List<String> removeConstraints) {
+		removeConstraints.forEach(this::removeConstraint);
+	}
+
+	@Override
+	public void removeVariable(final String name) throws IlpSolverException {
+		if (!model.hasVariable(name)) {
+			throw new IllegalArgumentException("Java Var to " + name + " does not exist.");
+		}
+		model.removeVariable(model.getVariableHandle(name));
+	}
+
+	@Override
+	public void removeVariables(final List<String> removeVariables) throws IlpSolverException {
+		final int[] handles = new int[removeVariables.size()];
+		int i = 0;
+		for (final String removeVar : removeVariables) {
+			if (!model.hasVariable(removeVar)) {
+				throw new IllegalArgumentException("Java Var to " + removeVar + " does not exist.");
+			}
+			handles[i++] = model.getVariableHandle(removeVar);
+		}
+		model.removeVariables(handles);
+	}
+
+	@Override
+	public void save(final String file) throws IlpSolverException {
+		try (final Writer out = new FileWriter(file)) {
+			model.writeLp(out);
+		} catch (final IOException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public void setConstraintRight(final String name, final double newRight) throws IlpSolverException {
+		model.setRight(model.getConstraintHandle(name), newRight);
+	}
+
+	@Override
+	public void setConstraintRights(final Map<String, Double> changeConstraintRight) {
+		for (final Entry<String, Double> entry : changeConstraintRight.entrySet()) {
+			setConstraintRight(entry.getKey(), entry.getValue());
+		}
+	}
+
+	@Override
+	public void setSeed(final int seed) {
+		this.seed = seed;
+	}
+
+	@Override
+	public void setMipFocus(final int focus) {
+		// The depth-first branch-and-bound has no alternative strategies
+	}
+
+	@Override
+	public void setThreads(final int threads) {
+		// The branch-and-bound is single-threaded
+	}
+
+	@Override
+	public void setCuts(final int level) {
+		// The branch-and-bound does not generate cuts
+	}
+
+	@Override
+	public void setHeuristics(final double share) {
+		// The branch-and-bound does not use primal heuristics
+	}
+
+	@Override
+	public void setTimeout(final int parameterValue) {
+		timelimit = parameterValue;
+	}
+
+	@Override
+	public void setVariableBounds(final Map<String, int[]> changeVariableBounds) throws IlpSolverException {
+		for (final Entry<String, int[]> entry : changeVariableBounds.entrySet()) {
+			changeVariableBounds(entry.getKey(), entry.getValue()[0], entry.getValue()[1]);
+		}
+	}
+
+	@Override
+	public void setVariableWeightForConstraint(final String name, final double weight, final String var)
+			throws IlpSolverException {
+		model.setCoefficient(model.getConstraintHandle(name), model.getVariableHandle(var), weight);
+	}
+
+	@Override
+	public void setVariableWeights(final Map<String, Double> changeVariableWeights) throws IlpSolverException {
+		for (final Entry<String, Double> entry : changeVariableWeights.entrySet()) {
+			changeVariableWeight(entry.getKey(), entry.getValue());
+		}
+	}
+
+	@Override
+	public void setVariableWeightsForConstraints(
+			final Map<String, Map<String, Double>> changeConstraitVariableWeights) {
+		for (final Entry<String, Map<String, Double>> entry : changeConstraitVariableWeights.entrySet()) {
+			for (final Entry<String, Double> entry2 : entry.getValue().entrySet()) {
+				setVariableWeightForConstraint(entry.getKey(), entry2.getValue(), entry2.getKey());
+			}
+		}
+	}
+
+	@Override
+	public int addVariable(final double solutionWeight) throws IlpSolverException {
+		return model.addVariable(null, solutionWeight);
+	}
+
+	@Override
+	public int addEqualsConstraint(final double right, final double[] weights, final int[] vars)
+			throws IlpSolverException {
+		return model.addConstraint(InMemoryIlpModel.EQUAL, right, weights, vars);
+	}
+
+	@Override
+	public int addLessOrEqualsConstraint(final double right, final double[] weights, final int[] vars)
+			throws IlpSolverException {
+		return model.addConstraint(InMemoryIlpModel.LESS_EQUAL, right, weights, vars);
+	}
+
+	@Override
+	public void addSosConstraint(final int[] vars) throws IlpSolverException {
+		model.addSos(vars.clone());
+	}
+
+	@Override
+	public int addConstraints(final SparseConstraintBuilder rows) throws IlpSolverException {
+		return model.addConstraints(rows);
+	}
+
+	@Override
+	public void changeVariableBounds(final int var, final int lower, final int upper) throws IlpSolverException {
+		model.setBounds(var, lower, upper);
+	}
+
+	@Override
+	public void changeVariableWeight(final int var, final double solutionWeight) throws IlpSolverException {
+		model.setObjective(var, solutionWeight);
+	}
+
+	@Override
+	public int getVariableHandleCount() {
+		return model.getVariableHandleCount();
+	}
+
+	@Override
+	public int getConstraintHandleCount() {
+		return model.getConstraintHandleCount();
+	}
+
+	@Override
+	public void getMappings(final boolean[] selected) throws IlpSolverException {
+		checkSolution();
+		final int count = model.getVariableHandleCount();
+		for (int j = 0; j < count; j++) {
+			selected[j] = !model.isVariableRemoved(j) && j < solution.length && solution[j];
+		}
+	}
+
+	@Override
+	public int[] getSelectedVariables() throws IlpSolverException {
+		checkSolution();
+		final int count = Math.min(model.getVariableHandleCount(), solution.length);
+		int size = 0;
+		int[] handles = new int[16];
+		for (int j = 0; j < count; j++) {
+			if (solution[j] && !model.isVariableRemoved(j)) {
+				if (size == handles.length) {
+					handles = Arrays.copyOf(handles, size * 2);
+				}
+				handles[size++] = j;
+			}
+		}
+		return Arrays.copyOf(handles, size);
+	}
+
+	@Override
+	public boolean hasSolution() {
+		return solution != null;
+	}
+
+	@Override
+	public boolean isSelected(final int var) throws IlpSolverException {
+		checkSolution();
+		return var < solution.length && solution[var];
+	}
+
+	@Override
+	public void removeConstraint(final int constraint) throws IlpSolverException {
+		model.removeConstraint(constraint);
+	}
+
+	@Override
+	public void removeVariable(final int var) throws IlpSolverException {
+		model.removeVariable(var);
+	}
+
+	@Override
+	public void removeConstraints(final int[] constraints) throws IlpSolverException {
+		for (final int constraint : constraints) {
+			model.removeConstraint(constraint);
+		}
+	}
+
+	@Override
+	public void removeVariables(final int[] vars) throws IlpSolverException {
+		model.removeVariables(vars);
+	}
+
+	@Override
+	public void setConstraintRight(final int constraint, final double newRight) throws IlpSolverException {
+		model.setRight(constraint, newRight);
+	}
+
+	@Override
+	public void setVariableWeightForConstraint(final int constraint, final double weight, final int var)
+			throws IlpSolverException {
+		model.setCoefficient(constraint, var, weight);
+	}
+
+	@Override
+	public void setVariableName(final int var, final String name) throws IlpSolverException {
+		model.setVariableName(var, name);
+	}
+
+	@Override
+	public void setConstraintName(final int constraint, final String name) throws IlpSolverException {
+		model.setConstraintName(constraint, name);
+	}
+
+	@Override
+	public void setStartSolution(final int[] vars, final double[] values) throws IlpSolverException {
+		final double[] start = new double[model.getVariableHandleCount()];
+		Arrays.fill(start, Double.NaN);
+		for (int i = 0; i < vars.length; i++) {
+			if (vars[i] < 0 || vars[i] >= start.length || model.isVariableRemoved(vars[i])) {
+				throw new IlpSolverException("Variable with the handle=" + vars[i] + " does not exist.");
+			}
+			start[vars[i]] = values[i];
+		}
+		startValues = start;
+	}
+
+	@Override
+	public void addIncumbentListener(final IncumbentListener listener) {
+		callbacks.addListener(listener);
+	}
+
+	@Override
+	public void removeIncumbentListener(final IncumbentListener listener) {
+		callbacks.removeListener(listener);
+	}
+
+	@Override
+	public void cancel() {
+		callbacks.requestCancel();
+	}
+
+	@Override
+	public void resetCancel() {
+		callbacks.resetCancel();
+	}
+
+	@Override
+	public Relaxation solveRelaxation() throws IlpSolverException {
+		final long start = System.nanoTime();
+		final Compact c = new Compact();
+		final BoundedSimplex lp = new BoundedSimplex(c.n, c.cost, c.lower, c.upper, c.rowCols, c.rowVals, c.rowLen,
+				c.equals, c.right, IlpSolverConfig.OPT_TOL);
+		final BoundedSimplex.Status lpStatus = lp.solve(50 * (c.m + c.n) + 1000);
+		final double[] values = new double[c.handles];
+		final double[] costs = new double[c.handles];
+		for (int k = 0; k < c.n; k++) {
+			costs[c.handleOf[k]] = c.cost[k];
+		}
+
+		SolverStatus status;
+		double objective = Double.NaN;
+		if (lpStatus == BoundedSimplex.Status.OPTIMAL) {
+			status = SolverStatus.OPTIMAL;
+			objective = lp.getObjectiveValue();
+			final double[] x = lp.getSolution();
+			for (int k = 0; k < c.n; k++) {
+				values[c.handleOf[k]] = x[k];
+			}
+		} else if (lpStatus == BoundedSimplex.Status.ITERATION_LIMIT) {
+			logger.warning("Warning: iteration limit of the LP relaxation reached!");
+			status = SolverStatus.ITERATION_LIMIT;
+		} else if (lpStatus == BoundedSimplex.Status.UNBOUNDED) {
+			status = SolverStatus.UNBOUNDED;
+		} else {
+			status = SolverStatus.INFEASIBLE;
+		}
+		return new Relaxation(status, System.nanoTime() - start, objective, values, costs);
+	}
+
+	@Override
+	public Statistics solve() throws IlpSolverException {
+		final long start = System.nanoTime();
+		final long deadline = timelimit >= Integer.MAX_VALUE ? Long.MAX_VALUE
+				: start + timelimit * 1_000_000_000L;
+
+		final Compact c = new Compact();
+		final int handles = c.handles;
+		final int[] colOf = c.colOf;
+		final int[] handleOf = c.handleOf;
+		final int n = c.n;
+		final double[] cost = c.cost;
+		final double[] rootLower = c.lower;
+		final double[] rootUpper = c.upper;
+		final int m = c.m;
+		final int[][] rowCols = c.rowCols;
+		final double[][] rowVals = c.rowVals;
+		final int[] rowLen = c.rowLen;
+		final boolean[] equals = c.equals;
+		final double[] right = c.right;
+
+		// SOS1 constraints on compact columns
+		final int[][] sos = model.getSos().stream()
+				.map(set -> Arrays.stream(set).map(j -> colOf[j]).filter(k -> k >= 0).toArray())
+				.filter(set -> set.length > 1).toArray(int[][]::new);
+
+		// Depth-first branch-and-bound, all nodes share one simplex instance
+		final Deque<Node> open = new ArrayDeque<>();
+		open.push(new Node(rootLower, rootUpper, null));
+		final BoundedSimplex lp = new BoundedSimplex(n, cost, rootLower, rootUpper, rowCols, rowVals, rowLen, equals,
+				right, IlpSolverConfig.OPT_TOL);
+		// Basis that the simplex instance holds, i.e., the one of the last node that
+		// was branched on, or null if it was changed since
+		BoundedSimplex.Basis loaded = null;
+		final int maxIterations = 50 * (m + n) + 1000;
+		final int firstBranch = n > 0 ? Math.floorMod(seed, n) : 0;
+		double[] incumbent = null;
+		double incumbentObj = Double.POSITIVE_INFINITY;
+		long nodes = 0;
+		boolean timedOut = false;
+		long iterationLimited = 0;
+		boolean cancelled = false;
+		// The depth-first search only knows the bound of the root relaxation
+		double rootBound = Double.NEGATIVE_INFINITY;
+		long rootTime = -1;
+		callbacks.solveStarted();
+
+		// A feasible start solution is the first incumbent
+		if (startValues != null) {
+			final double[] x = new double[n];
+			for (int k = 0; k < n; k++) {
+				final double value = handleOf[k] < startValues.length ? startValues[handleOf[k]] : Double.NaN;
+				x[k] = Double.isNaN(value) ? rootLower[k] : value;
+			}
+			if (isFeasible(x, rootLower, rootUpper, rowCols, rowVals, rowLen, equals, right, sos)) {
+				incumbent = x;
+				incumbentObj = 0;
+				for (int k = 0; k < n; k++) {
+					incumbentObj += cost[k] * x[k];
+				}
+				callbacks.publish(incumbentObj, rootBound, var -> isSelected(x, colOf, var));
+			}
+			startValues = null;
+		}
+
+		while (!open.isEmpty()) {
+			if (System.nanoTime() > deadline) {
+				timedOut = true;
+				break;
+			}
+			if (callbacks.isCancelRequested()) {
+				cancelled = true;
+				break;
+			}
+			final Node node = open.pop();
+			nodes++;
+			if (node.basis != null && node.basis != loaded) {
+				lp.loadBasis(node.basis);
+			}
+			lp.setBounds(node.lower, node.upper);
+			loaded = null;
+			final BoundedSimplex.Status lpStatus = lp.solve(maxIterations);
+			if (lpStatus == BoundedSimplex.Status.ITERATION_LIMIT) {
+				iterationLimited++;
+				continue;
+			} else if (lpStatus != BoundedSimplex.Status.OPTIMAL) {
+				continue;
+			}
+
+			final double bound = lp.getObjectiveValue();
+			if (nodes == 1) {
+				rootBound = bound;
+				rootTime = System.nanoTime() - start;
+			}
+			if (bound >= incumbentObj - Math.max(MIP_GAP_ABS, MIP_GAP * Math.abs(incumbentObj))) {
+				continue;
+			}
+			final double[] x = lp.getSolution();
+
+			// Branch on the first violated SOS1 constraint
+			final BoundedSimplex.Basis basis = lp.getBasis();
+			if (branchOnSos(sos, x, node, basis, open)) {
+				loaded = basis;
+				continue;
+			}
+
+			// Branch on the most fractional variable (ties are broken by the seed)
+			int frac = -1;
+			double fracDist = INT_TOL;
+			for (int i = 0; i < n; i++) {
+				final int k = (firstBranch + i) % n;
+				final double dist = Math.abs(x[k] - Math.rint(x[k]));
+				if (dist > fracDist) {
+					frac = k;
+					fracDist = dist;
+				}
+			}
+			if (frac == -1) {
+				incumbent = x;
+				incumbentObj = bound;
+				callbacks.publish(incumbentObj, rootBound, var -> isSelected(x, colOf, var));
+				continue;
+			}
+			final Node down = new Node(node.lower, node.upper.clone(), basis);
+			down.upper[frac] = Math.floor(x[frac]);
+			final Node up = new Node(node.lower.clone(), node.upper, basis);
+			up.lower[frac] = Math.ceil(x[frac]);
+			// The preferred child is pushed last, i.e., explored first
+			if (x[frac] >= 0.5) {
+				open.push(down);
+				open.push(up);
+			} else {
+				open.push(up);
+				open.push(down);
+			}
+			loaded = basis;
+		}
+
+		callbacks.solveFinished();
+
+		SolverStatus status;
+		if (cancelled) {
+			status = SolverStatus.INTERRUPTED;
+		} else if (timedOut) {
+			logger.warning("Warning: time limit (" + timelimit + "s) reached! " + (incumbent != null ? 1 : 0)
+					+ " solutions were found so far.");
+			status = SolverStatus.TIME_OUT;
+		} else if (iterationLimited > 0) {
+			logger.warning("Warning: iteration limit of the LP relaxation reached in " + iterationLimited + " of "
+					+ nodes + " nodes! " + (incumbent != null ? 1 : 0) + " solutions were found so far.");
+			status = SolverStatus.ITERATION_LIMIT;
+		} else if (incumbent == null) {
+			status = SolverStatus.INFEASIBLE;
+		} else {
+			status = SolverStatus.OPTIMAL;
+		}
+
+		if (incumbent != null) {
+			solution = new boolean[handles];
+			for (int k = 0; k < n; k++) {
+				solution[handleOf[k]] = incumbent[k] > 0.5;
+			}
+			objectiveValue = incumbentObj;
+		} else {
+			solution = null;
+			objectiveValue = Double.NaN;
+		}
+
+		if (IlpSolverConfig.ENABLE_ILP_OUTPUT) {
+			final String summary = "Java ILP solver: " + n + " variables, " + m + " constraints, " + nodes
+					+ " nodes explored, objective " + objectiveValue + ".";
+			if (IlpSolverConfig.LOG_SINK != null) {
+				IlpSolverConfig.LOG_SINK.accept(summary);
+			} else {
+				logger.info(summary);
+			}
+		}
+
+		// The solver has no presolve, and a complete search proves the optimality
+		// within the gap tolerances
+		long nonzeros = 0;
+		for (int i = 0; i < m; i++) {
+			nonzeros += rowLen[i];
+		}
+		final Statistics.Builder stats = new Statistics.Builder(status, System.nanoTime() - start)
+				.modelSize(m, n, nonzeros, sos.length).presolve(0, 0).rootTime(rootTime).nodeCount(nodes)
+				.incumbentCount(callbacks.getIncumbentCount());
+		if (incumbent != null && status == SolverStatus.OPTIMAL) {
+			stats.gap(0);
+		} else if (incumbent != null && rootBound > Double.NEGATIVE_INFINITY) {
+			stats.gap(Math.abs(incumbentObj - rootBound) / Math.max(Math.abs(incumbentObj), 1e-10));
+		}
+		return stats.build();
+	}
+
+	/**
+	 * Returns true if the given assignment selects a variable.
+	 *
+	 * @param x     Assignment of all compact columns.
+	 * @param colOf Compact columns of all variable handles (-1 if removed).
+	 * @param var   Variable handle.
+	 * @return True if the variable is selected.
+	 */
+	private static boolean isSelected(final double[] x, final int[] colOf, final int var) {
+		return var >= 0 && var < colOf.length && colOf[var] >= 0 && x[colOf[var]] > 0.5;
+	}
+
+	/**
+	 * Checks if the given (integral) assignment satisfies all bounds, constraints
+	 * and SOS1 constraints.
+	 *
+	 * @param x       Assignment of all compact columns.
+	 * @param lower   Lower bounds.
+	 * @param upper   Upper bounds.
+	 * @param rowCols Columns of all rows.
+	 * @param rowVals Coefficients of all rows.
+	 * @param rowLen  Number of terms of all rows.
+	 * @param equals  Senses of all rows.
+	 * @param right   Right sides of all rows.
+	 * @param sos     All SOS1 constraints.
+	 * @return True if the assignment is feasible.
+	 */
+	private boolean isFeasible(final double[] x, final double[] lower, final double[] upper, final int[][] rowCols,
+			final double[][] rowVals, final int[] rowLen, final boolean[] equals, final double[] right,
+			final int[][] sos) {
+		for (int k = 0; k < x.length; k++) {
+			if (x[k] < lower[k] - INT_TOL || x[k] > upper[k] + INT_TOL || Math.abs(x[k] - Math.rint(x[k])) > INT_TOL) {
+				return false;
+			}
+		}
+		for (int i = 0; i < rowLen.length; i++) {
+			double lhs = 0;
+			for (int k = 0; k < rowLen[i]; k++) {
+				lhs += rowVals[i][k] * x[rowCols[i][k]];
+			}
+			if (lhs > right[i] + IlpSolverConfig.OPT_TOL || equals[i] && lhs < right[i] - IlpSolverConfig.OPT_TOL) {
+				return false;
+			}
+		}
+		for (final int[] set : sos) {
+			if (Arrays.stream(set).filter(k -> x[k] > INT_TOL).count() > 1) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Searches the first SOS1 constraint that is violated by the given LP solution
+	 * and, if there is one, pushes two child nodes that split its members into two
+	 * halves.
+	 *
+	 * @param sos   All SOS1 constraints.
+	 * @param x     LP solution.
+	 * @param node  Current node.
+	 * @param basis Optimal basis of the current node.
+	 * @param open  Stack of open nodes.
+	 * @return True if a violated SOS1 constraint was found.
+	 */
+	private boolean branchOnSos(final int[][] sos, final double[] x, final Node node,
+			final BoundedSimplex.Basis basis, final Deque<Node> open) {
+		for (final int[] set : sos) {
+			final int[] nonZero = Arrays.stream(set).filter(k -> x[k] > INT_TOL).toArray();
+			if (nonZero.length < 2) {
+				continue;
+			}
+
+			// Split after the middle non-zero member so that both halves contain one
+			final int split = nonZero[nonZero.length / 2 - 1];
+			int pos = 0;
+			while (set[pos] != split) {
+				pos++;
+			}
+			double leftMass = 0;
+			double rightMass = 0;
+			boolean leftFeasible = true;
+			boolean rightFeasible = true;
+			final Node left = new Node(node.lower, node.upper.clone(), basis);
+			final Node right = new Node(node.lower, node.upper.clone(), basis);
+			for (int i = 0; i < set.length; i++) {
+				final int k = set[i];
+				if (i <= pos) {
+					leftMass += x[k];
+					right.upper[k] = 0;
+					rightFeasible &= node.lower[k] <= 0;
+				} else {
+					rightMass += x[k];
+					left.upper[k] = 0;
+					leftFeasible &= node.lower[k] <= 0;
+				}
+			}
+			// The preferred child (more LP mass) is pushed last, i.e., explored first
+			final boolean preferLeft = leftMass >= rightMass;
+			if (rightFeasible && preferLeft) {
+				open.push(right);
+			}
+			if (leftFeasible) {
+				open.push(left);
+			}
+			if (rightFeasible && !preferLeft) {
+				open.push(right);
+			}
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Node of the branch-and-bound, i.e., bounds of all compact columns and the
+	 * optimal basis of the parent node (null for the root node).
+	 */
+	private static class Node {
+		final double[] lower;
+		final double[] upper;
+		final BoundedSimplex.Basis basis;
+
+		Node(final double[] lower, final double[] upper, final BoundedSimplex.Basis basis) {
+			this.lower = lower;
+			this.upper = upper;
+			this.basis = basis;
+		}
+	}
+
+	/**
+	 * Compact (dense) copy of all active variables and constraints of the model.
+	 */
+	private class Compact {
+		final int handles;
+		final int[] colOf;
+		final int[] handleOf;
+		int n = 0;
+		final double[] cost;
+		final double[] lower;
+		final double[] upper;
+		final int m;
+		final int[][] rowCols;
+		final double[][] rowVals;
+		final int[] rowLen;
+		final boolean[] equals;
+		final double[] right;
+
+		Compact() {
+			// Compact columns (all active variables)
+			handles = model.getVariableHandleCount();
+			colOf = new int[handles];
+			handleOf = new int[model.getVariableCount()];
+			for (int j = 0; j < handles; j++) {
+				if (model.isVariableRemoved(j)) {
+					colOf[j] = -1;
+				} else {
+					colOf[j] = n;
+					handleOf[n++] = j;
+				}
+			}
+			cost = new double[n];
+			lower = new double[n];
+			upper = new double[n];
+			for (int k = 0; k < n; k++) {
+				cost[k] = model.getObjective(handleOf[k]);
+				lower[k] = model.getLower(handleOf[k]);
+				upper[k] = model.getUpper(handleOf[k]);
+			}
+
+			// Compact rows (all active constraints)
+			m = model.getConstraintCount();
+			rowCols = new int[m][];
+			rowVals = new double[m][];
+			rowLen = new int[m];
+			equals = new boolean[m];
+			right = new double[m];
+			int r = 0;
+			for (int i = 0; i < model.getConstraintHandleCount(); i++) {
+				final InMemoryIlpModel.Row row = model.getRow(i);
+				if (row.removed) {
+					continue;
+				}
+				rowCols[r] = new int[row.size];
+				rowVals[r] = Arrays.copyOf(row.vals, row.size);
+				for (int k = 0; k < row.size; k++) {
+					rowCols[r][k] = colOf[row.cols[k]];
+				}
+				rowLen[r] = row.size;
+				equals[r] = row.sense == InMemoryIlpModel.EQUAL;
+				right[r] = row.right;
+				r++;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,618 @@
+package ilp.wrapper.impl;
+
+import java.util.List;
+import java.util.Map;
+
+import ilp.wrapper.IlpSolverException;
+import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.IncumbentListener;
+import ilp.wrapper.Relaxation;
+import ilp.wrapper.SparseConstraintBuilder;
+import ilp.wrapper.Statistics;
+
+/**
+ * Decorator for an {@link IncrementalIlpSolver} that measures the wall time, the
+ * number of calls and the number of passed or returned elements (variables,
+ * constraints, terms or mappings) of all calls. The calls are grouped into the
+ * categories of {@link Call}, e.g., to tell the time spent in the solver itself
+ * apart from the time spent in building the model.
+ *
+ * Each call costs two {@link System#nanoTime()} invocations and a few additions,
+ * hence the decorator can be used in production runs. Calls that throw an
+ * exception are not counted. The counters are not synchronized, i.e., all calls
+ * (except {@link #cancel()}) must be made by one thread at a time.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class InstrumentedIlpSolver implements IncrementalIlpSolver {
+
+	/**
+	 * Categories of the measured calls.
+	 */
+	public enum Call {
+		/**
+		 * Addition of variables.
+		 */
+		ADD_VARIABLES("add_variables"),
+
+		/**
+		 * Addition of constraints and SOS1 constraints.
+		 */
+		ADD_CONSTRAINTS("add_constraints"),
+
+		/**
+		 * Changes of the coefficients of constraints.
+		 */
+		SET_WEIGHTS_FOR_CONSTRAINTS("set_weights_for_constraints"),
+
+		/**
+		 * All other changes of the model, e.g., removals, right hand sides, bounds,
+		 * objective weights and names.
+		 */
+		UPDATE_MODEL("update_model"),
+
+		/**
+		 * Solves of the model or its relaxation.
+		 */
+		SOLVE("solve"),
+
+		/**
+		 * Reading of the solution.
+		 */
+		GET_MAPPINGS("get_mappings");
+
+		/**
+		 * Name of the category (e.g., for metrics).
+		 */
+		private final String name;
+
+		private Call(final String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+
+	/**
+	 * Wrapped solver that executes all calls.
+	 */
+	private final IncrementalIlpSolver solver;
+
+	/**
+	 * Number of calls, number of elements and wall time in nanoseconds of each
+	 * category (indexed by the ordinal of the category).
+	 */
+	private final long[] calls = new long[Call.values().length];
+	private final long[] elements = new long[Call.values().length];
+	private final long[] times = new long[Call.values().length];
+
+	/**
+	 * Creates a new instrumentation decorator.
+	 *
+	 * @param solver Wrapped solver that executes all calls.
+	 */
+	public InstrumentedIlpSolver(final IncrementalIlpSolver solver) {
+		this.solver = solver;
+	}
+
+	/**
+	 * Returns the wrapped solver.
+	 *
+	 * @return Wrapped solver.
+	 */
+	public IncrementalIlpSolver getSolver() {
+		return solver;
+	}
+
+	/**
+	 * Returns the number of calls of a given category since the last reset.
+	 *
+	 * @param call Category of the calls.
+	 * @return Number of calls.
+	 */
+	public long getCallCount(final Call call) {
+		return calls[call.ordinal()];
+	}
+
+	/**
+	 * Returns the number of passed or returned elements of all calls of a given
+	 * category since the last reset.
+	 *
+	 * @param call Category of the calls.
+	 * @return Number of elements.
+	 */
+	public long getElementCount(final Call call) {
+		return elements[call.ordinal()];
+	}
+
+	/**
+	 * Returns the wall time of all calls of a given category since the last reset.
+	 *
+	 * @param call Category of the calls.
+	 * @return Wall time in nanoseconds.
+	 */
+	public long getTime(final Call call) {
+		return times[call.ordinal()];
+	}
+
+	/**
+	 * Resets all counters.
+	 */
+	public void reset() {
+		for (int i = 0; i < calls.length; i++) {
+			calls[i] = 0;
+			elements[i] = 0;
+			times[i] = 0;
+		}
+	}
+
+	/**
+	 * Adds a finished call to the counters of its category.
+	 *
+	 * @param call  Category of the call.
+	 * @param start Start time of the call in nanoseconds.
+	 * @param count Number of passed or returned elements.
+	 */
+	private void record(final Call call, final long start, final long count) {
+		final int i = call.ordinal();
+		times[i] += System.nanoTime() - start;
+		calls[i]++;
+		elements[i] += count;
+	}
+
+	/*
+	 * Measured calls.
+	 */
+
+	@Override
+	public void addSosConstraint(final SosConstraint constraint) {
+		final long start = System.nanoTime();
+		solver.addSosConstraint(constraint);
+		record(Call.ADD_CONSTRAINTS, start, 1);
+	}
+
+	@Override
+	public void addSosConstraints(final SosConstraint[] constraints) {
+		final long start = System.nanoTime();
+		solver.addSosConstraints(constraints);
+		record(Call.ADD_CONSTRAINTS, start, constraints.length);
+	}
+
+	@Override
+	public void addEqualsConstraint(final String name, final double right) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.addEqualsConstraint(name, right);
+		record(Call.ADD_CONSTRAINTS, start, 1);
+	}
+
+	@Override
+	public void addEqualsConstraint(final String name, final double right, final double[] weights, final String[] vars)
+			throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.addEqualsConstraint(name, right, weights, vars);
+		record(Call.ADD_CONSTRAINTS, start, 1);
+	}
+
+	@Override
+	public void addEqualsConstraints(final Constraint[] constraints) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.addEqualsConstraints(constraints);
+		record(Call.ADD_CONSTRAINTS, start, constraints.length);
+	}
+
+	@Override
+	public void addLessOrEqualsConstraint(final String name, final double right) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.addLessOrEqualsConstraint(name, right);
+		record(Call.ADD_CONSTRAINTS, start, 1);
+	}
+
+	@Override
+	public void addLessOrEqualsConstraint(final String name, final double right, final double[] weights,
+			final String[] vars) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.addLessOrEqualsConstraint(name, right, weights, vars);
+		record(Call.ADD_CONSTRAINTS, start, 1);
+	}
+
+	@Override
+	public void addLessOrEqualsConstraints(final Constraint[] constraints) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.addLessOrEqualsConstraints(constraints);
+		record(Call.ADD_CONSTRAINTS, start, constraints.length);
+	}
+
+	@Override
+	public void addToVariableWeight(final String name, final double change) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.addToVariableWeight(name, change);
+		record(Call.UPDATE_MODEL, start, 1);
+	}
+
+	@Override
+	public void addVariable(final String name, final double solutionWeight) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.addVariable(name, solutionWeight);
+		record(Call.ADD_VARIABLES, start, 1);
+	}
+
+	@Override
+	public void addVariables(final Variable[] variables) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.addVariables(variables);
+		record(Call.ADD_VARIABLES, start, variables.length);
+	}
+
+	@Override
+	public void changeVariableBounds(final String name, final int lower, final int upper) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.changeVariableBounds(name, lower, upper);
+		record(Call.UPDATE_MODEL, start, 1);
+	}
+
+	@Override
+	public void changeVariableWeight(final String name, final double solutionWeight) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.changeVariableWeight(name, solutionWeight);
+		record(Call.UPDATE_MODEL, start, 1);
+	}
+
+	@Override
+	public Map<String, Boolean> getMappings() throws IlpSolverException {
+		final long start = System.nanoTime();
+		final Map<String, Boolean> mappings = solver.getMappings();
+		record(Call.GET_MAPPINGS, start, mappings.size());
+		return mappings;
+	}
+
+	@Override
+	public boolean isSelected(final String name) throws IlpSolverException {
+		final long start = System.nanoTime();
+		final boolean selected = solver.isSelected(name);
+		record(Call.GET_MAPPINGS, start, 1);
+		return selected;
+	}
+
+	@Override
+	public void loadModel(final String path) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.loadModel(path);
+		record(Call.UPDATE_MODEL, start, 0);
+	}
+
+	@Override
+	public void removeConstraint(final String name) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.removeConstraint(name);
+		record(Call.UPDATE_MODEL, start, 1);
+	}
+
+	@Override
+	public void removeConstraints(final List<String> removeConstraints) {
+		final long start = System.nanoTime();
+		solver.removeConstraints(removeConstraints);
+		record(Call.UPDATE_MODEL, start, removeConstraints.size());
+	}
+
+	@Override
+	public void removeVariable(final String name) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.removeVariable(name);
+		record(Call.UPDATE_MODEL, start, 1);
+	}
+
+	@Override
+	public void removeVariables(final List<String> removeVariables) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.removeVariables(removeVariables);
+		record(Call.UPDATE_MODEL, start, removeVariables.size());
+	}
+
+	@Override
+	public void setConstraintRight(final String name, final double newRight) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.setConstraintRight(name, newRight);
+		record(Call.UPDATE_MODEL, start, 1);
+	}
+
+	@Override
+	public void setConstraintRights(final Map<String, Double> changeConstraintRight) {
+		final long start = System.nanoTime();
+		solver.setConstraintRights(changeConstraintRight);
+		record(Call.UPDATE_MODEL, start, changeConstraintRight.size());
+	}
+
+	@Override
+	public void setVariableBounds(final Map<String, int[]> changeVariableBounds) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.setVariableBounds(changeVariableBounds);
+		record(Call.UPDATE_MODEL, start, changeVariableBounds.size());
+	}
+
+	@Override
+	public void setVariableWeightForConstraint(final String name, final double weight, final String var)
+			throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.setVariableWeightForConstraint(name, weight, var);
+		record(Call.SET_WEIGHTS_FOR_CONSTRAINTS, start, 1);
+	}
+
+	@Override
+	public void setVariableWeights(final Map<String, Double> changeVariableWeights) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.setVariableWeights(changeVariableWeights);
+		record(Call.UPDATE_MODEL, start, changeVariableWeights.size());
+	}
+
+	@Override
+	public void setVariableWeightsForConstraints(
+			final Map<String, Map<String, Double>> changeConstraitVariableWeights) {
+		final long start = System.nanoTime();
+		solver.setVariableWeightsForConstraints(changeConstraitVariableWeights);
+		long terms = 0;
+		for (final Map<String, Double> weights : changeConstraitVariableWeights.values()) {
+			terms += weights.size();
+		}
+		record(Call.SET_WEIGHTS_FOR_CONSTRAINTS, start, terms);
+	}
+
+	@Override
+	public Statistics solve() throws IlpSolverException {
+		final long start = System.nanoTime();
+		final Statistics stats = solver.solve();
+		record(Call.SOLVE, start, 1);
+		return stats;
+	}
+
+	@Override
+	public Relaxation solveRelaxation() throws IlpSolverException {
+		final long start = System.nanoTime();
+		final Relaxation relaxation = solver.solveRelaxation();
+		record(Call.SOLVE, start, 1);
+		return relaxation;
+	}
+
+	@Override
+	public int addVariable(final double solutionWeight) throws IlpSolverException {
+		final long start = System.nanoTime();
+		final int handle = solver.addVariable(solutionWeight);
+		record(Call.ADD_VARIABLES, start, 1);
+		return handle;
+	}
+
+	@Override
+	public int addEqualsConstraint(final double right, final double[] weights, final int[] vars)
+			throws IlpSolverException {
+		final long start = System.nanoTime();
+		final int handle = solver.addEqualsConstraint(right, weights, vars);
+		record(Call.ADD_CONSTRAINTS, start, 1);
+		return handle;
+	}
+
+	@Override
+	public int addLessOrEqualsConstraint(final double right, final double[] weights, final int[] vars)
+			throws IlpSolverException {
+		final long start = System.nanoTime();
+		final int handle = solver.addLessOrEqualsConstraint(right, weights, vars);
+		record(Call.ADD_CONSTRAINTS, start, 1);
+		return handle;
+	}
+
+	@Override
+	public void addSosConstraint(final int[] vars) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.addSosConstraint(vars);
+		record(Call.ADD_CONSTRAINTS, start, 1);
+	}
+
+	@Override
+	public int addConstraints(final SparseConstraintBuilder rows) throws IlpSolverException {
+		final long start = System.nanoTime();
+		final int first = solver.addConstraints(rows);
+		record(Call.ADD_CONSTRAINTS, start, rows.getRowCount());
+		return first;
+	}
+
+	@Override
+	public void changeVariableBounds(final int var, final int lower, final int upper) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.changeVariableBounds(var, lower, upper);
+		record(Call.UPDATE_MODEL, start, 1);
+	}
+
+	@Override
+	public void changeVariableWeight(final int var, final double solutionWeight) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.changeVariableWeight(var, solutionWeight);
+		record(Call.UPDATE_MODEL, start, 1);
+	}
+
+	@Override
+	public void getMappings(final boolean[] selected) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.getMappings(selected);
+		record(Call.GET_MAPPINGS, start, selected.length);
+	}
+
+	@Override
+	public int[] getSelectedVariables() throws IlpSolverException {
+		final long start = System.nanoTime();
+		final int[] selected = solver.getSelectedVariables();
+		record(Call.GET_MAPPINGS, start, selected.length);
+		return selected;
+	}
+
+	@Override
+	public boolean isSelected(final int var) throws IlpSolverException {
+		final long start = System.nanoTime();
+		final boolean selected = solver.isSelected(var);
+		record(Call.GET_MAPPINGS, start, 1);
+		return selected;
+	}
+
+	@Override
+	public void removeConstraint(final int constraint) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.removeConstraint(constraint);
+		record(Call.UPDATE_MODEL, start, 1);
+	}
+
+	@Override
+	public void removeVariable(final int var) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.removeVariable(var);
+		record(Call.UPDATE_MODEL, start, 1);
+	}
+
+	@Override
+	public void removeConstraints(final int[] constraints) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.removeConstraints(constraints);
+		record(Call.UPDATE_MODEL, start, constraints.length);
+	}
+
+	@Override
+	public void removeVariables(final int[] vars) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.removeVariables(vars);
+		record(Call.UPDATE_MODEL, start, vars.length);
+	}
+
+	@Override
+	public void setConstraintRight(final int constraint, final double newRight) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.setConstraintRight(constraint, newRight);
+		record(Call.UPDATE_MODEL, start, 1);
+	}
+
+	@Override
+	public void setVariableWeightForConstraint(final int constraint, final double weight, final int var)
+			throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.setVariableWeightForConstraint(constraint, weight, var);
+		record(Call.SET_WEIGHTS_FOR_CONSTRAINTS, start, 1);
+	}
+
+	@Override
+	public void setVariableName(final int var, final String name) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.setVariableName(var, name);
+		record(Call.UPDATE_MODEL, start, 1);
+	}
+
+	@Override
+	public void setConstraintName(final int constraint, final String name) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.setConstraintName(constraint, name);
+		record(Call.UPDATE_MODEL, start, 1);
+	}
+
+	@Override
+	public void setStartSolution(final int[] vars, final double[] values) throws IlpSolverException {
+		final long start = System.nanoTime();
+		solver.setStartSolution(vars, values);
+		record(Call.UPDATE_MODEL, start, vars.length);
+	}
+
+	/*
+	 * Calls that are passed through without measuring.
+	 */
+
+	@Override
+	public void dispose() throws IlpSolverException {
+		solver.dispose();
+	}
+
+	@Override
+	public int getConstraintCount() {
+		return solver.getConstraintCount();
+	}
+
+	@Override
+	public double getObjectiveValue() throws IlpSolverException {
+		return solver.getObjectiveValue();
+	}
+
+	@Override
+	public int getVariableCount() {
+		return solver.getVariableCount();
+	}
+
+	@Override
+	public boolean hasVariable(final String name) throws IlpSolverException {
+		return solver.hasVariable(name);
+	}
+
+	@Override
+	public void save(final String file) throws IlpSolverException {
+		solver.save(file);
+	}
+
+	@Override
+	public void setSeed(final int seed) {
+		solver.setSeed(seed);
+	}
+
+	@Override
+	public void setMipFocus(final int focus) {
+		solver.setMipFocus(focus);
+	}
+
+	@Override
+	public void setThreads(final int threads) {
+		solver.setThreads(threads);
+	}
+
+	@Override
+	public void setCuts(final int level) {
+		solver.setCuts(level);
+	}
+
+	@Override
+	public void setHeuristics(final double share) {
+		solver.setHeuristics(share);
+	}
+
+	@Override
+	public void setTimeout(final int parameterValue) {
+		solver.setTimeout(parameterValue);
+	}
+
+	@Override
+	public int getVariableHandleCount() {
+		return solver.getVariableHandleCount();
+	}
+
+	@Override
+	public int getConstraintHandleCount() {
+		return solver.getConstraintHandleCount();
+	}
+
+	@Override
+	public boolean hasSolution() {
+		return solver.hasSolution();
+	}
+
+	@Override
+	public void addIncumbentListener(final IncumbentListener listener) {
+		solver.addIncumbentListener(listener);
+	}
+
+	@Override
+	public void removeIncumbentListener(final IncumbentListener listener) {
+		solver.removeIncumbentListener(listener);
+	}
+
+	@Override
+	public void cancel() {
+		solver.cancel();
+	}
+
+	@Override
+	public void resetCancel() {
+		solver.resetCancel();
+	}
+
+}
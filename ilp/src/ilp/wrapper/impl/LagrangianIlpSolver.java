@@ -0,0 +1,846 @@
+package ilp.wrapper.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.stream.IntStream;
+
+import ilp.wrapper.IlpSolverException;
+import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.Statistics;
+import ilp.wrapper.config.IlpSolverConfig;
+
+/**
+ * Implementation of the {@link IncrementalIlpSolver} interface that solves
+ * block structured models via Lagrangian decomposition. All constraints marked
+ * via {@link #relaxConstraint(int)} (e.g., the shared resource constraints of a
+ * substrate network) are moved into the objective with non-negative
+ * multipliers. The remaining model decomposes into independent blocks, i.e.,
+ * the connected components of the variables over all other constraints and
+ * SOS1 constraints (e.g., one block per virtual network).
+ *
+ * Every block is solved by its own solver instance of the type
+ * {@link IlpSolverConfig#LAGRANGIAN_SOLVER} on a thread pool of
+ * {@link IlpSolverConfig#LAGRANGIAN_THREADS} threads. The multipliers are
+ * updated via subgradient steps for at most
+ * {@link IlpSolverConfig#LAGRANGIAN_ITERATIONS} iterations. After each
+ * iteration, a repair step turns the solutions of the blocks into a feasible
+ * solution of the whole model: The blocks are accepted one after another and
+ * each block that does not fit into the residual right hand sides of the
+ * relaxed constraints is solved again with these residual constraints added.
+ *
+ * The resulting solution is not necessarily optimal. {@link #getLowerBound()}
+ * returns the best Lagrangian bound and {@link #getDualityGap()} the relative
+ * gap between the solution and this bound. If the gap could not be closed, the
+ * status of the solve is {@link SolverStatus#TIME_OUT}, even if the repair step
+ * found no solution at all. Only an infeasible block proves the model to be
+ * {@link SolverStatus#INFEASIBLE}. If no constraint is relaxed, the model is
+ * solved as a whole by the {@link IncrementalJavaSolver}.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class LagrangianIlpSolver extends IncrementalJavaSolver {
+
+	/**
+	 * Relative duality gap at which the subgradient iterations stop.
+	 */
+	private static final double GAP = 1e-4;
+
+	/**
+	 * Tolerance for the violation of a relaxed constraint.
+	 */
+	private static final double FEAS_TOL = 1e-6;
+
+	/**
+	 * Initial step size factor of the subgradient steps.
+	 */
+	private static final double INITIAL_STEP = 2;
+
+	/**
+	 * Step size factor at which the subgradient iterations stop.
+	 */
+	private static final double MIN_STEP = 1e-3;
+
+	/**
+	 * Number of iterations without an improvement of the lower bound after which
+	 * the step size factor is halved.
+	 */
+	private static final int STEP_PATIENCE = 3;
+
+	/**
+	 * Terms of one relaxed constraint that belong to one block.
+	 */
+	private static final class Terms {
+		final int row;
+		int[] pos = new int[4];
+		double[] vals = new double[4];
+		int size = 0;
+
+		Terms(final int row) {
+			this.row = row;
+		}
+
+		void add(final int p, final double val) {
+			if (size == pos.length) {
+				pos = Arrays.copyOf(pos, size * 2);
+				vals = Arrays.copyOf(vals, size * 2);
+			}
+			pos[size] = p;
+			vals[size] = val;
+			size++;
+		}
+
+		/**
+		 * Returns the left hand side of this part of the relaxed constraint for a
+		 * given selection of the block.
+		 *
+		 * @param x Selection of the block indexed by the variable positions.
+		 * @return Left hand side for the given selection.
+		 */
+		double use(final boolean[] x) {
+			double use = 0;
+			for (int i = 0; i < size; i++) {
+				if (x[pos[i]]) {
+					use += vals[i];
+				}
+			}
+			return use;
+		}
+	}
+
+	/**
+	 * Independent block of the model.
+	 */
+	private static final class Block {
+		/**
+		 * Handles of all variables of this block.
+		 */
+		final int[] vars;
+
+		/**
+		 * Handles of all (not relaxed) constraints of this block.
+		 */
+		final List<Integer> rows = new ArrayList<>();
+
+		/**
+		 * SOS1 constraints of this block (variable handles).
+		 */
+		final List<int[]> sos = new ArrayList<>();
+
+		/**
+		 * Terms of all relaxed constraints that contain variables of this block.
+		 */
+		final List<Terms> coupling = new ArrayList<>();
+
+		/**
+		 * Solver of this block or null if the block is a single unconstrained
+		 * variable.
+		 */
+		IncrementalIlpSolver solver;
+
+		/**
+		 * Handles of the variables within the solver of this block.
+		 */
+		int[] local;
+
+		/**
+		 * Objective weights that are currently set in the solver of this block.
+		 */
+		double[] weights;
+
+		/**
+		 * Selection of the last solve indexed by the variable positions.
+		 */
+		final boolean[] x;
+
+		/**
+		 * Objective value of the last solve.
+		 */
+		double objective;
+
+		/**
+		 * True if the solver of this block proved the block to be infeasible.
+		 */
+		boolean infeasible;
+
+		Block(final int size) {
+			vars = new int[size];
+			x = new boolean[size];
+		}
+	}
+
+	/**
+	 * Relaxed constraints (handles).
+	 */
+	private final BitSet relaxed = new BitSet();
+
+	/**
+	 * Time limit in seconds.
+	 */
+	private int timelimit;
+
+	/**
+	 * Random seed for the solvers of all blocks.
+	 */
+	private int seed;
+
+	/**
+	 * True if the current solve should stop as soon as possible.
+	 */
+	private volatile boolean cancelRequested = false;
+
+	/**
+	 * Best Lagrangian bound of the last solve.
+	 */
+	private double lowerBound = Double.NaN;
+
+	/**
+	 * Number of subgradient iterations of the last solve.
+	 */
+	private int iterations = 0;
+
+	/**
+	 * Constructor that initializes a new Lagrangian solver object for a given time
+	 * limit and random seed.
+	 *
+	 * @param timelimit  Time limit to set for the solver.
+	 * @param randomSeed Random seed to set for the solver.
+	 */
+	public LagrangianIlpSolver(final int timelimit, final int randomSeed) {
+		super(timelimit, randomSeed);
+		this.timelimit = timelimit;
+		this.seed = randomSeed;
+	}
+
+	/**
+	 * Marks a less or equals constraint as relaxed, i.e., it will be moved into
+	 * the objective with a Lagrangian multiplier on the next solve. Constraints
+	 * that were removed (e.g., by the presolve of
+	 * {@link ilp.wrapper.IndexedIlpDelta}) are ignored.
+	 *
+	 * @param constraint Handle of the constraint to relax.
+	 * @throws IlpSolverException If the constraint does not exist or is an equals
+	 *                            constraint.
+	 */
+	public void relaxConstraint(final int constraint) throws IlpSolverException {
+		final InMemoryIlpModel model = getModel();
+		if (constraint < 0 || constraint >= model.getConstraintHandleCount()) {
+			throw new IlpSolverException("Constraint with the handle=" + constraint + " does not exist.");
+		}
+		final InMemoryIlpModel.Row row = model.getRow(constraint);
+		if (!row.removed && row.sense != InMemoryIlpModel.LESS_EQUAL) {
+			throw new IlpSolverException("Only less or equals constraints can be relaxed.");
+		}
+		relaxed.set(constraint);
+	}
+
+	/**
+	 * Returns the best Lagrangian (lower) bound of the last solve or NaN if no
+	 * constraint was relaxed.
+	 *
+	 * @return Best Lagrangian bound of the last solve.
+	 */
+	public double getLowerBound() {
+		return lowerBound;
+	}
+
+	/**
+	 * Returns the relative gap between the objective value of the last solution
+	 * and the best Lagrangian bound or NaN if no constraint was relaxed.
+	 *
+	 * @return Relative duality gap of the last solve.
+	 * @throws IlpSolverException If there is no solution available.
+	 */
+	public double getDualityGap() throws IlpSolverException {
+		return gap(getObjectiveValue(), lowerBound);
+	}
+
+	/**
+	 * Returns the number of subgradient iterations of the last solve.
+	 *
+	 * @return Number of subgradient iterations of the last solve.
+	 */
+	public int getIterations() {
+		return iterations;
+	}
+
+	@Override
+	public void setSeed(final int seed) {
+		super.setSeed(seed);
+		this.seed = seed;
+	}
+
+	@Override
+	public void setTimeout(final int parameterValue) {
+		super.setTimeout(parameterValue);
+		timelimit = parameterValue;
+	}
+
+	@Override
+	public void cancel() {
+		cancelRequested = true;
+		super.cancel();
+	}
+
+	@Override
+	public void resetCancel() {
+		cancelRequested = false;
+		super.resetCancel();
+	}
+
+	@Override
+	public void dispose() throws IlpSolverException {
+		super.dispose();
+		relaxed.clear();
+	}
+
+	@Override
+	public Statistics solve() throws IlpSolverException {
+		final InMemoryIlpModel model = getModel();
+		final int[] coupling = relaxed.stream()
+				.filter(i -> i < model.getConstraintHandleCount() && !model.getRow(i).removed).toArray();
+		if (coupling.length == 0) {
+			lowerBound = Double.NaN;
+			iterations = 0;
+			return super.solve();
+		}
+
+		final long start = System.nanoTime();
+		final long deadline = timelimit >= Integer.MAX_VALUE ? Long.MAX_VALUE
+				: start + timelimit * 1_000_000_000L;
+		cancelRequested = false;
+		iterations = 0;
+
+		final int handles = model.getVariableHandleCount();
+		final double[] cost = new double[handles];
+		for (int j = 0; j < handles; j++) {
+			if (!model.isVariableRemoved(j)) {
+				cost[j] = model.getObjective(j);
+			}
+		}
+		final double[] right = new double[coupling.length];
+		for (int r = 0; r < coupling.length; r++) {
+			right[r] = model.getRow(coupling[r]).right;
+		}
+
+		final List<Block> blocks = decompose(model, coupling);
+		final double[] lambda = new double[coupling.length];
+		final double[] weights = new double[handles];
+		final double[] subgradient = new double[coupling.length];
+		double lower = Double.NEGATIVE_INFINITY;
+		double upper = Double.POSITIVE_INFINITY;
+		boolean[] incumbent = null;
+		double step = INITIAL_STEP;
+		int stall = 0;
+		boolean feasible = true;
+		boolean converged = false;
+
+		final ExecutorService pool = Executors
+				.newFixedThreadPool(Math.max(1, Math.min(IlpSolverConfig.LAGRANGIAN_THREADS, blocks.size())));
+		try {
+			while (iterations < IlpSolverConfig.LAGRANGIAN_ITERATIONS) {
+				if (System.nanoTime() > deadline) {
+					break;
+				}
+				if (cancelRequested) {
+					break;
+				}
+				iterations++;
+
+				// Objective weights including the multipliers of all relaxed constraints
+				System.arraycopy(cost, 0, weights, 0, handles);
+				for (int r = 0; r < coupling.length; r++) {
+					if (lambda[r] != 0) {
+						final InMemoryIlpModel.Row row = model.getRow(coupling[r]);
+						for (int k = 0; k < row.size; k++) {
+							weights[row.cols[k]] += lambda[r] * row.vals[k];
+						}
+					}
+				}
+
+				// Solve all blocks in parallel
+				if (!solveBlocks(pool, blocks, model, cost, weights)) {
+					feasible = blocks.stream().noneMatch(b -> b.infeasible);
+					break;
+				}
+				double lagrangian = 0;
+				for (int r = 0; r < coupling.length; r++) {
+					lagrangian -= lambda[r] * right[r];
+				}
+				final boolean[] x = new boolean[handles];
+				for (final Block b : blocks) {
+					lagrangian += b.objective;
+					for (int i = 0; i < b.vars.length; i++) {
+						x[b.vars[i]] = b.x[i];
+					}
+				}
+
+				if (lagrangian > lower + FEAS_TOL * Math.max(1, Math.abs(lagrangian))) {
+					lower = lagrangian;
+					stall = 0;
+				} else if (++stall >= STEP_PATIENCE) {
+					step /= 2;
+					stall = 0;
+				}
+
+				// Subgradient
+				for (int r = 0; r < coupling.length; r++) {
+					final InMemoryIlpModel.Row row = model.getRow(coupling[r]);
+					double use = 0;
+					for (int k = 0; k < row.size; k++) {
+						if (x[row.cols[k]]) {
+							use += row.vals[k];
+						}
+					}
+					subgradient[r] = use - right[r];
+				}
+
+				// Repair (only the blocks that do not fit are solved again)
+				final boolean[] repaired = repair(blocks, coupling.length, right, cost, handles);
+				if (repaired != null && objective(repaired, cost) < upper) {
+					upper = objective(repaired, cost);
+					incumbent = repaired;
+				}
+
+				if (logger.isLoggable(Level.FINE)) {
+					logger.fine("Lagrangian iteration " + iterations + ": bound " + lagrangian + ", best bound "
+							+ lower + ", best solution " + upper + ".");
+				}
+				if (gap(upper, lower) <= GAP) {
+					converged = true;
+					break;
+				}
+
+				// Projected subgradient step
+				double norm = 0;
+				for (int r = 0; r < coupling.length; r++) {
+					if (lambda[r] == 0 && subgradient[r] < 0) {
+						subgradient[r] = 0;
+					}
+					norm += subgradient[r] * subgradient[r];
+				}
+				if (norm == 0 || step < MIN_STEP) {
+					break;
+				}
+				final double target = Double.isInfinite(upper) ? Math.max(1, Math.abs(lagrangian))
+						: upper - lagrangian;
+				final double t = step * target / norm;
+				for (int r = 0; r < coupling.length; r++) {
+					lambda[r] = Math.max(0, lambda[r] + t * subgradient[r]);
+				}
+			}
+		} finally {
+			pool.shutdownNow();
+			for (final Block b : blocks) {
+				if (b.solver != null) {
+					b.solver.dispose();
+				}
+			}
+		}
+
+		lowerBound = feasible ? lower : Double.NaN;
+		if (!feasible) {
+			incumbent = null;
+		}
+		setSolution(incumbent, upper);
+
+		SolverStatus status;
+		if (cancelRequested) {
+			status = SolverStatus.INTERRUPTED;
+		} else if (!feasible) {
+			status = SolverStatus.INFEASIBLE;
+		} else if (converged) {
+			status = SolverStatus.OPTIMAL;
+		} else {
+			status = SolverStatus.TIME_OUT;
+		}
+
+		if (IlpSolverConfig.ENABLE_ILP_OUTPUT) {
+			final String summary = "Lagrangian ILP solver: " + blocks.size() + " blocks, " + coupling.length
+					+ " relaxed constraints, " + iterations + " iterations, objective "
+					+ (incumbent != null ? upper : Double.NaN) + ", bound " + lowerBound + ", duality gap "
+					+ (incumbent != null ? gap(upper, lowerBound) : Double.NaN) + ".";
+			if (IlpSolverConfig.LOG_SINK != null) {
+				IlpSolverConfig.LOG_SINK.accept(summary);
+			} else {
+				logger.info(summary);
+			}
+		}
+
+		final Statistics.Builder stats = new Statistics.Builder(status, System.nanoTime() - start);
+		if (incumbent != null) {
+			stats.gap(gap(upper, lowerBound));
+		}
+		return stats.build();
+	}
+
+	/**
+	 * Splits all active variables into independent blocks with respect to all
+	 * constraints that are not relaxed and all SOS1 constraints.
+	 *
+	 * @param model    In-memory model to split.
+	 * @param coupling Handles of all relaxed constraints.
+	 * @return List of all blocks.
+	 */
+	private List<Block> decompose(final InMemoryIlpModel model, final int[] coupling) {
+		final int handles = model.getVariableHandleCount();
+		final int[] component = model.getComponents(relaxed);
+		final List<int[]> sos = new ArrayList<>();
+		for (final int[] set : model.getSos()) {
+			final int[] active = Arrays.stream(set).filter(j -> !model.isVariableRemoved(j)).toArray();
+			if (active.length > 1) {
+				sos.add(active);
+			}
+		}
+
+		// One block per component
+		final int[] size = new int[handles];
+		for (int j = 0; j < handles; j++) {
+			if (!model.isVariableRemoved(j)) {
+				size[component[j]]++;
+			}
+		}
+		final List<Block> blocks = new ArrayList<>();
+		final int[] blockOfRoot = new int[handles];
+		final int[] blockOf = new int[handles];
+		final int[] posOf = new int[handles];
+		final int[] filled = new int[handles];
+		for (int j = 0; j < handles; j++) {
+			if (model.isVariableRemoved(j)) {
+				continue;
+			}
+			final int root = component[j];
+			if (root == j) {
+				blockOfRoot[j] = blocks.size();
+				blocks.add(new Block(size[j]));
+			}
+		}
+		for (int j = 0; j < handles; j++) {
+			if (model.isVariableRemoved(j)) {
+				continue;
+			}
+			final int root = component[j];
+			blockOf[j] = blockOfRoot[root];
+			posOf[j] = filled[root]++;
+			blocks.get(blockOf[j]).vars[posOf[j]] = j;
+		}
+
+		// Constraints and SOS1 constraints of the blocks
+		for (int i = 0; i < model.getConstraintHandleCount(); i++) {
+			final InMemoryIlpModel.Row row = model.getRow(i);
+			if (!row.removed && !relaxed.get(i) && row.size > 0) {
+				blocks.get(blockOf[row.cols[0]]).rows.add(i);
+			}
+		}
+		for (final int[] set : sos) {
+			blocks.get(blockOf[set[0]]).sos.add(set);
+		}
+
+		// Parts of the relaxed constraints
+		for (int r = 0; r < coupling.length; r++) {
+			final InMemoryIlpModel.Row row = model.getRow(coupling[r]);
+			for (int k = 0; k < row.size; k++) {
+				final Block b = blocks.get(blockOf[row.cols[k]]);
+				Terms terms = b.coupling.isEmpty() ? null : b.coupling.get(b.coupling.size() - 1);
+				if (terms == null || terms.row != r) {
+					terms = new Terms(r);
+					b.coupling.add(terms);
+				}
+				terms.add(posOf[row.cols[k]], row.vals[k]);
+			}
+		}
+		return blocks;
+	}
+
+	/**
+	 * Solves all blocks with the given objective weights. Blocks that consist of a
+	 * single unconstrained variable are solved directly, all other blocks in
+	 * parallel by their own solvers.
+	 *
+	 * @param pool    Thread pool to use.
+	 * @param blocks  All blocks.
+	 * @param model   In-memory model.
+	 * @param cost    Original objective weights indexed by the variable handles.
+	 * @param weights Objective weights to use indexed by the variable handles.
+	 * @return False if at least one block has no solution.
+	 * @throws IlpSolverException If the solver of a block throws an exception.
+	 */
+	private boolean solveBlocks(final ExecutorService pool, final List<Block> blocks, final InMemoryIlpModel model,
+			final double[] cost, final double[] weights) throws IlpSolverException {
+		final List<Future<Boolean>> futures = new ArrayList<>();
+		boolean feasible = true;
+		for (final Block b : blocks) {
+			if (b.rows.isEmpty() && b.sos.isEmpty()) {
+				final int j = b.vars[0];
+				b.x[0] = model.getLower(j) >= 1 || (model.getUpper(j) >= 1 && weights[j] < 0);
+				b.objective = b.x[0] ? weights[j] : 0;
+			} else {
+				futures.add(pool.submit(() -> solveBlock(b, model, cost, weights)));
+			}
+		}
+		for (final Future<Boolean> future : futures) {
+			try {
+				feasible &= future.get();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IlpSolverException(e);
+			} catch (final ExecutionException e) {
+				if (e.getCause() instanceof IlpSolverException) {
+					throw (IlpSolverException) e.getCause();
+				}
+				throw new IlpSolverException(e.getCause());
+			}
+		}
+		return feasible;
+	}
+
+	/**
+	 * Solves one block with the given objective weights. The solver of the block
+	 * is created on the first call.
+	 *
+	 * @param b       Block to solve.
+	 * @param model   In-memory model.
+	 * @param cost    Original objective weights indexed by the variable handles.
+	 * @param weights Objective weights to use indexed by the variable handles.
+	 * @return False if the block has no solution, e.g., because it is infeasible
+	 *         (see {@link Block#infeasible}).
+	 * @throws IlpSolverException If the solver of the block throws an exception.
+	 */
+	private boolean solveBlock(final Block b, final InMemoryIlpModel model, final double[] cost,
+			final double[] weights) throws IlpSolverException {
+		if (b.solver == null) {
+			build(b, model, cost);
+		}
+		for (int i = 0; i < b.vars.length; i++) {
+			final double weight = weights[b.vars[i]];
+			if (weight != b.weights[i]) {
+				b.solver.changeVariableWeight(b.local[i], weight);
+				b.weights[i] = weight;
+			}
+		}
+		b.infeasible = !b.solver.solve().isFeasible();
+		if (b.infeasible || !read(b, b.x)) {
+			return false;
+		}
+		b.objective = 0;
+		for (int i = 0; i < b.vars.length; i++) {
+			if (b.x[i]) {
+				b.objective += b.weights[i];
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Creates the solver of a block and adds all variables, constraints and SOS1
+	 * constraints of the block to it.
+	 *
+	 * @param b     Block to create the solver for.
+	 * @param model In-memory model.
+	 * @param cost  Original objective weights indexed by the variable handles.
+	 */
+	private void build(final Block b, final InMemoryIlpModel model, final double[] cost) {
+		final IncrementalIlpSolver solver = IlpSolverConfig.getIlpSolver(IlpSolverConfig.LAGRANGIAN_SOLVER, seed);
+		solver.setTimeout(timelimit);
+		b.local = new int[b.vars.length];
+		b.weights = new double[b.vars.length];
+		final int[] localOf = new int[model.getVariableHandleCount()];
+		for (int i = 0; i < b.vars.length; i++) {
+			final int j = b.vars[i];
+			b.local[i] = solver.addVariable(cost[j]);
+			b.weights[i] = cost[j];
+			localOf[j] = b.local[i];
+			if (model.getLower(j) != 0 || model.getUpper(j) != 1) {
+				solver.changeVariableBounds(b.local[i], (int) model.getLower(j), (int) model.getUpper(j));
+			}
+		}
+		for (final int i : b.rows) {
+			final InMemoryIlpModel.Row row = model.getRow(i);
+			final int[] vars = new int[row.size];
+			for (int k = 0; k < row.size; k++) {
+				vars[k] = localOf[row.cols[k]];
+			}
+			final double[] vals = Arrays.copyOf(row.vals, row.size);
+			if (row.sense == InMemoryIlpModel.EQUAL) {
+				solver.addEqualsConstraint(row.right, vals, vars);
+			} else {
+				solver.addLessOrEqualsConstraint(row.right, vals, vars);
+			}
+		}
+		for (final int[] set : b.sos) {
+			solver.addSosConstraint(Arrays.stream(set).map(j -> localOf[j]).toArray());
+		}
+		b.solver = solver;
+	}
+
+	/**
+	 * Reads the selection of the last solve of a block.
+	 *
+	 * @param b Block to read the selection of.
+	 * @param x Selection indexed by the variable positions (output).
+	 * @return False if there is no solution.
+	 * @throws IlpSolverException If the solver of the block throws an exception.
+	 */
+	private boolean read(final Block b, final boolean[] x) throws IlpSolverException {
+		final boolean[] selected = new boolean[b.solver.getVariableHandleCount()];
+		try {
+			b.solver.getMappings(selected);
+		} catch (final IlpSolverException e) {
+			return false;
+		}
+		for (int i = 0; i < b.vars.length; i++) {
+			x[i] = selected[b.local[i]];
+		}
+		return true;
+	}
+
+	/**
+	 * Builds a feasible solution of the whole model from the last solutions of
+	 * all blocks. The blocks are accepted in ascending order of the original
+	 * objective value of their last solution. A block whose solution does not fit
+	 * into the residual right hand sides of the relaxed constraints is solved again
+	 * with its original objective weights and these residual constraints.
+	 *
+	 * @param blocks   All blocks.
+	 * @param relaxed  Number of relaxed constraints.
+	 * @param right    Right hand sides of all relaxed constraints.
+	 * @param cost     Original objective weights indexed by the variable handles.
+	 * @param handles  Number of variable handles.
+	 * @return Selected variables indexed by their handles or null if no feasible
+	 *         solution was found.
+	 * @throws IlpSolverException If the solver of a block throws an exception.
+	 */
+	private boolean[] repair(final List<Block> blocks, final int relaxed, final double[] right, final double[] cost,
+			final int handles) throws IlpSolverException {
+		final double[] residual = Arrays.copyOf(right, relaxed);
+		final double[] value = new double[blocks.size()];
+		for (int b = 0; b < blocks.size(); b++) {
+			final Block block = blocks.get(b);
+			for (int i = 0; i < block.vars.length; i++) {
+				if (block.x[i]) {
+					value[b] += cost[block.vars[i]];
+				}
+			}
+		}
+		final Integer[] order = IntStream.range(0, blocks.size()).boxed().toArray(Integer[]::new);
+		Arrays.sort(order, Comparator.comparingDouble(b -> value[b]));
+
+		final boolean[] solution = new boolean[handles];
+		for (final int index : order) {
+			final Block b = blocks.get(index);
+			boolean[] x = b.x;
+			if (!fits(b, x, residual)) {
+				x = new boolean[b.vars.length];
+				if (b.solver == null) {
+					// Single unconstrained variable: select it only if it is forced or pays off
+					final int j = b.vars[0];
+					final boolean forced = getModel().getLower(j) >= 1;
+					x[0] = true;
+					x[0] = forced || (cost[j] < 0 && getModel().getUpper(j) >= 1 && fits(b, x, residual));
+				} else if (!resolve(b, cost, residual, x)) {
+					return null;
+				}
+			}
+			for (final Terms terms : b.coupling) {
+				residual[terms.row] -= terms.use(x);
+			}
+			for (int i = 0; i < b.vars.length; i++) {
+				solution[b.vars[i]] = x[i];
+			}
+		}
+		return solution;
+	}
+
+	/**
+	 * Checks if a given selection of a block fits into the residual right hand
+	 * sides of all relaxed constraints.
+	 *
+	 * @param b        Block.
+	 * @param x        Selection indexed by the variable positions.
+	 * @param residual Residual right hand sides of all relaxed constraints.
+	 * @return True if the selection fits.
+	 */
+	private boolean fits(final Block b, final boolean[] x, final double[] residual) {
+		for (final Terms terms : b.coupling) {
+			if (terms.use(x) > residual[terms.row] + FEAS_TOL) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Solves a block with its original objective weights and all relaxed
+	 * constraints restricted to their residual right hand sides. The added
+	 * constraints are removed afterwards.
+	 *
+	 * @param b        Block to solve.
+	 * @param cost     Original objective weights indexed by the variable handles.
+	 * @param residual Residual right hand sides of all relaxed constraints.
+	 * @param x        Selection indexed by the variable positions (output).
+	 * @return False if the block is infeasible.
+	 * @throws IlpSolverException If the solver of the block throws an exception.
+	 */
+	private boolean resolve(final Block b, final double[] cost, final double[] residual, final boolean[] x)
+			throws IlpSolverException {
+		for (int i = 0; i < b.vars.length; i++) {
+			final double weight = cost[b.vars[i]];
+			if (weight != b.weights[i]) {
+				b.solver.changeVariableWeight(b.local[i], weight);
+				b.weights[i] = weight;
+			}
+		}
+		final int[] added = new int[b.coupling.size()];
+		for (int t = 0; t < added.length; t++) {
+			final Terms terms = b.coupling.get(t);
+			final int[] vars = new int[terms.size];
+			for (int i = 0; i < terms.size; i++) {
+				vars[i] = b.local[terms.pos[i]];
+			}
+			added[t] = b.solver.addLessOrEqualsConstraint(residual[terms.row], Arrays.copyOf(terms.vals, terms.size),
+					vars);
+		}
+		try {
+			return b.solver.solve().isFeasible() && read(b, x);
+		} finally {
+			b.solver.removeConstraints(added);
+		}
+	}
+
+	/**
+	 * Returns the original objective value of a given selection.
+	 *
+	 * @param x    Selected variables indexed by their handles.
+	 * @param cost Original objective weights indexed by the variable handles.
+	 * @return Objective value of the selection.
+	 */
+	private static double objective(final boolean[] x, final double[] cost) {
+		double objective = 0;
+		for (int j = 0; j < x.length; j++) {
+			if (x[j]) {
+				objective += cost[j];
+			}
+		}
+		return objective;
+	}
+
+	/**
+	 * Returns the relative gap between an upper and a lower bound.
+	 *
+	 * @param upper Upper bound.
+	 * @param lower Lower bound.
+	 * @return Relative gap between both bounds.
+	 */
+	private static double gap(final double upper, final double lower) {
+		return (upper - lower) / Math.max(1, Math.abs(upper));
+	}
+
+}
@@ -0,0 +1,64 @@
+package ilp.wrapper.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import ilp.wrapper.config.IlpSolverConfig;
+
+/**
+ * Output stream that splits the written bytes into lines and passes each line
+ * to a log sink (see {@link IlpSolverConfig#LOG_SINK}). It is used to redirect
+ * the output of solvers that only support streams.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+class LogSinkOutputStream extends OutputStream {
+
+	/**
+	 * Log sink to pass all lines to.
+	 */
+	private final Consumer<String> sink;
+
+	/**
+	 * Buffer of the current line.
+	 */
+	private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+	/**
+	 * Creates a new output stream for the given log sink.
+	 *
+	 * @param sink Log sink to pass all lines to.
+	 */
+	LogSinkOutputStream(final Consumer<String> sink) {
+		this.sink = sink;
+	}
+
+	@Override
+	public synchronized void write(final int b) {
+		if (b == '\n') {
+			emitLine();
+		} else if (b != '\r') {
+			line.write(b);
+		}
+	}
+
+	@Override
+	public synchronized void close() {
+		emitLine();
+	}
+
+	/**
+	 * Passes the current line to the log sink (if it is not empty). Flushing the
+	 * stream does not emit a line, because solvers may flush in the middle of a
+	 * line.
+	 */
+	private void emitLine() {
+		if (line.size() > 0) {
+			sink.accept(line.toString(StandardCharsets.UTF_8));
+			line.reset();
+		}
+	}
+
+}
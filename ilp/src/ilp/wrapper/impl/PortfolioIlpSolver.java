@@ -0,0 +1,587 @@
+package ilp.wrapper.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+import iflye.dependencies.logging.IflyeLogger;
+import ilp.wrapper.IlpSolverException;
+import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.IncumbentListener;
+import ilp.wrapper.Relaxation;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.SparseConstraintBuilder;
+import ilp.wrapper.Statistics;
+import ilp.wrapper.config.IlpSolverConfig;
+import ilp.wrapper.config.Solver;
+
+/**
+ * Implementation of the {@link IncrementalIlpSolver} interface that races a
+ * portfolio of solver configurations (backends, random seeds and MIP focus
+ * settings). All model changes are applied to every member. A solve runs all
+ * members in parallel: The first member that proves optimality (or
+ * infeasibility) wins and all other members get cancelled. If no member proves
+ * its result (e.g., because of the time limit), the member with the best
+ * solution wins. All queries of the solution are answered by the last winner.
+ *
+ * Since all members get the same sequence of model changes, they assign the
+ * same variable and constraint handles.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class PortfolioIlpSolver extends IflyeLogger implements IncrementalIlpSolver {
+
+	/**
+	 * All members of the portfolio.
+	 */
+	private final List<IncrementalIlpSolver> members = new ArrayList<>();
+
+	/**
+	 * Human readable description of each member.
+	 */
+	private final List<String> descriptions = new ArrayList<>();
+
+	/**
+	 * Index of the member that won the last solve.
+	 */
+	private int winner = 0;
+
+	/**
+	 * Creates a new portfolio solver. Member i gets the random seed randomSeed + i.
+	 *
+	 * @param solvers    Solver backend of each member.
+	 * @param mipFocus   MIP focus of each member (members without an entry keep
+	 *                   the default focus).
+	 * @param randomSeed Random seed of the first member.
+	 */
+	public PortfolioIlpSolver(final Solver[] solvers, final int[] mipFocus, final int randomSeed) {
+		if (solvers.length == 0) {
+			throw new IlpSolverException("The portfolio must contain at least one solver.");
+		}
+		for (int i = 0; i < solvers.length; i++) {
+			if (solvers[i] == Solver.PORTFOLIO) {
+				throw new IlpSolverException("A portfolio must not contain another portfolio.");
+			}
+			final IncrementalIlpSolver member = IlpSolverConfig.getIlpSolver(solvers[i], randomSeed + i);
+			final int focus = i < mipFocus.length ? mipFocus[i] : 0;
+			if (focus != 0) {
+				member.setMipFocus(focus);
+			}
+			members.add(member);
+			descriptions.add(solvers[i] + " (seed=" + (randomSeed + i) + ", focus=" + focus + ")");
+		}
+		setThreads(IlpSolverConfig.THREADS);
+	}
+
+	/**
+	 * Returns the description of the member that won the last solve.
+	 *
+	 * @return Description of the winning member.
+	 */
+	public String getWinner() {
+		return descriptions.get(winner);
+	}
+
+	/**
+	 * Returns the member that answers all queries of the solution.
+	 *
+	 * @return Winner of the last solve (or the first member before any solve).
+	 */
+	private IncrementalIlpSolver current() {
+		return members.get(winner);
+	}
+
+	/**
+	 * Applies a model change to all members.
+	 *
+	 * @param change Model change to apply.
+	 */
+	private void forAll(final Consumer<IncrementalIlpSolver> change) {
+		members.forEach(change);
+	}
+
+	/**
+	 * Applies a model change that returns a handle to all members and checks that
+	 * all members assigned the same handle.
+	 *
+	 * @param change Model change to apply.
+	 * @return Handle assigned by all members.
+	 */
+	private int forAllHandle(final ToIntFunction<IncrementalIlpSolver> change) {
+		final int handle = change.applyAsInt(members.get(0));
+		for (int i = 1; i < members.size(); i++) {
+			if (change.applyAsInt(members.get(i)) != handle) {
+				throw new IlpSolverException("Portfolio members assigned different handles.");
+			}
+		}
+		return handle;
+	}
+
+	@Override
+	public void addSosConstraint(final SosConstraint constraint) {
+		forAll(s -> s.addSosConstraint(constraint));
+	}
+
+	@Override
+	public void addSosConstraints(final SosConstraint[] constraints) {
+		forAll(s -> s.addSosConstraints(constraints));
+	}
+
+	@Override
+	public void addEqualsConstraint(final String name, final double right) throws IlpSolverException {
+		forAll(s -> s.addEqualsConstraint(name, right));
+	}
+
+	@Override
+	public void addEqualsConstraint(final String name, final double right, final double[] weights, final String[] vars)
+			throws IlpSolverException {
+		forAll(s -> s.addEqualsConstraint(name, right, weights, vars));
+	}
+
+	@Override
+	public void addEqualsConstraints(final Constraint[] constraints) throws IlpSolverException {
+		forAll(s -> s.addEqualsConstraints(constraints));
+	}
+
+	@Override
+	public void addLessOrEqualsConstraint(final String name, final double right) throws IlpSolverException {
+		forAll(s -> s.addLessOrEqualsConstraint(name, right));
+	}
+
+	@Override
+	public void addLessOrEqualsConstraint(final String name, final double right, final double[] weights,
+			final String[] vars) throws IlpSolverException {
+		forAll(s -> s.addLessOrEqualsConstraint(name, right, weights, vars));
+	}
+
+	@Override
+	public void addLessOrEqualsConstraints(final Constraint[] constraints) throws IlpSolverException {
+		forAll(s -> s.addLessOrEqualsConstraints(constraints));
+	}
+
+	@Override
+	public void addToVariableWeight(final String name, final double change) throws IlpSolverException {
+		forAll(s -> s.addToVariableWeight(name, change));
+	}
+
+	@Override
+	public void addVariable(final String name, final double solutionWeight) throws IlpSolverException {
+		forAll(s -> s.addVariable(name, solutionWeight));
+	}
+
+	@Override
+	public void addVariables(final Variable[] variables) throws IlpSolverException {
+		forAll(s -> s.addVariables(variables));
+	}
+
+	@Override
+	public void changeVariableBounds(final String name, final int lower, final int upper) throws IlpSolverException {
+		forAll(s -> s.changeVariableBounds(name, lower, upper));
+	}
+
+	@Override
+	public void changeVariableWeight(final String name, final double solutionWeight) throws IlpSolverException {
+		forAll(s -> s.changeVariableWeight(name, solutionWeight));
+	}
+
+	@Override
+	public void dispose() throws IlpSolverException {
+		forAll(IncrementalIlpSolver::dispose);
+	}
+
+	@Override
+	public int getConstraintCount() {
+		return current().getConstraintCount();
+	}
+
+	@Override
+	public Map<String, Boolean> getMappings() throws IlpSolverException {
+		return current().getMappings();
+	}
+
+	@Override
+	public double getObjectiveValue() throws IlpSolverException {
+		return current().getObjectiveValue();
+	}
+
+	@Override
+	public int getVariableCount() {
+		return current().getVariableCount();
+	}
+
+	@Override
+	public boolean hasVariable(final String name) throws IlpSolverException {
+		return current().hasVariable(name);
+	}
+
+	@Override
+	public boolean isSelected(final String name) throws IlpSolverException {
+		return current().isSelected(name);
+	}
+
+	@Override
+	public void loadModel(final String path) throws IlpSolverException {
+		forAll(s -> s.loadModel(path));
+	}
+
+	@Override
+	public void removeConstraint(final String name) throws IlpSolverException {
+		forAll(s -> s.removeConstraint(name));
+	}
+
+	@Override
+	public void removeConstraints(final List<String> removeConstraints) {
+		forAll(s -> s.removeConstraints(removeConstraints));
+	}
+
+	@Override
+	public void removeVariable(final String name) throws IlpSolverException {
+		forAll(s -> s.removeVariable(name));
+	}
+
+	@Override
+	public void removeVariables(final List<String> removeVariables) throws IlpSolverException {
+		forAll(s -> s.removeVariables(removeVariables));
+	}
+
+	@Override
+	public void save(final String file) throws IlpSolverException {
+		current().save(file);
+	}
+
+	@Override
+	public void setConstraintRight(final String name, final double newRight) throws IlpSolverException {
+		forAll(s -> s.setConstraintRight(name, newRight));
+	}
+
+	@Override
+	public void setConstraintRights(final Map<String, Double> changeConstraintRight) {
+		forAll(s -> s.setConstraintRights(changeConstraintRight));
+	}
+
+	@Override
+	public void setSeed(final int seed) {
+		for (int i = 0; i < members.size(); i++) {
+			members.get(i).setSeed(seed + i);
+		}
+	}
+
+	@Override
+	public void setMipFocus(final int focus) {
+		forAll(s -> s.setMipFocus(focus));
+	}
+
+	/**
+	 * Splits the given number of threads (or all available processors for 0)
+	 * evenly across the members, because they run in parallel. Each member gets
+	 * at least one thread.
+	 *
+	 * @param threads Number of threads of the whole portfolio.
+	 */
+	@Override
+	public void setThreads(final int threads) {
+		final int total = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		for (int i = 0; i < members.size(); i++) {
+			members.get(i).setThreads(Math.max(1, total / members.size() + (i < total % members.size() ? 1 : 0)));
+		}
+	}
+
+	@Override
+	public void setCuts(final int level) {
+		forAll(s -> s.setCuts(level));
+	}
+
+	@Override
+	public void setHeuristics(final double share) {
+		forAll(s -> s.setHeuristics(share));
+	}
+
+	@Override
+	public void setTimeout(final int parameterValue) {
+		forAll(s -> s.setTimeout(parameterValue));
+	}
+
+	@Override
+	public void setVariableBounds(final Map<String, int[]> changeVariableBounds) throws IlpSolverException {
+		forAll(s -> s.setVariableBounds(changeVariableBounds));
+	}
+
+	@Override
+	public void setVariableWeightForConstraint(final String name, final double weight, final String var)
+			throws IlpSolverException {
+		forAll(s -> s.setVariableWeightForConstraint(name, weight, var));
+	}
+
+	@Override
+	public void setVariableWeights(final Map<String, Double> changeVariableWeights) throws IlpSolverException {
+		forAll(s -> s.setVariableWeights(changeVariableWeights));
+	}
+
+	@Override
+	public void setVariableWeightsForConstraints(
+			final Map<String, Map<String, Double>> changeConstraitVariableWeights) {
+		forAll(s -> s.setVariableWeightsForConstraints(changeConstraitVariableWeights));
+	}
+
+	@Override
+	public int addVariable(final double solutionWeight) throws IlpSolverException {
+		return forAllHandle(s -> s.addVariable(solutionWeight));
+	}
+
+	@Override
+	public int addEqualsConstraint(final double right, final double[] weights, final int[] vars)
+			throws IlpSolverException {
+		return forAllHandle(s -> s.addEqualsConstraint(right, weights, vars));
+	}
+
+	@Override
+	public int addLessOrEqualsConstraint(final double right, final double[] weights, final int[] vars)
+			throws IlpSolverException {
+		return forAllHandle(s -> s.addLessOrEqualsConstraint(right, weights, vars));
+	}
+
+	@Override
+	public void addSosConstraint(final int[] vars) throws IlpSolverException {
+		forAll(s -> s.addSosConstraint(vars));
+	}
+
+	@Override
+	public int addConstraints(final SparseConstraintBuilder rows) throws IlpSolverException {
+		return forAllHandle(s -> s.addConstraints(rows));
+	}
+
+	@Override
+	public void changeVariableBounds(final int var, final int lower, final int upper) throws IlpSolverException {
+		forAll(s -> s.changeVariableBounds(var, lower, upper));
+	}
+
+	@Override
+	public void changeVariableWeight(final int var, final double solutionWeight) throws IlpSolverException {
+		forAll(s -> s.changeVariableWeight(var, solutionWeight));
+	}
+
+	@Override
+	public int getVariableHandleCount() {
+		return current().getVariableHandleCount();
+	}
+
+	@Override
+	public int getConstraintHandleCount() {
+		return current().getConstraintHandleCount();
+	}
+
+	@Override
+	public void getMappings(final boolean[] selected) throws IlpSolverException {
+		current().getMappings(selected);
+	}
+
+	@Override
+	public int[] getSelectedVariables() throws IlpSolverException {
+		return current().getSelectedVariables();
+	}
+
+	@Override
+	public boolean hasSolution() {
+		return current().hasSolution();
+	}
+
+	@Override
+	public boolean isSelected(final int var) throws IlpSolverException {
+		return current().isSelected(var);
+	}
+
+	@Override
+	public void removeConstraint(final int constraint) throws IlpSolverException {
+		forAll(s -> s.removeConstraint(constraint));
+	}
+
+	@Override
+	public void removeVariable(final int var) throws IlpSolverException {
+		forAll(s -> s.removeVariable(var));
+	}
+
+	@Override
+	public void removeConstraints(final int[] constraints) throws IlpSolverException {
+		forAll(s -> s.removeConstraints(constraints));
+	}
+
+	@Override
+	public void removeVariables(final int[] vars) throws IlpSolverException {
+		forAll(s -> s.removeVariables(vars));
+	}
+
+	@Override
+	public void setConstraintRight(final int constraint, final double newRight) throws IlpSolverException {
+		forAll(s -> s.setConstraintRight(constraint, newRight));
+	}
+
+	@Override
+	public void setVariableWeightForConstraint(final int constraint, final double weight, final int var)
+			throws IlpSolverException {
+		forAll(s -> s.setVariableWeightForConstraint(constraint, weight, var));
+	}
+
+	@Override
+	public void setVariableName(final int var, final String name) throws IlpSolverException {
+		forAll(s -> s.setVariableName(var, name));
+	}
+
+	@Override
+	public void setConstraintName(final int constraint, final String name) throws IlpSolverException {
+		forAll(s -> s.setConstraintName(constraint, name));
+	}
+
+	@Override
+	public void setStartSolution(final int[] vars, final double[] values) throws IlpSolverException {
+		forAll(s -> s.setStartSolution(vars, values));
+	}
+
+	/**
+	 * The relaxation is solved by the first member only, because all members share
+	 * the same model.
+	 */
+	@Override
+	public Relaxation solveRelaxation() throws IlpSolverException {
+		return members.get(0).solveRelaxation();
+	}
+
+	/**
+	 * Adds a listener to all members, i.e., the listener receives the improving
+	 * incumbents of each member (from different threads).
+	 */
+	@Override
+	public void addIncumbentListener(final IncumbentListener listener) {
+		forAll(s -> s.addIncumbentListener(listener));
+	}
+
+	@Override
+	public void removeIncumbentListener(final IncumbentListener listener) {
+		forAll(s -> s.removeIncumbentListener(listener));
+	}
+
+	@Override
+	public void cancel() {
+		forAll(IncrementalIlpSolver::cancel);
+	}
+
+	@Override
+	public void resetCancel() {
+		forAll(IncrementalIlpSolver::resetCancel);
+	}
+
+	@Override
+	public Statistics solve() throws IlpSolverException {
+		final long start = System.nanoTime();
+		final List<CompletableFuture<Statistics>> futures = members.stream().map(IncrementalIlpSolver::solveAsync)
+				.toList();
+
+		// Wait for the first member that proves its result or for all members
+		final CompletableFuture<Integer> proved = new CompletableFuture<>();
+		for (int i = 0; i < futures.size(); i++) {
+			final int index = i;
+			futures.get(i).thenAccept(stats -> {
+				if (isProved(stats.getStatus())) {
+					proved.complete(index);
+				}
+			});
+		}
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+				.whenComplete((v, ex) -> proved.complete(-1));
+		final int first = proved.join();
+
+		// Cancel all other members and wait for them, because the model must not be
+		// changed while they are running
+		final boolean[] cancelled = new boolean[futures.size()];
+		if (first >= 0) {
+			for (int i = 0; i < futures.size(); i++) {
+				if (i != first && !futures.get(i).isDone()) {
+					members.get(i).cancel();
+					cancelled[i] = true;
+				}
+			}
+		}
+		final Statistics[] stats = new Statistics[futures.size()];
+		IlpSolverException failure = null;
+		for (int i = 0; i < futures.size(); i++) {
+			try {
+				stats[i] = futures.get(i).join();
+			} catch (final CompletionException e) {
+				failure = e.getCause() instanceof IlpSolverException ise ? ise : new IlpSolverException(e.getCause());
+			}
+
+			// A member that finished right before its cancellation must not keep the
+			// request for its next solve
+			if (cancelled[i]) {
+				members.get(i).resetCancel();
+			}
+		}
+
+		winner = first >= 0 ? first : selectBest(stats);
+		if (stats[winner] == null) {
+			throw failure;
+		}
+
+		if (IlpSolverConfig.ENABLE_ILP_OUTPUT) {
+			final String summary = "Portfolio ILP solver: " + getWinner() + " won with status "
+					+ stats[winner].getStatus() + " after " + (System.nanoTime() - start) / 1_000_000 + "ms.";
+			if (IlpSolverConfig.LOG_SINK != null) {
+				IlpSolverConfig.LOG_SINK.accept(summary);
+			} else {
+				logger.info(summary);
+			}
+		}
+
+		return new Statistics.Builder(stats[winner], System.nanoTime() - start).build();
+	}
+
+	/**
+	 * Returns true if the given status is a proven result.
+	 *
+	 * @param status Solver status to check.
+	 * @return True if the given status is a proven result.
+	 */
+	private static boolean isProved(final SolverStatus status) {
+		return status == SolverStatus.OPTIMAL || status == SolverStatus.INFEASIBLE
+				|| status == SolverStatus.INF_OR_UNBD || status == SolverStatus.UNBOUNDED;
+	}
+
+	/**
+	 * Selects the member with the best solution if no member proved its result.
+	 * If no member has a solution, the first member that did not fail is
+	 * selected.
+	 *
+	 * @param stats Statistics of all members (null if a member failed).
+	 * @return Index of the selected member.
+	 */
+	private int selectBest(final Statistics[] stats) {
+		int best = -1;
+		double bestObjective = Double.POSITIVE_INFINITY;
+		int fallback = 0;
+		for (int i = stats.length - 1; i >= 0; i--) {
+			if (stats[i] == null) {
+				continue;
+			}
+			fallback = i;
+			if (!stats[i].isFeasible()) {
+				continue;
+			}
+			double objective;
+			try {
+				objective = members.get(i).getObjectiveValue();
+			} catch (final IlpSolverException e) {
+				// The member has not found any solution
+				continue;
+			}
+			if (!Double.isNaN(objective) && (best == -1 || objective <= bestObjective)) {
+				best = i;
+				bestObjective = objective;
+			}
+		}
+		return best >= 0 ? best : fallback;
+	}
+
+}
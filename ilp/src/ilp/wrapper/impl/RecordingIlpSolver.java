@@ -0,0 +1,777 @@
+package ilp.wrapper.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.zip.GZIPOutputStream;
+
+import ilp.wrapper.IlpSolverException;
+import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.IncumbentListener;
+import ilp.wrapper.Relaxation;
+import ilp.wrapper.SparseConstraintBuilder;
+import ilp.wrapper.Statistics;
+
+/**
+ * Decorator for an {@link IncrementalIlpSolver} that records every call which
+ * changes the model (i.e., all calls of {@link ilp.wrapper.IlpDelta#apply} and
+ * {@link ilp.wrapper.IndexedIlpDelta#apply}) and every solve to a compact
+ * binary log. Recorded logs can be replayed into any solver backend via
+ * {@link IlpReplay}, e.g., to benchmark solver changes on real VNR sequences
+ * without running the pattern matching.
+ *
+ * The log is a GZIP compressed stream of operations (see the OP_ constants).
+ * Each string is written once and referenced by its index afterwards. All read
+ * only calls (solutions, counts) are passed through without recording.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class RecordingIlpSolver implements IncrementalIlpSolver {
+
+	/**
+	 * Magic number ("IFLR") and version of the log format.
+	 */
+	static final int MAGIC = 0x49464C52;
+	static final int VERSION = 2;
+
+	/*
+	 * Operation codes of the log format.
+	 */
+	static final byte OP_END = 0;
+	static final byte OP_ADD_SOS = 1;
+	static final byte OP_ADD_SOS_ARRAY = 2;
+	static final byte OP_ADD_EQ = 3;
+	static final byte OP_ADD_EQ_TERMS = 4;
+	static final byte OP_ADD_EQ_ARRAY = 5;
+	static final byte OP_ADD_LE = 6;
+	static final byte OP_ADD_LE_TERMS = 7;
+	static final byte OP_ADD_LE_ARRAY = 8;
+	static final byte OP_ADD_TO_WEIGHT = 9;
+	static final byte OP_ADD_VAR = 10;
+	static final byte OP_ADD_VAR_ARRAY = 11;
+	static final byte OP_CHANGE_BOUNDS = 12;
+	static final byte OP_CHANGE_WEIGHT = 13;
+	static final byte OP_LOAD_MODEL = 14;
+	static final byte OP_REMOVE_CONSTRAINT = 15;
+	static final byte OP_REMOVE_CONSTRAINTS = 16;
+	static final byte OP_REMOVE_VAR = 17;
+	static final byte OP_REMOVE_VARS = 18;
+	static final byte OP_SET_RIGHT = 19;
+	static final byte OP_SET_RIGHTS = 20;
+	static final byte OP_SET_SEED = 21;
+	static final byte OP_SET_MIP_FOCUS = 22;
+	static final byte OP_SET_TIMEOUT = 23;
+	static final byte OP_SET_BOUNDS = 24;
+	static final byte OP_SET_TERM = 25;
+	static final byte OP_SET_WEIGHTS = 26;
+	static final byte OP_SET_TERMS = 27;
+	static final byte OP_SOLVE = 28;
+	static final byte OP_H_ADD_VAR = 29;
+	static final byte OP_H_ADD_EQ = 30;
+	static final byte OP_H_ADD_LE = 31;
+	static final byte OP_H_ADD_SOS = 32;
+	static final byte OP_H_ADD_ROWS = 33;
+	static final byte OP_H_CHANGE_BOUNDS = 34;
+	static final byte OP_H_CHANGE_WEIGHT = 35;
+	static final byte OP_H_REMOVE_CONSTRAINT = 36;
+	static final byte OP_H_REMOVE_VAR = 37;
+	static final byte OP_H_SET_RIGHT = 38;
+	static final byte OP_H_SET_TERM = 39;
+	static final byte OP_H_SET_VAR_NAME = 40;
+	static final byte OP_H_SET_CONSTRAINT_NAME = 41;
+	static final byte OP_H_SET_START = 42;
+	static final byte OP_H_REMOVE_CONSTRAINTS = 43;
+	static final byte OP_H_REMOVE_VARS = 44;
+	static final byte OP_SET_THREADS = 45;
+	static final byte OP_SET_CUTS = 46;
+	static final byte OP_SET_HEURISTICS = 47;
+	static final byte OP_SOLVE_RELAXATION = 48;
+
+	/**
+	 * Wrapped solver that executes all calls.
+	 */
+	private final IncrementalIlpSolver solver;
+
+	/**
+	 * Output stream of the log.
+	 */
+	private final DataOutputStream out;
+
+	/**
+	 * Index of each string that was written to the log so far.
+	 */
+	private final Map<String, Integer> strings = new HashMap<>();
+
+	/**
+	 * True if the log was closed.
+	 */
+	private boolean closed = false;
+
+	/**
+	 * Creates a new recording decorator that writes its log to the given file.
+	 *
+	 * @param solver Wrapped solver that executes all calls.
+	 * @param file   Path of the log file to create.
+	 * @throws IlpSolverException If the log file can not be created.
+	 */
+	public RecordingIlpSolver(final IncrementalIlpSolver solver, final String file) throws IlpSolverException {
+		this.solver = solver;
+		try {
+			out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(file), true)));
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+		} catch (final IOException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	/**
+	 * Returns the wrapped solver.
+	 *
+	 * @return Wrapped solver.
+	 */
+	public IncrementalIlpSolver getSolver() {
+		return solver;
+	}
+
+	/*
+	 * Low level writing of the log.
+	 */
+
+	private void writeString(final String s) throws IOException {
+		if (s == null) {
+			out.writeInt(-1);
+			return;
+		}
+		final Integer index = strings.get(s);
+		if (index != null) {
+			out.writeInt(index);
+		} else {
+			// A new string is written with the next free index followed by its value
+			out.writeInt(strings.size());
+			out.writeUTF(s);
+			strings.put(s, strings.size());
+		}
+	}
+
+	private void writeStrings(final String[] values) throws IOException {
+		out.writeInt(values.length);
+		for (final String s : values) {
+			writeString(s);
+		}
+	}
+
+	private void writeStrings(final List<String> values) throws IOException {
+		out.writeInt(values.size());
+		for (final String s : values) {
+			writeString(s);
+		}
+	}
+
+	private void writeDoubles(final double[] values, final int length) throws IOException {
+		out.writeInt(length);
+		for (int i = 0; i < length; i++) {
+			out.writeDouble(values[i]);
+		}
+	}
+
+	private void writeInts(final int[] values, final int length) throws IOException {
+		out.writeInt(length);
+		for (int i = 0; i < length; i++) {
+			out.writeInt(values[i]);
+		}
+	}
+
+	private void writeConstraints(final Constraint[] constraints) throws IOException {
+		out.writeInt(constraints.length);
+		for (final Constraint c : constraints) {
+			writeString(c.getName());
+			out.writeDouble(c.getRight());
+			out.writeInt(c.size());
+			for (int i = 0; i < c.size(); i++) {
+				writeString(c.getVarname(i));
+				out.writeDouble(c.getWeight(i));
+			}
+		}
+	}
+
+	private void writeSos(final SosConstraint constraint) throws IOException {
+		writeString(constraint.getName());
+		out.writeInt(constraint.getVars().size());
+		for (final Variable v : constraint.getVars()) {
+			writeString(v.getName());
+			out.writeDouble(v.getWeight());
+		}
+	}
+
+	/**
+	 * Functional interface for writing the arguments of an operation.
+	 */
+	@FunctionalInterface
+	private interface Arguments {
+		void write() throws IOException;
+	}
+
+	/**
+	 * Writes an operation to the log.
+	 *
+	 * @param op        Operation code.
+	 * @param arguments Writer of the arguments of the operation.
+	 */
+	private void record(final byte op, final Arguments arguments) {
+		if (closed) {
+			throw new IlpSolverException("The recording was already closed.");
+		}
+		try {
+			out.writeByte(op);
+			arguments.write();
+		} catch (final IOException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	/*
+	 * Recorded calls.
+	 */
+
+	@Override
+	public void addSosConstraint(final SosConstraint constraint) {
+		record(OP_ADD_SOS, () -> writeSos(constraint));
+		solver.addSosConstraint(constraint);
+	}
+
+	@Override
+	public void addSosConstraints(final SosConstraint[] constraints) {
+		record(OP_ADD_SOS_ARRAY, () -> {
+			out.writeInt(constraints.length);
+			for (final SosConstraint c : constraints) {
+				writeSos(c);
+			}
+		});
+		solver.addSosConstraints(constraints);
+	}
+
+	@Override
+	public void addEqualsConstraint(final String name, final double right) throws IlpSolverException {
+		record(OP_ADD_EQ, () -> {
+			writeString(name);
+			out.writeDouble(right);
+		});
+		solver.addEqualsConstraint(name, right);
+	}
+
+	@Override
+	public void addEqualsConstraint(final String name, final double right, final double[] weights, final String[] vars)
+			throws IlpSolverException {
+		record(OP_ADD_EQ_TERMS, () -> {
+			writeString(name);
+			out.writeDouble(right);
+			writeDoubles(weights, weights.length);
+			writeStrings(vars);
+		});
+		solver.addEqualsConstraint(name, right, weights, vars);
+	}
+
+	@Override
+	public void addEqualsConstraints(final Constraint[] constraints) throws IlpSolverException {
+		record(OP_ADD_EQ_ARRAY, () -> writeConstraints(constraints));
+		solver.addEqualsConstraints(constraints);
+	}
+
+	@Override
+	public void addLessOrEqualsConstraint(final String name, final double right) throws IlpSolverException {
+		record(OP_ADD_LE, () -> {
+			writeString(name);
+			out.writeDouble(right);
+		});
+		solver.addLessOrEqualsConstraint(name, right);
+	}
+
+	@Override
+	public void addLessOrEqualsConstraint(final String name, final double right, final double[] weights,
+			final String[] vars) throws IlpSolverException {
+		record(OP_ADD_LE_TERMS, () -> {
+			writeString(name);
+			out.writeDouble(right);
+			writeDoubles(weights, weights.length);
+			writeStrings(vars);
+		});
+		solver.addLessOrEqualsConstraint(name, right, weights, vars);
+	}
+
+	@Override
+	public void addLessOrEqualsConstraints(final Constraint[] constraints) throws IlpSolverException {
+		record(OP_ADD_LE_ARRAY, () -> writeConstraints(constraints));
+		solver.addLessOrEqualsConstraints(constraints);
+	}
+
+	@Override
+	public void addToVariableWeight(final String name, final double change) throws IlpSolverException {
+		record(OP_ADD_TO_WEIGHT, () -> {
+			writeString(name);
+			out.writeDouble(change);
+		});
+		solver.addToVariableWeight(name, change);
+	}
+
+	@Override
+	public void addVariable(final String name, final double solutionWeight) throws IlpSolverException {
+		record(OP_ADD_VAR, () -> {
+			writeString(name);
+			out.writeDouble(solutionWeight);
+		});
+		solver.addVariable(name, solutionWeight);
+	}
+
+	@Override
+	public void addVariables(final Variable[] variables) throws IlpSolverException {
+		record(OP_ADD_VAR_ARRAY, () -> {
+			out.writeInt(variables.length);
+			for (final Variable v : variables) {
+				writeString(v.getName());
+				out.writeDouble(v.getWeight());
+			}
+		});
+		solver.addVariables(variables);
+	}
+
+	@Override
+	public void changeVariableBounds(final String name, final int lower, final int upper) throws IlpSolverException {
+		record(OP_CHANGE_BOUNDS, () -> {
+			writeString(name);
+			out.writeInt(lower);
+			out.writeInt(upper);
+		});
+		solver.changeVariableBounds(name, lower, upper);
+	}
+
+	@Override
+	public void changeVariableWeight(final String name, final double solutionWeight) throws IlpSolverException {
+		record(OP_CHANGE_WEIGHT, () -> {
+			writeString(name);
+			out.writeDouble(solutionWeight);
+		});
+		solver.changeVariableWeight(name, solutionWeight);
+	}
+
+	/**
+	 * Closes the log and disposes the wrapped solver.
+	 */
+	@Override
+	public void dispose() throws IlpSolverException {
+		if (!closed) {
+			record(OP_END, () -> {
+			});
+			closed = true;
+			try {
+				out.close();
+			} catch (final IOException e) {
+				throw new IlpSolverException(e);
+			}
+		}
+		solver.dispose();
+	}
+
+	@Override
+	public void loadModel(final String path) throws IlpSolverException {
+		record(OP_LOAD_MODEL, () -> writeString(path));
+		solver.loadModel(path);
+	}
+
+	@Override
+	public void removeConstraint(final String name) throws IlpSolverException {
+		record(OP_REMOVE_CONSTRAINT, () -> writeString(name));
+		solver.removeConstraint(name);
+	}
+
+	@Override
+	public void removeConstraints(final List<String> removeConstraints) {
+		record(OP_REMOVE_CONSTRAINTS, () -> writeStrings(removeConstraints));
+		solver.removeConstraints(removeConstraints);
+	}
+
+	@Override
+	public void removeVariable(final String name) throws IlpSolverException {
+		record(OP_REMOVE_VAR, () -> writeString(name));
+		solver.removeVariable(name);
+	}
+
+	@Override
+	public void removeVariables(final List<String> removeVariables) throws IlpSolverException {
+		record(OP_REMOVE_VARS, () -> writeStrings(removeVariables));
+		solver.removeVariables(removeVariables);
+	}
+
+	@Override
+	public void setConstraintRight(final String name, final double newRight) throws IlpSolverException {
+		record(OP_SET_RIGHT, () -> {
+			writeString(name);
+			out.writeDouble(newRight);
+		});
+		solver.setConstraintRight(name, newRight);
+	}
+
+	@Override
+	public void setConstraintRights(final Map<String, Double> changeConstraintRight) {
+		record(OP_SET_RIGHTS, () -> {
+			out.writeInt(changeConstraintRight.size());
+			for (final Entry<String, Double> e : changeConstraintRight.entrySet()) {
+				writeString(e.getKey());
+				out.writeDouble(e.getValue());
+			}
+		});
+		solver.setConstraintRights(changeConstraintRight);
+	}
+
+	@Override
+	public void setSeed(final int seed) {
+		record(OP_SET_SEED, () -> out.writeInt(seed));
+		solver.setSeed(seed);
+	}
+
+	@Override
+	public void setMipFocus(final int focus) {
+		record(OP_SET_MIP_FOCUS, () -> out.writeInt(focus));
+		solver.setMipFocus(focus);
+	}
+
+	@Override
+	public void setThreads(final int threads) {
+		record(OP_SET_THREADS, () -> out.writeInt(threads));
+		solver.setThreads(threads);
+	}
+
+	@Override
+	public void setCuts(final int level) {
+		record(OP_SET_CUTS, () -> out.writeInt(level));
+		solver.setCuts(level);
+	}
+
+	@Override
+	public void setHeuristics(final double share) {
+		record(OP_SET_HEURISTICS, () -> out.writeDouble(share));
+		solver.setHeuristics(share);
+	}
+
+	@Override
+	public void setTimeout(final int parameterValue) {
+		record(OP_SET_TIMEOUT, () -> out.writeInt(parameterValue));
+		solver.setTimeout(parameterValue);
+	}
+
+	@Override
+	public void setVariableBounds(final Map<String, int[]> changeVariableBounds) throws IlpSolverException {
+		record(OP_SET_BOUNDS, () -> {
+			out.writeInt(changeVariableBounds.size());
+			for (final Entry<String, int[]> e : changeVariableBounds.entrySet()) {
+				writeString(e.getKey());
+				out.writeInt(e.getValue()[0]);
+				out.writeInt(e.getValue()[1]);
+			}
+		});
+		solver.setVariableBounds(changeVariableBounds);
+	}
+
+	@Override
+	public void setVariableWeightForConstraint(final String name, final double weight, final String var)
+			throws IlpSolverException {
+		record(OP_SET_TERM, () -> {
+			writeString(name);
+			out.writeDouble(weight);
+			writeString(var);
+		});
+		solver.setVariableWeightForConstraint(name, weight, var);
+	}
+
+	@Override
+	public void setVariableWeights(final Map<String, Double> changeVariableWeights) throws IlpSolverException {
+		record(OP_SET_WEIGHTS, () -> {
+			out.writeInt(changeVariableWeights.size());
+			for (final Entry<String, Double> e : changeVariableWeights.entrySet()) {
+				writeString(e.getKey());
+				out.writeDouble(e.getValue());
+			}
+		});
+		solver.setVariableWeights(changeVariableWeights);
+	}
+
+	@Override
+	public void setVariableWeightsForConstraints(
+			final Map<String, Map<String, Double>> changeConstraitVariableWeights) {
+		record(OP_SET_TERMS, () -> {
+			out.writeInt(changeConstraitVariableWeights.size());
+			for (final Entry<String, Map<String, Double>> c : changeConstraitVariableWeights.entrySet()) {
+				writeString(c.getKey());
+				out.writeInt(c.getValue().size());
+				for (final Entry<String, Double> e : c.getValue().entrySet()) {
+					writeString(e.getKey());
+					out.writeDouble(e.getValue());
+				}
+			}
+		});
+		solver.setVariableWeightsForConstraints(changeConstraitVariableWeights);
+	}
+
+	/**
+	 * Solves the problem with the wrapped solver and records the status and the
+	 * duration of the solve. The log is flushed afterwards, i.e., it is complete
+	 * up to the last solve even if the JVM does not terminate normally.
+	 */
+	@Override
+	public Statistics solve() throws IlpSolverException {
+		final Statistics stats = solver.solve();
+		record(OP_SOLVE, () -> {
+			out.writeByte(stats.getStatus().ordinal());
+			out.writeLong(stats.getDuration());
+			out.flush();
+		});
+		return stats;
+	}
+
+	@Override
+	public Relaxation solveRelaxation() throws IlpSolverException {
+		final Relaxation relaxation = solver.solveRelaxation();
+		record(OP_SOLVE_RELAXATION, () -> {
+			out.writeByte(relaxation.getStatus().ordinal());
+			out.writeLong(relaxation.getDuration());
+		});
+		return relaxation;
+	}
+
+	@Override
+	public int addVariable(final double solutionWeight) throws IlpSolverException {
+		record(OP_H_ADD_VAR, () -> out.writeDouble(solutionWeight));
+		return solver.addVariable(solutionWeight);
+	}
+
+	@Override
+	public int addEqualsConstraint(final double right, final double[] weights, final int[] vars)
+			throws IlpSolverException {
+		record(OP_H_ADD_EQ, () -> {
+			out.writeDouble(right);
+			writeDoubles(weights, weights.length);
+			writeInts(vars, vars.length);
+		});
+		return solver.addEqualsConstraint(right, weights, vars);
+	}
+
+	@Override
+	public int addLessOrEqualsConstraint(final double right, final double[] weights, final int[] vars)
+			throws IlpSolverException {
+		record(OP_H_ADD_LE, () -> {
+			out.writeDouble(right);
+			writeDoubles(weights, weights.length);
+			writeInts(vars, vars.length);
+		});
+		return solver.addLessOrEqualsConstraint(right, weights, vars);
+	}
+
+	@Override
+	public void addSosConstraint(final int[] vars) throws IlpSolverException {
+		record(OP_H_ADD_SOS, () -> writeInts(vars, vars.length));
+		solver.addSosConstraint(vars);
+	}
+
+	@Override
+	public int addConstraints(final SparseConstraintBuilder rows) throws IlpSolverException {
+		record(OP_H_ADD_ROWS, () -> {
+			out.writeInt(rows.getRowCount());
+			out.writeInt(rows.getNonZeroCount());
+			for (int r = 0; r < rows.getRowCount(); r++) {
+				out.writeBoolean(rows.isRemoved(r));
+				out.writeBoolean(rows.isEquals(r));
+				out.writeDouble(rows.getRight(r));
+				writeString(rows.getName(r));
+				out.writeInt(rows.getRowStart()[r + 1]);
+			}
+			writeInts(rows.getColumns(), rows.getNonZeroCount());
+			writeDoubles(rows.getValues(), rows.getNonZeroCount());
+		});
+		return solver.addConstraints(rows);
+	}
+
+	@Override
+	public void changeVariableBounds(final int var, final int lower, final int upper) throws IlpSolverException {
+		record(OP_H_CHANGE_BOUNDS, () -> {
+			out.writeInt(var);
+			out.writeInt(lower);
+			out.writeInt(upper);
+		});
+		solver.changeVariableBounds(var, lower, upper);
+	}
+
+	@Override
+	public void changeVariableWeight(final int var, final double solutionWeight) throws IlpSolverException {
+		record(OP_H_CHANGE_WEIGHT, () -> {
+			out.writeInt(var);
+			out.writeDouble(solutionWeight);
+		});
+		solver.changeVariableWeight(var, solutionWeight);
+	}
+
+	@Override
+	public void removeConstraint(final int constraint) throws IlpSolverException {
+		record(OP_H_REMOVE_CONSTRAINT, () -> out.writeInt(constraint));
+		solver.removeConstraint(constraint);
+	}
+
+	@Override
+	public void removeVariable(final int var) throws IlpSolverException {
+		record(OP_H_REMOVE_VAR, () -> out.writeInt(var));
+		solver.removeVariable(var);
+	}
+
+	@Override
+	public void removeConstraints(final int[] constraints) throws IlpSolverException {
+		record(OP_H_REMOVE_CONSTRAINTS, () -> writeInts(constraints, constraints.length));
+		solver.removeConstraints(constraints);
+	}
+
+	@Override
+	public void removeVariables(final int[] vars) throws IlpSolverException {
+		record(OP_H_REMOVE_VARS, () -> writeInts(vars, vars.length));
+		solver.removeVariables(vars);
+	}
+
+	@Override
+	public void setConstraintRight(final int constraint, final double newRight) throws IlpSolverException {
+		record(OP_H_SET_RIGHT, () -> {
+			out.writeInt(constraint);
+			out.writeDouble(newRight);
+		});
+		solver.setConstraintRight(constraint, newRight);
+	}
+
+	@Override
+	public void setVariableWeightForConstraint(final int constraint, final double weight, final int var)
+			throws IlpSolverException {
+		record(OP_H_SET_TERM, () -> {
+			out.writeInt(constraint);
+			out.writeDouble(weight);
+			out.writeInt(var);
+		});
+		solver.setVariableWeightForConstraint(constraint, weight, var);
+	}
+
+	@Override
+	public void setVariableName(final int var, final String name) throws IlpSolverException {
+		record(OP_H_SET_VAR_NAME, () -> {
+			out.writeInt(var);
+			writeString(name);
+		});
+		solver.setVariableName(var, name);
+	}
+
+	@Override
+	public void setConstraintName(final int constraint, final String name) throws IlpSolverException {
+		record(OP_H_SET_CONSTRAINT_NAME, () -> {
+			out.writeInt(constraint);
+			writeString(name);
+		});
+		solver.setConstraintName(constraint, name);
+	}
+
+	@Override
+	public void setStartSolution(final int[] vars, final double[] values) throws IlpSolverException {
+		record(OP_H_SET_START, () -> {
+			writeInts(vars, vars.length);
+			writeDoubles(values, values.length);
+		});
+		solver.setStartSolution(vars, values);
+	}
+
+	/*
+	 * Calls that are passed through without recording.
+	 */
+
+	@Override
+	public int getConstraintCount() {
+		return solver.getConstraintCount();
+	}
+
+	@Override
+	public Map<String, Boolean> getMappings() throws IlpSolverException {
+		return solver.getMappings();
+	}
+
+	@Override
+	public double getObjectiveValue() throws IlpSolverException {
+		return solver.getObjectiveValue();
+	}
+
+	@Override
+	public int getVariableCount() {
+		return solver.getVariableCount();
+	}
+
+	@Override
+	public boolean hasVariable(final String name) throws IlpSolverException {
+		return solver.hasVariable(name);
+	}
+
+	@Override
+	public boolean isSelected(final String name) throws IlpSolverException {
+		return solver.isSelected(name);
+	}
+
+	@Override
+	public void save(final String file) throws IlpSolverException {
+		solver.save(file);
+	}
+
+	@Override
+	public int getVariableHandleCount() {
+		return solver.getVariableHandleCount();
+	}
+
+	@Override
+	public int getConstraintHandleCount() {
+		return solver.getConstraintHandleCount();
+	}
+
+	@Override
+	public void getMappings(final boolean[] selected) throws IlpSolverException {
+		solver.getMappings(selected);
+	}
+
+	@Override
+	public int[] getSelectedVariables() throws IlpSolverException {
+		return solver.getSelectedVariables();
+	}
+
+	@Override
+	public boolean hasSolution() {
+		return solver.hasSolution();
+	}
+
+	@Override
+	public boolean isSelected(final int var) throws IlpSolverException {
+		return solver.isSelected(var);
+	}
+
+	@Override
+	public void addIncumbentListener(final IncumbentListener listener) {
+		solver.addIncumbentListener(listener);
+	}
+
+	@Override
+	public void removeIncumbentListener(final IncumbentListener listener) {
+		solver.removeIncumbentListener(listener);
+	}
+
+	@Override
+	public void cancel() {
+		solver.cancel();
+	}
+
+	@Override
+	public void resetCancel() {
+		solver.resetCancel();
+	}
+
+}
@@ -0,0 +1,136 @@
+package ilp.wrapper.impl;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntPredicate;
+
+import ilp.wrapper.Incumbent;
+import ilp.wrapper.IncumbentListener;
+
+/**
+ * Helper that holds the incumbent listeners and the cancellation state of an
+ * ILP solver implementation. The solver implementations forward the solution
+ * callbacks of their libraries to this object.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+class SolverCallbacks {
+
+	/**
+	 * All registered incumbent listeners.
+	 */
+	private final List<IncumbentListener> listeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * True if the cancellation of the (running or next) solve was requested.
+	 */
+	private volatile boolean cancelRequested = false;
+
+	/**
+	 * Start time of the current solve in nanoseconds.
+	 */
+	private long start;
+
+	/**
+	 * Objective value of the last published incumbent of the current solve.
+	 */
+	private double bestObjective;
+
+	/**
+	 * Number of improving incumbents of the current solve.
+	 */
+	private int incumbentCount;
+
+	void addListener(final IncumbentListener listener) {
+		listeners.add(listener);
+	}
+
+	void removeListener(final IncumbentListener listener) {
+		listeners.remove(listener);
+	}
+
+	boolean hasListeners() {
+		return !listeners.isEmpty();
+	}
+
+	/**
+	 * Requests the cancellation of the running solve. If no solve is running, the
+	 * next solve will stop immediately.
+	 */
+	void requestCancel() {
+		cancelRequested = true;
+	}
+
+	/**
+	 * Discards a cancellation request that did not reach a solve.
+	 */
+	void resetCancel() {
+		cancelRequested = false;
+	}
+
+	boolean isCancelRequested() {
+		return cancelRequested;
+	}
+
+	/**
+	 * Must be called at the start of each solve.
+	 */
+	synchronized void solveStarted() {
+		start = System.nanoTime();
+		bestObjective = Double.POSITIVE_INFINITY;
+		incumbentCount = 0;
+	}
+
+	/**
+	 * Returns the number of improving incumbents of the current (or last) solve.
+	 *
+	 * @return Number of improving incumbents.
+	 */
+	synchronized int getIncumbentCount() {
+		return incumbentCount;
+	}
+
+	/**
+	 * Must be called at the end of each solve. A cancellation request is consumed
+	 * by the solve it stopped.
+	 */
+	void solveFinished() {
+		cancelRequested = false;
+	}
+
+	/**
+	 * Publishes an incumbent to all listeners if it improves the last published
+	 * one of the current solve.
+	 *
+	 * @param objective Objective value of the incumbent.
+	 * @param bound     Best known bound of the objective value.
+	 */
+	void publish(final double objective, final double bound) {
+		publish(objective, bound, null);
+	}
+
+	/**
+	 * Publishes an incumbent to all listeners if it improves the last published
+	 * one of the current solve.
+	 *
+	 * @param objective Objective value of the incumbent.
+	 * @param bound     Best known bound of the objective value.
+	 * @param selection Solution of the incumbent by variable handle, which is only
+	 *                  valid while the listeners are notified (may be null).
+	 */
+	synchronized void publish(final double objective, final double bound, final IntPredicate selection) {
+		if (objective >= bestObjective) {
+			return;
+		}
+		bestObjective = objective;
+		incumbentCount++;
+		if (listeners.isEmpty()) {
+			return;
+		}
+		final Incumbent incumbent = new Incumbent(objective, bound, System.nanoTime() - start, selection);
+		for (final IncumbentListener listener : listeners) {
+			listener.incumbentFound(incumbent);
+		}
+	}
+
+}
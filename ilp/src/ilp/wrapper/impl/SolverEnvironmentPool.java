@@ -0,0 +1,154 @@
+package ilp.wrapper.impl;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import com.gurobi.gurobi.GRB.IntParam;
+import com.gurobi.gurobi.GRB.StringParam;
+import com.gurobi.gurobi.GRBEnv;
+import com.gurobi.gurobi.GRBException;
+
+import ilog.concert.IloException;
+import ilog.cplex.IloCplex;
+import ilp.wrapper.IlpSolverException;
+import ilp.wrapper.config.IlpSolverConfig;
+
+/**
+ * Pool of warmed-up solver environments for the Gurobi and the CPLEX solver
+ * implementation. Creating a new Gurobi environment (license check, log file,
+ * parameter setup) or a new CPLEX object is expensive and the PM algorithms
+ * create a new solver for every virtual network, pipeline stage and migration
+ * try. Therefore, environments of disposed solvers are kept alive for the
+ * lifetime of the JVM and handed out to the next solver.
+ *
+ * Each environment is only used by one solver at a time. All parameters are set
+ * by the solvers on their models and the parameters of an environment are reset
+ * on its release, i.e., an environment does not keep any state of a previous
+ * solver. The pool can be disabled via {@link IlpSolverConfig#POOL_ENVIRONMENTS}.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class SolverEnvironmentPool {
+
+	/**
+	 * Name of the Gurobi log file.
+	 */
+	private static final String GUROBI_LOG_FILE = "Gurobi_ILP.log";
+
+	/**
+	 * Idle Gurobi environments.
+	 */
+	private static final Deque<GRBEnv> gurobiEnvs = new ArrayDeque<>();
+
+	/**
+	 * Idle CPLEX objects (with cleared models).
+	 */
+	private static final Deque<IloCplex> cplexObjects = new ArrayDeque<>();
+
+	/**
+	 * Private constructor ensures no instantiation of this class.
+	 */
+	private SolverEnvironmentPool() {
+	}
+
+	/**
+	 * Returns an idle Gurobi environment or creates a new one if there is none. The
+	 * output of the environment is disabled if
+	 * {@link IlpSolverConfig#ENABLE_ILP_OUTPUT} is false, which also applies to
+	 * models loaded from files.
+	 *
+	 * @return Gurobi environment that is exclusively used by the caller until it
+	 *         gets released.
+	 * @throws GRBException If Gurobi encounters a problem.
+	 */
+	public static synchronized GRBEnv acquireGurobiEnv() throws GRBException {
+		GRBEnv env = gurobiEnvs.pollFirst();
+		if (env == null) {
+			// Set up the output before the start to also suppress the start banner
+			env = new GRBEnv(true);
+			env.set(StringParam.LogFile, GUROBI_LOG_FILE);
+			env.set(IntParam.OutputFlag, IlpSolverConfig.ENABLE_ILP_OUTPUT ? 1 : 0);
+			env.start();
+		} else {
+			env.set(IntParam.OutputFlag, IlpSolverConfig.ENABLE_ILP_OUTPUT ? 1 : 0);
+		}
+		return env;
+	}
+
+	/**
+	 * Resets all parameters of a Gurobi environment to their default values and
+	 * returns it to the pool. All models of the environment must have been
+	 * disposed before. If pooling is disabled, the environment gets disposed.
+	 *
+	 * @param env Gurobi environment to release.
+	 * @throws GRBException If Gurobi encounters a problem.
+	 */
+	public static synchronized void releaseGurobiEnv(final GRBEnv env) throws GRBException {
+		if (IlpSolverConfig.POOL_ENVIRONMENTS) {
+			env.resetParams();
+			env.set(StringParam.LogFile, GUROBI_LOG_FILE);
+			gurobiEnvs.addFirst(env);
+		} else {
+			env.dispose();
+		}
+	}
+
+	/**
+	 * Returns an idle CPLEX object or creates a new one if there is none.
+	 *
+	 * @return CPLEX object with an empty model that is exclusively used by the
+	 *         caller until it gets released.
+	 * @throws IloException If CPLEX encounters a problem.
+	 */
+	public static synchronized IloCplex acquireCplex() throws IloException {
+		final IloCplex cplex = cplexObjects.pollFirst();
+		return cplex != null ? cplex : new IloCplex();
+	}
+
+	/**
+	 * Clears the model of a CPLEX object, resets all of its parameters to their
+	 * default values and returns it to the pool. If pooling is disabled, the CPLEX
+	 * object gets ended.
+	 *
+	 * @param cplex CPLEX object to release.
+	 * @throws IloException If CPLEX encounters a problem.
+	 */
+	public static synchronized void releaseCplex(final IloCplex cplex) throws IloException {
+		if (IlpSolverConfig.POOL_ENVIRONMENTS) {
+			cplex.clearModel();
+			cplex.setDefaults();
+			cplexObjects.addFirst(cplex);
+		} else {
+			cplex.end();
+		}
+	}
+
+	/**
+	 * Returns the number of idle environments of both solvers.
+	 *
+	 * @return Number of idle environments.
+	 */
+	public static synchronized int getIdleCount() {
+		return gurobiEnvs.size() + cplexObjects.size();
+	}
+
+	/**
+	 * Disposes all idle environments, e.g., to release the solver licenses before
+	 * the end of the JVM.
+	 *
+	 * @throws IlpSolverException If one of the solvers encounters a problem.
+	 */
+	public static synchronized void clear() throws IlpSolverException {
+		try {
+			while (!gurobiEnvs.isEmpty()) {
+				gurobiEnvs.pollFirst().dispose();
+			}
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+		while (!cplexObjects.isEmpty()) {
+			cplexObjects.pollFirst().end();
+		}
+	}
+
+}
@@ -0,0 +1,117 @@
+package metrics.handler;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.observation.Observation;
+import metrics.HasMetric;
+import metrics.MetricTransformer;
+import metrics.manager.Context;
+import metrics.reporter.NotionReporter;
+import metrics.reporter.NotionReporter.PropertyFormat;
+import metrics.reporter.TextSummaryReporter;
+import metrics.reporter.TextSummaryReporter.Aggregation;
+
+/**
+ * Handles all metrics related to the calls of the ILP solver. For each category
+ * of calls, the wall time in seconds ("ilp_calls.[category].time"), the number
+ * of calls ("ilp_calls.[category].calls") and the number of passed or returned
+ * elements ("ilp_calls.[category].elements") are recorded.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IlpCallHandler implements HasMetric<Context.IlpCallContext> {
+
+	/**
+	 * The {@link MeterRegistry} to register the metrics to.
+	 */
+	private MeterRegistry meterRegistry;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Collection<MetricTransformer> getProvidedMeters() {
+		class IlpCallMeter implements TextSummaryReporter.AggregatingMeter, NotionReporter.NotionMeter {
+			@Override
+			public Map<String, Object> toEntry(Meter meter, Map<String, Object> unmodifiableEntry) {
+				DistributionSummary summary = (DistributionSummary) meter;
+				Map<String, Object> entry = new HashMap<>();
+				entry.put(meter.getId().getName(), summary.totalAmount());
+				return entry;
+			}
+
+			@Override
+			public boolean supportsMeter(Meter meter) {
+				return meter instanceof DistributionSummary && meter.getId().getName().startsWith("ilp_calls.");
+			}
+
+			@Override
+			public boolean shouldResetMeter(Meter meter) {
+				return true;
+			}
+
+			@Override
+			public Aggregation getAggregationType(Meter meter, String key, Object value) {
+				return TextSummaryReporter.AGGREGATION_TYPE.SUM;
+			}
+
+			@Override
+			public PropertyFormat getNotionPropertyFormat(Meter meter, String key, Object value) {
+				return NotionReporter.PROPERTY_TYPE.NUMBER;
+			}
+		}
+		return List.of(new IlpCallMeter());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void onStop(Context.IlpCallContext context) {
+		final List<Tag> tags = createTags(context);
+		for (final Context.IlpCallContext.IlpCall call : context.getCalls()) {
+			if (call.calls() == 0) {
+				continue;
+			}
+			final String prefix = "ilp_calls." + call.category();
+			meterRegistry.summary(prefix + ".time", tags).record(call.time() / 1_000_000_000.0);
+			meterRegistry.summary(prefix + ".calls", tags).record(call.calls());
+			meterRegistry.summary(prefix + ".elements", tags).record(call.elements());
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean supportsContext(Observation.Context context) {
+		return context instanceof Context.IlpCallContext;
+	}
+
+	/**
+	 * Transform the context key-values into a set of Tags to register with the
+	 * meters.
+	 *
+	 * @param context The context to transform.
+	 * @return The tags to register with the meters.
+	 */
+	private List<Tag> createTags(Context context) {
+		return context.getLowCardinalityKeyValues().stream().map(kv -> Tag.of(kv.getKey(), kv.getValue())).toList();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setMeterRegistry(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+}
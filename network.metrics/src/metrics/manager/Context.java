@@ -1,5 +1,8 @@
 package metrics.manager;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -302,6 +305,52 @@ public abstract class Context extends Observation.Context {
 		}
 	}
 
+	/**
+	 * A context for the calls of the ILP solver during the embedding (see
+	 * {@link IlpStepContext}). It holds the number of calls, the number of passed
+	 * or returned elements and the wall time of each category of solver calls. It
+	 * is no {@link PhaseContext}, i.e., it does not add a timing or memory
+	 * measurement of its own.
+	 */
+	public static class IlpCallContext extends Context {
+
+		/**
+		 * Measurement of one category of solver calls.
+		 *
+		 * @param category Name of the category.
+		 * @param calls    Number of calls.
+		 * @param elements Number of passed or returned elements.
+		 * @param time     Wall time of all calls in nanoseconds.
+		 */
+		public record IlpCall(String category, long calls, long elements, long time) {
+		}
+
+		/**
+		 * The measured categories of solver calls.
+		 */
+		protected final List<IlpCall> calls = new ArrayList<>();
+
+		/**
+		 * Adds the measurement of one category of solver calls.
+		 * 
+		 * @param category Name of the category.
+		 * @param calls    Number of calls.
+		 * @param elements Number of passed or returned elements.
+		 * @param time     Wall time of all calls in nanoseconds.
+		 */
+		public void addCall(final String category, final long calls, final long elements, final long time) {
+			this.calls.add(new IlpCall(category, calls, elements, time));
+		}
+
+		/**
+		 * @return The measured categories of solver calls.
+		 */
+		public List<IlpCall> getCalls() {
+			return Collections.unmodifiableList(this.calls);
+		}
+
+	}
+
 	/**
 	 * A {@link StepContext} for the PM step of the algorithm.
 	 */
@@ -23,6 +23,7 @@ import metrics.Reporter;
 import metrics.handler.CounterHandler;
 import metrics.handler.EmbeddedNetworkHandler;
 import metrics.handler.ErrorHandler;
+import metrics.handler.IlpCallHandler;
 import metrics.handler.MemoryHandler;
 import metrics.handler.ThreadHandler;
 import metrics.handler.TimingHandler;
@@ -98,6 +99,7 @@ public class MetricsManager implements AutoCloseable {
 			this.addMeter(new CounterHandler());
 			this.addMeter(new MemoryHandler());
 			this.addMeter(new ThreadHandler());
+			this.addMeter(new IlpCallHandler());
 
 			this.addReporter(new TextSummaryReporter());
 		}
@@ -112,7 +112,9 @@ public class CsvReporter extends GroupByTagValueReporter implements Reporter {
 					"total_communication_cost_a", "total_communication_cost_b", "total_communication_cost_c",
 					"total_communication_cost_d", "total_communication_objective_c", "total_communication_objective_d",
 					"total_taf_communication_cost", "operation_cost", "memory_total", "memory_prepare",
-					"memory_execute");
+					"memory_execute", "solver.status", "solver.rows", "solver.columns", "solver.nonzeros",
+					"solver.sos", "solver.presolve_removed_rows", "solver.presolve_removed_columns",
+					"solver.time_root", "solver.nodes", "solver.gap", "solver.incumbents");
 		}
 	}
 
@@ -0,0 +1,41 @@
+package test.algorithms.pm;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+
+import algorithms.AlgorithmConfig;
+import algorithms.AlgorithmConfig.Objective;
+import algorithms.pm.VnePmMdvneAlgorithm;
+import model.SubstrateNetwork;
+import model.VirtualNetwork;
+import test.algorithms.generic.AVneAlgorithmPathBandwidthBugTest;
+
+/**
+ * Test class to trigger the minimum path/link bandwidth bug with lazily added
+ * link constraints (see {@link AlgorithmConfig#pmLazyLinkConstraints}).
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class VnePmMdvneAlgorithmLazyLinkConstraintsTest extends AVneAlgorithmPathBandwidthBugTest {
+
+	@Override
+	public void initAlgo(final SubstrateNetwork sNet, final Set<VirtualNetwork> vNets) {
+		// The algorithm is only able to use the total communication objective C because
+		// it is hard-coded in GIPSL
+		AlgorithmConfig.obj = Objective.TOTAL_COMMUNICATION_OBJECTIVE_C;
+		AlgorithmConfig.pmLazyLinkConstraints = true;
+		algo = new VnePmMdvneAlgorithm();
+		algo.prepare(sNet, vNets);
+	}
+
+	@AfterEach
+	public void resetAlgo() {
+		AlgorithmConfig.pmLazyLinkConstraints = false;
+		facade.resetAll();
+		if (algo != null) {
+			((VnePmMdvneAlgorithm) algo).dispose();
+		}
+	}
+
+}
@@ -0,0 +1,80 @@
+package test.algorithms.pm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import algorithms.AlgorithmConfig;
+import algorithms.AlgorithmConfig.LpRounding;
+import algorithms.AlgorithmConfig.Objective;
+import algorithms.pm.VnePmMdvneAlgorithm;
+import ilp.wrapper.Statistics;
+import model.SubstrateNetwork;
+import model.VirtualNetwork;
+import test.algorithms.generic.AVneAlgorithmPathBandwidthBugTest;
+
+/**
+ * Test class to trigger the minimum path/link bandwidth bug with the rounded LP
+ * relaxation (see {@link AlgorithmConfig#pmLpRounding}).
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class VnePmMdvneAlgorithmLpRoundingTest extends AVneAlgorithmPathBandwidthBugTest {
+
+	@Override
+	public void initAlgo(final SubstrateNetwork sNet, final Set<VirtualNetwork> vNets) {
+		// The algorithm is only able to use the total communication objective C because
+		// it is hard-coded in GIPSL
+		AlgorithmConfig.obj = Objective.TOTAL_COMMUNICATION_OBJECTIVE_C;
+		AlgorithmConfig.pmLpRounding = LpRounding.DEPENDENT;
+		algo = new VnePmMdvneAlgorithm();
+		algo.prepare(sNet, vNets);
+	}
+
+	@AfterEach
+	public void resetAlgo() {
+		AlgorithmConfig.pmLpRounding = LpRounding.NONE;
+		facade.resetAll();
+		if (algo != null) {
+			((VnePmMdvneAlgorithm) algo).dispose();
+		}
+	}
+
+	@Test
+	public void testIntegralityGapIsReported() {
+		facade.addNetworkToRoot("sub", false);
+		facade.addNetworkToRoot("virt", true);
+		facade.addSwitchToNetwork("sub_sw", "sub", 0);
+		facade.addServerToNetwork("sub_srv1", "sub", 2, 2, 2, 1);
+		facade.addServerToNetwork("sub_srv2", "sub", 2, 2, 2, 1);
+		facade.addLinkToNetwork("sub_ln1", "sub", 1, "sub_srv1", "sub_sw");
+		facade.addLinkToNetwork("sub_ln2", "sub", 1, "sub_sw", "sub_srv1");
+		facade.addLinkToNetwork("sub_ln3", "sub", 1, "sub_srv2", "sub_sw");
+		facade.addLinkToNetwork("sub_ln4", "sub", 1, "sub_sw", "sub_srv2");
+		facade.addServerToNetwork("virt_srv1", "virt", 1, 1, 1, 1);
+		final VirtualNetwork vNet = (VirtualNetwork) facade.getNetworkById("virt");
+		vNet.setCpu(1);
+		vNet.setMemory(1);
+		vNet.setStorage(1);
+		facade.createAllPathsForNetwork("sub");
+
+		initAlgo((SubstrateNetwork) facade.getNetworkById("sub"), Set.of(vNet));
+		assertTrue(algo.execute());
+
+		// Both servers fit, so the rounding does not fall back to the ILP
+		final VnePmMdvneAlgorithm pm = (VnePmMdvneAlgorithm) algo;
+		final Statistics stats = pm.getIlpStatistics();
+		assertTrue(pm.getIntegralityGap() >= 0);
+		assertEquals(pm.getIntegralityGap(), stats.getGap(), 1e-6);
+		assertEquals(1, stats.getIncumbentCount());
+
+		// The gap belongs to one embedding request only
+		pm.prepare((SubstrateNetwork) facade.getNetworkById("sub"), Set.of(vNet));
+		assertTrue(Double.isNaN(pm.getIntegralityGap()));
+	}
+
+}
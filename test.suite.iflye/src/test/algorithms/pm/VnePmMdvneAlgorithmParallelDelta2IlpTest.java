@@ -0,0 +1,31 @@
+package test.algorithms.pm;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+
+import algorithms.AlgorithmConfig;
+import model.SubstrateNetwork;
+import model.VirtualNetwork;
+
+/**
+ * Test class for the VNE PM MdVNE algorithm implementation with the parallel
+ * translation of the matches (see {@link AlgorithmConfig#pmParallelDelta2Ilp}).
+ * All tests of the sequential translation must lead to the same embeddings.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class VnePmMdvneAlgorithmParallelDelta2IlpTest extends VnePmMdvneAlgorithmTotalCommunicationObjectiveCTest {
+
+	@Override
+	public void initAlgo(final SubstrateNetwork sNet, final Set<VirtualNetwork> vNets) {
+		AlgorithmConfig.pmParallelDelta2Ilp = true;
+		super.initAlgo(sNet, vNets);
+	}
+
+	@AfterEach
+	public void resetParallelDelta2Ilp() {
+		AlgorithmConfig.pmParallelDelta2Ilp = false;
+	}
+
+}
@@ -0,0 +1,133 @@
+package test.algorithms.pm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import algorithms.AlgorithmConfig;
+import algorithms.AlgorithmConfig.Objective;
+import algorithms.pm.VnePmMdvneAlgorithm;
+import model.SubstrateNetwork;
+import model.VirtualNetwork;
+import model.VirtualServer;
+
+/**
+ * Test class for the VNE PM MdVNE algorithm implementation with a persistent
+ * ILP model across embedding requests (see
+ * {@link AlgorithmConfig#pmPersistentModel}). All tests of the default
+ * formulation must lead to the same embeddings.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class VnePmMdvneAlgorithmPersistentModelTest extends VnePmMdvneAlgorithmTotalCommunicationObjectiveCTest {
+
+	@Override
+	public void initAlgo(final SubstrateNetwork sNet, final Set<VirtualNetwork> vNets) {
+		AlgorithmConfig.pmPersistentModel = true;
+		super.initAlgo(sNet, vNets);
+	}
+
+	@AfterEach
+	public void resetPersistentModel() {
+		AlgorithmConfig.pmPersistentModel = false;
+		AlgorithmConfig.pmPersistentModelRequests = 64;
+	}
+
+	@Test
+	public void testSecondRequestOnSameModel() {
+		oneTierSetupThreeServers("sub", 4);
+		oneTierSetupTwoServers("virt", 1);
+		facade.createAllPathsForNetwork("sub");
+
+		final SubstrateNetwork sNet = (SubstrateNetwork) facade.getNetworkById("sub");
+		final VirtualNetwork vNet = (VirtualNetwork) facade.getNetworkById("virt");
+
+		initAlgo(sNet, Set.of(vNet));
+		final VnePmMdvneAlgorithm pm = (VnePmMdvneAlgorithm) algo;
+		assertTrue(pm.execute());
+		final int rows = pm.getIlpStatistics().getRows();
+
+		// The same algorithm object embeds the second request on the kept model
+		facade.addNetworkToRoot("virt2", true);
+		oneTierSetupTwoServers("virt2", 1);
+		final VirtualNetwork vNet2 = (VirtualNetwork) facade.getNetworkById("virt2");
+		pm.prepare(sNet, Set.of(vNet2));
+		assertTrue(pm.execute());
+
+		// All rows of the first request were removed
+		assertEquals(rows, pm.getIlpStatistics().getRows());
+		vNet2.getNodess().forEach(n -> {
+			if (n instanceof VirtualServer) {
+				assertNotNull(((VirtualServer) n).getHost());
+			}
+		});
+	}
+
+	@Test
+	public void testMatchesOfFormerRequestsAreDropped() {
+		final InspectedAlgorithm pm = embedTwoRequests();
+		assertTrue(pm.getFirstMatchVariable() > 0);
+		assertEquals(pm.firstMatchCount, pm.getMatchCount());
+	}
+
+	@Test
+	public void testModelIsRebuiltAfterRequestLimit() {
+		AlgorithmConfig.pmPersistentModelRequests = 1;
+		final InspectedAlgorithm pm = embedTwoRequests();
+		assertEquals(0, pm.getFirstMatchVariable());
+		assertEquals(pm.firstMatchCount, pm.getMatchCount());
+	}
+
+	/**
+	 * Embeds two virtual networks of the same size with two requests of the same
+	 * algorithm object.
+	 *
+	 * @return Algorithm object after the second request.
+	 */
+	private InspectedAlgorithm embedTwoRequests() {
+		AlgorithmConfig.obj = Objective.TOTAL_COMMUNICATION_OBJECTIVE_C;
+		AlgorithmConfig.pmPersistentModel = true;
+		oneTierSetupThreeServers("sub", 4);
+		oneTierSetupTwoServers("virt", 1);
+		facade.addNetworkToRoot("virt2", true);
+		oneTierSetupTwoServers("virt2", 1);
+		facade.createAllPathsForNetwork("sub");
+
+		final SubstrateNetwork sNet = (SubstrateNetwork) facade.getNetworkById("sub");
+		final InspectedAlgorithm pm = new InspectedAlgorithm();
+		algo = pm;
+		pm.prepare(sNet, Set.of((VirtualNetwork) facade.getNetworkById("virt")));
+		assertTrue(pm.execute());
+		pm.firstMatchCount = pm.getMatchCount();
+
+		pm.prepare(sNet, Set.of((VirtualNetwork) facade.getNetworkById("virt2")));
+		assertTrue(pm.execute());
+		return pm;
+	}
+
+	/**
+	 * PM algorithm that exposes the matches of its ILP variables.
+	 */
+	private static class InspectedAlgorithm extends VnePmMdvneAlgorithm {
+
+		/**
+		 * Number of matches after the first request.
+		 */
+		private int firstMatchCount;
+
+		private int getMatchCount() {
+			return variablesToMatch.size();
+		}
+
+		private int getFirstMatchVariable() {
+			return firstMatchVariable;
+		}
+
+	}
+
+}
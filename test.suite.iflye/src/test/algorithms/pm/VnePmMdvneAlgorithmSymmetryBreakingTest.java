@@ -0,0 +1,71 @@
+package test.algorithms.pm;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import algorithms.AlgorithmConfig;
+import algorithms.AlgorithmConfig.Objective;
+import algorithms.pm.VnePmMdvneAlgorithm;
+import model.SubstrateNetwork;
+import model.VirtualNetwork;
+
+/**
+ * Test class for the VNE PM MdVNE algorithm implementation with symmetry
+ * breaking constraints for identical virtual servers (see
+ * {@link AlgorithmConfig#pmSymmetryBreaking}). All tests of the default
+ * formulation must lead to the same embeddings (up to permutations of
+ * identical virtual servers).
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class VnePmMdvneAlgorithmSymmetryBreakingTest extends VnePmMdvneAlgorithmTotalCommunicationObjectiveCTest {
+
+	@Override
+	public void initAlgo(final SubstrateNetwork sNet, final Set<VirtualNetwork> vNets) {
+		AlgorithmConfig.pmSymmetryBreaking = true;
+		super.initAlgo(sNet, vNets);
+	}
+
+	@AfterEach
+	public void resetSymmetryBreaking() {
+		AlgorithmConfig.pmSymmetryBreaking = false;
+	}
+
+	@Test
+	public void testOrderingRows() {
+		final int rows = solveAndCountRows(false);
+		final int symmetryRows = solveAndCountRows(true);
+		assertTrue(symmetryRows > rows);
+	}
+
+	/**
+	 * Embeds a virtual network with three identical servers on a substrate
+	 * network with four servers and returns the number of rows of the solved ILP.
+	 *
+	 * @param symmetry True if the symmetry breaking constraints should be added.
+	 * @return Number of rows of the solved ILP.
+	 */
+	private int solveAndCountRows(final boolean symmetry) {
+		facade.resetAll();
+		facade.addNetworkToRoot("sub", false);
+		facade.addNetworkToRoot("virt", true);
+		oneTierSetupThreeServers("virt", 1);
+		twoTierSetupFourServers("sub", 1);
+		facade.createAllPathsForNetwork("sub");
+
+		AlgorithmConfig.obj = Objective.TOTAL_COMMUNICATION_OBJECTIVE_C;
+		AlgorithmConfig.pmSymmetryBreaking = symmetry;
+		final VnePmMdvneAlgorithm pm = new VnePmMdvneAlgorithm();
+		pm.prepare((SubstrateNetwork) facade.getNetworkById("sub"),
+				Set.of((VirtualNetwork) facade.getNetworkById("virt")));
+		assertTrue(pm.execute());
+		final int rows = pm.getIlpStatistics().getRows();
+		pm.dispose();
+		return rows;
+	}
+
+}
@@ -0,0 +1,68 @@
+package test.algorithms.pm.pipeline;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import algorithms.AlgorithmConfig;
+import algorithms.pm.stages.VnePmMdvneAlgorithmPipelineStageVnet;
+import model.Node;
+import model.SubstrateNetwork;
+import model.SubstrateServer;
+import model.VirtualNetwork;
+
+/**
+ * Test class for the virtual network stage of the VNE PM MdVNE pipeline with a
+ * latency budget (see {@link AlgorithmConfig#pmLatencyBudget}). The mapping
+ * variables of the virtual networks to substrate servers are placements and
+ * must never be taken for rejections.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class VnePmMdvneAlgorithmPipelineStageVnetLatencyBudgetTest
+		extends VnePmMdvneAlgorithmPipelineTwoStagesVnetTotalCommunicationObjectiveCTest {
+
+	@AfterEach
+	public void resetLatencyBudget() {
+		AlgorithmConfig.pmLatencyBudget = -1;
+	}
+
+	@Test
+	public void testZeroBudgetNeverOvercommits() {
+		facade.addNetworkToRoot("virt2", true);
+		facade.addNetworkToRoot("virt3", true);
+		oneTierSetupTwoServers("virt", 1);
+		oneTierSetupTwoServers("virt2", 1);
+		oneTierSetupTwoServers("virt3", 1);
+		oneTierSetupTwoServers("sub", 2);
+		facade.createAllPathsForNetwork("sub");
+
+		final SubstrateNetwork sNet = (SubstrateNetwork) facade.getNetworkById("sub");
+		final Set<VirtualNetwork> vNets = new HashSet<>();
+		vNets.add((VirtualNetwork) facade.getNetworkById("virt"));
+		vNets.add((VirtualNetwork) facade.getNetworkById("virt2"));
+		vNets.add((VirtualNetwork) facade.getNetworkById("virt3"));
+
+		// The budget runs out before the solver starts
+		AlgorithmConfig.pmLatencyBudget = 0;
+		algo = new VnePmMdvneAlgorithmPipelineStageVnet();
+		algo.prepare(sNet, vNets);
+
+		// Each substrate server can host one of the three virtual networks at most
+		assertFalse(algo.execute());
+		for (final Node n : sNet.getNodess()) {
+			if (n instanceof SubstrateServer) {
+				final SubstrateServer sServer = (SubstrateServer) n;
+				assertTrue(sServer.getResidualCpu() >= 0);
+				assertTrue(sServer.getResidualMemory() >= 0);
+				assertTrue(sServer.getResidualStorage() >= 0);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,132 @@
+package test.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.Incumbent;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.Statistics;
+import ilp.wrapper.impl.IncrementalJavaSolver;
+
+/**
+ * Test class for the anytime stopping rules of the ILP solvers (see
+ * {@link IncrementalIlpSolver#solveAnytime(long, double, int[])}).
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class AnytimeSolveTest {
+
+	/**
+	 * Solver to test.
+	 */
+	private IncrementalIlpSolver solver;
+
+	/**
+	 * Variable handles of the rejection and the two placement variables.
+	 */
+	private int reject;
+	private int a;
+	private int b;
+
+	@BeforeEach
+	public void setUp() {
+		solver = new IncrementalJavaSolver(60, 0);
+		reject = solver.addVariable(10);
+		a = solver.addVariable(1);
+		b = solver.addVariable(2);
+		solver.addEqualsConstraint(1, new double[] { 1, 1, 1 }, new int[] { reject, a, b });
+	}
+
+	@AfterEach
+	public void cleanUp() {
+		solver.dispose();
+	}
+
+	@Test
+	public void testIncumbentSelection() {
+		final List<Boolean> rejected = new ArrayList<>();
+		solver.addIncumbentListener(incumbent -> rejected.add(incumbent.isSelected(reject)));
+		solver.setStartSolution(new int[] { reject, a, b }, new double[] { 1, 0, 0 });
+		solver.solve();
+		assertTrue(rejected.get(0));
+		assertFalse(rejected.get(rejected.size() - 1));
+	}
+
+	@Test
+	public void testGapRuleAvoidsRejection() {
+		// The start solution rejects, so it must not stop the solve
+		solver.setStartSolution(new int[] { reject, a, b }, new double[] { 1, 0, 0 });
+		final Statistics stats = solver.solveAnytime(Long.MAX_VALUE, Double.POSITIVE_INFINITY, new int[] { reject });
+		assertTrue(stats.getStatus() == SolverStatus.OPTIMAL || stats.getStatus() == SolverStatus.INTERRUPTED);
+		assertTrue(solver.hasSolution());
+		assertArrayEquals(new int[] { a }, solver.getSelectedVariables());
+	}
+
+	@Test
+	public void testDeadlineKeepsIncumbent() {
+		solver.setStartSolution(new int[] { reject, a, b }, new double[] { 0, 0, 1 });
+		final Statistics stats = solver.solveAnytime(System.nanoTime() - 1, -1, new int[0]);
+		assertTrue(stats.getStatus() == SolverStatus.OPTIMAL || stats.getStatus() == SolverStatus.INTERRUPTED);
+		assertTrue(solver.hasSolution());
+		assertFalse(solver.isSelected(reject));
+	}
+
+	@Test
+	public void testIncumbentsAndCancellation() {
+		final List<Incumbent> incumbents = new ArrayList<>();
+		solver.addIncumbentListener(incumbents::add);
+
+		solver.setStartSolution(new int[] { reject, a, b }, new double[] { 1, 0, 0 });
+		assertEquals(SolverStatus.OPTIMAL, solver.solveAsync().join().getStatus());
+		assertEquals(2, incumbents.size());
+		assertEquals(10, incumbents.get(0).getObjective(), 1e-6);
+		assertEquals(1, incumbents.get(1).getObjective(), 1e-6);
+		assertEquals(0, incumbents.get(1).getGap(), 1e-6);
+
+		// A cancellation before the solve stops the next solve only
+		solver.cancel();
+		assertEquals(SolverStatus.INTERRUPTED, solver.solve().getStatus());
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+
+		// A discarded cancellation does not stop any solve
+		solver.cancel();
+		solver.resetCancel();
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+	}
+
+	@Test
+	public void testDeadlineDoesNotCancelNextSolve() {
+		solver.solveAnytime(System.nanoTime() - 1, -1, new int[0]);
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertArrayEquals(new int[] { a }, solver.getSelectedVariables());
+	}
+
+	@Test
+	public void testAsyncSolveReportsErrors() {
+		final IncrementalIlpSolver failing = new IncrementalJavaSolver(60, 0) {
+			@Override
+			public Statistics solve() {
+				throw new AssertionError("solve failed");
+			}
+		};
+		try {
+			final CompletionException e = assertThrows(CompletionException.class, () -> failing.solveAsync().join());
+			assertTrue(e.getCause() instanceof AssertionError);
+		} finally {
+			failing.dispose();
+		}
+	}
+
+}
@@ -0,0 +1,94 @@
+package test.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.impl.IncrementalJavaSolver;
+
+/**
+ * Test class for the bulk removal of variables and constraints by their handles
+ * (see {@link IncrementalIlpSolver#removeVariables(int[])} and
+ * {@link IncrementalIlpSolver#removeConstraints(int[])}).
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class BulkRemovalTest {
+
+	/**
+	 * ILP solver to test with.
+	 */
+	private IncrementalIlpSolver solver;
+
+	@BeforeEach
+	public void setUp() {
+		solver = new IncrementalJavaSolver(60, 0);
+	}
+
+	@AfterEach
+	public void cleanUp() {
+		solver.dispose();
+	}
+
+	@Test
+	public void testBulkRemoval() {
+		// Exactly one of four variables, the cheapest ones are removed afterwards
+		final int[] vars = new int[] { solver.addVariable(1), solver.addVariable(2), solver.addVariable(3),
+				solver.addVariable(4) };
+		solver.addEqualsConstraint(1, new double[] { 1, 1, 1, 1 }, vars);
+		final int cap = solver.addLessOrEqualsConstraint(1, new double[] { 1, 1 }, new int[] { vars[0], vars[2] });
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(1, solver.getObjectiveValue(), 1e-6);
+
+		solver.removeVariables(new int[] { vars[0], vars[1] });
+		solver.removeConstraints(new int[] { cap });
+		assertEquals(2, solver.getVariableCount());
+		assertEquals(1, solver.getConstraintCount());
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(3, solver.getObjectiveValue(), 1e-6);
+		assertArrayEquals(new int[] { vars[2] }, solver.getSelectedVariables());
+
+		// Handles of removed elements are not reused
+		assertEquals(4, solver.addVariable(0));
+		assertEquals(2, solver.addEqualsConstraint(0, new double[] { 1 }, new int[] { vars[3] }));
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertFalse(solver.isSelected(vars[3]));
+		assertTrue(solver.isSelected(vars[2]));
+	}
+
+	@Test
+	public void testEmptyRemoval() {
+		final int x = solver.addVariable(-1);
+		solver.addLessOrEqualsConstraint(1, new double[] { 1 }, new int[] { x });
+		solver.removeVariables(new int[0]);
+		solver.removeConstraints(new int[0]);
+		assertEquals(1, solver.getVariableCount());
+		assertEquals(1, solver.getConstraintCount());
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertTrue(solver.isSelected(x));
+	}
+
+	@Test
+	public void testRemovalReleasesConstraint() {
+		// Two variables share a capacity of 1, the removal of the constraint lets both
+		// be selected
+		final int[] vars = new int[] { solver.addVariable(-1), solver.addVariable(-1) };
+		final int cap = solver.addLessOrEqualsConstraint(1, new double[] { 1, 1 }, vars);
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(-1, solver.getObjectiveValue(), 1e-6);
+
+		solver.removeConstraints(new int[] { cap });
+		assertEquals(0, solver.getConstraintCount());
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(-2, solver.getObjectiveValue(), 1e-6);
+		assertArrayEquals(vars, solver.getSelectedVariables());
+	}
+
+}
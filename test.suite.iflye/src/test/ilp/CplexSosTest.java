@@ -0,0 +1,95 @@
+package test.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.IncrementalIlpSolver.SosConstraint;
+import ilp.wrapper.IncrementalIlpSolver.Variable;
+import ilp.wrapper.Relaxation;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.Statistics;
+import ilp.wrapper.config.IlpSolverConfig;
+import ilp.wrapper.impl.IncrementalCplexSolver;
+
+/**
+ * Test class for the SOS1 constraints of the {@link IncrementalCplexSolver},
+ * which are weighted by the objective coefficients of their members. Like the
+ * {@link IlpSolverSetupTest}, it needs a working installation of CPLEX.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class CplexSosTest {
+
+	/**
+	 * ILP solver to test with.
+	 */
+	private IncrementalIlpSolver solver;
+
+	@BeforeEach
+	public void setUp() {
+		solver = new IncrementalCplexSolver(IlpSolverConfig.TIME_OUT, 0);
+	}
+
+	@AfterEach
+	public void cleanUp() {
+		solver.dispose();
+	}
+
+	@Test
+	public void testSosIsRegistered() {
+		// Exactly one of three variables, all of them in one SOS1 constraint
+		final int[] vars = new int[] { solver.addVariable(3), solver.addVariable(1), solver.addVariable(2) };
+		solver.addEqualsConstraint(1, new double[] { 1, 1, 1 }, vars);
+		solver.addSosConstraint(vars);
+
+		final Statistics stats = solver.solve();
+		assertEquals(SolverStatus.OPTIMAL, stats.getStatus());
+		assertEquals(1, stats.getSosCount());
+		assertEquals(1, solver.getObjectiveValue(), 1e-6);
+		assertTrue(solver.isSelected(vars[1]));
+	}
+
+	@Test
+	public void testNamedSosIsRegistered() {
+		final Variable x = new Variable("x", -1);
+		final Variable y = new Variable("y", -2);
+		solver.addVariables(new Variable[] { x, y });
+		solver.addSosConstraint(new SosConstraint("sos", List.of(x, y)));
+
+		final Statistics stats = solver.solve();
+		assertEquals(SolverStatus.OPTIMAL, stats.getStatus());
+		assertEquals(1, stats.getSosCount());
+		assertEquals(-2, solver.getObjectiveValue(), 1e-6);
+		assertFalse(solver.isSelected("x"));
+		assertTrue(solver.isSelected("y"));
+	}
+
+	@Test
+	public void testConstraintWeightsKeepCosts() {
+		solver.addVariable("x", -1);
+		solver.addVariable("y", -2);
+		solver.addLessOrEqualsConstraint("c", 10, new double[] { 1, 1 }, new String[] { "x", "y" });
+
+		// The new weights of the constraint must not be taken for objective
+		// coefficients
+		solver.setVariableWeightsForConstraints(Map.of("c", Map.of("x", 5.0, "y", 7.0)));
+		final Relaxation relaxation = solver.solveRelaxation();
+		assertEquals(-1, relaxation.getCost(0), 1e-6);
+		assertEquals(-2, relaxation.getCost(1), 1e-6);
+
+		solver.addSosConstraint(new int[] { 0, 1 });
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(-2, solver.getObjectiveValue(), 1e-6);
+		assertTrue(solver.isSelected("y"));
+	}
+
+}
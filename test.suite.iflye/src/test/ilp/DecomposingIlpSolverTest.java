@@ -0,0 +1,129 @@
+package test.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.config.IlpSolverConfig;
+import ilp.wrapper.config.Solver;
+import ilp.wrapper.impl.DecomposingIlpSolver;
+import ilp.wrapper.impl.IncrementalJavaSolver;
+
+/**
+ * Test class for the decomposition into independent components of the
+ * {@link DecomposingIlpSolver}.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class DecomposingIlpSolverTest {
+
+	/**
+	 * Solver to test and reference solver.
+	 */
+	private DecomposingIlpSolver solver;
+	private IncrementalJavaSolver reference;
+
+	/**
+	 * Old number of threads of the decomposition.
+	 */
+	private int oldThreads;
+
+	@BeforeEach
+	public void setUp() {
+		oldThreads = IlpSolverConfig.DECOMPOSITION_THREADS;
+		solver = new DecomposingIlpSolver(Solver.JAVA, 60, 0);
+		reference = new IncrementalJavaSolver(60, 0);
+	}
+
+	@AfterEach
+	public void cleanUp() {
+		solver.dispose();
+		reference.dispose();
+		IlpSolverConfig.DECOMPOSITION_THREADS = oldThreads;
+	}
+
+	@Test
+	public void testIndependentBlocks() {
+		buildBlocks(solver);
+		buildBlocks(reference);
+
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(SolverStatus.OPTIMAL, reference.solve().getStatus());
+
+		// Two blocks with two requests each and one unconstrained variable
+		assertEquals(3, solver.getComponentCount());
+		assertEquals(reference.getObjectiveValue(), solver.getObjectiveValue(), 1e-6);
+		assertArrayEquals(reference.getSelectedVariables(), solver.getSelectedVariables());
+
+		final boolean[] selected = new boolean[solver.getVariableHandleCount()];
+		final boolean[] expected = new boolean[reference.getVariableHandleCount()];
+		solver.getMappings(selected);
+		reference.getMappings(expected);
+		assertArrayEquals(expected, selected);
+	}
+
+	@Test
+	public void testInfeasibleBlock() {
+		final int a = solver.addVariable(1);
+		solver.addEqualsConstraint(1, new double[] { 1 }, new int[] { a });
+		final int b = solver.addVariable(1);
+		solver.addEqualsConstraint(2, new double[] { 1 }, new int[] { b });
+
+		assertEquals(SolverStatus.INFEASIBLE, solver.solve().getStatus());
+		assertFalse(solver.hasSolution());
+	}
+
+	@Test
+	public void testStartSolutionAndIncumbents() {
+		buildBlocks(solver);
+
+		// The start solution rejects all requests
+		solver.setStartSolution(new int[] { 0, 1, 2, 3, 4, 5, 6, 7 }, new double[] { 1, 0, 1, 0, 1, 0, 1, 0 });
+		final List<Double> objectives = new ArrayList<>();
+		final List<Boolean> rejected = new ArrayList<>();
+		solver.addIncumbentListener(incumbent -> {
+			objectives.add(incumbent.getObjective());
+			rejected.add(incumbent.isSelected(6));
+		});
+
+		// The blocks are solved one after another, so the first incumbent of the whole
+		// model combines the optimum of the first block with the start solution of the
+		// second one
+		IlpSolverConfig.DECOMPOSITION_THREADS = 1;
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(11 + 11 + 12 - 1, objectives.get(0), 1e-6);
+		assertTrue(rejected.get(0));
+		assertEquals(solver.getObjectiveValue(), objectives.get(objectives.size() - 1), 1e-6);
+		assertFalse(rejected.get(rejected.size() - 1));
+	}
+
+	/**
+	 * Builds two blocks of two requests that share one host with a capacity of 2
+	 * each and an unconstrained variable with a negative cost.
+	 *
+	 * @param ilp Solver to build the model in.
+	 */
+	private static void buildBlocks(final IncrementalIlpSolver ilp) {
+		for (int block = 0; block < 2; block++) {
+			final int host = ilp.addLessOrEqualsConstraint(2, new double[0], new int[0]);
+			for (int r = 0; r < 2; r++) {
+				final int reject = ilp.addVariable(10 + r + block);
+				final int place = ilp.addVariable(1);
+				ilp.setVariableWeightForConstraint(host, 2, place);
+				ilp.addEqualsConstraint(1, new double[] { 1, 1 }, new int[] { reject, place });
+			}
+		}
+		ilp.addVariable(-1);
+	}
+
+}
@@ -0,0 +1,112 @@
+package test.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.IndexedIlpDelta;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.config.IlpSolverConfig;
+import ilp.wrapper.impl.IncrementalJavaSolver;
+
+/**
+ * Test class for the presolve of the new rows and columns of an
+ * {@link IndexedIlpDelta} (see {@link IlpSolverConfig#ENABLE_DELTA_PRESOLVE}).
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IlpDeltaPresolveTest {
+
+	/**
+	 * Saves the configured state of the presolve.
+	 */
+	private boolean savedPresolve;
+
+	/**
+	 * ILP solver to test with.
+	 */
+	private IncrementalIlpSolver solver;
+
+	@BeforeEach
+	public void setUp() {
+		savedPresolve = IlpSolverConfig.ENABLE_DELTA_PRESOLVE;
+		IlpSolverConfig.ENABLE_DELTA_PRESOLVE = true;
+		solver = new IncrementalJavaSolver(60, 0);
+	}
+
+	@AfterEach
+	public void restoreConfig() {
+		solver.dispose();
+		IlpSolverConfig.ENABLE_DELTA_PRESOLVE = savedPresolve;
+	}
+
+	@Test
+	public void testPresolveKeepsOptimum() {
+		// One element (demand 2) on a small host, on a large host (twice) or rejected
+		final IndexedIlpDelta delta = new IndexedIlpDelta(solver);
+		final int small = delta.addLessOrEqualsConstraint(1);
+		final int large = delta.addLessOrEqualsConstraint(3);
+		final int one = delta.addEqualsConstraint(1);
+		final int x0 = delta.addVariable(1);
+		final int x1 = delta.addVariable(3);
+		final int x2 = delta.addVariable(3);
+		final int rej = delta.addVariable(10);
+		delta.setVariableWeightForConstraint(small, 2, x0);
+		delta.setVariableWeightForConstraint(large, 2, x1);
+		delta.setVariableWeightForConstraint(large, 2, x2);
+		for (final int var : new int[] { x0, x1, x2, rej }) {
+			delta.setVariableWeightForConstraint(one, 1, var);
+		}
+		delta.apply(solver);
+
+		// x0 does not fit and x2 is dominated by x1, but all handles stay valid
+		assertTrue(delta.isEliminated(x0));
+		assertFalse(delta.isEliminated(x1));
+		assertTrue(delta.isEliminated(x2));
+		assertFalse(delta.isEliminated(rej));
+		assertEquals(4, solver.getVariableHandleCount());
+		assertEquals(3, solver.getConstraintHandleCount());
+
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(3, solver.getObjectiveValue(), 1e-6);
+		assertTrue(solver.isSelected(x1));
+	}
+
+	@Test
+	public void testExcludedVariableIsKept() {
+		final IndexedIlpDelta delta = new IndexedIlpDelta(solver);
+		final int small = delta.addLessOrEqualsConstraint(1);
+		final int x = delta.addVariable(1);
+		final int y = delta.addVariable(1);
+		delta.setVariableWeightForConstraint(small, 2, x);
+		delta.setVariableWeightForConstraint(small, 2, y);
+		delta.excludeFromPresolve(y);
+		delta.apply(solver);
+
+		assertTrue(delta.isEliminated(x));
+		assertFalse(delta.isEliminated(y));
+		assertFalse(delta.isDropped(small));
+	}
+
+	@Test
+	public void testDisabledPresolve() {
+		IlpSolverConfig.ENABLE_DELTA_PRESOLVE = false;
+		final IndexedIlpDelta delta = new IndexedIlpDelta(solver);
+		final int small = delta.addLessOrEqualsConstraint(1);
+		final int x = delta.addVariable(-1);
+		delta.setVariableWeightForConstraint(small, 2, x);
+		delta.apply(solver);
+
+		assertFalse(delta.isEliminated(x));
+		assertFalse(delta.isDropped(small));
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(0, solver.getObjectiveValue(), 1e-6);
+		assertFalse(solver.isSelected(x));
+	}
+
+}
@@ -0,0 +1,62 @@
+package test.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.Relaxation;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.impl.IncrementalJavaSolver;
+
+/**
+ * Test class for the LP relaxation of the ILP solvers (see
+ * {@link IncrementalIlpSolver#solveRelaxation()}).
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IlpRelaxationTest {
+
+	/**
+	 * Solver to test.
+	 */
+	private IncrementalIlpSolver solver;
+
+	@BeforeEach
+	public void setUp() {
+		solver = new IncrementalJavaSolver(60, 0);
+	}
+
+	@AfterEach
+	public void cleanUp() {
+		solver.dispose();
+	}
+
+	@Test
+	public void testFractionalRelaxation() {
+		final int a = solver.addVariable(-1);
+		final int b = solver.addVariable(-1);
+		final int removed = solver.addVariable(-5);
+		solver.addLessOrEqualsConstraint(3, new double[] { 2, 2 }, new int[] { a, b });
+		solver.removeVariable(removed);
+
+		final Relaxation relaxation = solver.solveRelaxation();
+		assertEquals(SolverStatus.OPTIMAL, relaxation.getStatus());
+		assertEquals(-1.5, relaxation.getObjective(), 1e-6);
+		assertEquals(1.5, relaxation.getValue(a) + relaxation.getValue(b), 1e-6);
+		assertEquals(0, relaxation.getValue(removed), 1e-6);
+		assertEquals(-1, relaxation.getCost(a), 1e-6);
+		assertEquals(0, relaxation.getCost(removed), 1e-6);
+
+		// The integer solution only selects one of both variables
+		assertEquals(-1, relaxation.getObjective(new int[] { a }), 1e-6);
+		assertEquals(0.5, relaxation.getIntegralityGap(new int[] { a }), 1e-6);
+
+		// The model itself must not be changed by the relaxation
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(1, solver.getSelectedVariables().length);
+	}
+
+}
@@ -0,0 +1,145 @@
+package test.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ilp.wrapper.IlpRowScaling;
+import ilp.wrapper.IlpSolverException;
+import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.IndexedIlpDelta;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.config.IlpSolverConfig;
+import ilp.wrapper.impl.IncrementalJavaSolver;
+
+/**
+ * Test class for the scaling of constraints by the greatest common divisor of
+ * their coefficients (see {@link IlpRowScaling}).
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IlpRowScalingTest {
+
+	/**
+	 * Saves the configured state of the row scaling.
+	 */
+	private boolean savedScaling;
+
+	/**
+	 * ILP solver to test with.
+	 */
+	private IncrementalIlpSolver solver;
+
+	@BeforeEach
+	public void setUp() {
+		savedScaling = IlpSolverConfig.ENABLE_ROW_SCALING;
+		IlpSolverConfig.ENABLE_ROW_SCALING = true;
+		solver = new IncrementalJavaSolver(60, 0);
+	}
+
+	@AfterEach
+	public void restoreConfig() {
+		solver.dispose();
+		IlpSolverConfig.ENABLE_ROW_SCALING = savedScaling;
+	}
+
+	@Test
+	public void testRowScalingKeepsOptimum() {
+		// Three elements with a memory demand of 512 MiB on a host with 1 GiB (plus
+		// some bytes), on a host with 512 MiB or rejected
+		final long unit = 1L << 29;
+		final IlpRowScaling scaling = new IlpRowScaling();
+		final IndexedIlpDelta delta = new IndexedIlpDelta(solver, scaling);
+		final int large = delta.addLessOrEqualsConstraint(2 * unit + 5);
+		final int small = delta.addLessOrEqualsConstraint(unit);
+		final int[][] vars = new int[3][];
+		int one = -1;
+		for (int e = 0; e < 3; e++) {
+			vars[e] = new int[] { delta.addVariable(1), delta.addVariable(2), delta.addVariable(10) };
+			delta.setVariableWeightForConstraint(large, unit, vars[e][0]);
+			delta.setVariableWeightForConstraint(small, unit, vars[e][1]);
+			one = delta.addEqualsConstraint(1);
+			for (final int var : vars[e]) {
+				delta.setVariableWeightForConstraint(one, 1, var);
+			}
+		}
+		delta.apply(solver);
+		assertEquals(unit, scaling.getFactor(large));
+		assertEquals(1, scaling.getFactor(one));
+
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(4, solver.getObjectiveValue(), 1e-6);
+
+		// Changes of the scaled constraints are scaled, too
+		final IndexedIlpDelta change = new IndexedIlpDelta(solver, scaling);
+		change.setConstraintRight(small, unit - 1);
+		change.apply(solver);
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(12, solver.getObjectiveValue(), 1e-6);
+
+		final IndexedIlpDelta invalid = new IndexedIlpDelta(solver, scaling);
+		invalid.setVariableWeightForConstraint(large, 3, vars[0][1]);
+		assertThrows(IlpSolverException.class, () -> invalid.apply(solver));
+	}
+
+	@Test
+	public void testEqualsRowWithDivisibleRight() {
+		// 2x + 4y = 6 becomes x + 2y = 3
+		final IlpRowScaling scaling = new IlpRowScaling();
+		final IndexedIlpDelta delta = new IndexedIlpDelta(solver, scaling);
+		final int x = delta.addVariable(1);
+		final int y = delta.addVariable(1);
+		final int row = delta.addEqualsConstraint(6);
+		delta.setVariableWeightForConstraint(row, 2, x);
+		delta.setVariableWeightForConstraint(row, 4, y);
+		delta.apply(solver);
+		assertEquals(2, scaling.getFactor(row));
+
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertTrue(solver.isSelected(x));
+		assertTrue(solver.isSelected(y));
+	}
+
+	@Test
+	public void testUnscaledRows() {
+		final IlpRowScaling scaling = new IlpRowScaling();
+		final IndexedIlpDelta delta = new IndexedIlpDelta(solver, scaling);
+		final int x = delta.addVariable(-1);
+		final int y = delta.addVariable(-1);
+
+		// Equals row with a right side that is no multiple of the divisor
+		final int odd = delta.addEqualsConstraint(3);
+		delta.setVariableWeightForConstraint(odd, 2, x);
+		delta.setVariableWeightForConstraint(odd, 4, y);
+
+		// Less or equals row with a fractional coefficient
+		final int fractional = delta.addLessOrEqualsConstraint(3);
+		delta.setVariableWeightForConstraint(fractional, 2, x);
+		delta.setVariableWeightForConstraint(fractional, 0.5, y);
+		delta.apply(solver);
+
+		assertEquals(1, scaling.getFactor(odd));
+		assertEquals(1, scaling.getFactor(fractional));
+		assertEquals(SolverStatus.INFEASIBLE, solver.solve().getStatus());
+	}
+
+	@Test
+	public void testDisabledScaling() {
+		IlpSolverConfig.ENABLE_ROW_SCALING = false;
+		final IlpRowScaling scaling = new IlpRowScaling();
+		final IndexedIlpDelta delta = new IndexedIlpDelta(solver, scaling);
+		final int x = delta.addVariable(-1);
+		final int row = delta.addLessOrEqualsConstraint(5);
+		delta.setVariableWeightForConstraint(row, 4, x);
+		delta.apply(solver);
+
+		assertEquals(1, scaling.getFactor(row));
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertTrue(solver.isSelected(x));
+	}
+
+}
@@ -48,6 +48,12 @@ public class IlpSolverSetupTest {
 		genericIlpTest();
 	}
 
+	@Test
+	public void testJavaSetup() {
+		IlpSolverConfig.solver = Solver.JAVA;
+		genericIlpTest();
+	}
+
 	/**
 	 * Tests a small and generic ILP problem for the ILP solver given by the
 	 * {@link IlpSolverConfig}.
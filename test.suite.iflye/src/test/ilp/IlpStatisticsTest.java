@@ -0,0 +1,57 @@
+package test.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.Statistics;
+import ilp.wrapper.impl.IncrementalJavaSolver;
+
+/**
+ * Test class for the details of the {@link Statistics} returned by the ILP
+ * solver implementations.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IlpStatisticsTest {
+
+	@Test
+	public void testJavaSolverDetails() {
+		final IncrementalJavaSolver solver = new IncrementalJavaSolver(60, 0);
+		final int a = solver.addVariable(2);
+		final int b = solver.addVariable(1);
+		final int c = solver.addVariable(3);
+		solver.addEqualsConstraint(1, new double[] { 1, 1 }, new int[] { a, b });
+		solver.addLessOrEqualsConstraint(1, new double[] { 1, 1 }, new int[] { b, c });
+		final Statistics stats = solver.solve();
+		solver.dispose();
+
+		assertEquals(SolverStatus.OPTIMAL, stats.getStatus());
+		assertEquals(2, stats.getRows());
+		assertEquals(3, stats.getColumns());
+		assertEquals(4, stats.getNonzeros());
+		assertEquals(0, stats.getSosCount());
+		assertEquals(0, stats.getPresolveRemovedRows());
+		assertTrue(stats.getNodeCount() >= 1);
+		assertTrue(stats.getRootTime() >= 0);
+		assertTrue(stats.getIncumbentCount() >= 1);
+		assertEquals(0.0, stats.getGap(), 1e-9);
+	}
+
+	@Test
+	public void testUnknownDetails() {
+		final Statistics stats = new Statistics(SolverStatus.OPTIMAL, 42);
+		assertEquals(-1, stats.getRows());
+		assertEquals(-1, stats.getNodeCount());
+		assertEquals(-1, stats.getIncumbentCount());
+		assertTrue(Double.isNaN(stats.getGap()));
+
+		final Statistics copy = new Statistics.Builder(stats, 7).nodeCount(3).build();
+		assertEquals(SolverStatus.OPTIMAL, copy.getStatus());
+		assertEquals(7, copy.getDuration());
+		assertEquals(3, copy.getNodeCount());
+	}
+
+}
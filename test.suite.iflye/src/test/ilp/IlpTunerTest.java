@@ -0,0 +1,86 @@
+package test.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ilp.wrapper.config.IlpSolverConfig;
+import ilp.wrapper.config.Solver;
+import ilp.wrapper.impl.IlpTuner;
+import ilp.wrapper.impl.IncrementalJavaSolver;
+import ilp.wrapper.impl.RecordingIlpSolver;
+
+/**
+ * Test class for the parameter tuning via the {@link IlpTuner} and the loading
+ * of its profiles.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IlpTunerTest {
+
+	/**
+	 * Recording and profile files.
+	 */
+	private Path recording;
+	private Path profile;
+
+	/**
+	 * Old solver parameters.
+	 */
+	private int oldMipFocus;
+	private int oldCuts;
+	private double oldHeuristics;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		recording = Files.createTempFile("ilp-", ".ilprec");
+		profile = Files.createTempFile("ilp-", ".properties");
+		oldMipFocus = IlpSolverConfig.MIP_FOCUS;
+		oldCuts = IlpSolverConfig.CUTS;
+		oldHeuristics = IlpSolverConfig.HEURISTICS;
+	}
+
+	@AfterEach
+	public void cleanUp() throws IOException {
+		Files.deleteIfExists(recording);
+		Files.deleteIfExists(profile);
+		IlpSolverConfig.MIP_FOCUS = oldMipFocus;
+		IlpSolverConfig.CUTS = oldCuts;
+		IlpSolverConfig.HEURISTICS = oldHeuristics;
+	}
+
+	@Test
+	public void testTunedProfileCanBeLoaded() {
+		final RecordingIlpSolver recorder = new RecordingIlpSolver(new IncrementalJavaSolver(60, 0),
+				recording.toString());
+		final int a = recorder.addVariable(2);
+		final int b = recorder.addVariable(1);
+		recorder.addEqualsConstraint(1, new double[] { 1, 1 }, new int[] { a, b });
+		recorder.solve();
+		recorder.dispose();
+
+		final IlpTuner tuner = new IlpTuner(List.of(recording.toString()), Solver.JAVA);
+		tuner.setMipFocus(0, 2);
+		tuner.setCuts(1);
+		tuner.setHeuristics(0.3);
+		final List<IlpTuner.Result> results = tuner.tune();
+		assertEquals(2, results.size());
+		assertEquals(1, results.get(0).getSolves());
+		assertEquals(0, results.get(0).getUnsolved());
+
+		final IlpTuner.Setting best = results.get(0).getSetting();
+		IlpTuner.writeProfile(best, profile.toString());
+		IlpSolverConfig.loadProfile(profile.toString());
+		assertEquals(best.getMipFocus(), IlpSolverConfig.MIP_FOCUS);
+		assertEquals(1, IlpSolverConfig.CUTS);
+		assertEquals(0.3, IlpSolverConfig.HEURISTICS, 1e-9);
+	}
+
+}
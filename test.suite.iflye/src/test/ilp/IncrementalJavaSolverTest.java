@@ -0,0 +1,220 @@
+package test.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.Relaxation;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.Statistics;
+import ilp.wrapper.impl.IncrementalJavaSolver;
+
+/**
+ * Test class for the branch-and-bound of the {@link IncrementalJavaSolver} and
+ * its warm started LP relaxations.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IncrementalJavaSolverTest {
+
+	/**
+	 * Solver to test.
+	 */
+	private IncrementalIlpSolver solver;
+
+	@BeforeEach
+	public void setUp() {
+		solver = new IncrementalJavaSolver(60, 0);
+	}
+
+	@AfterEach
+	public void cleanUp() {
+		solver.dispose();
+	}
+
+	@Test
+	public void testFractionalKnapsack() {
+		final int[] vars = new int[] { solver.addVariable(-5), solver.addVariable(-4), solver.addVariable(-3) };
+		solver.addLessOrEqualsConstraint(5, new double[] { 2, 3, 1 }, vars);
+
+		final Statistics stats = solver.solve();
+		assertEquals(SolverStatus.OPTIMAL, stats.getStatus());
+		assertEquals(0, stats.getGap(), 1e-6);
+		assertEquals(-9, solver.getObjectiveValue(), 1e-6);
+		assertArrayEquals(new int[] { vars[0], vars[1] }, solver.getSelectedVariables());
+	}
+
+	@Test
+	public void testEqualsRows() {
+		final int a = solver.addVariable(1);
+		final int b = solver.addVariable(2);
+		final int c = solver.addVariable(3);
+		solver.addEqualsConstraint(2, new double[] { 1, 1, 1 }, new int[] { a, b, c });
+		solver.addEqualsConstraint(1, new double[] { 1, 1 }, new int[] { a, b });
+
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(4, solver.getObjectiveValue(), 1e-6);
+		assertArrayEquals(new int[] { a, c }, solver.getSelectedVariables());
+	}
+
+	@Test
+	public void testInfeasibleModel() {
+		final int a = solver.addVariable(1);
+		final int b = solver.addVariable(1);
+		solver.addEqualsConstraint(1, new double[] { 2, 2 }, new int[] { a, b });
+
+		// The LP relaxation is feasible, but no integral solution is
+		assertEquals(SolverStatus.OPTIMAL, solver.solveRelaxation().getStatus());
+		assertEquals(SolverStatus.INFEASIBLE, solver.solve().getStatus());
+		assertFalse(solver.hasSolution());
+
+		solver.addLessOrEqualsConstraint(-1, new double[] { 1 }, new int[] { a });
+		assertEquals(SolverStatus.INFEASIBLE, solver.solveRelaxation().getStatus());
+		assertEquals(SolverStatus.INFEASIBLE, solver.solve().getStatus());
+	}
+
+	@Test
+	public void testIntegerBounds() {
+		final int x = solver.addVariable(-1.1);
+		final int y = solver.addVariable(-2);
+		solver.changeVariableBounds(x, 0, 3);
+		solver.addLessOrEqualsConstraint(6, new double[] { 2, 3 }, new int[] { x, y });
+
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(-3.3, solver.getObjectiveValue(), 1e-6);
+		assertTrue(solver.isSelected(x));
+		assertFalse(solver.isSelected(y));
+
+		// A lower bound forces the other branch
+		solver.changeVariableBounds(y, 1, 1);
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(-3.1, solver.getObjectiveValue(), 1e-6);
+	}
+
+	@Test
+	public void testSosConstraint() {
+		final int[] vars = new int[] { solver.addVariable(-1), solver.addVariable(-3), solver.addVariable(-2) };
+		solver.addLessOrEqualsConstraint(2, new double[] { 1, 1, 1 }, vars);
+		solver.addSosConstraint(vars);
+
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(-3, solver.getObjectiveValue(), 1e-6);
+		assertArrayEquals(new int[] { vars[1] }, solver.getSelectedVariables());
+	}
+
+	@Test
+	public void testSeedIsDeterministic() {
+		// All variables are equally fractional in the relaxation, i.e., the seed
+		// breaks the ties of the branching
+		final int[] vars = new int[6];
+		for (int i = 0; i < vars.length; i++) {
+			vars[i] = solver.addVariable(-1);
+		}
+		for (int i = 0; i < vars.length; i++) {
+			solver.addLessOrEqualsConstraint(1, new double[] { 1, 1 },
+					new int[] { vars[i], vars[(i + 1) % vars.length] });
+		}
+		solver.addLessOrEqualsConstraint(2.5, new double[] { 1, 1, 1, 1, 1, 1 }, vars);
+
+		for (int seed = 0; seed < 4; seed++) {
+			solver.setSeed(seed);
+			assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+			final int[] selected = solver.getSelectedVariables();
+			assertEquals(-2, solver.getObjectiveValue(), 1e-6);
+			assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+			assertArrayEquals(selected, solver.getSelectedVariables());
+		}
+	}
+
+	@Test
+	public void testRandomModelsMatchEnumeration() {
+		final Random random = new Random(42);
+		for (int instance = 0; instance < 50; instance++) {
+			solver.dispose();
+			solver = new IncrementalJavaSolver(60, instance);
+			final int n = 8;
+			final int m = 5;
+			final int[] vars = new int[n];
+			final double[] cost = new double[n];
+			for (int j = 0; j < n; j++) {
+				cost[j] = random.nextInt(21) - 15;
+				vars[j] = solver.addVariable(cost[j]);
+			}
+			final double[][] rows = new double[m][n];
+			final double[] right = new double[m];
+			final boolean[] equals = new boolean[m];
+			for (int i = 0; i < m; i++) {
+				for (int j = 0; j < n; j++) {
+					rows[i][j] = random.nextInt(3) == 0 ? 0 : random.nextInt(9) - 2;
+				}
+				right[i] = random.nextInt(10) + 1;
+				equals[i] = i == 0 && random.nextBoolean();
+				if (equals[i]) {
+					solver.addEqualsConstraint(right[i], rows[i], vars);
+				} else {
+					solver.addLessOrEqualsConstraint(right[i], rows[i], vars);
+				}
+			}
+
+			// Optimum of all binary assignments
+			double best = Double.POSITIVE_INFINITY;
+			for (int mask = 0; mask < 1 << n; mask++) {
+				if (isFeasible(mask, rows, right, equals)) {
+					double value = 0;
+					for (int j = 0; j < n; j++) {
+						value += (mask >> j & 1) * cost[j];
+					}
+					best = Math.min(best, value);
+				}
+			}
+
+			final Relaxation relaxation = solver.solveRelaxation();
+			final Statistics stats = solver.solve();
+			if (best == Double.POSITIVE_INFINITY) {
+				assertEquals(SolverStatus.INFEASIBLE, stats.getStatus(), "instance " + instance);
+				continue;
+			}
+			assertEquals(SolverStatus.OPTIMAL, stats.getStatus(), "instance " + instance);
+			assertEquals(best, solver.getObjectiveValue(), 1e-6, "instance " + instance);
+			int mask = 0;
+			for (final int var : solver.getSelectedVariables()) {
+				mask |= 1 << var;
+			}
+			assertTrue(isFeasible(mask, rows, right, equals), "instance " + instance);
+			assertEquals(SolverStatus.OPTIMAL, relaxation.getStatus(), "instance " + instance);
+			assertTrue(relaxation.getObjective() <= best + 1e-6, "instance " + instance);
+		}
+	}
+
+	/**
+	 * Checks if a binary assignment satisfies all rows.
+	 *
+	 * @param mask   Assignment with one bit per variable.
+	 * @param rows   Coefficients of all rows.
+	 * @param right  Right sides of all rows.
+	 * @param equals Senses of all rows.
+	 * @return True if the assignment is feasible.
+	 */
+	private static boolean isFeasible(final int mask, final double[][] rows, final double[] right,
+			final boolean[] equals) {
+		for (int i = 0; i < rows.length; i++) {
+			double lhs = 0;
+			for (int j = 0; j < rows[i].length; j++) {
+				lhs += (mask >> j & 1) * rows[i][j];
+			}
+			if (lhs > right[i] + 1e-9 || equals[i] && lhs < right[i] - 1e-9) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
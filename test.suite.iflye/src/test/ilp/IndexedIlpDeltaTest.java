@@ -0,0 +1,226 @@
+package test.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ilp.wrapper.IlpSolverException;
+import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.IndexedIlpDelta;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.SparseConstraintBuilder;
+import ilp.wrapper.config.IlpSolverConfig;
+import ilp.wrapper.config.Solver;
+
+/**
+ * Test class for the handle based ILP generation via the
+ * {@link IndexedIlpDelta}. It uses the pure Java solver, because it does not
+ * need a license.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IndexedIlpDeltaTest {
+
+	/**
+	 * Saves the currently configured ILP solver type.
+	 */
+	private Solver savedSolver;
+
+	/**
+	 * ILP solver to test with.
+	 */
+	private IncrementalIlpSolver solver;
+
+	@BeforeEach
+	public void setUp() {
+		savedSolver = IlpSolverConfig.solver;
+		IlpSolverConfig.solver = Solver.JAVA;
+		solver = IlpSolverConfig.getIlpSolver();
+	}
+
+	@AfterEach
+	public void restoreConfig() {
+		solver.dispose();
+		IlpSolverConfig.solver = savedSolver;
+	}
+
+	@Test
+	public void testHandlesStartAtSolverCounters() {
+		solver.addVariable("existing", 1);
+		solver.addEqualsConstraint("existing", 1);
+
+		final IndexedIlpDelta delta = new IndexedIlpDelta(solver);
+		assertEquals(1, delta.addVariable(1));
+		assertEquals(2, delta.addVariable(1));
+		assertEquals(1, delta.addEqualsConstraint(1));
+		assertEquals(2, delta.addLessOrEqualsConstraint(1));
+
+		delta.apply(solver);
+		assertEquals(3, solver.getVariableHandleCount());
+		assertEquals(3, solver.getConstraintHandleCount());
+	}
+
+	@Test
+	public void testSmallAssignment() {
+		// Two elements, each must be placed on one of two hosts with capacity 1
+		final IndexedIlpDelta delta = new IndexedIlpDelta(solver);
+		final int[][] vars = new int[2][2];
+		final int[] hosts = new int[2];
+		for (int h = 0; h < 2; h++) {
+			hosts[h] = delta.addLessOrEqualsConstraint(1);
+		}
+		for (int e = 0; e < 2; e++) {
+			final int element = delta.addEqualsConstraint(1);
+			for (int h = 0; h < 2; h++) {
+				vars[e][h] = delta.addVariable(e == h ? 1 : 5);
+				delta.setVariableWeightForConstraint(element, 1, vars[e][h]);
+				delta.setVariableWeightForConstraint(hosts[h], 1, vars[e][h]);
+			}
+		}
+		delta.apply(solver);
+
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(2, solver.getObjectiveValue(), 1e-6);
+
+		final boolean[] selected = new boolean[solver.getVariableHandleCount()];
+		solver.getMappings(selected);
+		assertTrue(selected[vars[0][0]]);
+		assertFalse(selected[vars[0][1]]);
+		assertFalse(selected[vars[1][0]]);
+		assertTrue(selected[vars[1][1]]);
+	}
+
+	@Test
+	public void testChangesOfNewElements() {
+		final IndexedIlpDelta delta = new IndexedIlpDelta(solver);
+		final int x = delta.addVariable(1);
+		final int c = delta.addEqualsConstraint(0);
+		delta.setVariableWeightForConstraint(c, 1, x);
+
+		// Both changes must be applied to the new elements directly
+		delta.changeVariableWeight(x, -1);
+		delta.setConstraintRight(c, 1);
+		delta.apply(solver);
+
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(-1, solver.getObjectiveValue(), 1e-6);
+		assertTrue(solver.isSelected(x));
+	}
+
+	@Test
+	public void testSparseRowsGetConsecutiveHandles() {
+		final int x = solver.addVariable(-1);
+		final int y = solver.addVariable(-2);
+		solver.addLessOrEqualsConstraint("existing", 2);
+
+		// x + y <= 1 and x = 1 (the term of the second row is added afterwards)
+		final SparseConstraintBuilder rows = new SparseConstraintBuilder(1, 1);
+		rows.addLessOrEqualsRow(1);
+		rows.addTerms(new int[] {x, y}, new double[] {1, 1}, 0, 2);
+		rows.addRow(true, 1, "fix");
+		assertEquals(2, rows.getRowCount());
+		assertEquals(2, rows.getNonZeroCount());
+
+		final int first = solver.addConstraints(rows);
+		assertEquals(1, first);
+		assertEquals(3, solver.getConstraintHandleCount());
+		solver.setVariableWeightForConstraint(first + 1, 1, x);
+
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(-1, solver.getObjectiveValue(), 1e-6);
+		assertTrue(solver.isSelected(x));
+		assertFalse(solver.isSelected(y));
+	}
+
+	@Test
+	public void testRetireRequestOfPersistentModel() {
+		// Host with a capacity of 2 that is kept across both requests
+		final IndexedIlpDelta substrate = new IndexedIlpDelta(solver);
+		final int host = substrate.addLessOrEqualsConstraint(2);
+		substrate.keepConstraint(host);
+		substrate.apply(solver);
+		assertEquals(1, solver.getConstraintCount());
+
+		final IndexedIlpDelta request = addRequest();
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(1, solver.getObjectiveValue(), 1e-6);
+
+		// The presolve dropped the row of the element that does not fit anywhere
+		final int first = solver.getConstraintHandleCount() - request.getAddedConstraintCount();
+		assertFalse(request.isDropped(host));
+		assertFalse(request.isDropped(first));
+		assertTrue(request.isDropped(first + 1));
+
+		// Retire the first request and use up the host
+		final IndexedIlpDelta retire = new IndexedIlpDelta(solver);
+		for (int var = request.getFirstVariable(); var < solver.getVariableHandleCount(); var++) {
+			retire.removeVariable(var);
+		}
+		for (int c = first; c < solver.getConstraintHandleCount(); c++) {
+			if (!request.isDropped(c)) {
+				retire.removeConstraint(c);
+			}
+		}
+		retire.setConstraintRight(host, 0);
+		retire.apply(solver);
+		assertEquals(1, solver.getConstraintCount());
+		assertEquals(0, solver.getVariableCount());
+
+		addRequest();
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(10, solver.getObjectiveValue(), 1e-6);
+		assertEquals(2, solver.getConstraintCount());
+	}
+
+	/**
+	 * Adds a request with one element (demand 2) that is placed on the host (the
+	 * first constraint) or rejected, and a second row of an element (demand 2) on
+	 * a host with capacity 1, which is dropped by the presolve.
+	 *
+	 * @return Applied delta of the request.
+	 */
+	private IndexedIlpDelta addRequest() {
+		final IndexedIlpDelta delta = new IndexedIlpDelta(solver);
+		final int one = delta.addEqualsConstraint(1);
+		final int small = delta.addLessOrEqualsConstraint(1);
+		final int place = delta.addVariable(1);
+		final int reject = delta.addVariable(10);
+		final int tooLarge = delta.addVariable(0);
+		delta.setVariableWeightForConstraint(0, 2, place);
+		delta.setVariableWeightForConstraint(one, 1, place);
+		delta.setVariableWeightForConstraint(one, 1, reject);
+		delta.setVariableWeightForConstraint(small, 2, tooLarge);
+		delta.apply(solver);
+		return delta;
+	}
+
+	@Test
+	public void testStartSolutionKeepsOptimum() {
+		// Exactly one of three variables, the start solution selects the worst one
+		final int[] vars = new int[] { solver.addVariable(3), solver.addVariable(1), solver.addVariable(2) };
+		solver.addEqualsConstraint(1, new double[] { 1, 1, 1 }, vars);
+		solver.setStartSolution(vars, new double[] { 1, 0, 0 });
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(1, solver.getObjectiveValue(), 1e-6);
+		assertTrue(solver.isSelected(vars[1]));
+
+		// Infeasible (partial) start solutions are ignored
+		solver.setStartSolution(new int[] { vars[0], vars[2] }, new double[] { 1, 1 });
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(1, solver.getObjectiveValue(), 1e-6);
+	}
+
+	@Test
+	public void testModifiedSolverIsRejected() {
+		final IndexedIlpDelta delta = new IndexedIlpDelta(solver);
+		delta.addVariable(1);
+		solver.addVariable(0);
+		assertThrows(IlpSolverException.class, () -> delta.apply(solver));
+	}
+
+}
@@ -0,0 +1,77 @@
+package test.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ilp.wrapper.IncrementalIlpSolver.Variable;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.impl.IncrementalJavaSolver;
+import ilp.wrapper.impl.InstrumentedIlpSolver;
+import ilp.wrapper.impl.InstrumentedIlpSolver.Call;
+
+/**
+ * Test class for the call measurement of the {@link InstrumentedIlpSolver}.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class InstrumentedIlpSolverTest {
+
+	/**
+	 * Solver to test.
+	 */
+	private InstrumentedIlpSolver solver;
+
+	@BeforeEach
+	public void setUp() {
+		solver = new InstrumentedIlpSolver(new IncrementalJavaSolver(60, 0));
+	}
+
+	@AfterEach
+	public void cleanUp() {
+		solver.dispose();
+	}
+
+	@Test
+	public void testCallsAndElements() {
+		solver.addVariables(new Variable[] { new Variable("a", 2), new Variable("b", 1) });
+		solver.addVariable("c", 3);
+		solver.addLessOrEqualsConstraint("cap", 1);
+		solver.setVariableWeightsForConstraints(Map.of("cap", Map.of("a", 1.0, "b", 1.0)));
+		solver.setVariableWeightForConstraint("cap", 1, "c");
+		solver.addEqualsConstraint("req", 1, new double[] { 1, 1, 1 }, new String[] { "a", "b", "c" });
+
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		final Map<String, Boolean> mappings = solver.getMappings();
+		assertArrayEquals(new int[] { 1 }, solver.getSelectedVariables());
+		assertTrue(mappings.get("b"));
+
+		assertEquals(2, solver.getCallCount(Call.ADD_VARIABLES));
+		assertEquals(3, solver.getElementCount(Call.ADD_VARIABLES));
+		assertEquals(2, solver.getCallCount(Call.ADD_CONSTRAINTS));
+		assertEquals(2, solver.getCallCount(Call.SET_WEIGHTS_FOR_CONSTRAINTS));
+		assertEquals(3, solver.getElementCount(Call.SET_WEIGHTS_FOR_CONSTRAINTS));
+		assertEquals(1, solver.getCallCount(Call.SOLVE));
+		assertTrue(solver.getTime(Call.SOLVE) > 0);
+		assertEquals(2, solver.getCallCount(Call.GET_MAPPINGS));
+		assertEquals(4, solver.getElementCount(Call.GET_MAPPINGS));
+		assertEquals(0, solver.getCallCount(Call.UPDATE_MODEL));
+
+		solver.changeVariableWeight("c", 0);
+		assertEquals(1, solver.getCallCount(Call.UPDATE_MODEL));
+
+		solver.reset();
+		for (final Call call : Call.values()) {
+			assertEquals(0, solver.getCallCount(call));
+			assertEquals(0, solver.getElementCount(call));
+			assertEquals(0, solver.getTime(call));
+		}
+	}
+
+}
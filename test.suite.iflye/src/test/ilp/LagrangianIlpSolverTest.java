@@ -0,0 +1,139 @@
+package test.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.config.IlpSolverConfig;
+import ilp.wrapper.config.Solver;
+import ilp.wrapper.impl.LagrangianIlpSolver;
+
+/**
+ * Test class for the Lagrangian decomposition of the
+ * {@link LagrangianIlpSolver}.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class LagrangianIlpSolverTest {
+
+	/**
+	 * Old solver backend of the blocks.
+	 */
+	private Solver oldSolver;
+
+	/**
+	 * Old maximum number of subgradient iterations.
+	 */
+	private int oldIterations;
+
+	/**
+	 * Solver to test.
+	 */
+	private LagrangianIlpSolver solver;
+
+	@BeforeEach
+	public void setUp() {
+		oldSolver = IlpSolverConfig.LAGRANGIAN_SOLVER;
+		oldIterations = IlpSolverConfig.LAGRANGIAN_ITERATIONS;
+		IlpSolverConfig.LAGRANGIAN_SOLVER = Solver.JAVA;
+		solver = new LagrangianIlpSolver(60, 0);
+	}
+
+	@AfterEach
+	public void restore() {
+		solver.dispose();
+		IlpSolverConfig.LAGRANGIAN_SOLVER = oldSolver;
+		IlpSolverConfig.LAGRANGIAN_ITERATIONS = oldIterations;
+	}
+
+	@Test
+	public void testSharedCapacity() {
+		// Two hosts with a capacity of 2 and three requests with a demand of 2 each
+		final int[] hosts = new int[] { //
+				solver.addLessOrEqualsConstraint(2, new double[0], new int[0]), //
+				solver.addLessOrEqualsConstraint(2, new double[0], new int[0]) //
+		};
+		final int[] rejects = new int[3];
+		final int[][] places = new int[3][2];
+		for (int r = 0; r < 3; r++) {
+			rejects[r] = solver.addVariable(10 + r);
+			for (int h = 0; h < 2; h++) {
+				places[r][h] = solver.addVariable(1 + h);
+				solver.setVariableWeightForConstraint(hosts[h], 2, places[r][h]);
+			}
+			solver.addEqualsConstraint(1, new double[] { 1, 1, 1 },
+					new int[] { rejects[r], places[r][0], places[r][1] });
+		}
+		for (final int host : hosts) {
+			solver.relaxConstraint(host);
+		}
+
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+
+		// The request with the lowest rejection cost is rejected (optimum 1 + 2 + 10)
+		assertEquals(13, solver.getObjectiveValue(), 1e-6);
+		assertTrue(solver.isSelected(rejects[0]));
+		assertTrue(solver.getLowerBound() <= 13 + 1e-6);
+		assertTrue(solver.getDualityGap() >= -1e-6);
+		assertTrue(solver.getIterations() > 0);
+	}
+
+	@Test
+	public void testFailedRepairIsNoInfeasibility() {
+		// Host 1 has a capacity of 2 and host 2 a capacity of 1
+		final int h1 = solver.addLessOrEqualsConstraint(2, new double[0], new int[0]);
+		final int h2 = solver.addLessOrEqualsConstraint(1, new double[0], new int[0]);
+
+		// Request a fits onto both hosts, request b only onto host 1
+		final int a1 = solver.addVariable(0);
+		final int a2 = solver.addVariable(5);
+		final int b1 = solver.addVariable(1);
+		solver.setVariableWeightForConstraint(h1, 2, a1);
+		solver.setVariableWeightForConstraint(h2, 1, a2);
+		solver.setVariableWeightForConstraint(h1, 2, b1);
+		solver.addEqualsConstraint(1, new double[] { 1, 1 }, new int[] { a1, a2 });
+		solver.addEqualsConstraint(1, new double[] { 1 }, new int[] { b1 });
+		solver.relaxConstraint(h1);
+		solver.relaxConstraint(h2);
+
+		// The first repair accepts a on host 1 and can not place b anymore, although
+		// the model is feasible (a on host 2)
+		IlpSolverConfig.LAGRANGIAN_ITERATIONS = 1;
+		assertEquals(SolverStatus.TIME_OUT, solver.solve().getStatus());
+		assertFalse(solver.hasSolution());
+
+		IlpSolverConfig.LAGRANGIAN_ITERATIONS = oldIterations;
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(6, solver.getObjectiveValue(), 1e-6);
+		assertArrayEquals(new int[] { a2, b1 }, solver.getSelectedVariables());
+	}
+
+	@Test
+	public void testInfeasibleBlock() {
+		final int host = solver.addLessOrEqualsConstraint(1, new double[0], new int[0]);
+		final int a = solver.addVariable(1);
+		final int b = solver.addVariable(1);
+		solver.setVariableWeightForConstraint(host, 1, a);
+		solver.addEqualsConstraint(2, new double[] { 1, 1 }, new int[] { a, b });
+		solver.addLessOrEqualsConstraint(0, new double[] { 1 }, new int[] { b });
+		solver.relaxConstraint(host);
+		assertEquals(SolverStatus.INFEASIBLE, solver.solve().getStatus());
+	}
+
+	@Test
+	public void testWithoutRelaxedConstraints() {
+		final int a = solver.addVariable(2);
+		final int b = solver.addVariable(1);
+		solver.addEqualsConstraint(1, new double[] { 1, 1 }, new int[] { a, b });
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertArrayEquals(new int[] { b }, solver.getSelectedVariables());
+		assertTrue(Double.isNaN(solver.getLowerBound()));
+	}
+
+}
@@ -0,0 +1,87 @@
+package test.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ilp.wrapper.IlpSolverException;
+import ilp.wrapper.IndexedIlpDelta;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.config.Solver;
+import ilp.wrapper.impl.PortfolioIlpSolver;
+
+/**
+ * Test class for the {@link PortfolioIlpSolver}. All members use the pure Java
+ * solver, because it does not need a license.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class PortfolioIlpSolverTest {
+
+	/**
+	 * Portfolio to test.
+	 */
+	private PortfolioIlpSolver portfolio;
+
+	@BeforeEach
+	public void setUp() {
+		portfolio = new PortfolioIlpSolver(new Solver[] { Solver.JAVA, Solver.JAVA, Solver.JAVA }, new int[0], 0);
+	}
+
+	@AfterEach
+	public void cleanUp() {
+		portfolio.dispose();
+	}
+
+	@Test
+	public void testPortfolioUsesSameHandles() {
+		final IndexedIlpDelta delta = new IndexedIlpDelta(portfolio);
+		final int x = delta.addVariable(-1);
+		final int y = delta.addVariable(-2);
+		final int c = delta.addLessOrEqualsConstraint(1);
+		delta.setVariableWeightForConstraint(c, 1, x);
+		delta.setVariableWeightForConstraint(c, 1, y);
+		delta.apply(portfolio);
+
+		assertEquals(SolverStatus.OPTIMAL, portfolio.solve().getStatus());
+		assertEquals(-2, portfolio.getObjectiveValue(), 1e-6);
+		assertFalse(portfolio.isSelected(x));
+		assertTrue(portfolio.isSelected(y));
+		assertTrue(portfolio.getWinner().startsWith("JAVA"));
+	}
+
+	@Test
+	public void testInfeasibleModel() {
+		final int x = portfolio.addVariable(1);
+		portfolio.addEqualsConstraint(2, new double[] { 1 }, new int[] { x });
+		assertEquals(SolverStatus.INFEASIBLE, portfolio.solve().getStatus());
+		assertFalse(portfolio.hasSolution());
+	}
+
+	@Test
+	public void testCancellationStopsNextSolveOnly() {
+		final int x = portfolio.addVariable(-1);
+		portfolio.cancel();
+		assertEquals(SolverStatus.INTERRUPTED, portfolio.solve().getStatus());
+		assertEquals(SolverStatus.OPTIMAL, portfolio.solve().getStatus());
+		assertTrue(portfolio.isSelected(x));
+
+		// Further solves are not affected by the cancelled losers of earlier solves
+		for (int i = 0; i < 5; i++) {
+			assertEquals(SolverStatus.OPTIMAL, portfolio.solve().getStatus());
+		}
+	}
+
+	@Test
+	public void testInvalidPortfolios() {
+		assertThrows(IlpSolverException.class, () -> new PortfolioIlpSolver(new Solver[0], new int[0], 0));
+		assertThrows(IlpSolverException.class,
+				() -> new PortfolioIlpSolver(new Solver[] { Solver.JAVA, Solver.PORTFOLIO }, new int[0], 0));
+	}
+
+}
@@ -0,0 +1,86 @@
+package test.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ilp.wrapper.IlpDelta;
+import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.IndexedIlpDelta;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.impl.IlpReplay;
+import ilp.wrapper.impl.IncrementalJavaSolver;
+import ilp.wrapper.impl.RecordingIlpSolver;
+
+/**
+ * Test class for the recording of ILP solver calls via the
+ * {@link RecordingIlpSolver} and their replay via the {@link IlpReplay}.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class RecordingIlpSolverTest {
+
+	/**
+	 * Log file of the recording.
+	 */
+	private Path file;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		file = Files.createTempFile("ilp-", ".ilprec");
+	}
+
+	@AfterEach
+	public void cleanUp() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Test
+	public void testReplayReproducesSolves() {
+		final RecordingIlpSolver recorder = new RecordingIlpSolver(new IncrementalJavaSolver(60, 0), file.toString());
+
+		// Name based delta: exactly one of a and b
+		final IlpDelta delta = new IlpDelta();
+		delta.addVariable("a", 2);
+		delta.addVariable("b", 3);
+		delta.addEqualsConstraint("one", 1);
+		delta.setVariableWeightForConstraint("one", 1, "a");
+		delta.setVariableWeightForConstraint("one", 1, "b");
+		delta.apply(recorder);
+		assertEquals(SolverStatus.OPTIMAL, recorder.solve().getStatus());
+
+		// Handle based delta: c is cheaper and forced in
+		final IndexedIlpDelta indexed = new IndexedIlpDelta(recorder);
+		final int c = indexed.addVariable(-1);
+		final int fix = indexed.addEqualsConstraint(1);
+		indexed.setVariableWeightForConstraint(fix, 1, c);
+		indexed.apply(recorder);
+		recorder.changeVariableWeight("a", 5);
+		assertEquals(SolverStatus.OPTIMAL, recorder.solve().getStatus());
+		final double objective = recorder.getObjectiveValue();
+		recorder.dispose();
+
+		final IncrementalIlpSolver target = new IncrementalJavaSolver(60, 0);
+		try {
+			final IlpReplay replay = new IlpReplay();
+			replay.replay(file.toString(), target);
+			assertEquals(2, replay.getSolves().size());
+			assertEquals(SolverStatus.OPTIMAL, replay.getSolves().get(1).getReplayed().getStatus());
+			assertEquals(SolverStatus.OPTIMAL, replay.getSolves().get(1).getRecordedStatus());
+			assertTrue(replay.getSolves().get(1).getCalls() > 0);
+			assertEquals(objective, target.getObjectiveValue(), 1e-6);
+			assertTrue(target.isSelected(c));
+			assertTrue(target.isSelected("b"));
+		} finally {
+			target.dispose();
+		}
+	}
+
+}
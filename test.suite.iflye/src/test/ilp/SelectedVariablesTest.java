@@ -0,0 +1,93 @@
+package test.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ilp.wrapper.IlpSolverException;
+import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.impl.IncrementalJavaSolver;
+
+/**
+ * Test class for the sparse bulk retrieval of the selected variables (see
+ * {@link IncrementalIlpSolver#getSelectedVariables()}).
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class SelectedVariablesTest {
+
+	/**
+	 * ILP solver to test with.
+	 */
+	private IncrementalIlpSolver solver;
+
+	@BeforeEach
+	public void setUp() {
+		solver = new IncrementalJavaSolver(60, 0);
+	}
+
+	@AfterEach
+	public void cleanUp() {
+		solver.dispose();
+	}
+
+	@Test
+	public void testMatchesDenseMappings() {
+		// Two elements, each must be placed on one of two hosts with capacity 1
+		final int[][] vars = new int[2][2];
+		for (int e = 0; e < 2; e++) {
+			vars[e][0] = solver.addVariable(e == 0 ? 1 : 5);
+			vars[e][1] = solver.addVariable(e == 1 ? 1 : 5);
+			solver.addEqualsConstraint(1, new double[] { 1, 1 }, vars[e]);
+		}
+		for (int h = 0; h < 2; h++) {
+			solver.addLessOrEqualsConstraint(1, new double[] { 1, 1 }, new int[] { vars[0][h], vars[1][h] });
+		}
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+
+		final int[] selected = solver.getSelectedVariables();
+		assertArrayEquals(new int[] { vars[0][0], vars[1][1] }, selected);
+		final boolean[] dense = new boolean[solver.getVariableHandleCount()];
+		solver.getMappings(dense);
+		int count = 0;
+		for (int var = 0; var < dense.length; var++) {
+			if (dense[var]) {
+				assertEquals(selected[count++], var);
+			}
+		}
+		assertEquals(selected.length, count);
+	}
+
+	@Test
+	public void testRemovedVariablesAreSkipped() {
+		final int[] vars = new int[] { solver.addVariable(-1), solver.addVariable(-1), solver.addVariable(-1) };
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertArrayEquals(vars, solver.getSelectedVariables());
+
+		// The solution stays available until the next solve
+		solver.removeVariables(new int[] { vars[1] });
+		assertArrayEquals(new int[] { vars[0], vars[2] }, solver.getSelectedVariables());
+	}
+
+	@Test
+	public void testNoSelection() {
+		solver.addVariable(1);
+		solver.addVariable(2);
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(0, solver.getSelectedVariables().length);
+	}
+
+	@Test
+	public void testWithoutSolution() {
+		final int x = solver.addVariable(1);
+		solver.addEqualsConstraint(2, new double[] { 1 }, new int[] { x });
+		assertEquals(SolverStatus.INFEASIBLE, solver.solve().getStatus());
+		assertThrows(IlpSolverException.class, () -> solver.getSelectedVariables());
+	}
+
+}
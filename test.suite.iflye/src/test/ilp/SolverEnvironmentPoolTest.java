@@ -0,0 +1,118 @@
+package test.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.gurobi.gurobi.GRB;
+import com.gurobi.gurobi.GRB.DoubleParam;
+import com.gurobi.gurobi.GRB.IntParam;
+import com.gurobi.gurobi.GRBEnv;
+import com.gurobi.gurobi.GRBException;
+
+import ilog.concert.IloException;
+import ilog.cplex.IloCplex;
+import ilp.wrapper.config.IlpSolverConfig;
+import ilp.wrapper.impl.IncrementalGurobiSolver;
+import ilp.wrapper.impl.SolverEnvironmentPool;
+
+/**
+ * Test class for the {@link SolverEnvironmentPool}. Like the
+ * {@link IlpSolverSetupTest}, it needs working installations of Gurobi and
+ * CPLEX.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class SolverEnvironmentPoolTest {
+
+	/**
+	 * Saves the configured state of the pool.
+	 */
+	private boolean savedPool;
+
+	@BeforeEach
+	public void setUp() {
+		savedPool = IlpSolverConfig.POOL_ENVIRONMENTS;
+		IlpSolverConfig.POOL_ENVIRONMENTS = true;
+		SolverEnvironmentPool.clear();
+	}
+
+	@AfterEach
+	public void restoreConfig() {
+		SolverEnvironmentPool.clear();
+		IlpSolverConfig.POOL_ENVIRONMENTS = savedPool;
+	}
+
+	@Test
+	public void testGurobiEnvIsReused() throws GRBException {
+		final GRBEnv env = SolverEnvironmentPool.acquireGurobiEnv();
+		SolverEnvironmentPool.releaseGurobiEnv(env);
+		assertEquals(1, SolverEnvironmentPool.getIdleCount());
+
+		final GRBEnv reused = SolverEnvironmentPool.acquireGurobiEnv();
+		assertSame(env, reused);
+		assertEquals(0, SolverEnvironmentPool.getIdleCount());
+
+		// A second solver at the same time gets its own environment
+		final GRBEnv other = SolverEnvironmentPool.acquireGurobiEnv();
+		assertNotSame(env, other);
+		SolverEnvironmentPool.releaseGurobiEnv(other);
+		SolverEnvironmentPool.releaseGurobiEnv(reused);
+		assertEquals(2, SolverEnvironmentPool.getIdleCount());
+	}
+
+	@Test
+	public void testGurobiEnvIsResetOnRelease() throws GRBException {
+		final int outputFlag = IlpSolverConfig.ENABLE_ILP_OUTPUT ? 1 : 0;
+		final GRBEnv env = SolverEnvironmentPool.acquireGurobiEnv();
+		assertEquals(outputFlag, env.get(IntParam.OutputFlag));
+		env.set(DoubleParam.TimeLimit, 5);
+		env.set(IntParam.OutputFlag, 1 - outputFlag);
+		SolverEnvironmentPool.releaseGurobiEnv(env);
+
+		final GRBEnv reused = SolverEnvironmentPool.acquireGurobiEnv();
+		assertSame(env, reused);
+		assertEquals(GRB.INFINITY, reused.get(DoubleParam.TimeLimit));
+		assertEquals(outputFlag, reused.get(IntParam.OutputFlag));
+		SolverEnvironmentPool.releaseGurobiEnv(reused);
+	}
+
+	@Test
+	public void testGurobiTimeoutKeepsEnv() throws GRBException {
+		final IncrementalGurobiSolver solver = new IncrementalGurobiSolver(IlpSolverConfig.TIME_OUT, 0);
+		solver.setTimeout(5);
+		solver.dispose();
+
+		final GRBEnv env = SolverEnvironmentPool.acquireGurobiEnv();
+		assertEquals(GRB.INFINITY, env.get(DoubleParam.TimeLimit));
+		SolverEnvironmentPool.releaseGurobiEnv(env);
+	}
+
+	@Test
+	public void testCplexIsResetOnRelease() throws IloException {
+		final IloCplex cplex = SolverEnvironmentPool.acquireCplex();
+		cplex.addLe(cplex.boolVar(), 1);
+		cplex.setParam(IloCplex.Param.TimeLimit, 5);
+		SolverEnvironmentPool.releaseCplex(cplex);
+		assertEquals(1, SolverEnvironmentPool.getIdleCount());
+
+		final IloCplex reused = SolverEnvironmentPool.acquireCplex();
+		assertSame(cplex, reused);
+		assertEquals(0, reused.getNcols());
+		assertEquals(reused.getDefault(IloCplex.Param.TimeLimit), reused.getParam(IloCplex.Param.TimeLimit));
+		SolverEnvironmentPool.releaseCplex(reused);
+	}
+
+	@Test
+	public void testDisabledPool() throws GRBException, IloException {
+		IlpSolverConfig.POOL_ENVIRONMENTS = false;
+		SolverEnvironmentPool.releaseGurobiEnv(SolverEnvironmentPool.acquireGurobiEnv());
+		SolverEnvironmentPool.releaseCplex(SolverEnvironmentPool.acquireCplex());
+		assertEquals(0, SolverEnvironmentPool.getIdleCount());
+	}
+
+}
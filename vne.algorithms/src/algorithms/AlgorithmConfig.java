@@ -70,6 +70,18 @@ public class AlgorithmConfig {
 		MANUAL; // Use ModelFacade methods
 	}
 
+	/**
+	 * Rounding enumeration that defines how the {@link VnePmMdvneAlgorithm} turns
+	 * the solution of the LP relaxation into an embedding.
+	 *
+	 * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+	 */
+	public enum LpRounding {
+		NONE, // Solve the full ILP
+		RANDOMIZED, // Sample each SOS1 group independently
+		DEPENDENT; // Sample all SOS1 groups of a virtual network with the same random number
+	}
+
 	/**
 	 * Private constructor ensures no instantiation of this class.
 	 */
@@ -101,6 +113,105 @@ public class AlgorithmConfig {
 	 */
 	public static int pmNoMigrations = 6;
 
+	/**
+	 * If true, the {@link VnePmMdvneAlgorithm} passes a start solution (MIP start)
+	 * to the ILP solver. It consists of the previous embedding of all known virtual
+	 * nodes and a greedy completion for all other virtual elements.
+	 */
+	public static boolean pmMipStart = false;
+
+	/**
+	 * If true, the {@link VnePmMdvneAlgorithm} does not add the bandwidth
+	 * constraints of the substrate links to the ILP solver up front. Instead, the
+	 * solution of the solver is checked and only the constraints of overloaded
+	 * links are added before the solver is started again. Most link constraints
+	 * are never tight, so this shrinks the model for long substrate paths.
+	 */
+	public static boolean pmLazyLinkConstraints = false;
+
+	/**
+	 * If true, the {@link VnePmMdvneAlgorithm} does not add one constraint per
+	 * virtual link mapping variable to connect it with the mapping variables of
+	 * the source and target node. Instead, all mapping variables of a virtual link
+	 * with the same substrate source (target) node share one aggregated
+	 * constraint. This removes roughly one row per virtual link mapping variable.
+	 */
+	public static boolean pmAggregatedLinkConstraints = false;
+
+	/**
+	 * If true, the {@link VnePmMdvneAlgorithm} detects interchangeable virtual
+	 * servers (same virtual network, resources, incident virtual links and
+	 * candidate substrate servers) and adds ordering constraints over their
+	 * substrate servers. This prevents the solver from exploring permutations of
+	 * identical virtual servers, which have the same costs.
+	 */
+	public static boolean pmSymmetryBreaking = false;
+
+	/**
+	 * If true, the {@link VnePmMdvneAlgorithm} keeps its ILP solver across
+	 * embedding requests on the same substrate network. The constraints of the
+	 * substrate servers and links stay in the model and only their right sides are
+	 * updated to the residual resources, while the variables and constraints of
+	 * the virtual networks of the last request are removed. Hence, each request
+	 * only adds the elements of its own virtual networks. This mode is not used
+	 * together with {@link #pmLazyLinkConstraints}.
+	 */
+	public static boolean pmPersistentModel = false;
+
+	/**
+	 * Maximum number of embedding requests that share one persistent ILP model of
+	 * the {@link VnePmMdvneAlgorithm} (see {@link #pmPersistentModel}). Removed
+	 * variables and constraints keep their handles, so the per-handle storage of
+	 * the ILP solver grows with each request. Therefore, the model is built from
+	 * scratch again after this number of requests.
+	 */
+	public static int pmPersistentModelRequests = 64;
+
+	/**
+	 * If true, the {@link VnePmMdvneAlgorithm} (and its subclasses using its delta
+	 * translation) looks up the model elements and calculates the costs of all new
+	 * matches in parallel, partitioned by their virtual networks. The variables and
+	 * constraints are still added in the order of the matches, so the ILP is the
+	 * same as for the sequential translation.
+	 */
+	public static boolean pmParallelDelta2Ilp = false;
+
+	/**
+	 * If not {@link LpRounding#NONE}, the {@link VnePmMdvneAlgorithm} (and its
+	 * subclasses) only solves the LP relaxation of the ILP. The mapping of each
+	 * virtual element (SOS1 group) is rounded based on the LP values and repaired
+	 * regarding the residual resources of the substrate network. If the repair
+	 * fails, the full ILP is solved instead.
+	 */
+	public static LpRounding pmLpRounding = LpRounding.NONE;
+
+	/**
+	 * Latency budget of one embedding request (from the preparation of the
+	 * {@link VnePmMdvneAlgorithm} (and its subclasses) until the end of the ILP
+	 * solving) in milliseconds. If the budget runs out, the solver is stopped and
+	 * its best incumbent is embedded. If there is no incumbent, all virtual
+	 * networks of the request are rejected. A negative value disables the budget.
+	 */
+	public static int pmLatencyBudget = -1;
+
+	/**
+	 * If not negative, the {@link VnePmMdvneAlgorithm} (and its subclasses) stops
+	 * the ILP solver as soon as it finds an incumbent that rejects no virtual
+	 * network and whose relative gap is at most this value. The incumbent is
+	 * embedded even if it is not proven to be optimal.
+	 */
+	public static double pmIncumbentGap = -1;
+
+	/**
+	 * If true, the {@link algorithms.ilp.VneFakeIlpAlgorithm} (and its batch
+	 * variant) does not solve one monolithic ILP. Instead, the shared resource
+	 * constraints of the substrate network are relaxed and one subproblem per
+	 * virtual network is solved via Lagrangian decomposition (see
+	 * {@link ilp.wrapper.impl.LagrangianIlpSolver}). The result is feasible, but
+	 * not necessarily optimal.
+	 */
+	public static boolean ilpLagrangian = false;
+
 	/**
 	 * If true, the network rejection cost will be calculated based on the size of
 	 * the virtual network and its resources. If false, the cost will be static.
@@ -0,0 +1,53 @@
+package algorithms.ilp;
+
+import algorithms.Algorithm;
+import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.Statistics;
+import ilp.wrapper.impl.InstrumentedIlpSolver;
+import metrics.manager.Context;
+import metrics.manager.MetricsManager;
+
+/**
+ * This interface defines the additional methods of all algorithms that embed
+ * virtual networks with an incremental ILP solver.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public interface IlpSolverAlgorithm extends Algorithm {
+
+	/**
+	 * Returns the statistics of the last ILP solve of the current embedding
+	 * request.
+	 *
+	 * @return Statistics of the last ILP solve or null if no ILP was solved.
+	 */
+	public abstract Statistics getIlpStatistics();
+
+	/**
+	 * Reports the calls of the given ILP solver since the last report to the
+	 * {@link MetricsManager} via a {@link Context.IlpCallContext} and resets the
+	 * counters of the solver. Nothing is reported if the solver is not
+	 * instrumented (see {@link ilp.wrapper.config.IlpSolverConfig#INSTRUMENT}).
+	 *
+	 * @param solver ILP solver of the current embedding request.
+	 */
+	public static void reportIlpCalls(final IncrementalIlpSolver solver) {
+		if (!(solver instanceof InstrumentedIlpSolver instrumented)) {
+			return;
+		}
+		final MetricsManager manager = MetricsManager.getInstance();
+		if (manager != null) {
+			manager.observe("ilp_calls", () -> {
+				final Context.IlpCallContext context = new Context.IlpCallContext();
+				for (final InstrumentedIlpSolver.Call call : InstrumentedIlpSolver.Call.values()) {
+					context.addCall(call.getName(), instrumented.getCallCount(call), instrumented.getElementCount(call),
+							instrumented.getTime(call));
+				}
+				return context;
+			}, () -> {
+			});
+		}
+		instrumented.reset();
+	}
+
+}
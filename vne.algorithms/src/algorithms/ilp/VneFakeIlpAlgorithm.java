@@ -1,14 +1,16 @@
 package algorithms.ilp;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import algorithms.AbstractAlgorithm;
 import algorithms.AlgorithmConfig;
@@ -16,13 +18,16 @@ import facade.ModelFacade;
 import facade.config.ModelFacadeConfig;
 import gt.PatternMatchingDelta;
 import gt.PatternMatchingDelta.Match;
-import ilp.wrapper.IlpDelta;
+import ilp.wrapper.IndexedIlpDelta;
 import ilp.wrapper.IlpSolverException;
+import ilp.wrapper.IlpRowScaling;
 import ilp.wrapper.IncrementalIlpSolver;
 import ilp.wrapper.Statistics;
 import ilp.wrapper.config.IlpSolverConfig;
+import ilp.wrapper.impl.LagrangianIlpSolver;
 import metrics.CostUtility;
 import metrics.manager.GlobalMetricsManager;
+import model.Element;
 import model.Link;
 import model.Node;
 import model.SubstrateElement;
@@ -52,11 +57,13 @@ import model.VirtualSwitch;
  * @author Stefan Tomaszek (ES TU Darmstadt) [idyve project]
  * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
  */
-public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
+public class VneFakeIlpAlgorithm extends AbstractAlgorithm implements IlpSolverAlgorithm {
 
 	/**
 	 * ILP delta generator that converts matches and given model objects into ILP
-	 * constraints for the solver.
+	 * constraints for the solver. All variables and constraints are referenced via
+	 * their integer handles. Names are only generated if
+	 * {@link IlpSolverConfig#ILP_DEBUG_NAMES} is enabled.
 	 *
 	 * @author Stefan Tomaszek (ES TU Darmstadt) [idyve project]
 	 * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
@@ -65,35 +72,141 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 		/**
 		 * ILP delta object that holds all information.
 		 */
-		protected final IlpDelta delta = new IlpDelta();
+		protected final IndexedIlpDelta delta = new IndexedIlpDelta(ilpSolver, getRowScaling());
 
 		/**
-		 * Mappings for the SOS1 constraints. Each virtual element IDs is a key and the
-		 * corresponding value is a list of virtual to substrate element ID mappings.
-		 *
-		 * Example: vlink1 -> {vlink1spath1, vlink1spath2, vlink2sserver3,
-		 * vlink2sserver7}
+		 * Handles of the CPU, memory and storage constraints of all substrate servers.
+		 */
+		protected final Map<SubstrateServer, int[]> serverConstraints = new HashMap<>();
+
+		/**
+		 * Handles of the bandwidth constraints of all substrate links.
+		 */
+		protected final Map<Link, Integer> linkConstraints = new HashMap<>();
+
+		/**
+		 * Handles of the (equals) constraints of all virtual elements.
+		 */
+		protected final Map<VirtualElement, Integer> virtualConstraints = new HashMap<>();
+
+		/**
+		 * Handles of the rejection variables of all virtual networks.
+		 */
+		protected final Map<VirtualNetwork, Integer> rejectVariables = new HashMap<>();
+
+		/**
+		 * Handles of all node mapping variables (virtual node -> substrate node ->
+		 * variable handle).
+		 */
+		protected final Map<Element, Map<Element, Integer>> nodeVariables = new HashMap<>();
+
+		/**
+		 * Mappings for the SOS1 constraints. Each virtual element is a key and the
+		 * corresponding value is the index of its SOS1 constraint within the delta.
 		 */
-		final Map<String, List<String>> sosMappings = new HashMap<>();
+		final Map<Element, Integer> sosMappings = new HashMap<>();
+
+		/**
+		 * Creates a new ILP delta generator for the current ILP solver.
+		 */
+		public IlpDeltaGenerator() {
+			// Forget all matches of variables that are not part of the current solver
+			final int vars = ilpSolver.getVariableHandleCount();
+			if (variablesToMatch.size() > vars) {
+				variablesToMatch.subList(vars, variablesToMatch.size()).clear();
+			}
+		}
 
 		/**
 		 * Adds a SOS1 mapping to the collection. This method immediately returns, if
 		 * the algorithm configuration option for SOS1 constraints is disabled.
 		 *
-		 * @param v  Virtual element ID.
-		 * @param vs Virtual to substrate element ID mapping.
+		 * @param v   Virtual element.
+		 * @param var Handle of the virtual to substrate element mapping variable.
 		 */
-		public void addSosMappings(final String v, final String vs) {
+		public void addSosMappings(final Element v, final int var) {
 			// If the algorithm configuration for the SOS constraint feature is disabled,
 			// return.
 			if (!AlgorithmConfig.pmSosEnabled) {
 				return;
 			}
 
-			if (!sosMappings.containsKey(v)) {
-				sosMappings.put(v, new LinkedList<String>());
+			delta.addToSosConstraint(sosMappings.computeIfAbsent(v, k -> delta.addSosConstraint()), var);
+		}
+
+		/**
+		 * Adds a new mapping variable for a given match.
+		 *
+		 * @param match  Match the variable represents.
+		 * @param weight Weight of the variable in the objective.
+		 * @return Handle of the new variable.
+		 */
+		protected int addMatchVariable(final Match match, final double weight) {
+			final int var = delta.addVariable(weight);
+			setMatch(var, match);
+			if (IlpSolverConfig.ILP_DEBUG_NAMES) {
+				delta.setVariableName(var, match.getVirtual().getName() + "_" + match.getSubstrate().getName());
+			}
+			return var;
+		}
+
+		/**
+		 * Registers the given match for a variable handle.
+		 *
+		 * @param var   Variable handle.
+		 * @param match Match the variable represents.
+		 */
+		protected void setMatch(final int var, final Match match) {
+			while (variablesToMatch.size() <= var) {
+				variablesToMatch.add(null);
+			}
+			variablesToMatch.set(var, match);
+		}
+
+		/**
+		 * Returns the handle of the rejection variable of a given virtual network. The
+		 * variable gets created if it does not exist yet.
+		 *
+		 * @param vNet Virtual network.
+		 * @return Handle of the rejection variable.
+		 */
+		protected int getRejectVariable(final VirtualNetwork vNet) {
+			Integer var = rejectVariables.get(vNet);
+			if (var == null) {
+				var = delta.addVariable(getNetRejCost(vNet));
+				rejectVariables.put(vNet, var);
+				if (IlpSolverConfig.ILP_DEBUG_NAMES) {
+					delta.setVariableName(var, "rej" + vNet.getName());
+				}
+			}
+			return var;
+		}
+
+		/**
+		 * Returns the handle of the mapping variable of a virtual node to a substrate
+		 * node or null if there is none.
+		 *
+		 * @param virt Virtual node.
+		 * @param sub  Substrate node.
+		 * @return Handle of the mapping variable or null if there is none.
+		 */
+		protected Integer getNodeVariable(final Element virt, final Element sub) {
+			final Map<Element, Integer> vars = nodeVariables.get(virt);
+			return vars == null ? null : vars.get(sub);
+		}
+
+		/**
+		 * Sets the debug name of a constraint if
+		 * {@link IlpSolverConfig#ILP_DEBUG_NAMES} is enabled.
+		 *
+		 * @param constraint Constraint handle.
+		 * @param prefix     Prefix of the name.
+		 * @param name       Name of the element the constraint belongs to.
+		 */
+		protected void nameConstraint(final int constraint, final String prefix, final String name) {
+			if (IlpSolverConfig.ILP_DEBUG_NAMES) {
+				delta.setConstraintName(constraint, prefix + name);
 			}
-			sosMappings.get(v).add(vs);
 		}
 
 		/**
@@ -102,9 +215,7 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 		 * @param match Match to get information from.
 		 */
 		public void addNewNetworkMatch(final Match match) {
-			final VirtualNetwork vNet = (VirtualNetwork) match.getVirtual();
-			delta.addVariable("rej" + vNet.getName(), getNetRejCost(vNet));
-			variablesToMatch.put("rej" + vNet.getName(), match);
+			setMatch(getRejectVariable((VirtualNetwork) match.getVirtual()), match);
 		}
 
 		/**
@@ -113,7 +224,6 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 		 * @param match Match to get information from.
 		 */
 		public void addLinkServerMatch(final Match match) {
-			final String varName = match.getVirtual().getName() + "_" + match.getSubstrate().getName();
 			final VirtualLink vLink = (VirtualLink) modelFacade.getLinkById(match.getVirtual().getName());
 
 			// If the source node (target node) of the virtual link may not be embedded to
@@ -125,21 +235,23 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 			// solver does not have to deal with the embedding of the link for this
 			// particular substrate
 			// node, to.
-			final String sourceVarName = vLink.getSource().getName() + "_" + match.getSubstrate().getName();
-			final String targetVarName = vLink.getTarget().getName() + "_" + match.getSubstrate().getName();
+			final Integer sourceVar = getNodeVariable(vLink.getSource(), match.getSubstrate());
+			final Integer targetVar = getNodeVariable(vLink.getTarget(), match.getSubstrate());
 
-			if (!delta.hasAddVariable(sourceVarName) || !delta.hasAddVariable(targetVarName)) {
+			if (sourceVar == null || targetVar == null) {
 				return;
 			}
 
-			delta.addVariable(varName, getCost(vLink, (SubstrateNode) match.getSubstrate()));
-			delta.setVariableWeightForConstraint("vl" + match.getVirtual().getName(), 1, varName);
-			delta.addLessOrEqualsConstraint("req" + varName, 0, new int[] { 2, -1, -1 },
-					new String[] { varName, sourceVarName, targetVarName });
-			variablesToMatch.put(varName, match);
+			final int var = addMatchVariable(match, getCost(vLink, (SubstrateNode) match.getSubstrate()));
+			delta.setVariableWeightForConstraint(virtualConstraints.get(match.getVirtual()), 1, var);
+			final int req = delta.addLessOrEqualsConstraint(0, new int[] { 2, -1, -1 },
+					new int[] { var, sourceVar, targetVar });
+			if (IlpSolverConfig.ILP_DEBUG_NAMES) {
+				nameConstraint(req, "req", match.getVirtual().getName() + "_" + match.getSubstrate().getName());
+			}
 
 			// SOS match
-			addSosMappings(match.getVirtual().getName(), varName);
+			addSosMappings(match.getVirtual(), var);
 		}
 
 		/**
@@ -163,25 +275,25 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 			// This may e.g. be the case if the virtual node is a server but the substrate
 			// node is a
 			// switch.
-			final String sourceVarName = vLink.getSource().getName() + "_" + sPath.getSource().getName();
-			final String targetVarName = vLink.getTarget().getName() + "_" + sPath.getTarget().getName();
+			final Integer sourceVar = getNodeVariable(vLink.getSource(), sPath.getSource());
+			final Integer targetVar = getNodeVariable(vLink.getTarget(), sPath.getTarget());
 
-			if (!delta.hasAddVariable(sourceVarName) || !delta.hasAddVariable(targetVarName)) {
+			if (sourceVar == null || targetVar == null) {
 				return;
 			}
 
-			final String varName = match.getVirtual().getName() + "_" + match.getSubstrate().getName();
-
-			delta.addVariable(varName, getCost(vLink, sPath));
-			delta.setVariableWeightForConstraint("vl" + match.getVirtual().getName(), 1, varName);
-			delta.addLessOrEqualsConstraint("req" + varName, 0, new int[] { 2, -1, -1 },
-					new String[] { varName, sourceVarName, targetVarName });
+			final int var = addMatchVariable(match, getCost(vLink, sPath));
+			delta.setVariableWeightForConstraint(virtualConstraints.get(match.getVirtual()), 1, var);
+			final int req = delta.addLessOrEqualsConstraint(0, new int[] { 2, -1, -1 },
+					new int[] { var, sourceVar, targetVar });
+			if (IlpSolverConfig.ILP_DEBUG_NAMES) {
+				nameConstraint(req, "req", match.getVirtual().getName() + "_" + match.getSubstrate().getName());
+			}
 			forEachLink(sPath,
-					l -> delta.setVariableWeightForConstraint("sl" + l.getName(), vLink.getBandwidth(), varName));
-			variablesToMatch.put(varName, match);
+					l -> delta.setVariableWeightForConstraint(linkConstraints.get(l), vLink.getBandwidth(), var));
 
 			// SOS match
-			addSosMappings(match.getVirtual().getName(), varName);
+			addSosMappings(match.getVirtual(), var);
 		}
 
 		/**
@@ -191,17 +303,17 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 		 */
 		public void addServerMatch(final Match match) {
 			final VirtualServer vServer = (VirtualServer) modelFacade.getServerById(match.getVirtual().getName());
-			final String varName = match.getVirtual().getName() + "_" + match.getSubstrate().getName();
-			delta.addVariable(varName, getCost(vServer, (SubstrateServer) match.getSubstrate()));
-			delta.setVariableWeightForConstraint("vs" + match.getVirtual().getName(), 1, varName);
+			final int var = addMatchVariable(match, getCost(vServer, (SubstrateServer) match.getSubstrate()));
+			nodeVariables.computeIfAbsent(match.getVirtual(), k -> new HashMap<>()).put(match.getSubstrate(), var);
+			delta.setVariableWeightForConstraint(virtualConstraints.get(match.getVirtual()), 1, var);
 
-			delta.setVariableWeightForConstraint("cpu" + match.getSubstrate().getName(), vServer.getCpu(), varName);
-			delta.setVariableWeightForConstraint("mem" + match.getSubstrate().getName(), vServer.getMemory(), varName);
-			delta.setVariableWeightForConstraint("sto" + match.getSubstrate().getName(), vServer.getStorage(), varName);
-			variablesToMatch.put(varName, match);
+			final int[] resources = serverConstraints.get(match.getSubstrate());
+			delta.setVariableWeightForConstraint(resources[0], vServer.getCpu(), var);
+			delta.setVariableWeightForConstraint(resources[1], vServer.getMemory(), var);
+			delta.setVariableWeightForConstraint(resources[2], vServer.getStorage(), var);
 
 			// SOS match
-			addSosMappings(match.getVirtual().getName(), varName);
+			addSosMappings(match.getVirtual(), var);
 		}
 
 		/**
@@ -210,13 +322,13 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 		 * @param match Match to get information from.
 		 */
 		public void addSwitchMatch(final Match match) {
-			final String varName = match.getVirtual().getName() + "_" + match.getSubstrate().getName();
-			delta.addVariable(varName, getCost((VirtualNode) match.getVirtual(), (SubstrateNode) match.getSubstrate()));
-			delta.setVariableWeightForConstraint("vw" + match.getVirtual().getName(), 1, varName);
-			variablesToMatch.put(varName, match);
+			final int var = addMatchVariable(match,
+					getCost((VirtualNode) match.getVirtual(), (SubstrateNode) match.getSubstrate()));
+			nodeVariables.computeIfAbsent(match.getVirtual(), k -> new HashMap<>()).put(match.getSubstrate(), var);
+			delta.setVariableWeightForConstraint(virtualConstraints.get(match.getVirtual()), 1, var);
 
 			// SOS match
-			addSosMappings(match.getVirtual().getName(), varName);
+			addSosMappings(match.getVirtual(), var);
 		}
 
 		/**
@@ -225,9 +337,15 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 		 * @param server SubstrateServer to get information from.
 		 */
 		public void addNewSubstrateServer(final SubstrateServer server) {
-			delta.addLessOrEqualsConstraint("cpu" + server.getName(), (int) server.getResidualCpu());
-			delta.addLessOrEqualsConstraint("mem" + server.getName(), (int) server.getResidualMemory());
-			delta.addLessOrEqualsConstraint("sto" + server.getName(), (int) server.getResidualStorage());
+			final int[] resources = new int[] { //
+					delta.addLessOrEqualsConstraint((int) server.getResidualCpu()), //
+					delta.addLessOrEqualsConstraint((int) server.getResidualMemory()), //
+					delta.addLessOrEqualsConstraint((int) server.getResidualStorage()) //
+			};
+			serverConstraints.put(server, resources);
+			nameConstraint(resources[0], "cpu", server.getName());
+			nameConstraint(resources[1], "mem", server.getName());
+			nameConstraint(resources[2], "sto", server.getName());
 		}
 
 		/**
@@ -236,7 +354,25 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 		 * @param link SubstrateLink to get information from.
 		 */
 		public void addNewSubstrateLink(final SubstrateLink link) {
-			delta.addLessOrEqualsConstraint("sl" + link.getName(), link.getResidualBandwidth());
+			final int constraint = delta.addLessOrEqualsConstraint(link.getResidualBandwidth());
+			linkConstraints.put(link, constraint);
+			nameConstraint(constraint, "sl", link.getName());
+		}
+
+		/**
+		 * Adds a new virtual element that has to be embedded exactly once (or its
+		 * virtual network has to be rejected).
+		 *
+		 * @param element Virtual element to add.
+		 * @param vNet    Virtual network of the element.
+		 * @param prefix  Prefix of the constraint name.
+		 */
+		protected void addNewVirtualElement(final VirtualElement element, final VirtualNetwork vNet,
+				final String prefix) {
+			final int constraint = delta.addEqualsConstraint(1);
+			delta.setVariableWeightForConstraint(constraint, 1, getRejectVariable(vNet));
+			virtualConstraints.put(element, constraint);
+			nameConstraint(constraint, prefix, element.getName());
 		}
 
 		/**
@@ -245,8 +381,7 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 		 * @param server VirtualServer to get information from.
 		 */
 		public void addNewVirtualServer(final VirtualServer server) {
-			delta.addEqualsConstraint("vs" + server.getName(), 1);
-			delta.setVariableWeightForConstraint("vs" + server.getName(), 1, "rej" + server.getNetwork().getName());
+			addNewVirtualElement(server, (VirtualNetwork) server.getNetwork(), "vs");
 		}
 
 		/**
@@ -255,8 +390,7 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 		 * @param sw VirtualSwitch to get information from.
 		 */
 		public void addNewVirtualSwitch(final VirtualSwitch sw) {
-			delta.addEqualsConstraint("vw" + sw.getName(), 1);
-			delta.setVariableWeightForConstraint("vw" + sw.getName(), 1, "rej" + sw.getNetwork().getName());
+			addNewVirtualElement(sw, (VirtualNetwork) sw.getNetwork(), "vw");
 		}
 
 		/**
@@ -265,22 +399,22 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 		 * @param link VirtualLink to get information from.
 		 */
 		public void addNewVirtualLink(final VirtualLink link) {
-			delta.addEqualsConstraint("vl" + link.getName(), 1);
-			delta.setVariableWeightForConstraint("vl" + link.getName(), 1, "rej" + link.getNetwork().getName());
+			addNewVirtualElement(link, (VirtualNetwork) link.getNetwork(), "vl");
 		}
 
 		/**
 		 * Applies the delta to the ILP solver object.
 		 */
 		public void apply() {
-			// Before applying the ILP delta, add all SOS1 constraint mappings to it. This
-			// can't be done
-			// beforehand, because the individual mappings may be extended while adding more
-			// matches.
-			for (final String key : sosMappings.keySet()) {
-				delta.addSosConstraint(key, sosMappings.get(key));
-			}
 			delta.apply(ilpSolver);
+
+			// The shared resources are the only constraints between virtual networks
+			if (ilpSolver instanceof LagrangianIlpSolver lagrangian) {
+				for (final int[] resources : serverConstraints.values()) {
+					Arrays.stream(resources).forEach(lagrangian::relaxConstraint);
+				}
+				linkConstraints.values().forEach(lagrangian::relaxConstraint);
+			}
 		}
 
 	}
@@ -291,9 +425,10 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 	protected IncrementalIlpSolver ilpSolver;
 
 	/**
-	 * Mapping of string (name) to matches.
+	 * Matches of all variables of the current ILP solver indexed by the variable
+	 * handles.
 	 */
-	protected final Map<String, Match> variablesToMatch = new HashMap<>();
+	protected final List<Match> variablesToMatch = new ArrayList<>();
 
 	/**
 	 * Set of ignored virtual networks. Ignored virtual networks are requests, that
@@ -302,6 +437,18 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 	 */
 	protected final Set<VirtualNetwork> ignoredVnets = new HashSet<>();
 
+	/**
+	 * Statistics of the last ILP solve of the current embedding request.
+	 */
+	protected Statistics ilpStatistics;
+
+	/**
+	 * Scaling factors of the constraints of the ILP solver
+	 * {@link #rowScalingSolver} (see {@link IlpSolverConfig#ENABLE_ROW_SCALING}).
+	 */
+	private IlpRowScaling rowScaling;
+	private IncrementalIlpSolver rowScalingSolver;
+
 	/**
 	 * Initialize the algorithm with the global model facade.
 	 */
@@ -337,6 +484,7 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 		super.prepare(sNet, vNets);
 
 		checkPreConditions();
+		ilpStatistics = null;
 	}
 
 	/**
@@ -374,6 +522,7 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 		rejectedNetworks.addAll(ignoredVnets);
 		embedNetworks(rejectedNetworks);
 		GlobalMetricsManager.endDeployTime();
+		IlpSolverAlgorithm.reportIlpCalls(ilpSolver);
 		GlobalMetricsManager.measureMemory();
 		return rejectedNetworks.isEmpty();
 	}
@@ -436,24 +585,46 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 
 	/**
 	 * Solves the created ILP problem, embeds all accepted elements and returns a
-	 * set of virtual networks that could not be embedded.
+	 * set of virtual networks that could not be embedded. If the solver found no
+	 * solution without proving infeasibility (e.g., the Lagrangian solver could
+	 * not repair its solution within the time limit), all virtual networks are
+	 * rejected.
 	 *
 	 * @return Set of virtual networks that could not be embedded.
 	 */
 	protected Set<VirtualNetwork> solveIlp() {
 		GlobalMetricsManager.startIlpTime();
 		final Statistics solve = ilpSolver.solve();
+		ilpStatistics = solve;
+		int[] selected = ilpSolver.hasSolution() ? ilpSolver.getSelectedVariables() : null;
+		if (selected == null && solve.isFeasible()) {
+			logger.warning("No solution found (" + solve.getStatus() + "), rejecting all virtual networks.");
+			selected = getRejectVariables();
+		}
 		GlobalMetricsManager.endIlpTime();
 		Set<VirtualNetwork> rejectedNetworks = new HashSet<>();
-		if (solve.isFeasible()) {
+		if (selected != null) {
 			GlobalMetricsManager.startDeployTime();
-			rejectedNetworks = updateMappingsAndEmbed(ilpSolver.getMappings());
+			rejectedNetworks = updateMappingsAndEmbed(selected);
 		} else {
 			throw new IlpSolverException("Problem was infeasible.");
 		}
 		return rejectedNetworks;
 	}
 
+	/**
+	 * Returns the handles of the rejection variables of all virtual networks of the
+	 * ILP in ascending order.
+	 *
+	 * @return Handles of all rejection variables.
+	 */
+	protected int[] getRejectVariables() {
+		return IntStream.range(0, variablesToMatch.size())
+				.filter(var -> variablesToMatch.get(var) != null
+						&& variablesToMatch.get(var).getVirtual() instanceof VirtualNetwork)
+				.toArray();
+	}
+
 	/**
 	 * Translates the given pattern matching delta to an ILP formulation.
 	 *
@@ -655,24 +826,22 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 	}
 
 	/**
-	 * Updates and embeds the actual mappings for a given map of names (strings) and
-	 * booleans.
+	 * Updates and embeds the actual mappings for a given array of selected
+	 * variables.
 	 *
-	 * @param mappings Map of strings and booleans. The keys are mapping names and
-	 *                 the values define if the mapping was chosen.
+	 * @param selected Handles of all selected variables in ascending order.
 	 * @return Returns a set of all virtual networks that could not be embedded.
 	 */
-	protected Set<VirtualNetwork> updateMappingsAndEmbed(final Map<String, Boolean> mappings) {
+	protected Set<VirtualNetwork> updateMappingsAndEmbed(final int[] selected) {
 		// Embed elements
 		final Set<VirtualNetwork> rejectedNetworks = new HashSet<>();
 
-		for (final String s : mappings.keySet()) {
-			if (!mappings.get(s)) {
+		for (final int var : selected) {
+			final Match m = var < variablesToMatch.size() ? variablesToMatch.get(var) : null;
+			if (m == null) {
 				continue;
 			}
 
-			final Match m = variablesToMatch.get(s);
-
 			// Network -> Network (rejected)
 			if (m.getVirtual() instanceof VirtualNetwork) {
 				rejectedNetworks.add((VirtualNetwork) m.getVirtual());
@@ -708,8 +877,16 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 	 * Initializes the algorithm by creating a new incremental solver object.
 	 */
 	public void init() {
-		// Create new ILP solver object on every method call.
-		ilpSolver = IlpSolverConfig.getIlpSolver();
+		// Create new ILP solver object on every method call. The old one is disposed,
+		// so that its environment can be reused.
+		if (ilpSolver != null) {
+			ilpSolver.dispose();
+		}
+		if (AlgorithmConfig.ilpLagrangian) {
+			ilpSolver = new LagrangianIlpSolver(IlpSolverConfig.TIME_OUT, IlpSolverConfig.RANDOM_SEED);
+		} else {
+			ilpSolver = IlpSolverConfig.getIlpSolver();
+		}
 	}
 
 	public void forEachLink(final SubstratePath sPath, final Consumer<? super Link> operation) {
@@ -792,4 +969,23 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 		}
 	}
 
+	/**
+	 * Returns the scaling factors of the constraints of the current ILP solver,
+	 * which are shared by all of its deltas.
+	 *
+	 * @return Scaling factors of the constraints of the current ILP solver.
+	 */
+	protected IlpRowScaling getRowScaling() {
+		if (rowScalingSolver != ilpSolver) {
+			rowScaling = new IlpRowScaling();
+			rowScalingSolver = ilpSolver;
+		}
+		return rowScaling;
+	}
+
+	@Override
+	public Statistics getIlpStatistics() {
+		return ilpStatistics;
+	}
+
 }
@@ -107,6 +107,7 @@ public class VneFakeIlpBatchAlgorithm extends VneFakeIlpAlgorithm {
 		rejectedNetworks.addAll(ignoredVnets);
 		embedNetworks(rejectedNetworks);
 		GlobalMetricsManager.endDeployTime();
+		IlpSolverAlgorithm.reportIlpCalls(ilpSolver);
 		GlobalMetricsManager.measureMemory();
 		return rejectedNetworks.isEmpty();
 	}
@@ -1,17 +1,27 @@
 package algorithms.pm;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import algorithms.AbstractAlgorithm;
 import algorithms.AlgorithmConfig;
+import algorithms.AlgorithmConfig.LpRounding;
+import algorithms.ilp.IlpSolverAlgorithm;
 import facade.ModelFacade;
 import facade.config.ModelFacadeConfig;
 import gt.IncrementalPatternMatcher;
@@ -19,14 +29,19 @@ import gt.PatternMatchingDelta;
 import gt.PatternMatchingDelta.Match;
 import gt.emoflon.EmoflonGt;
 import gt.emoflon.EmoflonGtFactory;
-import ilp.wrapper.IlpDelta;
+import ilp.wrapper.IndexedIlpDelta;
 import ilp.wrapper.IlpSolverException;
+import ilp.wrapper.IlpRowScaling;
 import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.Relaxation;
+import ilp.wrapper.SolverStatus;
 import ilp.wrapper.Statistics;
 import ilp.wrapper.config.IlpSolverConfig;
 import metrics.CostUtility;
 import metrics.manager.GlobalMetricsManager;
+import model.Element;
 import model.Link;
+import model.Network;
 import model.Node;
 import model.SubstrateElement;
 import model.SubstrateLink;
@@ -56,11 +71,13 @@ import model.VirtualSwitch;
  * @author Stefan Tomaszek (ES TU Darmstadt) [idyve project]
  * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
  */
-public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
+public class VnePmMdvneAlgorithm extends AbstractAlgorithm implements IlpSolverAlgorithm {
 
 	/**
 	 * ILP delta generator that converts matches and given model objects into ILP
-	 * constraints for the solver.
+	 * constraints for the solver. All variables and constraints are referenced via
+	 * their integer handles. Names are only generated if
+	 * {@link IlpSolverConfig#ILP_DEBUG_NAMES} is enabled.
 	 *
 	 * @author Stefan Tomaszek (ES TU Darmstadt) [idyve project]
 	 * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
@@ -69,35 +86,181 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		/**
 		 * ILP delta object that holds all information.
 		 */
-		protected final IlpDelta delta = new IlpDelta();
+		protected final IndexedIlpDelta delta = new IndexedIlpDelta(ilpSolver, getRowScaling());
 
 		/**
-		 * Mappings for the SOS1 constraints. Each virtual element IDs is a key and the
-		 * corresponding value is a list of virtual to substrate element ID mappings.
-		 *
-		 * Example: vlink1 -> {vlink1spath1, vlink1spath2, vlink2sserver3,
-		 * vlink2sserver7}
+		 * Handles of the CPU, memory and storage constraints of all substrate servers.
+		 */
+		protected final Map<SubstrateServer, int[]> serverConstraints = new HashMap<>();
+
+		/**
+		 * Handles of the bandwidth constraints of all substrate links.
+		 */
+		protected final Map<Link, Integer> linkConstraints = new HashMap<>();
+
+		/**
+		 * Handles of the (equals) constraints of all virtual elements.
+		 */
+		protected final Map<VirtualElement, Integer> virtualConstraints = new HashMap<>();
+
+		/**
+		 * Handles of the rejection variables of all virtual networks.
+		 */
+		protected final Map<VirtualNetwork, Integer> rejectVariables = new LinkedHashMap<>();
+
+		/**
+		 * Handles of all node mapping variables (virtual node -> substrate node ->
+		 * variable handle).
+		 */
+		protected final Map<Element, Map<Element, Integer>> nodeVariables = new HashMap<>();
+
+		/**
+		 * Mapping variables of all virtual links. Each virtual link is a key and the
+		 * corresponding value maps the substrate server or path to the handle of the
+		 * mapping variable.
+		 */
+		protected final Map<Element, Map<Element, Integer>> linkVariables = new HashMap<>();
+
+		/**
+		 * Handles of the aggregated constraints of all virtual links (see
+		 * {@link AlgorithmConfig#pmAggregatedLinkConstraints}). Each virtual link is a
+		 * key and the corresponding value maps the substrate source (target) node of
+		 * its mapping variables to the handle of the constraint.
+		 */
+		protected final Map<Element, Map<Element, Integer>> sourceConstraints = new HashMap<>();
+		protected final Map<Element, Map<Element, Integer>> targetConstraints = new HashMap<>();
+
+		/**
+		 * Mappings for the SOS1 constraints. Each virtual element is a key and the
+		 * corresponding value is the index of its SOS1 constraint within the delta.
+		 */
+		final Map<Element, Integer> sosMappings = new HashMap<>();
+
+		/**
+		 * Translations of all matches that were prepared in parallel (see
+		 * {@link AlgorithmConfig#pmParallelDelta2Ilp}). Matches without a prepared
+		 * translation are translated on demand.
 		 */
-		final Map<String, List<String>> sosMappings = new HashMap<>();
+		protected final Map<Match, Translation> translations = new HashMap<>();
+
+		/**
+		 * Creates a new ILP delta generator for the current ILP solver.
+		 */
+		public IlpDeltaGenerator() {
+			// Forget all matches of variables that are not part of the current solver
+			final int vars = ilpSolver.getVariableHandleCount();
+			if (vars < firstMatchVariable) {
+				variablesToMatch.clear();
+				firstMatchVariable = 0;
+			} else if (firstMatchVariable + variablesToMatch.size() > vars) {
+				variablesToMatch.subList(vars - firstMatchVariable, variablesToMatch.size()).clear();
+			}
+			if (vars == 0) {
+				lazyLinkConstraints.clear();
+			}
+		}
 
 		/**
 		 * Adds a SOS1 mapping to the collection. This method immediately returns, if
 		 * the algorithm configuration option for SOS1 constraints is disabled.
 		 *
-		 * @param v  Virtual element ID.
-		 * @param vs Virtual to substrate element ID mapping.
+		 * @param v   Virtual element.
+		 * @param var Handle of the virtual to substrate element mapping variable.
 		 */
-		public void addSosMappings(final String v, final String vs) {
+		public void addSosMappings(final Element v, final int var) {
 			// If the algorithm configuration for the SOS constraint feature is disabled,
 			// return.
 			if (!AlgorithmConfig.pmSosEnabled) {
 				return;
 			}
 
-			if (!sosMappings.containsKey(v)) {
-				sosMappings.put(v, new LinkedList<String>());
+			delta.addToSosConstraint(sosMappings.computeIfAbsent(v, k -> delta.addSosConstraint()), var);
+		}
+
+		/**
+		 * Returns the (prepared) translation of a given match.
+		 *
+		 * @param match Match to translate.
+		 * @return Translation of the match.
+		 */
+		protected Translation getTranslation(final Match match) {
+			final Translation translation = translations.get(match);
+			return translation != null ? translation : translate(match);
+		}
+
+		/**
+		 * Adds a new mapping variable for a given match.
+		 *
+		 * @param match  Match the variable represents.
+		 * @param weight Weight of the variable in the objective.
+		 * @return Handle of the new variable.
+		 */
+		protected int addMatchVariable(final Match match, final double weight) {
+			final int var = delta.addVariable(weight);
+			setMatch(var, match);
+			if (IlpSolverConfig.ILP_DEBUG_NAMES) {
+				delta.setVariableName(var, match.getVirtual().getName() + "_" + match.getSubstrate().getName());
+			}
+			return var;
+		}
+
+		/**
+		 * Registers the given match for a variable handle.
+		 *
+		 * @param var   Variable handle.
+		 * @param match Match the variable represents.
+		 */
+		protected void setMatch(final int var, final Match match) {
+			while (firstMatchVariable + variablesToMatch.size() <= var) {
+				variablesToMatch.add(null);
+			}
+			variablesToMatch.set(var - firstMatchVariable, match);
+		}
+
+		/**
+		 * Returns the handle of the rejection variable of a given virtual network. The
+		 * variable gets created if it does not exist yet.
+		 *
+		 * @param vNet Virtual network.
+		 * @return Handle of the rejection variable.
+		 */
+		protected int getRejectVariable(final VirtualNetwork vNet) {
+			Integer var = rejectVariables.get(vNet);
+			if (var == null) {
+				var = delta.addVariable(getNetRejCost(vNet));
+				rejectVariables.put(vNet, var);
+				if (IlpSolverConfig.ILP_DEBUG_NAMES) {
+					delta.setVariableName(var, "rej" + vNet.getName());
+				}
+			}
+			return var;
+		}
+
+		/**
+		 * Returns the handle of the mapping variable of a virtual node to a substrate
+		 * node or null if there is none.
+		 *
+		 * @param virt Virtual node.
+		 * @param sub  Substrate node.
+		 * @return Handle of the mapping variable or null if there is none.
+		 */
+		protected Integer getNodeVariable(final Element virt, final Element sub) {
+			final Map<Element, Integer> vars = nodeVariables.get(virt);
+			return vars == null ? null : vars.get(sub);
+		}
+
+		/**
+		 * Sets the debug name of a constraint if
+		 * {@link IlpSolverConfig#ILP_DEBUG_NAMES} is enabled.
+		 *
+		 * @param constraint Constraint handle.
+		 * @param prefix     Prefix of the name.
+		 * @param name       Name of the element the constraint belongs to.
+		 */
+		protected void nameConstraint(final int constraint, final String prefix, final String name) {
+			if (IlpSolverConfig.ILP_DEBUG_NAMES) {
+				delta.setConstraintName(constraint, prefix + name);
 			}
-			sosMappings.get(v).add(vs);
 		}
 
 		/**
@@ -106,9 +269,66 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		 * @param match Match to get information from.
 		 */
 		public void addNewNetworkMatch(final Match match) {
-			final VirtualNetwork vNet = (VirtualNetwork) match.getVirtual();
-			delta.addVariable("rej" + vNet.getName(), getNetRejCost(vNet));
-			variablesToMatch.put("rej" + vNet.getName(), match);
+			setMatch(getRejectVariable((VirtualNetwork) match.getVirtual()), match);
+		}
+
+		/**
+		 * Connects the mapping variable of a virtual link to the mapping variables of
+		 * its source and target node, i.e., the link can only be mapped if both nodes
+		 * are mapped to the substrate source and target node. By default, a constraint
+		 * {@code 2 * var - sourceVar - targetVar <= 0} is added. If
+		 * {@link AlgorithmConfig#pmAggregatedLinkConstraints} is enabled, the variable
+		 * is added to the constraints {@code sum(vars) - sourceVar <= 0} and
+		 * {@code sum(vars) - targetVar <= 0} of all mapping variables of the virtual
+		 * link with the same substrate source (target) node instead. Both formulations
+		 * have the same integral solutions, because at most one mapping variable of a
+		 * virtual link is selected.
+		 *
+		 * @param match     Match of the virtual link.
+		 * @param sSource   Substrate source node of the mapping.
+		 * @param sTarget   Substrate target node of the mapping.
+		 * @param var       Handle of the mapping variable of the virtual link.
+		 * @param sourceVar Handle of the mapping variable of the source node.
+		 * @param targetVar Handle of the mapping variable of the target node.
+		 */
+		protected void addEndpointConstraints(final Match match, final Element sSource, final Element sTarget,
+				final int var, final int sourceVar, final int targetVar) {
+			if (!AlgorithmConfig.pmAggregatedLinkConstraints) {
+				final int req = delta.addLessOrEqualsConstraint(0, new int[] { 2, -1, -1 },
+						new int[] { var, sourceVar, targetVar });
+				if (IlpSolverConfig.ILP_DEBUG_NAMES) {
+					nameConstraint(req, "req", match.getVirtual().getName() + "_" + match.getSubstrate().getName());
+				}
+				return;
+			}
+
+			delta.setVariableWeightForConstraint(
+					getEndpointConstraint(sourceConstraints, match.getVirtual(), sSource, sourceVar, "reqs"), 1, var);
+			delta.setVariableWeightForConstraint(
+					getEndpointConstraint(targetConstraints, match.getVirtual(), sTarget, targetVar, "reqt"), 1, var);
+		}
+
+		/**
+		 * Returns the handle of the aggregated constraint of a virtual link and a
+		 * substrate node (see {@link AlgorithmConfig#pmAggregatedLinkConstraints}).
+		 * The constraint gets created if it does not exist yet.
+		 *
+		 * @param constraints Aggregated source or target constraints.
+		 * @param vLink       Virtual link.
+		 * @param sNode       Substrate source or target node.
+		 * @param nodeVar     Handle of the mapping variable of the virtual source or
+		 *                    target node to the substrate node.
+		 * @param prefix      Prefix of the constraint name.
+		 * @return Handle of the aggregated constraint.
+		 */
+		private int getEndpointConstraint(final Map<Element, Map<Element, Integer>> constraints,
+				final Element vLink, final Element sNode, final int nodeVar, final String prefix) {
+			return constraints.computeIfAbsent(vLink, k -> new HashMap<>()).computeIfAbsent(sNode, k -> {
+				final int constraint = delta.addLessOrEqualsConstraint(0);
+				delta.setVariableWeightForConstraint(constraint, -1, nodeVar);
+				nameConstraint(constraint, prefix, vLink.getName() + "_" + sNode.getName());
+				return constraint;
+			});
 		}
 
 		/**
@@ -117,8 +337,8 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		 * @param match Match to get information from.
 		 */
 		public void addLinkServerMatch(final Match match) {
-			final String varName = match.getVirtual().getName() + "_" + match.getSubstrate().getName();
-			final VirtualLink vLink = (VirtualLink) modelFacade.getLinkById(match.getVirtual().getName());
+			final Translation translation = getTranslation(match);
+			final VirtualLink vLink = (VirtualLink) translation.virtual();
 
 			// If the source node (target node) of the virtual link may not be embedded to
 			// the substrate
@@ -129,21 +349,20 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 			// solver does not have to deal with the embedding of the link for this
 			// particular substrate
 			// node, to.
-			final String sourceVarName = vLink.getSource().getName() + "_" + match.getSubstrate().getName();
-			final String targetVarName = vLink.getTarget().getName() + "_" + match.getSubstrate().getName();
+			final Integer sourceVar = getNodeVariable(vLink.getSource(), match.getSubstrate());
+			final Integer targetVar = getNodeVariable(vLink.getTarget(), match.getSubstrate());
 
-			if (!delta.hasAddVariable(sourceVarName) || !delta.hasAddVariable(targetVarName)) {
+			if (sourceVar == null || targetVar == null) {
 				return;
 			}
 
-			delta.addVariable(varName, getCost(vLink, (SubstrateNode) match.getSubstrate()));
-			delta.setVariableWeightForConstraint("vl" + match.getVirtual().getName(), 1, varName);
-			delta.addLessOrEqualsConstraint("req" + varName, 0, new int[] { 2, -1, -1 },
-					new String[] { varName, sourceVarName, targetVarName });
-			variablesToMatch.put(varName, match);
+			final int var = addMatchVariable(match, translation.cost());
+			linkVariables.computeIfAbsent(vLink, k -> new HashMap<>()).put(match.getSubstrate(), var);
+			delta.setVariableWeightForConstraint(virtualConstraints.get(match.getVirtual()), 1, var);
+			addEndpointConstraints(match, match.getSubstrate(), match.getSubstrate(), var, sourceVar, targetVar);
 
 			// SOS match
-			addSosMappings(match.getVirtual().getName(), varName);
+			addSosMappings(match.getVirtual(), var);
 		}
 
 		/**
@@ -152,8 +371,9 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		 * @param match Match to get information from.
 		 */
 		public void addLinkPathMatch(final Match match) {
-			final VirtualLink vLink = (VirtualLink) modelFacade.getLinkById(match.getVirtual().getName());
-			final SubstratePath sPath = modelFacade.getPathById(match.getSubstrate().getName());
+			final Translation translation = getTranslation(match);
+			final VirtualLink vLink = (VirtualLink) translation.virtual();
+			final SubstratePath sPath = (SubstratePath) translation.substrate();
 
 			// If the source node (target node) of the virtual link may not be embedded to
 			// the substrate
@@ -167,25 +387,29 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 			// This may e.g. be the case if the virtual node is a server but the substrate
 			// node is a
 			// switch.
-			final String sourceVarName = vLink.getSource().getName() + "_" + sPath.getSource().getName();
-			final String targetVarName = vLink.getTarget().getName() + "_" + sPath.getTarget().getName();
+			final Integer sourceVar = getNodeVariable(vLink.getSource(), sPath.getSource());
+			final Integer targetVar = getNodeVariable(vLink.getTarget(), sPath.getTarget());
 
-			if (!delta.hasAddVariable(sourceVarName) || !delta.hasAddVariable(targetVarName)) {
+			if (sourceVar == null || targetVar == null) {
 				return;
 			}
 
-			final String varName = match.getVirtual().getName() + "_" + match.getSubstrate().getName();
-
-			delta.addVariable(varName, getCost(vLink, sPath));
-			delta.setVariableWeightForConstraint("vl" + match.getVirtual().getName(), 1, varName);
-			delta.addLessOrEqualsConstraint("req" + varName, 0, new int[] { 2, -1, -1 },
-					new String[] { varName, sourceVarName, targetVarName });
-			forEachLink(sPath,
-					l -> delta.setVariableWeightForConstraint("sl" + l.getName(), vLink.getBandwidth(), varName));
-			variablesToMatch.put(varName, match);
+			final int var = addMatchVariable(match, translation.cost());
+			linkVariables.computeIfAbsent(vLink, k -> new HashMap<>()).put(sPath, var);
+			delta.setVariableWeightForConstraint(virtualConstraints.get(match.getVirtual()), 1, var);
+			addEndpointConstraints(match, sPath.getSource(), sPath.getTarget(), var, sourceVar, targetVar);
+			if (AlgorithmConfig.pmLazyLinkConstraints) {
+				// The terms are kept until the constraint of the link gets violated, so the
+				// presolve must not rely on the missing constraints
+				forEachLink(sPath, l -> lazyLinkConstraints.get(l).add(var, vLink.getBandwidth()));
+				delta.excludeFromPresolve(var);
+			} else {
+				forEachLink(sPath,
+						l -> delta.setVariableWeightForConstraint(linkConstraints.get(l), vLink.getBandwidth(), var));
+			}
 
 			// SOS match
-			addSosMappings(match.getVirtual().getName(), varName);
+			addSosMappings(match.getVirtual(), var);
 		}
 
 		/**
@@ -194,18 +418,19 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		 * @param match Match to get information from.
 		 */
 		public void addServerMatch(final Match match) {
-			final VirtualServer vServer = (VirtualServer) modelFacade.getServerById(match.getVirtual().getName());
-			final String varName = match.getVirtual().getName() + "_" + match.getSubstrate().getName();
-			delta.addVariable(varName, getCost(vServer, (SubstrateServer) match.getSubstrate()));
-			delta.setVariableWeightForConstraint("vs" + match.getVirtual().getName(), 1, varName);
+			final Translation translation = getTranslation(match);
+			final VirtualServer vServer = (VirtualServer) translation.virtual();
+			final int var = addMatchVariable(match, translation.cost());
+			nodeVariables.computeIfAbsent(match.getVirtual(), k -> new HashMap<>()).put(match.getSubstrate(), var);
+			delta.setVariableWeightForConstraint(virtualConstraints.get(match.getVirtual()), 1, var);
 
-			delta.setVariableWeightForConstraint("cpu" + match.getSubstrate().getName(), vServer.getCpu(), varName);
-			delta.setVariableWeightForConstraint("mem" + match.getSubstrate().getName(), vServer.getMemory(), varName);
-			delta.setVariableWeightForConstraint("sto" + match.getSubstrate().getName(), vServer.getStorage(), varName);
-			variablesToMatch.put(varName, match);
+			final int[] resources = serverConstraints.get(match.getSubstrate());
+			delta.setVariableWeightForConstraint(resources[0], vServer.getCpu(), var);
+			delta.setVariableWeightForConstraint(resources[1], vServer.getMemory(), var);
+			delta.setVariableWeightForConstraint(resources[2], vServer.getStorage(), var);
 
 			// SOS match
-			addSosMappings(match.getVirtual().getName(), varName);
+			addSosMappings(match.getVirtual(), var);
 		}
 
 		/**
@@ -214,13 +439,12 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		 * @param match Match to get information from.
 		 */
 		public void addSwitchMatch(final Match match) {
-			final String varName = match.getVirtual().getName() + "_" + match.getSubstrate().getName();
-			delta.addVariable(varName, getCost((VirtualNode) match.getVirtual(), (SubstrateNode) match.getSubstrate()));
-			delta.setVariableWeightForConstraint("vw" + match.getVirtual().getName(), 1, varName);
-			variablesToMatch.put(varName, match);
+			final int var = addMatchVariable(match, getTranslation(match).cost());
+			nodeVariables.computeIfAbsent(match.getVirtual(), k -> new HashMap<>()).put(match.getSubstrate(), var);
+			delta.setVariableWeightForConstraint(virtualConstraints.get(match.getVirtual()), 1, var);
 
 			// SOS match
-			addSosMappings(match.getVirtual().getName(), varName);
+			addSosMappings(match.getVirtual(), var);
 		}
 
 		/**
@@ -229,9 +453,15 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		 * @param server SubstrateServer to get information from.
 		 */
 		public void addNewSubstrateServer(final SubstrateServer server) {
-			delta.addLessOrEqualsConstraint("cpu" + server.getName(), (int) server.getResidualCpu());
-			delta.addLessOrEqualsConstraint("mem" + server.getName(), (int) server.getResidualMemory());
-			delta.addLessOrEqualsConstraint("sto" + server.getName(), (int) server.getResidualStorage());
+			final int[] resources = new int[] { //
+					delta.addLessOrEqualsConstraint((int) server.getResidualCpu()), //
+					delta.addLessOrEqualsConstraint((int) server.getResidualMemory()), //
+					delta.addLessOrEqualsConstraint((int) server.getResidualStorage()) //
+			};
+			serverConstraints.put(server, resources);
+			nameConstraint(resources[0], "cpu", server.getName());
+			nameConstraint(resources[1], "mem", server.getName());
+			nameConstraint(resources[2], "sto", server.getName());
 		}
 
 		/**
@@ -240,7 +470,29 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		 * @param link SubstrateLink to get information from.
 		 */
 		public void addNewSubstrateLink(final SubstrateLink link) {
-			delta.addLessOrEqualsConstraint("sl" + link.getName(), link.getResidualBandwidth());
+			if (AlgorithmConfig.pmLazyLinkConstraints) {
+				lazyLinkConstraints.put(link, new LazyLinkConstraint(link.getResidualBandwidth()));
+				return;
+			}
+			final int constraint = delta.addLessOrEqualsConstraint(link.getResidualBandwidth());
+			linkConstraints.put(link, constraint);
+			nameConstraint(constraint, "sl", link.getName());
+		}
+
+		/**
+		 * Adds a new virtual element that has to be embedded exactly once (or its
+		 * virtual network has to be rejected).
+		 *
+		 * @param element Virtual element to add.
+		 * @param vNet    Virtual network of the element.
+		 * @param prefix  Prefix of the constraint name.
+		 */
+		protected void addNewVirtualElement(final VirtualElement element, final VirtualNetwork vNet,
+				final String prefix) {
+			final int constraint = delta.addEqualsConstraint(1);
+			delta.setVariableWeightForConstraint(constraint, 1, getRejectVariable(vNet));
+			virtualConstraints.put(element, constraint);
+			nameConstraint(constraint, prefix, element.getName());
 		}
 
 		/**
@@ -249,8 +501,7 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		 * @param server VirtualServer to get information from.
 		 */
 		public void addNewVirtualServer(final VirtualServer server) {
-			delta.addEqualsConstraint("vs" + server.getName(), 1);
-			delta.setVariableWeightForConstraint("vs" + server.getName(), 1, "rej" + server.getNetwork().getName());
+			addNewVirtualElement(server, (VirtualNetwork) server.getNetwork(), "vs");
 		}
 
 		/**
@@ -259,8 +510,7 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		 * @param sw VirtualSwitch to get information from.
 		 */
 		public void addNewVirtualSwitch(final VirtualSwitch sw) {
-			delta.addEqualsConstraint("vw" + sw.getName(), 1);
-			delta.setVariableWeightForConstraint("vw" + sw.getName(), 1, "rej" + sw.getNetwork().getName());
+			addNewVirtualElement(sw, (VirtualNetwork) sw.getNetwork(), "vw");
 		}
 
 		/**
@@ -269,26 +519,395 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		 * @param link VirtualLink to get information from.
 		 */
 		public void addNewVirtualLink(final VirtualLink link) {
-			delta.addEqualsConstraint("vl" + link.getName(), 1);
-			delta.setVariableWeightForConstraint("vl" + link.getName(), 1, "rej" + link.getNetwork().getName());
+			addNewVirtualElement(link, (VirtualNetwork) link.getNetwork(), "vl");
 		}
 
 		/**
 		 * Applies the delta to the ILP solver object.
 		 */
 		public void apply() {
-			// Before applying the ILP delta, add all SOS1 constraint mappings to it. This
-			// can't be done
-			// beforehand, because the individual mappings may be extended while adding more
-			// matches.
-			for (final String key : sosMappings.keySet()) {
-				delta.addSosConstraint(key, sosMappings.get(key));
+			if (AlgorithmConfig.pmSymmetryBreaking) {
+				addSymmetryBreakingConstraints();
 			}
 			delta.apply(ilpSolver);
+			if (AlgorithmConfig.pmMipStart) {
+				addStartSolution();
+			}
+		}
+
+		/**
+		 * Adds ordering constraints for all groups of interchangeable virtual servers
+		 * of this delta (see {@link AlgorithmConfig#pmSymmetryBreaking}). Two virtual
+		 * servers are interchangeable if they belong to the same virtual network, have
+		 * the same resource demands, the same incident virtual links (direction,
+		 * bandwidth and other end) and the same candidates with the same weights. The
+		 * candidates of a group are ranked by name and each virtual server (in order
+		 * of the names) must not be placed on a candidate with a higher rank than its
+		 * successor. Permuting the virtual servers of a group does not change the
+		 * costs, hence the optimum stays the same.
+		 */
+		protected void addSymmetryBreakingConstraints() {
+			// Incident virtual links of all virtual servers of this delta
+			final Map<VirtualServer, List<Link>> incident = new HashMap<>();
+			final Set<VirtualNetwork> vNets = new HashSet<>();
+			for (final Element v : nodeVariables.keySet()) {
+				if (v instanceof VirtualServer vServer) {
+					incident.put(vServer, new ArrayList<>());
+					vNets.add((VirtualNetwork) vServer.getNetwork());
+				}
+			}
+			for (final VirtualNetwork vNet : vNets) {
+				for (final Link link : vNet.getLinks()) {
+					if (incident.containsKey(link.getSource())) {
+						incident.get(link.getSource()).add(link);
+					}
+					if (incident.containsKey(link.getTarget())) {
+						incident.get(link.getTarget()).add(link);
+					}
+				}
+			}
+
+			// Group the virtual servers (sorted by name) by their signature
+			final Map<String, List<List<VirtualServer>>> groups = new LinkedHashMap<>();
+			incident.keySet().stream().sorted(Comparator.comparing(VirtualServer::getName)).forEach(vServer -> {
+				final List<Link> links = incident.get(vServer);
+				links.sort(Comparator.comparing(l -> getLinkSignature(vServer, l)));
+				final String key = vServer.getNetwork().getName() + ":" + vServer.getCpu() + ":" + vServer.getMemory()
+						+ ":" + vServer.getStorage() + ":"
+						+ links.stream().map(l -> getLinkSignature(vServer, l)).collect(Collectors.joining(","));
+				final List<List<VirtualServer>> subgroups = groups.computeIfAbsent(key, k -> new ArrayList<>());
+				for (final List<VirtualServer> group : subgroups) {
+					if (isInterchangeable(group.get(0), vServer, incident)) {
+						group.add(vServer);
+						return;
+					}
+				}
+				subgroups.add(new ArrayList<>(List.of(vServer)));
+			});
+
+			for (final List<List<VirtualServer>> subgroups : groups.values()) {
+				for (final List<VirtualServer> group : subgroups) {
+					if (group.size() < 2) {
+						continue;
+					}
+					final List<Element> candidates = new ArrayList<>(nodeVariables.get(group.get(0)).keySet());
+					candidates.sort(Comparator.comparing(Element::getName));
+					for (int i = 0; i + 1 < group.size(); i++) {
+						final Map<Element, Integer> current = nodeVariables.get(group.get(i));
+						final Map<Element, Integer> next = nodeVariables.get(group.get(i + 1));
+						final int n = candidates.size();
+						final int[] weights = new int[2 * n];
+						final int[] vars = new int[2 * n];
+						for (int k = 0; k < n; k++) {
+							weights[k] = k + 1;
+							vars[k] = current.get(candidates.get(k));
+							weights[n + k] = -(k + 1);
+							vars[n + k] = next.get(candidates.get(k));
+						}
+						final int constraint = delta.addLessOrEqualsConstraint(0, weights, vars);
+						nameConstraint(constraint, "sym", group.get(i).getName() + "_" + group.get(i + 1).getName());
+					}
+				}
+			}
+		}
+
+		/**
+		 * Returns the signature of a virtual link incident to a virtual server, i.e.,
+		 * its direction, the name of its other end and its bandwidth.
+		 *
+		 * @param vServer Virtual server.
+		 * @param link    Virtual link incident to the virtual server.
+		 * @return Signature of the virtual link.
+		 */
+		private String getLinkSignature(final VirtualServer vServer, final Link link) {
+			return link.getSource() == vServer ? "out:" + link.getTarget().getName() + ":" + link.getBandwidth()
+					: "in:" + link.getSource().getName() + ":" + link.getBandwidth();
+		}
+
+		/**
+		 * Checks if two virtual servers with the same signature are interchangeable,
+		 * i.e., they have the same candidates with the same weights and their
+		 * incident virtual links (in the same order) have the same candidates with the
+		 * same weights.
+		 *
+		 * @param a        First virtual server.
+		 * @param b        Second virtual server.
+		 * @param incident Sorted incident virtual links of all virtual servers.
+		 * @return True if both virtual servers are interchangeable.
+		 */
+		private boolean isInterchangeable(final VirtualServer a, final VirtualServer b,
+				final Map<VirtualServer, List<Link>> incident) {
+			if (!hasSameCandidates(nodeVariables.get(a), nodeVariables.get(b))) {
+				return false;
+			}
+			final List<Link> linksA = incident.get(a);
+			final List<Link> linksB = incident.get(b);
+			for (int i = 0; i < linksA.size(); i++) {
+				if (!hasSameCandidates(linkVariables.get(linksA.get(i)), linkVariables.get(linksB.get(i)))) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Checks if two maps of mapping variables contain the same substrate elements
+		 * and the variables of each substrate element have the same weight.
+		 *
+		 * @param a First map (substrate element -> variable handle) or null.
+		 * @param b Second map (substrate element -> variable handle) or null.
+		 * @return True if both maps have the same candidates with the same weights.
+		 */
+		private boolean hasSameCandidates(final Map<Element, Integer> a, final Map<Element, Integer> b) {
+			if (a == null || b == null) {
+				return a == b;
+			}
+			if (!a.keySet().equals(b.keySet())) {
+				return false;
+			}
+			for (final Entry<Element, Integer> entry : a.entrySet()) {
+				if (delta.getVariableWeight(entry.getValue()) != delta.getVariableWeight(b.get(entry.getKey()))) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Passes a start solution (MIP start) for the variables of this delta to the
+		 * ILP solver. Virtual nodes are placed on their previous host (see
+		 * {@link VnePmMdvneAlgorithm#previousSelection}) if it is still a candidate and
+		 * has enough residual resources. All other virtual nodes are placed greedily
+		 * on the cheapest candidate that fits and was not eliminated by the presolve of
+		 * the delta. Afterwards, each virtual link is placed on the cheapest candidate
+		 * that connects the hosts of its source and target node. If an element of a
+		 * virtual network can not be placed, the network is rejected within the start
+		 * solution.
+		 */
+		protected void addStartSolution() {
+			final int first = delta.getFirstVariable();
+			final double[] values = new double[delta.getAddedVariableCount()];
+			final boolean[] decided = new boolean[values.length];
+
+			// Residual resources of the start solution
+			final Map<SubstrateServer, long[]> residuals = new HashMap<>();
+			final Map<Link, Long> bandwidths = new HashMap<>();
+
+			for (final Entry<VirtualNetwork, Integer> entry : rejectVariables.entrySet()) {
+				final VirtualNetwork vNet = entry.getKey();
+				final List<Element> elements = new ArrayList<>(vNet.getNodess());
+				elements.addAll(vNet.getLinks());
+
+				// Networks whose elements are not part of the ILP (e.g., the ones of the
+				// virtual network pipeline stage) are left to the solver
+				if (elements.stream().anyMatch(e -> !virtualConstraints.containsKey(e))) {
+					continue;
+				}
+
+				final Map<Element, Element> placement = placeNetwork(vNet, residuals, bandwidths);
+				values[entry.getValue() - first] = placement == null ? 1 : 0;
+				decided[entry.getValue() - first] = true;
+				for (final Element e : elements) {
+					final Map<Element, Integer> candidates = e instanceof Link ? linkVariables.get(e)
+							: nodeVariables.get(e);
+					if (candidates == null) {
+						continue;
+					}
+					for (final Entry<Element, Integer> candidate : candidates.entrySet()) {
+						final boolean chosen = placement != null && placement.get(e) == candidate.getKey();
+						values[candidate.getValue() - first] = chosen ? 1 : 0;
+						decided[candidate.getValue() - first] = true;
+					}
+				}
+			}
+
+			int count = 0;
+			for (final boolean d : decided) {
+				if (d) {
+					count++;
+				}
+			}
+			if (count == 0) {
+				return;
+			}
+			final int[] startVars = new int[count];
+			final double[] startValues = new double[count];
+			count = 0;
+			for (int i = 0; i < decided.length; i++) {
+				if (decided[i]) {
+					startVars[count] = first + i;
+					startValues[count++] = values[i];
+				}
+			}
+			ilpSolver.setStartSolution(startVars, startValues);
+		}
+
+		/**
+		 * Greedily places all elements of a virtual network for the start solution.
+		 * The given residual resources are only updated if all elements could be
+		 * placed.
+		 *
+		 * @param vNet       Virtual network to place.
+		 * @param residuals  Residual resources (CPU, memory, storage) of all substrate
+		 *                   servers used by the start solution so far.
+		 * @param bandwidths Residual bandwidths of all substrate links used by the
+		 *                   start solution so far.
+		 * @return Map of all virtual elements to their substrate elements or null if
+		 *         the virtual network could not be placed.
+		 */
+		private Map<Element, Element> placeNetwork(final VirtualNetwork vNet,
+				final Map<SubstrateServer, long[]> residuals, final Map<Link, Long> bandwidths) {
+			final Map<Element, Element> placement = new HashMap<>();
+			final Map<SubstrateServer, long[]> localResiduals = new HashMap<>();
+			final Map<Link, Long> localBandwidths = new HashMap<>();
+
+			for (final Node n : vNet.getNodess()) {
+				final Map<Element, Integer> candidates = nodeVariables.get(n);
+				if (candidates == null) {
+					return null;
+				}
+
+				Element host = previousSelection.get(n);
+				if (host == null || !candidates.containsKey(host) || delta.isEliminated(candidates.get(host))
+						|| !fits(n, host, residuals, localResiduals)) {
+					host = null;
+					double bestWeight = Double.POSITIVE_INFINITY;
+					for (final Entry<Element, Integer> candidate : candidates.entrySet()) {
+						final double weight = delta.getVariableWeight(candidate.getValue());
+						if (weight < bestWeight && !delta.isEliminated(candidate.getValue())
+								&& fits(n, candidate.getKey(), residuals, localResiduals)) {
+							host = candidate.getKey();
+							bestWeight = weight;
+						}
+					}
+				}
+				if (host == null) {
+					return null;
+				}
+
+				if (n instanceof VirtualServer) {
+					final VirtualServer vServer = (VirtualServer) n;
+					final long[] res = localResiduals.get(host);
+					res[0] -= vServer.getCpu();
+					res[1] -= vServer.getMemory();
+					res[2] -= vServer.getStorage();
+				}
+				placement.put(n, host);
+			}
+
+			for (final Link l : vNet.getLinks()) {
+				final Map<Element, Integer> candidates = linkVariables.get(l);
+				final Element source = placement.get(l.getSource());
+				final Element target = placement.get(l.getTarget());
+				if (candidates == null) {
+					return null;
+				}
+
+				Element host = null;
+				if (source == target) {
+					host = candidates.containsKey(source) && !delta.isEliminated(candidates.get(source)) ? source
+							: null;
+				} else {
+					double bestWeight = Double.POSITIVE_INFINITY;
+					for (final Entry<Element, Integer> candidate : candidates.entrySet()) {
+						if (!(candidate.getKey() instanceof SubstratePath) || delta.isEliminated(candidate.getValue())) {
+							continue;
+						}
+						final SubstratePath sPath = (SubstratePath) candidate.getKey();
+						final double weight = delta.getVariableWeight(candidate.getValue());
+						if (sPath.getSource() == source && sPath.getTarget() == target && weight < bestWeight
+								&& sPath.getLinks().stream().allMatch(sl -> getResidualBandwidth(sl, bandwidths,
+										localBandwidths) >= l.getBandwidth())) {
+							host = sPath;
+							bestWeight = weight;
+						}
+					}
+				}
+				if (host == null) {
+					return null;
+				}
+
+				if (host instanceof SubstratePath) {
+					for (final SubstrateLink sl : ((SubstratePath) host).getLinks()) {
+						localBandwidths.put(sl, getResidualBandwidth(sl, bandwidths, localBandwidths) - l.getBandwidth());
+					}
+				}
+				placement.put(l, host);
+			}
+
+			residuals.putAll(localResiduals);
+			bandwidths.putAll(localBandwidths);
+			return placement;
 		}
 
 	}
 
+	/**
+	 * Translation of a match that does not depend on the ILP, i.e., the virtual and
+	 * substrate element looked up via the model facade and the cost of the mapping
+	 * (see {@link AlgorithmConfig#pmParallelDelta2Ilp}).
+	 *
+	 * @param virtual   Virtual element of the match.
+	 * @param substrate Substrate element (server, switch or path) of the match.
+	 * @param cost      Cost of the mapping.
+	 */
+	protected record Translation(Element virtual, Element substrate, double cost) {
+	}
+
+	/**
+	 * Bandwidth constraint of a substrate link that was not added to the ILP solver
+	 * yet (see {@link AlgorithmConfig#pmLazyLinkConstraints}). It holds all terms
+	 * of the constraint.
+	 */
+	protected static class LazyLinkConstraint {
+		/**
+		 * Residual bandwidth of the substrate link (right side).
+		 */
+		final long right;
+
+		/**
+		 * Handles and bandwidths of all substrate path variables that use the link.
+		 */
+		int[] vars = new int[4];
+		double[] weights = new double[4];
+		int size = 0;
+
+		LazyLinkConstraint(final long right) {
+			this.right = right;
+		}
+
+		/**
+		 * Adds a new term.
+		 *
+		 * @param var    Variable handle.
+		 * @param weight Bandwidth of the virtual link.
+		 */
+		void add(final int var, final double weight) {
+			if (size == vars.length) {
+				vars = Arrays.copyOf(vars, size * 2);
+				weights = Arrays.copyOf(weights, size * 2);
+			}
+			vars[size] = var;
+			weights[size++] = weight;
+		}
+
+		/**
+		 * Returns true if the given solution violates this constraint.
+		 *
+		 * @param selected Array of booleans indexed by the variable handles.
+		 * @return True if the constraint is violated.
+		 */
+		boolean isViolated(final boolean[] selected) {
+			double load = 0;
+			for (int i = 0; i < size; i++) {
+				if (selected[vars[i]]) {
+					load += weights[i];
+				}
+			}
+			return load > right;
+		}
+	}
+
 	/**
 	 * Incremental pattern matcher to use.
 	 */
@@ -300,9 +919,25 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 	protected IncrementalIlpSolver ilpSolver;
 
 	/**
-	 * Mapping of string (name) to matches.
+	 * Matches of all variables of the current ILP solver indexed by the variable
+	 * handles minus {@link #firstMatchVariable} (see {@link #getMatch(int)}).
+	 */
+	protected final List<Match> variablesToMatch = new ArrayList<>();
+
+	/**
+	 * Handle of the variable of the first entry of {@link #variablesToMatch}. It is
+	 * only greater than 0 for the persistent ILP model (see
+	 * {@link AlgorithmConfig#pmPersistentModel}), which drops the matches of the
+	 * variables of former requests.
 	 */
-	protected final Map<String, Match> variablesToMatch = new HashMap<>();
+	protected int firstMatchVariable = 0;
+
+	/**
+	 * Substrate nodes of all virtual nodes selected by the last solution (or of the
+	 * last embedding, see {@link #rememberEmbedding(VirtualNetwork)}). They are
+	 * used as the start solution of the next ILP solver.
+	 */
+	protected final Map<Element, Element> previousSelection = new HashMap<>();
 
 	/**
 	 * Set of ignored virtual networks. Ignored virtual networks are requests, that
@@ -311,6 +946,65 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 	 */
 	protected final Set<VirtualNetwork> ignoredVnets = new HashSet<>();
 
+	/**
+	 * Bandwidth constraints of all substrate links that were not added to the
+	 * current ILP solver yet (see {@link AlgorithmConfig#pmLazyLinkConstraints}).
+	 */
+	protected final Map<Link, LazyLinkConstraint> lazyLinkConstraints = new HashMap<>();
+
+	/**
+	 * Integrality gap of the last rounded LP relaxation (see
+	 * {@link AlgorithmConfig#pmLpRounding}).
+	 */
+	protected double integralityGap = Double.NaN;
+
+	/**
+	 * Deadline of the current embedding request regarding
+	 * {@link System#nanoTime()} (see {@link AlgorithmConfig#pmLatencyBudget}).
+	 */
+	protected long deadline = Long.MAX_VALUE;
+
+	/**
+	 * Statistics of the last ILP solve of the current embedding request.
+	 */
+	protected Statistics ilpStatistics;
+
+	/**
+	 * Scaling factors of the constraints of the ILP solver
+	 * {@link #rowScalingSolver} (see {@link IlpSolverConfig#ENABLE_ROW_SCALING}).
+	 */
+	private IlpRowScaling rowScaling;
+	private IncrementalIlpSolver rowScalingSolver;
+
+	/**
+	 * Substrate network of the persistent ILP model or null if the ILP solver is
+	 * created from scratch for each embedding request (see
+	 * {@link AlgorithmConfig#pmPersistentModel}).
+	 */
+	private SubstrateNetwork persistentSnet;
+
+	/**
+	 * Handles of the CPU, memory and storage constraints of all substrate servers
+	 * and of the bandwidth constraints of all substrate links of the persistent ILP
+	 * model.
+	 */
+	private final Map<SubstrateServer, int[]> persistentServerConstraints = new HashMap<>();
+	private final Map<Link, Integer> persistentLinkConstraints = new HashMap<>();
+
+	/**
+	 * Handles of all variables and constraints of the persistent ILP model that
+	 * belong to the virtual networks of the last embedding request. They get
+	 * removed before the next request is added.
+	 */
+	private int[] requestVariables = new int[0];
+	private int[] requestConstraints = new int[0];
+
+	/**
+	 * Number of embedding requests of the persistent ILP model (see
+	 * {@link AlgorithmConfig#pmPersistentModelRequests}).
+	 */
+	private int persistentRequests;
+
 	/**
 	 * Initialize the algorithm with the global model facade.
 	 */
@@ -347,6 +1041,10 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		super.prepare(sNet, vNets);
 
 		checkPreConditions();
+		deadline = AlgorithmConfig.pmLatencyBudget < 0 ? Long.MAX_VALUE
+				: System.nanoTime() + AlgorithmConfig.pmLatencyBudget * 1_000_000L;
+		ilpStatistics = null;
+		integralityGap = Double.NaN;
 	}
 
 	/**
@@ -356,6 +1054,7 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		if (this.ilpSolver != null) {
 			this.ilpSolver.dispose();
 		}
+		persistentSnet = null;
 		if (this.patternMatcher != null) {
 			this.patternMatcher.dispose();
 		}
@@ -390,6 +1089,7 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		rejectedNetworks.addAll(ignoredVnets);
 		embedNetworks(rejectedNetworks);
 		GlobalMetricsManager.endDeployTime();
+		IlpSolverAlgorithm.reportIlpCalls(ilpSolver);
 		GlobalMetricsManager.measureMemory();
 		return rejectedNetworks.isEmpty();
 	}
@@ -402,55 +1102,653 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 	 */
 	protected Set<VirtualNetwork> solveIlp() {
 		GlobalMetricsManager.startIlpTime();
-		final Statistics solve = ilpSolver.solve();
+		int[] selected = AlgorithmConfig.pmLpRounding != LpRounding.NONE ? roundRelaxation() : null;
+
+		if (selected == null) {
+			Statistics solve = solveWithinBudget();
+			selected = ilpSolver.hasSolution() ? ilpSolver.getSelectedVariables() : null;
+
+			// Add all violated (lazy) link constraints and solve again until the solution
+			// respects all bandwidths
+			while (selected != null && addViolatedLinkConstraints(selected)) {
+				solve = solveWithinBudget();
+				selected = ilpSolver.hasSolution() ? ilpSolver.getSelectedVariables() : null;
+			}
+
+			// Reject all virtual networks if the budget ran out before any incumbent was
+			// found
+			if (selected == null && solve.isFeasible()) {
+				logger.warning("No incumbent found within the latency budget (" + solve.getStatus()
+						+ "), rejecting all virtual networks.");
+				selected = getRejectVariables();
+			}
+		}
 		GlobalMetricsManager.endIlpTime();
 		Set<VirtualNetwork> rejectedNetworks = new HashSet<>();
-		if (solve.isFeasible()) {
+		if (selected != null) {
 			GlobalMetricsManager.startDeployTime();
-			rejectedNetworks = updateMappingsAndEmbed(ilpSolver.getMappings());
+			rejectedNetworks = updateMappingsAndEmbed(selected);
 		} else {
 			throw new IlpSolverException("Problem was infeasible.");
 		}
 		return rejectedNetworks;
 	}
 
+	/**
+	 * Solves the ILP regarding the latency budget of the current embedding request
+	 * (see {@link AlgorithmConfig#pmLatencyBudget}) and the incumbent gap (see
+	 * {@link AlgorithmConfig#pmIncumbentGap}).
+	 *
+	 * @return Statistics of the solve.
+	 */
+	protected Statistics solveWithinBudget() {
+		if (deadline == Long.MAX_VALUE && AlgorithmConfig.pmIncumbentGap < 0) {
+			ilpStatistics = ilpSolver.solve();
+		} else {
+			ilpStatistics = ilpSolver.solveAnytime(deadline, AlgorithmConfig.pmIncumbentGap, getRejectVariables());
+		}
+		return ilpStatistics;
+	}
+
+	/**
+	 * Returns the handles of the rejection variables of all virtual networks of the
+	 * ILP in ascending order.
+	 *
+	 * @return Handles of all rejection variables.
+	 */
+	protected int[] getRejectVariables() {
+		return IntStream.range(firstMatchVariable, firstMatchVariable + variablesToMatch.size())
+				.filter(var -> getMatch(var) != null && isRejectMatch(getMatch(var))).toArray();
+	}
+
+	/**
+	 * Returns the match of a given variable of the current ILP solver.
+	 *
+	 * @param var Variable handle.
+	 * @return Match of the variable or null if it has none (e.g., a variable of a
+	 *         former request of the persistent model).
+	 */
+	protected Match getMatch(final int var) {
+		final int index = var - firstMatchVariable;
+		return index >= 0 && index < variablesToMatch.size() ? variablesToMatch.get(index) : null;
+	}
+
+	/**
+	 * Returns true if the given match maps a virtual network to a substrate
+	 * network, i.e., if its variable rejects the virtual network. A match of a
+	 * virtual network to a substrate server (see
+	 * {@link algorithms.pm.stages.VnePmMdvneAlgorithmPipelineStageVnet}) is a
+	 * placement instead.
+	 *
+	 * @param match Match to check.
+	 * @return True if the variable of the match rejects a virtual network.
+	 */
+	protected static boolean isRejectMatch(final Match match) {
+		return match.getVirtual() instanceof VirtualNetwork && match.getSubstrate() instanceof SubstrateNetwork;
+	}
+
+	/**
+	 * Solves the LP relaxation of the ILP and rounds its solution to an embedding
+	 * (see {@link AlgorithmConfig#pmLpRounding}). The virtual networks are
+	 * processed in ascending order of the LP value of their rejection variable. A
+	 * network is rejected with the probability of this value. Otherwise, one
+	 * candidate of each virtual element (SOS1 group) is sampled with a probability
+	 * proportional to its LP value. If the candidate does not fit into the
+	 * residual resources, the repair pass chooses the fitting candidate with the
+	 * highest LP value (and the lowest cost) instead.
+	 *
+	 * @return Handles of all selected variables in ascending order or null if the
+	 *         relaxation could not be solved or an accepted virtual network could
+	 *         not be repaired.
+	 */
+	protected int[] roundRelaxation() {
+		final Relaxation relaxation = ilpSolver.solveRelaxation();
+		ilpStatistics = relaxation;
+		if (relaxation.getStatus() != SolverStatus.OPTIMAL) {
+			logger.warning("LP relaxation could not be solved (" + relaxation.getStatus()
+					+ "), falling back to the ILP.");
+			return null;
+		}
+
+		// Group all mapping variables by their virtual elements
+		final Map<VirtualNetwork, Integer> rejects = new LinkedHashMap<>();
+		final Map<Element, Map<Element, Integer>> candidates = new HashMap<>();
+		for (int var = firstMatchVariable; var < firstMatchVariable + variablesToMatch.size(); var++) {
+			final Match m = getMatch(var);
+			if (m == null) {
+				continue;
+			}
+			if (isRejectMatch(m)) {
+				rejects.put((VirtualNetwork) m.getVirtual(), var);
+			} else {
+				candidates.computeIfAbsent(m.getVirtual(), k -> new LinkedHashMap<>()).put(m.getSubstrate(), var);
+			}
+		}
+		final List<VirtualNetwork> order = new ArrayList<>(rejects.keySet());
+		order.sort(Comparator.comparingDouble(v -> relaxation.getValue(rejects.get(v))));
+
+		final Random random = new Random(IlpSolverConfig.RANDOM_SEED);
+		final Map<SubstrateServer, long[]> residuals = new HashMap<>();
+		final Map<Link, Long> bandwidths = new HashMap<>();
+		final List<Integer> selected = new ArrayList<>();
+		for (final VirtualNetwork vNet : order) {
+			final int reject = rejects.get(vNet);
+			final double accepted = 1 - relaxation.getValue(reject);
+			final double u = random.nextDouble();
+			if (u >= accepted) {
+				selected.add(reject);
+				continue;
+			}
+
+			// The dependent rounding re-uses the random number of the network for all of
+			// its elements
+			final double shared = u / accepted;
+			final DoubleSupplier sampler = AlgorithmConfig.pmLpRounding == LpRounding.DEPENDENT ? () -> shared
+					: random::nextDouble;
+			final Map<Element, Element> placement = roundNetwork(vNet, candidates, relaxation, sampler, residuals,
+					bandwidths);
+			if (placement == null) {
+				logger.info("LP rounding could not repair virtual network " + vNet.getName()
+						+ ", falling back to the ILP.");
+				return null;
+			}
+			for (final Entry<Element, Element> entry : placement.entrySet()) {
+				selected.add(candidates.get(entry.getKey()).get(entry.getValue()));
+			}
+		}
+
+		final int[] result = selected.stream().mapToInt(Integer::intValue).sorted().toArray();
+		integralityGap = relaxation.getIntegralityGap(result);
+		// The rounded solution is the only incumbent and the relaxation is its bound
+		ilpStatistics = new Statistics.Builder(relaxation, relaxation.getDuration()).gap(integralityGap)
+				.incumbentCount(1).build();
+		logger.info("LP rounding: objective " + relaxation.getObjective(result) + ", relaxation "
+				+ relaxation.getObjective() + ", integrality gap " + integralityGap + ".");
+		return result;
+	}
+
+	/**
+	 * Rounds the mappings of all elements of an accepted virtual network. The
+	 * given residual resources are only updated if all elements could be placed.
+	 *
+	 * @param vNet       Virtual network to place.
+	 * @param candidates Map of all virtual elements to their candidates and the
+	 *                   handles of the corresponding mapping variables.
+	 * @param relaxation Solution of the LP relaxation.
+	 * @param sampler    Random numbers between 0 and 1 to sample the candidates.
+	 * @param residuals  Residual resources (CPU, memory, storage) of all substrate
+	 *                   servers used by the rounding so far.
+	 * @param bandwidths Residual bandwidths of all substrate links used by the
+	 *                   rounding so far.
+	 * @return Map of all virtual elements to their substrate elements or null if
+	 *         the virtual network could not be placed.
+	 */
+	private Map<Element, Element> roundNetwork(final VirtualNetwork vNet,
+			final Map<Element, Map<Element, Integer>> candidates, final Relaxation relaxation,
+			final DoubleSupplier sampler, final Map<SubstrateServer, long[]> residuals,
+			final Map<Link, Long> bandwidths) {
+		final Map<Element, Element> placement = new HashMap<>();
+		final Map<SubstrateServer, long[]> localResiduals = new HashMap<>();
+		final Map<Link, Long> localBandwidths = new HashMap<>();
+
+		// The virtual network stage places the whole network on one substrate server
+		final Map<Element, Integer> networkGroup = candidates.get(vNet);
+		if (networkGroup != null) {
+			final long[] demand = { vNet.getCpu(), vNet.getMemory(), vNet.getStorage() };
+			final Element host = roundGroup(networkGroup, relaxation, sampler.getAsDouble(),
+					sub -> fits(demand, sub, residuals, localResiduals));
+			if (host == null) {
+				return null;
+			}
+			final long[] res = localResiduals.get(host);
+			for (int i = 0; i < demand.length; i++) {
+				res[i] -= demand[i];
+			}
+			residuals.putAll(localResiduals);
+			placement.put(vNet, host);
+			return placement;
+		}
+
+		for (final Node n : vNet.getNodess()) {
+			final Map<Element, Integer> group = candidates.get(n);
+			if (group == null) {
+				return null;
+			}
+			final Element host = roundGroup(group, relaxation, sampler.getAsDouble(),
+					sub -> fits(n, sub, residuals, localResiduals));
+			if (host == null) {
+				return null;
+			}
+
+			if (n instanceof VirtualServer) {
+				final VirtualServer vServer = (VirtualServer) n;
+				final long[] res = localResiduals.get(host);
+				res[0] -= vServer.getCpu();
+				res[1] -= vServer.getMemory();
+				res[2] -= vServer.getStorage();
+			}
+			placement.put(n, host);
+		}
+
+		for (final Link l : vNet.getLinks()) {
+			final Map<Element, Integer> group = candidates.get(l);
+			final Element source = placement.get(l.getSource());
+			final Element target = placement.get(l.getTarget());
+			if (group == null) {
+				return null;
+			}
+			final Element host = roundGroup(group, relaxation, sampler.getAsDouble(), sub -> {
+				if (source == target) {
+					return sub == source;
+				}
+				if (!(sub instanceof SubstratePath)) {
+					return false;
+				}
+				final SubstratePath sPath = (SubstratePath) sub;
+				return sPath.getSource() == source && sPath.getTarget() == target && sPath.getLinks().stream()
+						.allMatch(sl -> getResidualBandwidth(sl, bandwidths, localBandwidths) >= l.getBandwidth());
+			});
+			if (host == null) {
+				return null;
+			}
+
+			if (host instanceof SubstratePath) {
+				for (final SubstrateLink sl : ((SubstratePath) host).getLinks()) {
+					localBandwidths.put(sl, getResidualBandwidth(sl, bandwidths, localBandwidths) - l.getBandwidth());
+				}
+			}
+			placement.put(l, host);
+		}
+
+		residuals.putAll(localResiduals);
+		bandwidths.putAll(localBandwidths);
+		return placement;
+	}
+
+	/**
+	 * Rounds the mapping of one virtual element (SOS1 group). The candidate is
+	 * sampled with a probability proportional to its LP value. If it is not
+	 * feasible, the feasible candidate with the highest LP value (and the lowest
+	 * cost for equal values) is chosen instead.
+	 *
+	 * @param group      Map of all candidates to the handles of their mapping
+	 *                   variables.
+	 * @param relaxation Solution of the LP relaxation.
+	 * @param u          Random number between 0 and 1.
+	 * @param feasible   Predicate that checks if a candidate is feasible.
+	 * @return Chosen candidate or null if no candidate is feasible.
+	 */
+	private Element roundGroup(final Map<Element, Integer> group, final Relaxation relaxation, final double u,
+			final Predicate<Element> feasible) {
+		double total = 0;
+		for (final int var : group.values()) {
+			total += Math.max(0, relaxation.getValue(var));
+		}
+		double cumulative = 0;
+		for (final Entry<Element, Integer> candidate : group.entrySet()) {
+			final double value = Math.max(0, relaxation.getValue(candidate.getValue()));
+			cumulative += value;
+			if (value > 0 && u * total < cumulative) {
+				if (feasible.test(candidate.getKey())) {
+					return candidate.getKey();
+				}
+				break;
+			}
+		}
+
+		// Repair: Choose the best feasible candidate
+		Element best = null;
+		double bestValue = Double.NEGATIVE_INFINITY;
+		double bestCost = Double.POSITIVE_INFINITY;
+		for (final Entry<Element, Integer> candidate : group.entrySet()) {
+			final double value = relaxation.getValue(candidate.getValue());
+			final double cost = relaxation.getCost(candidate.getValue());
+			final boolean better = value > bestValue + IlpSolverConfig.OPT_TOL
+					|| (value > bestValue - IlpSolverConfig.OPT_TOL && cost < bestCost);
+			if (better && feasible.test(candidate.getKey())) {
+				best = candidate.getKey();
+				bestValue = value;
+				bestCost = cost;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Checks if a virtual node fits onto a substrate node regarding the residual
+	 * resources of a (start or rounded) solution. The residual resources of the
+	 * substrate server are copied into the local map if necessary.
+	 *
+	 * @param virt           Virtual node.
+	 * @param sub            Substrate node.
+	 * @param residuals      Residual resources of the solution so far.
+	 * @param localResiduals Residual resources of the current virtual network.
+	 * @return True if the virtual node fits onto the substrate node.
+	 */
+	private boolean fits(final Node virt, final Element sub, final Map<SubstrateServer, long[]> residuals,
+			final Map<SubstrateServer, long[]> localResiduals) {
+		if (!(virt instanceof VirtualServer)) {
+			return true;
+		}
+		final VirtualServer vServer = (VirtualServer) virt;
+		return fits(new long[] { vServer.getCpu(), vServer.getMemory(), vServer.getStorage() }, sub, residuals,
+				localResiduals);
+	}
+
+	/**
+	 * Checks if the given resource demand (CPU, memory, storage) fits onto a
+	 * substrate node regarding the residual resources of a (start or rounded)
+	 * solution. The residual resources of the substrate server are copied into the
+	 * local map if necessary.
+	 *
+	 * @param demand         Resource demand (CPU, memory, storage).
+	 * @param sub            Substrate node.
+	 * @param residuals      Residual resources of the solution so far.
+	 * @param localResiduals Residual resources of the current virtual network.
+	 * @return True if the demand fits onto the substrate node.
+	 */
+	private boolean fits(final long[] demand, final Element sub, final Map<SubstrateServer, long[]> residuals,
+			final Map<SubstrateServer, long[]> localResiduals) {
+		if (!(sub instanceof SubstrateServer)) {
+			return false;
+		}
+		final long[] res = localResiduals.computeIfAbsent((SubstrateServer) sub, k -> {
+			final long[] global = residuals.get(k);
+			return global != null ? global.clone()
+					: new long[] { k.getResidualCpu(), k.getResidualMemory(), k.getResidualStorage() };
+		});
+		return res[0] >= demand[0] && res[1] >= demand[1] && res[2] >= demand[2];
+	}
+
+	/**
+	 * Returns the residual bandwidth of a substrate link regarding a (start or
+	 * rounded) solution.
+	 *
+	 * @param link            Substrate link.
+	 * @param bandwidths      Residual bandwidths of the solution so far.
+	 * @param localBandwidths Residual bandwidths of the current virtual network.
+	 * @return Residual bandwidth of the substrate link.
+	 */
+	private long getResidualBandwidth(final Link link, final Map<Link, Long> bandwidths,
+			final Map<Link, Long> localBandwidths) {
+		Long residual = localBandwidths.get(link);
+		if (residual == null) {
+			residual = bandwidths.get(link);
+		}
+		return residual != null ? residual : link.getResidualBandwidth();
+	}
+
+	/**
+	 * Returns the integrality gap of the rounded LP relaxation of the current
+	 * embedding request (see {@link AlgorithmConfig#pmLpRounding}). It is also
+	 * reported as the gap of the ILP statistics (see {@link #getIlpStatistics()}).
+	 *
+	 * @return Integrality gap of the rounded LP relaxation or NaN if there is none.
+	 */
+	public double getIntegralityGap() {
+		return integralityGap;
+	}
+
+	/**
+	 * Returns the scaling factors of the constraints of the current ILP solver,
+	 * which are shared by all of its deltas.
+	 *
+	 * @return Scaling factors of the constraints of the current ILP solver.
+	 */
+	protected IlpRowScaling getRowScaling() {
+		if (rowScalingSolver != ilpSolver) {
+			rowScaling = new IlpRowScaling();
+			rowScalingSolver = ilpSolver;
+		}
+		return rowScaling;
+	}
+
+	@Override
+	public Statistics getIlpStatistics() {
+		return ilpStatistics;
+	}
+
+	/**
+	 * Adds the bandwidth constraints of all substrate links that are overloaded by
+	 * the given solution to the ILP solver (see
+	 * {@link AlgorithmConfig#pmLazyLinkConstraints}).
+	 *
+	 * @param selected Handles of all selected variables.
+	 * @return True if at least one constraint was added.
+	 */
+	protected boolean addViolatedLinkConstraints(final int[] selected) {
+		if (lazyLinkConstraints.isEmpty()) {
+			return false;
+		}
+		final boolean[] isSelected = new boolean[ilpSolver.getVariableHandleCount()];
+		for (final int var : selected) {
+			isSelected[var] = true;
+		}
+
+		int added = 0;
+		final Iterator<Entry<Link, LazyLinkConstraint>> it = lazyLinkConstraints.entrySet().iterator();
+		while (it.hasNext()) {
+			final Entry<Link, LazyLinkConstraint> entry = it.next();
+			final LazyLinkConstraint lazy = entry.getValue();
+			if (!lazy.isViolated(isSelected)) {
+				continue;
+			}
+			final int constraint = ilpSolver.addLessOrEqualsConstraint(lazy.right,
+					Arrays.copyOf(lazy.weights, lazy.size), Arrays.copyOf(lazy.vars, lazy.size));
+			if (IlpSolverConfig.ILP_DEBUG_NAMES) {
+				ilpSolver.setConstraintName(constraint, "sl" + entry.getKey().getName());
+			}
+			it.remove();
+			added++;
+		}
+		if (added > 0) {
+			logger.fine("Added " + added + " violated link constraints, " + lazyLinkConstraints.size()
+					+ " link constraints are still left out.");
+		}
+		return added > 0;
+	}
+
 	/**
 	 * Translates the given pattern matching delta to an ILP formulation.
 	 *
 	 * @param delta Pattern matching delta to translate into an ILP formulation.
 	 */
 	protected void delta2Ilp(final PatternMatchingDelta delta) {
+		if (persistentSnet != null) {
+			updatePersistentModel();
+		}
 		final IlpDeltaGenerator gen = new IlpDeltaGenerator();
 
 		// add new elements
-		addElementsToSolver(gen);
+		if (persistentSnet != null) {
+			// The substrate constraints are already part of the persistent model
+			gen.serverConstraints.putAll(persistentServerConstraints);
+			gen.linkConstraints.putAll(persistentLinkConstraints);
+			addVirtualElementsToSolver(gen);
+		} else {
+			addElementsToSolver(gen);
+		}
 
 		// add new matches
-		delta.getNewServerMatchPositives().stream()
+		final List<Match> serverMatches = delta.getNewServerMatchPositives().stream()
 				.filter(m -> !ignoredVnets.contains(((VirtualServer) m.getVirtual()).getNetwork()))
-				.filter(m -> vNets.contains(((VirtualServer) m.getVirtual()).getNetwork()))
-				.forEach(gen::addServerMatch);
-		delta.getNewSwitchMatchPositives().stream()
+				.filter(m -> vNets.contains(((VirtualServer) m.getVirtual()).getNetwork())).toList();
+		final List<Match> switchMatches = delta.getNewSwitchMatchPositives().stream()
 				.filter(m -> !ignoredVnets.contains(((VirtualSwitch) m.getVirtual()).getNetwork()))
-				.filter(m -> vNets.contains(((VirtualSwitch) m.getVirtual()).getNetwork()))
-				.forEach(gen::addSwitchMatch);
+				.filter(m -> vNets.contains(((VirtualSwitch) m.getVirtual()).getNetwork())).toList();
+		final List<Match> linkPathMatches = delta.getNewLinkPathMatchPositives().stream()
+				.filter(m -> !ignoredVnets.contains(((VirtualLink) m.getVirtual()).getNetwork()))
+				.filter(m -> vNets.contains(((VirtualLink) m.getVirtual()).getNetwork())).toList();
+		final List<Match> linkServerMatches = delta.getNewLinkServerMatchPositives().stream()
+				.filter(m -> !ignoredVnets.contains(((VirtualLink) m.getVirtual()).getNetwork()))
+				.filter(m -> vNets.contains(((VirtualLink) m.getVirtual()).getNetwork())).toList();
+		if (AlgorithmConfig.pmParallelDelta2Ilp) {
+			gen.translations.putAll(translateInParallel(
+					List.of(serverMatches, switchMatches, linkPathMatches, linkServerMatches)));
+		}
+
+		serverMatches.forEach(gen::addServerMatch);
+		switchMatches.forEach(gen::addSwitchMatch);
 
 		// Important: Due to the fact that both link constraint generating methods check
 		// the existence
 		// of the node mapping variables, the link constraints have to be added *after*
 		// all node
 		// constraints.
-		delta.getNewLinkPathMatchPositives().stream()
-				.filter(m -> !ignoredVnets.contains(((VirtualLink) m.getVirtual()).getNetwork()))
-				.filter(m -> vNets.contains(((VirtualLink) m.getVirtual()).getNetwork()))
-				.forEach(gen::addLinkPathMatch);
-		delta.getNewLinkServerMatchPositives().stream()
-				.filter(m -> !ignoredVnets.contains(((VirtualLink) m.getVirtual()).getNetwork()))
-				.filter(m -> vNets.contains(((VirtualLink) m.getVirtual()).getNetwork()))
-				.forEach(gen::addLinkServerMatch);
+		linkPathMatches.forEach(gen::addLinkPathMatch);
+		linkServerMatches.forEach(gen::addLinkServerMatch);
 
 		// apply delta in ILP generator
 		gen.apply();
+
+		if (persistentSnet != null) {
+			final int first = gen.delta.getFirstVariable();
+			requestVariables = IntStream.range(first, first + gen.delta.getAddedVariableCount()).toArray();
+			final int firstConstraint = ilpSolver.getConstraintHandleCount() - gen.delta.getAddedConstraintCount();
+			requestConstraints = IntStream.range(firstConstraint, ilpSolver.getConstraintHandleCount())
+					.filter(c -> !gen.delta.isDropped(c)).toArray();
+		}
+	}
+
+	/**
+	 * Prepares the persistent ILP model (see
+	 * {@link AlgorithmConfig#pmPersistentModel}) for the next embedding request.
+	 * All variables and constraints of the last request are removed, the right
+	 * sides of the substrate constraints are set to the current residual
+	 * resources, and the constraints of new (removed) substrate servers and links
+	 * are added (removed). The new substrate constraints are applied without any
+	 * terms, so they are never scaled (see
+	 * {@link IlpSolverConfig#ENABLE_ROW_SCALING}) and the terms of all later
+	 * requests fit their (unit) scaling factor.
+	 */
+	protected void updatePersistentModel() {
+		final IlpDeltaGenerator gen = new IlpDeltaGenerator();
+		for (final int var : requestVariables) {
+			gen.delta.removeVariable(var);
+		}
+		// The handles of removed variables are never reused
+		variablesToMatch.clear();
+		firstMatchVariable = ilpSolver.getVariableHandleCount();
+		for (final int constraint : requestConstraints) {
+			gen.delta.removeConstraint(constraint);
+		}
+		requestVariables = new int[0];
+		requestConstraints = new int[0];
+
+		final Set<Element> substrateElements = new HashSet<>();
+		for (final Node n : sNet.getNodess()) {
+			if (n instanceof SubstrateServer) {
+				final SubstrateServer server = (SubstrateServer) n;
+				substrateElements.add(server);
+				final int[] resources = persistentServerConstraints.get(server);
+				if (resources == null) {
+					gen.addNewSubstrateServer(server);
+					continue;
+				}
+				gen.delta.setConstraintRight(resources[0], (int) server.getResidualCpu());
+				gen.delta.setConstraintRight(resources[1], (int) server.getResidualMemory());
+				gen.delta.setConstraintRight(resources[2], (int) server.getResidualStorage());
+			}
+		}
+		for (final Link l : sNet.getLinks()) {
+			if (l instanceof SubstrateLink) {
+				substrateElements.add(l);
+				final Integer constraint = persistentLinkConstraints.get(l);
+				if (constraint == null) {
+					gen.addNewSubstrateLink((SubstrateLink) l);
+					continue;
+				}
+				gen.delta.setConstraintRight(constraint, l.getResidualBandwidth());
+			}
+		}
+
+		// Substrate elements that were removed from the substrate network
+		final Iterator<Entry<SubstrateServer, int[]>> servers = persistentServerConstraints.entrySet().iterator();
+		while (servers.hasNext()) {
+			final Entry<SubstrateServer, int[]> entry = servers.next();
+			if (!substrateElements.contains(entry.getKey())) {
+				Arrays.stream(entry.getValue()).forEach(gen.delta::removeConstraint);
+				servers.remove();
+			}
+		}
+		final Iterator<Entry<Link, Integer>> links = persistentLinkConstraints.entrySet().iterator();
+		while (links.hasNext()) {
+			final Entry<Link, Integer> entry = links.next();
+			if (!substrateElements.contains(entry.getKey())) {
+				gen.delta.removeConstraint(entry.getValue());
+				links.remove();
+			}
+		}
+
+		// The new substrate constraints have no terms yet, but must stay in the model
+		gen.serverConstraints.values().forEach(resources -> Arrays.stream(resources).forEach(gen.delta::keepConstraint));
+		gen.linkConstraints.values().forEach(gen.delta::keepConstraint);
+		gen.delta.apply(ilpSolver);
+		persistentServerConstraints.putAll(gen.serverConstraints);
+		persistentLinkConstraints.putAll(gen.linkConstraints);
+	}
+
+	/**
+	 * Translates a given match, i.e., looks up its virtual and substrate element
+	 * via the model facade and calculates the cost of the mapping. The translation
+	 * only reads the model, so it may be called concurrently.
+	 *
+	 * @param match Match of a virtual server, switch or link.
+	 * @return Translation of the match.
+	 */
+	protected Translation translate(final Match match) {
+		final Element virt = match.getVirtual();
+		if (virt instanceof VirtualServer) {
+			final VirtualServer vServer = (VirtualServer) modelFacade.getServerById(virt.getName());
+			return new Translation(vServer, match.getSubstrate(),
+					getCost(vServer, (SubstrateServer) match.getSubstrate()));
+		} else if (virt instanceof VirtualSwitch) {
+			return new Translation(virt, match.getSubstrate(),
+					getCost((VirtualNode) virt, (SubstrateNode) match.getSubstrate()));
+		} else if (virt instanceof VirtualLink) {
+			final VirtualLink vLink = (VirtualLink) modelFacade.getLinkById(virt.getName());
+			if (match.getSubstrate() instanceof SubstrateServer) {
+				return new Translation(vLink, match.getSubstrate(),
+						getCost(vLink, (SubstrateNode) match.getSubstrate()));
+			}
+			final SubstratePath sPath = modelFacade.getPathById(match.getSubstrate().getName());
+			return new Translation(vLink, sPath, getCost(vLink, sPath));
+		}
+		throw new IllegalArgumentException("Unsupported virtual element of match: " + virt);
+	}
+
+	/**
+	 * Translates all given matches in parallel (see
+	 * {@link AlgorithmConfig#pmParallelDelta2Ilp}). The matches are partitioned by
+	 * their virtual network and each partition is translated as one task of a
+	 * parallel stream on the common fork/join pool. The results are merged in the
+	 * order of the partitions (order of the first match of each virtual network),
+	 * hence the ILP does not depend on the scheduling of the tasks.
+	 *
+	 * @param matches Lists of all matches to translate.
+	 * @return Translation of each match.
+	 */
+	protected Map<Match, Translation> translateInParallel(final List<List<Match>> matches) {
+		final Map<Network, List<Match>> partitions = new LinkedHashMap<>();
+		for (final List<Match> list : matches) {
+			for (final Match m : list) {
+				final Element virt = m.getVirtual();
+				final Network vNet = virt instanceof Link ? ((Link) virt).getNetwork() : ((Node) virt).getNetwork();
+				partitions.computeIfAbsent(vNet, k -> new ArrayList<>()).add(m);
+			}
+		}
+
+		final List<List<Match>> parts = new ArrayList<>(partitions.values());
+		final List<Translation[]> results = parts.parallelStream()
+				.map(part -> part.stream().map(this::translate).toArray(Translation[]::new)).toList();
+
+		final Map<Match, Translation> translations = new HashMap<>();
+		for (int i = 0; i < parts.size(); i++) {
+			for (int j = 0; j < parts.get(i).size(); j++) {
+				translations.put(parts.get(i).get(j), results.get(i)[j]);
+			}
+		}
+		return translations;
 	}
 
 	/**
@@ -590,7 +1888,16 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 			}
 		}
 
-		// Virtual networks
+		addVirtualElementsToSolver(gen);
+	}
+
+	/**
+	 * Adds the elements of all virtual networks (that are not ignored) to the given
+	 * delta generator (solver).
+	 *
+	 * @param gen ILP delta generator to add elements to.
+	 */
+	protected void addVirtualElementsToSolver(final IlpDeltaGenerator gen) {
 		final Iterator<VirtualNetwork> it = vNets.iterator();
 		while (it.hasNext()) {
 			final VirtualNetwork vNet = it.next();
@@ -618,32 +1925,34 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 	}
 
 	/**
-	 * Updates and embeds the actual mappings for a given map of names (strings) and
-	 * booleans.
+	 * Updates and embeds the actual mappings for a given array of selected
+	 * variables.
 	 *
-	 * @param mappings Map of strings and booleans. The keys are mapping names and
-	 *                 the values define if the mapping was chosen.
+	 * @param selected Handles of all selected variables in ascending order.
 	 * @return Returns a set of all virtual networks that could not be embedded.
 	 */
-	protected Set<VirtualNetwork> updateMappingsAndEmbed(final Map<String, Boolean> mappings) {
+	protected Set<VirtualNetwork> updateMappingsAndEmbed(final int[] selected) {
 		// Embed elements
 		final Set<VirtualNetwork> rejectedNetworks = new HashSet<>();
 		final EmoflonGt engine = (EmoflonGt) patternMatcher;
+		previousSelection.clear();
 
-		// for (final String s : newMappings) {
-		for (final String s : mappings.keySet()) {
-			if (!mappings.get(s)) {
+		for (final int var : selected) {
+			final Match m = getMatch(var);
+			if (m == null) {
 				continue;
 			}
 
-			final Match m = variablesToMatch.get(s);
-
 			// Network -> Network (rejected)
 			if (m.getVirtual() instanceof VirtualNetwork) {
 				rejectedNetworks.add((VirtualNetwork) m.getVirtual());
 				continue;
 			}
 
+			if (m.getVirtual() instanceof VirtualNode) {
+				previousSelection.put(m.getVirtual(), m.getSubstrate());
+			}
+
 			// Embed element: Either use emoflon/GT or use manual mode.
 			switch (AlgorithmConfig.emb) {
 			case EMOFLON:
@@ -680,18 +1989,58 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 	}
 
 	/**
-	 * Initializes the algorithm by creating a new incremental solver object and a
-	 * new pattern matcher object.
+	 * Initializes the algorithm by creating a new incremental solver object (unless
+	 * the persistent model of the substrate network is kept, see
+	 * {@link AlgorithmConfig#pmPersistentModel} and
+	 * {@link AlgorithmConfig#pmPersistentModelRequests}) and a new pattern matcher
+	 * object.
 	 */
 	public void init() {
-		// Create new ILP solver object on every method call.
-		ilpSolver = IlpSolverConfig.getIlpSolver();
+		// Keep the persistent model of the same substrate network (see
+		// AlgorithmConfig#pmPersistentModel)
+		final boolean persistent = AlgorithmConfig.pmPersistentModel && !AlgorithmConfig.pmLazyLinkConstraints;
+		if (AlgorithmConfig.pmPersistentModel && !persistent && ilpSolver == null) {
+			logger.warning("The persistent ILP model is not used together with lazy link constraints.");
+		}
+		if (!persistent || ilpSolver == null || persistentSnet != sNet
+				|| persistentRequests >= AlgorithmConfig.pmPersistentModelRequests) {
+			// Create new ILP solver object on every method call. The old one is disposed,
+			// so that its environment can be reused.
+			if (ilpSolver != null) {
+				ilpSolver.dispose();
+			}
+			ilpSolver = IlpSolverConfig.getIlpSolver();
+			persistentServerConstraints.clear();
+			persistentLinkConstraints.clear();
+			requestVariables = new int[0];
+			requestConstraints = new int[0];
+			persistentSnet = persistent ? sNet : null;
+			persistentRequests = 0;
+		}
+		persistentRequests++;
 
 		if (patternMatcher == null) {
 			patternMatcher = new EmoflonGtFactory().create();
 		}
 	}
 
+	/**
+	 * Remembers the current hosts of all virtual nodes of a given (embedded)
+	 * virtual network as start solution for the next ILP solver. This must be
+	 * called before the embedding of the virtual network gets removed.
+	 *
+	 * @param vNet Embedded virtual network.
+	 */
+	protected void rememberEmbedding(final VirtualNetwork vNet) {
+		for (final Node n : vNet.getNodess()) {
+			if (n instanceof VirtualServer && ((VirtualServer) n).getHost() != null) {
+				previousSelection.put(n, ((VirtualServer) n).getHost());
+			} else if (n instanceof VirtualSwitch && ((VirtualSwitch) n).getHost() != null) {
+				previousSelection.put(n, ((VirtualSwitch) n).getHost());
+			}
+		}
+	}
+
 	public void forEachLink(final SubstratePath sPath, final Consumer<? super Link> operation) {
 		sPath.getLinks().stream().forEach(operation);
 	}
@@ -4,6 +4,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import algorithms.AlgorithmConfig;
+import algorithms.ilp.IlpSolverAlgorithm;
 import facade.ModelFacade;
 import gt.PatternMatchingDelta;
 import gt.emoflon.EmoflonGtFactory;
@@ -98,6 +99,7 @@ public class VnePmMdvneAlgorithmMigration extends VnePmMdvneAlgorithm {
 		rejectedDespiteMigration.addAll(ignoredVnets);
 		embedNetworks(rejectedDespiteMigration);
 		GlobalMetricsManager.endDeployTime();
+		IlpSolverAlgorithm.reportIlpCalls(ilpSolver);
 		GlobalMetricsManager.measureMemory();
 		return rejectedDespiteMigration.isEmpty();
 	}
@@ -187,6 +189,7 @@ public class VnePmMdvneAlgorithmMigration extends VnePmMdvneAlgorithm {
 		}
 
 		if (smallest != null) {
+			rememberEmbedding(smallest);
 			ModelFacade.getInstance().unembedVirtualNetwork(smallest);
 		}
 
@@ -11,6 +11,7 @@ import java.util.stream.Collectors;
 
 import algorithms.AbstractAlgorithm;
 import algorithms.AlgorithmPipeline;
+import algorithms.ilp.IlpSolverAlgorithm;
 import facade.ModelFacade;
 import facade.config.ModelFacadeConfig;
 import gt.IncrementalPatternMatcher;
@@ -173,12 +174,20 @@ public abstract class VnePmMdvnePipelineAlgorithm extends VnePmMdvneAlgorithm im
 			// Run algorithm preparation again because the substrate network or the set of
 			// virtual networks may have changed because of the repairing above.
 			algo.prepare(sNet, vNets);
+			if (algo instanceof VnePmMdvneAlgorithm) {
+				// All stages share the latency budget of the request
+				((VnePmMdvneAlgorithm) algo).deadline = deadline;
+			}
 			if (stage > 0) {
 				PmAlgorithmUtils.unembedAll(sNet, vNets);
 			}
 
 			logger.info("=> Starting pipeline stage #" + (++stage));
-			if (algo.execute()) {
+			final boolean embedded = algo.execute();
+			if (algo instanceof IlpSolverAlgorithm) {
+				ilpStatistics = ((IlpSolverAlgorithm) algo).getIlpStatistics();
+			}
+			if (embedded) {
 				return true;
 			}
 		}
@@ -297,7 +306,11 @@ public abstract class VnePmMdvnePipelineAlgorithm extends VnePmMdvneAlgorithm im
 	 */
 	@Override
 	public void init() {
-		// Create new ILP solver object on every method call.
+		// Create new ILP solver object on every method call. The old one is disposed,
+		// so that its environment can be reused.
+		if (ilpSolver != null) {
+			ilpSolver.dispose();
+		}
 		ilpSolver = IlpSolverConfig.getIlpSolver();
 
 		if (patternMatcher == null) {
@@ -1,10 +1,10 @@
 package algorithms.pm.stages;
 
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 
 import algorithms.AlgorithmConfig;
+import algorithms.ilp.IlpSolverAlgorithm;
 import algorithms.pm.VnePmMdvneAlgorithm;
 import facade.ModelFacade;
 import gt.IncrementalPatternMatcher;
@@ -105,6 +105,7 @@ public class VnePmMdvneAlgorithmPipelineStageRackB extends VnePmMdvneAlgorithm {
 		rejectedNetworksTwo.addAll(ignoredVnets);
 		embedNetworks(rejectedNetworksTwo);
 		GlobalMetricsManager.endDeployTime();
+		IlpSolverAlgorithm.reportIlpCalls(ilpSolver);
 		GlobalMetricsManager.measureMemory();
 		return rejectedNetworksTwo.isEmpty();
 	}
@@ -119,7 +120,11 @@ public class VnePmMdvneAlgorithmPipelineStageRackB extends VnePmMdvneAlgorithm {
 	 */
 	@Override
 	public void init() {
-		// Create new ILP solver object on every method call.
+		// Create new ILP solver object on every method call. The old one is disposed,
+		// so that its environment can be reused.
+		if (ilpSolver != null) {
+			ilpSolver.dispose();
+		}
 		ilpSolver = IlpSolverConfig.getIlpSolver();
 
 		if (patternMatcher == null) {
@@ -132,27 +137,24 @@ public class VnePmMdvneAlgorithmPipelineStageRackB extends VnePmMdvneAlgorithm {
 	}
 
 	/**
-	 * Updates and embeds the actual mappings for a given map of names (strings) and
-	 * booleans.
+	 * Updates and embeds the actual mappings for a given array of selected
+	 * variables.
 	 *
-	 * @param mappings Map of strings and booleans. The keys are mapping names and
-	 *                 the values define if the mapping was chosen.
+	 * @param selected Handles of all selected variables in ascending order.
 	 * @return Returns a set of all virtual networks that could not be embedded.
 	 */
 	@Override
-	protected Set<VirtualNetwork> updateMappingsAndEmbed(final Map<String, Boolean> mappings) {
+	protected Set<VirtualNetwork> updateMappingsAndEmbed(final int[] selected) {
 		// Embed elements
 		final Set<VirtualNetwork> rejectedNetworks = new HashSet<>();
 		final EmoflonGtRackB engine = (EmoflonGtRackB) patternMatcherRack;
 
-		// for (final String s : newMappings) {
-		for (final String s : mappings.keySet()) {
-			if (!mappings.get(s)) {
+		for (final int var : selected) {
+			final Match m = getMatch(var);
+			if (m == null) {
 				continue;
 			}
 
-			final Match m = variablesToMatch.get(s);
-
 			// Network -> Network (rejected)
 			if (m.getVirtual() instanceof VirtualNetwork) {
 				rejectedNetworks.add((VirtualNetwork) m.getVirtual());
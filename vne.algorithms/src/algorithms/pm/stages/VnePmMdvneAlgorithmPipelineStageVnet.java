@@ -2,10 +2,10 @@ package algorithms.pm.stages;
 
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.Map;
 import java.util.Set;
 
 import algorithms.AlgorithmConfig;
+import algorithms.ilp.IlpSolverAlgorithm;
 import algorithms.pm.VnePmMdvneAlgorithm;
 import facade.ModelFacade;
 import gt.IncrementalPatternMatcher;
@@ -53,17 +53,16 @@ public class VnePmMdvneAlgorithmPipelineStageVnet extends VnePmMdvneAlgorithm {
 		 */
 		public void addNetworkToServerMatch(final Match match) {
 			final VirtualNetwork vnet = (VirtualNetwork) match.getVirtual();
-			final String varName = match.getVirtual().getName() + "_" + match.getSubstrate().getName();
-			delta.addVariable(varName, getCost(vnet, (SubstrateServer) match.getSubstrate()));
-			delta.setVariableWeightForConstraint("vsnet" + match.getVirtual().getName(), 1, varName);
+			final int var = addMatchVariable(match, getCost(vnet, (SubstrateServer) match.getSubstrate()));
+			delta.setVariableWeightForConstraint(virtualConstraints.get(vnet), 1, var);
 
-			delta.setVariableWeightForConstraint("cpu" + match.getSubstrate().getName(), vnet.getCpu(), varName);
-			delta.setVariableWeightForConstraint("mem" + match.getSubstrate().getName(), vnet.getMemory(), varName);
-			delta.setVariableWeightForConstraint("sto" + match.getSubstrate().getName(), vnet.getStorage(), varName);
-			variablesToMatch.put(varName, match);
+			final int[] resources = serverConstraints.get(match.getSubstrate());
+			delta.setVariableWeightForConstraint(resources[0], vnet.getCpu(), var);
+			delta.setVariableWeightForConstraint(resources[1], vnet.getMemory(), var);
+			delta.setVariableWeightForConstraint(resources[2], vnet.getStorage(), var);
 
 			// SOS match
-			addSosMappings(match.getVirtual().getName(), varName);
+			addSosMappings(vnet, var);
 		}
 
 		/**
@@ -72,8 +71,7 @@ public class VnePmMdvneAlgorithmPipelineStageVnet extends VnePmMdvneAlgorithm {
 		 * @param vnet VirtualNetwork to get information from.
 		 */
 		public void addNewVirtualNetwork(final VirtualNetwork vnet) {
-			delta.addEqualsConstraint("vsnet" + vnet.getName(), 1);
-			delta.setVariableWeightForConstraint("vsnet" + vnet.getName(), 1, "rej" + vnet.getName());
+			addNewVirtualElement(vnet, vnet, "vsnet");
 		}
 
 	}
@@ -153,6 +151,7 @@ public class VnePmMdvneAlgorithmPipelineStageVnet extends VnePmMdvneAlgorithm {
 		rejectedNetworks.addAll(ignoredVnets);
 		embedNetworks(rejectedNetworks);
 		GlobalMetricsManager.endDeployTime();
+		IlpSolverAlgorithm.reportIlpCalls(ilpSolver);
 		GlobalMetricsManager.measureMemory();
 		return rejectedNetworks.isEmpty();
 	}
@@ -234,26 +233,24 @@ public class VnePmMdvneAlgorithmPipelineStageVnet extends VnePmMdvneAlgorithm {
 	}
 
 	/**
-	 * Updates and embeds the actual mappings for a given map of names (strings) and
-	 * booleans.
+	 * Updates and embeds the actual mappings for a given array of selected
+	 * variables.
 	 *
-	 * @param mappings Map of strings and booleans. The keys are mapping names and
-	 *                 the values define if the mapping was chosen.
+	 * @param selected Handles of all selected variables in ascending order.
 	 * @return Returns a set of all virtual networks that could not be embedded.
 	 */
 	@Override
-	protected Set<VirtualNetwork> updateMappingsAndEmbed(final Map<String, Boolean> mappings) {
+	protected Set<VirtualNetwork> updateMappingsAndEmbed(final int[] selected) {
 		// Embed elements
 		final Set<VirtualNetwork> rejectedNetworks = new HashSet<>();
 		final EmoflonGtVnet engine = (EmoflonGtVnet) patternMatcherVnet;
 
-		for (final String s : mappings.keySet()) {
-			if (!mappings.get(s)) {
+		for (final int var : selected) {
+			final Match m = getMatch(var);
+			if (m == null) {
 				continue;
 			}
 
-			final Match m = variablesToMatch.get(s);
-
 			// Network -> Network (rejected)
 			if (m.getVirtual() instanceof VirtualNetwork && m.getSubstrate() instanceof SubstrateNetwork) {
 				rejectedNetworks.add((VirtualNetwork) m.getVirtual());
@@ -288,7 +285,11 @@ public class VnePmMdvneAlgorithmPipelineStageVnet extends VnePmMdvneAlgorithm {
 	 */
 	@Override
 	public void init() {
-		// Create new ILP solver object on every method call.
+		// Create new ILP solver object on every method call. The old one is disposed,
+		// so that its environment can be reused.
+		if (ilpSolver != null) {
+			ilpSolver.dispose();
+		}
 		ilpSolver = IlpSolverConfig.getIlpSolver();
 
 		if (patternMatcher == null) {
@@ -51,6 +51,7 @@ public class DissScenarioLoad extends AbstractExperiment {
 
 	public DissScenarioLoad() {
 		metricsManager.addMeter(new GipsIlpHandler());
+		metricsManager.addMeter(new IflyeIlpHandler());
 	}
 
 	/**
@@ -0,0 +1,146 @@
+package scenarios.load;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import algorithms.ilp.IlpSolverAlgorithm;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.Statistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.observation.Observation;
+import metrics.HasMetric;
+import metrics.MetricTransformer;
+import metrics.manager.Context;
+import metrics.reporter.NotionReporter;
+import metrics.reporter.NotionReporter.PropertyFormat;
+
+/**
+ * Collect statistics about the ILP solver if run for an algorithm that uses the
+ * incremental ILP solvers of iflye, e.g., the PM or the fake ILP algorithm.
+ * Unknown values of the solver implementation are not recorded.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IflyeIlpHandler implements HasMetric<Context.VnetEmbeddingContext> {
+
+	/**
+	 * The {@link MeterRegistry} to register the metrics to.
+	 */
+	private MeterRegistry meterRegistry;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Collection<MetricTransformer> getProvidedMeters() {
+		class SolverMeter implements MetricTransformer, NotionReporter.NotionMeter {
+			@Override
+			public Map<String, Object> toEntry(Meter meter, Map<String, Object> unmodifiableEntry) {
+				DistributionSummary distributionMeter = (DistributionSummary) meter;
+
+				Map<String, Object> entry = new HashMap<>();
+				if (meter.getId().getName().equals("solver.status")) {
+					entry.put(meter.getId().getName(), SolverStatus.values()[(int) distributionMeter.max()].name());
+				} else {
+					entry.put(meter.getId().getName(), distributionMeter.max());
+				}
+				return entry;
+			}
+
+			@Override
+			public boolean supportsMeter(Meter meter) {
+				return meter instanceof DistributionSummary && meter.getId().getName().startsWith("solver.");
+			}
+
+			@Override
+			public boolean shouldResetMeter(Meter meter) {
+				return true;
+			}
+
+			@Override
+			public PropertyFormat getNotionPropertyFormat(Meter meter, String key, Object value) {
+				return key.equals("solver.status") ? NotionReporter.PROPERTY_TYPE.SELECT
+						: NotionReporter.PROPERTY_TYPE.NUMBER;
+			}
+		}
+		return List.of(new SolverMeter());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void onStop(Context.VnetEmbeddingContext context) {
+
+		if (!(context.getAlgorithm() instanceof IlpSolverAlgorithm)) {
+			return;
+		}
+
+		final Statistics stats = ((IlpSolverAlgorithm) context.getAlgorithm()).getIlpStatistics();
+		if (stats == null) {
+			return;
+		}
+
+		meterRegistry.summary("solver.status", createTags(context)).record(stats.getStatus().ordinal());
+		record(context, "solver.rows", stats.getRows());
+		record(context, "solver.columns", stats.getColumns());
+		record(context, "solver.nonzeros", stats.getNonzeros());
+		record(context, "solver.sos", stats.getSosCount());
+		record(context, "solver.presolve_removed_rows", stats.getPresolveRemovedRows());
+		record(context, "solver.presolve_removed_columns", stats.getPresolveRemovedColumns());
+		if (stats.getRootTime() >= 0) {
+			record(context, "solver.time_root", stats.getRootTime() / 1_000_000_000.0);
+		}
+		record(context, "solver.nodes", stats.getNodeCount());
+		if (!Double.isNaN(stats.getGap())) {
+			record(context, "solver.gap", stats.getGap());
+		}
+		record(context, "solver.incumbents", stats.getIncumbentCount());
+	}
+
+	/**
+	 * Records the given value of a meter if it is known (i.e., not negative).
+	 *
+	 * @param context The context to take the tags from.
+	 * @param name    Name of the meter.
+	 * @param value   Value to record.
+	 */
+	private void record(Context context, String name, double value) {
+		if (value >= 0) {
+			meterRegistry.summary(name, createTags(context)).record(value);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean supportsContext(Observation.Context context) {
+		return context instanceof Context.VnetEmbeddingContext;
+	}
+
+	/**
+	 * Transform the context key-values into a set of Tags to register with the
+	 * meters.
+	 * 
+	 * @param context The context to transform.
+	 * @return The tags to register with the meters.
+	 */
+	private List<Tag> createTags(Context context) {
+		return context.getLowCardinalityKeyValues().stream().map(kv -> Tag.of(kv.getKey(), kv.getValue())).toList();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setMeterRegistry(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+}
@@ -5,6 +5,7 @@ import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 
+import algorithms.AlgorithmConfig;
 import algorithms.ilp.VneFakeIlpAlgorithm;
 import algorithms.ilp.VneFakeIlpBatchAlgorithm;
 import ilp.wrapper.config.IlpSolverConfig;
@@ -18,8 +19,9 @@ import scenarios.modules.AlgorithmModule;
  * {@link VneFakeIlpAlgorithm}.
  * 
  * Options: -i / --ilptimeout <arg>, -r / --ilprandomseed <arg>, -m /
- * --ilpopttol <arg>, -y / --ilpobjscaling <arg>, -x / --ilpobjlog, -a /
- * --algorithm <ilp/ilp-batch>
+ * --ilpopttol <arg>, -y / --ilpobjscaling <arg>, -x / --ilpobjlog, -d /
+ * --ilplagrangian, -z / --ilprowscaling, -n / --ilpdecompose, -a / --algorithm
+ * <ilp/ilp-batch>
  * 
  * @see {@link VneFakeIlpAlgorithm}
  * @see {@link VneFakeIlpBatchAlgorithm}
@@ -59,6 +61,24 @@ public class IlpAlgorithm extends AbstractModule implements AlgorithmModule.Algo
 			.desc("ILP solver objective logarithm")//
 			.build();
 
+	protected final Option ilpLagrangian = Option.builder()//
+			.option("d")//
+			.longOpt("ilplagrangian")//
+			.desc("ILP solver Lagrangian decomposition per virtual network")//
+			.build();
+
+	protected final Option ilpRowScaling = Option.builder()//
+			.option("z")//
+			.longOpt("ilprowscaling")//
+			.desc("ILP constraint scaling by the greatest common divisor of the coefficients")//
+			.build();
+
+	protected final Option ilpDecompose = Option.builder()//
+			.option("n")//
+			.longOpt("ilpdecompose")//
+			.desc("ILP solver parallel solving of independent model components")//
+			.build();
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -78,6 +98,9 @@ public class IlpAlgorithm extends AbstractModule implements AlgorithmModule.Algo
 		options.addOption(ilpOptTol);
 		options.addOption(ilpObjScaling);
 		options.addOption(ilpObjLog);
+		options.addOption(ilpLagrangian);
+		options.addOption(ilpRowScaling);
+		options.addOption(ilpDecompose);
 	}
 
 	/**
@@ -109,6 +132,21 @@ public class IlpAlgorithm extends AbstractModule implements AlgorithmModule.Algo
 		if (cmd.hasOption(this.ilpObjLog)) {
 			MetricsManager.getInstance().addTags("ilpobjlog", String.valueOf(cmd.hasOption(this.ilpObjLog)));
 		}
+
+		AlgorithmConfig.ilpLagrangian = cmd.hasOption(this.ilpLagrangian);
+		if (cmd.hasOption(this.ilpLagrangian)) {
+			MetricsManager.getInstance().addTags("ilplagrangian", String.valueOf(cmd.hasOption(this.ilpLagrangian)));
+		}
+
+		IlpSolverConfig.ENABLE_ROW_SCALING = cmd.hasOption(this.ilpRowScaling);
+		if (cmd.hasOption(this.ilpRowScaling)) {
+			MetricsManager.getInstance().addTags("ilprowscaling", String.valueOf(cmd.hasOption(this.ilpRowScaling)));
+		}
+
+		IlpSolverConfig.DECOMPOSE = cmd.hasOption(this.ilpDecompose);
+		if (cmd.hasOption(this.ilpDecompose)) {
+			MetricsManager.getInstance().addTags("ilpdecompose", String.valueOf(cmd.hasOption(this.ilpDecompose)));
+		}
 	}
 
 }
@@ -6,6 +6,7 @@ import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 
 import algorithms.AlgorithmConfig;
+import algorithms.AlgorithmConfig.LpRounding;
 import algorithms.pm.VnePmMdvneAlgorithm;
 import algorithms.pm.VnePmMdvneAlgorithmMigration;
 import algorithms.pm.VnePmMdvneAlgorithmPipelineThreeStagesA;
@@ -22,7 +23,9 @@ import scenarios.modules.AlgorithmModule;
  * Add an option to configure the experiment to use the
  * {@link VnePmMdvneAlgorithm} with different characteristics.
  * 
- * Options: -t / --tries <arg>, -a / --algorithm
+ * Options: -t / --tries <arg>, -u / --lprounding <randomized/dependent>, -b /
+ * --budget <arg>, -j / --incumbentgap <arg>, -f / --symmetry, -p / --persistent,
+ * -q / --paralleldelta, -w / --mipstart, -a / --algorithm
  * <pm/pm-migration/pm-pipeline2-vnet/pm-pipeline2-racka/pm-pipeline2-rackb/pm-pipeline3a/pm-pipeline3b>
  * 
  * @see {@link VnePmMdvneAlgorithm}
@@ -41,6 +44,51 @@ public class PmAlgorithm extends AbstractModule implements AlgorithmModule.Algor
 			.hasArg()//
 			.build();
 
+	protected final Option lpRounding = Option.builder()//
+			.option("u")//
+			.longOpt("lprounding")//
+			.desc("solve only the LP relaxation of the PM algorithm and round it: randomized or dependent")//
+			.hasArg()//
+			.build();
+
+	protected final Option budget = Option.builder()//
+			.option("b")//
+			.longOpt("budget")//
+			.desc("latency budget of each embedding request of the PM algorithm in milliseconds")//
+			.hasArg()//
+			.build();
+
+	protected final Option incumbentGap = Option.builder()//
+			.option("j")//
+			.longOpt("incumbentgap")//
+			.desc("stop the PM algorithm's ILP solver at an incumbent without rejections and this gap")//
+			.hasArg()//
+			.build();
+
+	protected final Option symmetry = Option.builder()//
+			.option("f")//
+			.longOpt("symmetry")//
+			.desc("symmetry breaking constraints for identical virtual servers of the PM algorithm")//
+			.build();
+
+	protected final Option persistent = Option.builder()//
+			.option("p")//
+			.longOpt("persistent")//
+			.desc("keep the ILP model of the PM algorithm across embedding requests")//
+			.build();
+
+	protected final Option parallelDelta = Option.builder()//
+			.option("q")//
+			.longOpt("paralleldelta")//
+			.desc("translate the matches of the PM algorithm to the ILP in parallel")//
+			.build();
+
+	protected final Option mipStart = Option.builder()//
+			.option("w")//
+			.longOpt("mipstart")//
+			.desc("pass the previous embedding and a greedy completion as MIP start to the PM algorithm's ILP solver")//
+			.build();
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -61,6 +109,13 @@ public class PmAlgorithm extends AbstractModule implements AlgorithmModule.Algor
 	@Override
 	public void register(final Experiment experiment, final Options options) {
 		options.addOption(tries);
+		options.addOption(lpRounding);
+		options.addOption(budget);
+		options.addOption(incumbentGap);
+		options.addOption(symmetry);
+		options.addOption(persistent);
+		options.addOption(parallelDelta);
+		options.addOption(mipStart);
 	}
 
 	/**
@@ -72,6 +127,51 @@ public class PmAlgorithm extends AbstractModule implements AlgorithmModule.Algor
 			AlgorithmConfig.pmNoMigrations = Integer.valueOf(cmd.getOptionValue(this.tries));
 			MetricsManager.getInstance().addTags("tries", cmd.getOptionValue(this.tries));
 		}
+
+		if (cmd.getOptionValue(this.lpRounding) != null) {
+			final String rounding = cmd.getOptionValue(this.lpRounding);
+			switch (rounding) {
+			case "randomized":
+				AlgorithmConfig.pmLpRounding = LpRounding.RANDOMIZED;
+				break;
+			case "dependent":
+				AlgorithmConfig.pmLpRounding = LpRounding.DEPENDENT;
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown value for --" + lpRounding.getLongOpt() + ": " + rounding);
+			}
+			MetricsManager.getInstance().addTags("lprounding", rounding);
+		}
+
+		if (cmd.getOptionValue(this.budget) != null) {
+			AlgorithmConfig.pmLatencyBudget = Integer.valueOf(cmd.getOptionValue(this.budget));
+			MetricsManager.getInstance().addTags("budget", cmd.getOptionValue(this.budget));
+		}
+
+		if (cmd.getOptionValue(this.incumbentGap) != null) {
+			AlgorithmConfig.pmIncumbentGap = Double.valueOf(cmd.getOptionValue(this.incumbentGap));
+			MetricsManager.getInstance().addTags("incumbentgap", cmd.getOptionValue(this.incumbentGap));
+		}
+
+		AlgorithmConfig.pmSymmetryBreaking = cmd.hasOption(this.symmetry);
+		if (cmd.hasOption(this.symmetry)) {
+			MetricsManager.getInstance().addTags("symmetry", String.valueOf(cmd.hasOption(this.symmetry)));
+		}
+
+		AlgorithmConfig.pmPersistentModel = cmd.hasOption(this.persistent);
+		if (cmd.hasOption(this.persistent)) {
+			MetricsManager.getInstance().addTags("persistent", String.valueOf(cmd.hasOption(this.persistent)));
+		}
+
+		AlgorithmConfig.pmParallelDelta2Ilp = cmd.hasOption(this.parallelDelta);
+		if (cmd.hasOption(this.parallelDelta)) {
+			MetricsManager.getInstance().addTags("paralleldelta", String.valueOf(cmd.hasOption(this.parallelDelta)));
+		}
+
+		AlgorithmConfig.pmMipStart = cmd.hasOption(this.mipStart);
+		if (cmd.hasOption(this.mipStart)) {
+			MetricsManager.getInstance().addTags("mipstart", String.valueOf(cmd.hasOption(this.mipStart)));
+		}
 	}
 
 }